@@ -0,0 +1,131 @@
+package com.difane.games.ticktacktoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.difane.games.ticktacktoe.BoardRecognizer;
+import com.difane.games.ticktacktoe.Container;
+import com.difane.games.ticktacktoe.GameBoard;
+import com.livescribe.afp.PageInstance;
+import com.livescribe.geom.Point;
+import com.livescribe.geom.PolyLine;
+
+/**
+ * Game board benchmarks: hit-testing of the turn point and drawing of the
+ * whole board (validation of the four lines and fields calculation)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBoardBenchmark {
+
+	/**
+	 * Page size in Anoto units (about 100 x 140 mm)
+	 */
+	static private final int PAGE_WIDTH = 2700;
+	static private final int PAGE_HEIGHT = 3700;
+
+	/**
+	 * Board lines: first vertical, second vertical, first horizontal, second
+	 * horizontal (x1, y1, x2, y2)
+	 */
+	static private final int[][] LINES = { { 1000, 500, 1030, 2600 },
+			{ 1700, 520, 1690, 2580 }, { 300, 1200, 2400, 1230 },
+			{ 320, 1900, 2380, 1880 } };
+
+	/**
+	 * Lines, drawn in any order and direction: the board lines in the mixed
+	 * order and a line, that is too far from the board
+	 */
+	static private final int[][] MIXED_LINES = { { 320, 1900, 2380, 1880 },
+			{ 1690, 2580, 1700, 520 }, { 2400, 1230, 300, 1200 },
+			{ 2500, 600, 2510, 2500 }, { 1000, 500, 1030, 2600 } };
+
+	private GameBoard board;
+
+	private PageInstance page;
+
+	/**
+	 * Turn points: each field center and a point outside the page
+	 */
+	private Point[] points;
+
+	@Setup
+	public void setUp() throws Exception {
+		page = new PageInstance(1, PAGE_WIDTH, PAGE_HEIGHT);
+		board = new GameBoard(new Container());
+		drawBoard(board);
+
+		int[] xs = { 500, 1350, 2200 };
+		int[] ys = { 800, 1550, 2800 };
+		points = new Point[10];
+		for (int i = 0; i < 9; i++) {
+			points[i] = new Point(xs[i % 3], ys[i / 3]);
+		}
+		points[9] = new Point(PAGE_WIDTH + 10, PAGE_HEIGHT + 10);
+	}
+
+	private void drawBoard(GameBoard b) throws Exception {
+		b.setPage(page);
+		b.setFirstVerticalLine(line(LINES[0]));
+		b.setSecondVerticalLine(line(LINES[1]));
+		b.setFirstHorizontalLine(line(LINES[2]));
+		b.setSecondHorizontalLine(line(LINES[3]));
+		b.calculateBoard();
+	}
+
+	static private PolyLine line(int[] coords) {
+		PolyLine l = new PolyLine(2);
+		l.setXY(0, coords[0], coords[1]);
+		l.setXY(1, coords[2], coords[3]);
+		return l;
+	}
+
+	/**
+	 * GameBoard.getTurnField() for the each field and a miss
+	 */
+	@Benchmark
+	public void getTurnField(Blackhole bh) {
+		for (int i = 0; i < points.length; i++) {
+			bh.consume(board.getTurnField(points[i]));
+		}
+	}
+
+	/**
+	 * Validation of the four board lines and calculation of the fields
+	 */
+	@Benchmark
+	public GameBoard drawBoard() throws Exception {
+		GameBoard b = new GameBoard(new Container());
+		drawBoard(b);
+		return b;
+	}
+
+	/**
+	 * Recognition of the board from the lines, drawn in any order
+	 */
+	@Benchmark
+	public boolean recognizeBoard() throws Exception {
+		Container c = new Container();
+		c.getGameBoardComponent().setPage(page);
+		BoardRecognizer recognizer = c.getBoardRecognizerComponent();
+		for (int i = 0; i < MIXED_LINES.length; i++) {
+			recognizer.addLine(line(MIXED_LINES[i]));
+		}
+		return recognizer.recognize();
+	}
+}
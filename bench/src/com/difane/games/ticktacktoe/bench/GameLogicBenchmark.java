@@ -0,0 +1,132 @@
+package com.difane.games.ticktacktoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.difane.games.ticktacktoe.Container;
+import com.difane.games.ticktacktoe.GameLogic;
+import com.difane.games.ticktacktoe.engine.AiPlayer;
+import com.difane.games.ticktacktoe.engine.Evaluator;
+import com.difane.games.ticktacktoe.engine.Position;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * Game logic benchmarks: game status, fields rating update and AI move
+ * selection on the each level.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLogicBenchmark {
+
+	/**
+	 * Positions, where AI (O) has to move
+	 */
+	static private final int[] POSITIONS = { Position.of(0x010, 0),
+			Position.of(0x001, 0), Position.of(0x002, 0),
+			Position.of(0x011, 0x004), Position.of(0x101, 0x010),
+			Position.of(0x022, 0x010), Position.of(0x0C1, 0x014),
+			Position.of(0x0A8, 0x011) };
+
+	@Param({ "EASY", "HARD", "PERFECT", "MCTS" })
+	public String level;
+
+	private GameLogic logic;
+
+	private Evaluator[] boards;
+
+	private AiPlayer ai;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		int aiLevel = "EASY".equals(level) ? AiPlayer.LEVEL_EASY
+				: "HARD".equals(level) ? AiPlayer.LEVEL_HARD
+				: "PERFECT".equals(level) ? AiPlayer.LEVEL_PERFECT : AiPlayer.LEVEL_MCTS;
+
+		logic = new GameLogic(new Container());
+		logic.setAiLevel(aiLevel);
+		logic.setRandom(new SeededRandom(1));
+		logic.selectPlayersOrder();
+		logic.humanTurn(5);
+		logic.aiTurn();
+		logic.humanTurn(1);
+
+		boards = new Evaluator[POSITIONS.length];
+		for (int i = 0; i < POSITIONS.length; i++) {
+			boards[i] = new Evaluator(Evaluator.FIELD_O);
+			boards[i].setPosition(Position.xMask(POSITIONS[i]), Position.oMask(POSITIONS[i]));
+		}
+		ai = new AiPlayer(aiLevel, new SeededRandom(1));
+	}
+
+	/**
+	 * GameLogic.getGameStatus() in the middle of the game
+	 */
+	@Benchmark
+	public int getGameStatus() {
+		return logic.getGameStatus();
+	}
+
+	/**
+	 * Rating update after the move and its undo (replaces the full
+	 * calculateRating() of the original algorithm)
+	 */
+	@Benchmark
+	public int ratingUpdate() {
+		Evaluator board = boards[0];
+		board.makeMove(9, Evaluator.FIELD_X);
+		int rating = board.getRating(3);
+		board.undoMove(9);
+		return rating;
+	}
+
+	/**
+	 * AI move selection (aiTurn() without putting the mark), cycling through
+	 * the sample positions
+	 */
+	@Benchmark
+	public int aiTurn() {
+		next = (next + 1) & 7;
+		return ai.chooseMove(boards[next], Evaluator.FIELD_O);
+	}
+
+	/**
+	 * Whole game through the GameLogic: human takes the first empty field, AI
+	 * replies on the benchmark level
+	 */
+	@Benchmark
+	public int fullGame() {
+		logic.restart();
+		logic.selectPlayersOrder();
+		int status = logic.getGameStatus();
+		while (status == GameLogic.GAME_STATUS_NOT_COMPLETED) {
+			int field = 1;
+			while (!logic.isTurnPossible(field)) {
+				field++;
+			}
+			logic.humanTurn(field);
+			status = logic.getGameStatus();
+			if (status == GameLogic.GAME_STATUS_NOT_COMPLETED) {
+				logic.aiTurn();
+				status = logic.getGameStatus();
+			}
+		}
+		return status;
+	}
+}
@@ -0,0 +1,96 @@
+package com.difane.games.ticktacktoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.difane.games.ticktacktoe.engine.Clock;
+import com.difane.games.ticktacktoe.engine.Evaluator;
+import com.difane.games.ticktacktoe.engine.GomokuAi;
+import com.difane.games.ticktacktoe.engine.GomokuBoard;
+
+/**
+ * Gomoku engine: move with the incremental windows update and the shapes of
+ * the cell, and the AI reply in the middle game with the fixed time budget.
+ * Alpha-beta nodes are reported as the separate counter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GomokuBenchmark {
+
+	/**
+	 * Time budget of the AI reply, nanoseconds
+	 */
+	static private final long BUDGET = 20L * 1000000L;
+
+	/**
+	 * Middle game position: cells of the moves, X moves first
+	 */
+	static private final int[] OPENING = { 112, 114, 98, 126, 100, 128, 84, 142, 110, 70 };
+
+	static private final Clock NANO_CLOCK = new Clock() {
+		public long nanoTime() {
+			return System.nanoTime();
+		}
+	};
+
+	private GomokuBoard board;
+
+	private GomokuAi ai;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		public long nodes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			nodes = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		board = new GomokuBoard();
+		for (int i = 0; i < OPENING.length; i++) {
+			board.makeMove(OPENING[i], board.getSideToMove());
+		}
+		ai = new GomokuAi();
+		ai.setClock(NANO_CLOCK);
+	}
+
+	@Benchmark
+	public int makeUndo() {
+		int shapes = 0;
+		for (int cell = 0; cell < GomokuBoard.CELLS; cell++) {
+			if (board.isCandidate(cell)) {
+				shapes += board.getShape(cell, Evaluator.FIELD_O);
+				board.makeMove(cell, Evaluator.FIELD_X);
+				board.undoMove();
+			}
+		}
+		return shapes;
+	}
+
+	@Benchmark
+	public int reply(Counters counters) {
+		int move = ai.chooseMove(board, board.getSideToMove(), NANO_CLOCK.nanoTime() + BUDGET);
+		counters.nodes += ai.getNodes();
+		return move;
+	}
+}
@@ -0,0 +1,174 @@
+package com.difane.games.ticktacktoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.difane.geom.Line;
+import com.difane.geom.LineFitter;
+import com.difane.geom.StrokeSimplifier;
+import com.livescribe.geom.PolyLine;
+import com.livescribe.geom.Point;
+
+/**
+ * Line geometry benchmarks on the sample pen strokes (Anoto units)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LineBenchmark {
+
+	/**
+	 * Sample segments: x1, y1, x2, y2. Near vertical, near horizontal,
+	 * diagonal and short ones
+	 */
+	static private final int[][] SEGMENTS = { { 1000, 500, 1040, 1800 },
+			{ 1600, 520, 1590, 1790 }, { 400, 900, 2200, 960 },
+			{ 420, 1400, 2180, 1380 }, { 300, 300, 1300, 1300 },
+			{ 500, 500, 520, 530 } };
+
+	private int[] x1;
+	private int[] y1;
+	private int[] x2;
+	private int[] y2;
+
+	private double precision;
+
+	private int tanSquared;
+
+	/**
+	 * Sample stroke: near vertical line of STROKE_POINTS points with the
+	 * wobble and the hook at the end
+	 */
+	static private final int STROKE_POINTS = 200;
+
+	private int[] strokeX;
+	private int[] strokeY;
+
+	private LineFitter fitter = new LineFitter();
+
+	private PolyLine stroke;
+	private int[] stack;
+	private int[] indices;
+
+	@Setup
+	public void setUp() {
+		int n = SEGMENTS.length;
+		x1 = new int[n];
+		y1 = new int[n];
+		x2 = new int[n];
+		y2 = new int[n];
+		for (int i = 0; i < n; i++) {
+			x1[i] = SEGMENTS[i][0];
+			y1[i] = SEGMENTS[i][1];
+			x2[i] = SEGMENTS[i][2];
+			y2[i] = SEGMENTS[i][3];
+		}
+		precision = 10;
+		tanSquared = Line.tanSquared(10);
+
+		strokeX = new int[STROKE_POINTS];
+		strokeY = new int[STROKE_POINTS];
+		for (int i = 0; i < STROKE_POINTS; i++) {
+			strokeX[i] = 1000 + i / 8 + (i % 7) - 3;
+			strokeY[i] = 500 + i * 7;
+			if (i >= STROKE_POINTS - 10) {
+				strokeX[i] += (i - STROKE_POINTS + 11) * 12;
+			}
+		}
+		stroke = new PolyLine(STROKE_POINTS);
+		for (int i = 0; i < STROKE_POINTS; i++) {
+			stroke.setXY(i, strokeX[i], strokeY[i]);
+		}
+		stack = new int[STROKE_POINTS];
+		indices = new int[STROKE_POINTS];
+	}
+
+	@Benchmark
+	public void isVertical(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			bh.consume(Line.isVertical(x1[i], y1[i], x2[i], y2[i], precision));
+		}
+	}
+
+	@Benchmark
+	public void isHorizontal(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			bh.consume(Line.isHorizontal(x1[i], y1[i], x2[i], y2[i], precision));
+		}
+	}
+
+	@Benchmark
+	public void length(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			bh.consume(Line.length(x1[i], y1[i], x2[i], y2[i]));
+		}
+	}
+
+	@Benchmark
+	public void intersection(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			int j = i == x1.length - 1 ? 0 : i + 1;
+			Point p = Line.intersection(x1[i], y1[i], x2[i], y2[i], x1[j],
+					y1[j], x2[j], y2[j]);
+			bh.consume(p);
+		}
+	}
+
+	@Benchmark
+	public void isVerticalFixed(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			bh.consume(Line.isVerticalFixed(x1[i], y1[i], x2[i], y2[i], tanSquared));
+		}
+	}
+
+	@Benchmark
+	public void isHorizontalFixed(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			bh.consume(Line.isHorizontalFixed(x1[i], y1[i], x2[i], y2[i], tanSquared));
+		}
+	}
+
+	@Benchmark
+	public void lengthSquared(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			bh.consume(Line.lengthSquared(x1[i], y1[i], x2[i], y2[i]));
+		}
+	}
+
+	@Benchmark
+	public void intersectionPacked(Blackhole bh) {
+		for (int i = 0; i < x1.length; i++) {
+			int j = i == x1.length - 1 ? 0 : i + 1;
+			bh.consume(Line.intersectionPacked(x1[i], y1[i], x2[i], y2[i],
+					x1[j], y1[j], x2[j], y2[j]));
+		}
+	}
+
+	@Benchmark
+	public void fitStroke(Blackhole bh) {
+		fitter.reset();
+		for (int i = 0; i < STROKE_POINTS; i++) {
+			fitter.add(strokeX[i], strokeY[i]);
+		}
+		bh.consume(fitter.getSegment());
+	}
+
+	@Benchmark
+	public int simplifyStroke() {
+		return StrokeSimplifier.simplify(stroke, 27, stack, indices);
+	}
+}
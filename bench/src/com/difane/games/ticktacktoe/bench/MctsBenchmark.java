@@ -0,0 +1,73 @@
+package com.difane.games.ticktacktoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.difane.games.ticktacktoe.engine.Mcts;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * MCTS search from the empty board with the fixed playouts budget. Playouts
+ * are reported as the separate counter, so the result contains playouts per
+ * second for the each threads count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MctsBenchmark {
+
+	static private final int PLAYOUTS = 10000;
+
+	@Param({ "1", "2", "4" })
+	public int threads;
+
+	private Mcts mcts;
+
+	private SeededRandom random;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		public long playouts;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			playouts = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		mcts = new Mcts(Mcts.DEFAULT_CAPACITY * 8, threads);
+		random = new SeededRandom(1);
+	}
+
+	@TearDown
+	public void tearDown() {
+		mcts.stop();
+	}
+
+	@Benchmark
+	public int search(Counters counters) {
+		int move = mcts.bestMove(0, 0, PLAYOUTS, Long.MAX_VALUE, random);
+		counters.playouts += mcts.getPlayouts();
+		return move;
+	}
+}
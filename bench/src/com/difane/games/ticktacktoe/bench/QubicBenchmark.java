@@ -0,0 +1,95 @@
+package com.difane.games.ticktacktoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.difane.games.ticktacktoe.engine.Clock;
+import com.difane.games.ticktacktoe.engine.QubicAi;
+import com.difane.games.ticktacktoe.engine.QubicBoard;
+
+/**
+ * Qubic engine: move with the win check and the threats update on the long
+ * bitboards, and the AI reply in the opening with the fixed time budget.
+ * Alpha-beta nodes are reported as the separate counter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QubicBenchmark {
+
+	/**
+	 * Time budget of the AI reply, nanoseconds
+	 */
+	static private final long BUDGET = 20L * 1000000L;
+
+	/**
+	 * Opening position: cells of the moves, X moves first
+	 */
+	static private final int[] OPENING = { 0, 21, 63, 42, 5, 48 };
+
+	static private final Clock NANO_CLOCK = new Clock() {
+		public long nanoTime() {
+			return System.nanoTime();
+		}
+	};
+
+	private QubicBoard board;
+
+	private QubicAi ai;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		public long nodes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			nodes = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		board = new QubicBoard();
+		for (int i = 0; i < OPENING.length; i++) {
+			board.makeMove(OPENING[i]);
+		}
+		ai = new QubicAi(16);
+		ai.setClock(NANO_CLOCK);
+	}
+
+	@Benchmark
+	public long makeUndo() {
+		long threats = 0;
+		for (int cell = 0; cell < QubicBoard.CELLS; cell++) {
+			if (board.isEmpty(cell)) {
+				board.makeMove(cell);
+				threats |= board.getThreats(board.getSideToMove());
+				board.undoMove();
+			}
+		}
+		return threats;
+	}
+
+	@Benchmark
+	public int reply(Counters counters) {
+		int move = ai.chooseMove(board, NANO_CLOCK.nanoTime() + BUDGET);
+		counters.nodes += ai.getNodes();
+		return move;
+	}
+}
@@ -0,0 +1,97 @@
+package com.difane.games.ticktacktoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.difane.games.ticktacktoe.engine.Clock;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+import com.difane.games.ticktacktoe.engine.UltimateBoard;
+import com.difane.games.ticktacktoe.engine.UltimateMcts;
+
+/**
+ * Ultimate tic-tac-toe engine: random game on the bitboards with the undo,
+ * and the MCTS reply in the opening with the fixed time budget. Playouts are
+ * reported as the separate counter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UltimateBenchmark {
+
+	/**
+	 * Time budget of the AI reply, nanoseconds
+	 */
+	static private final long BUDGET = 20L * 1000000L;
+
+	/**
+	 * Opening position: moves (board * 9 + cell), X moves first
+	 */
+	static private final int[] OPENING = { 40, 36, 4, 44, 76 };
+
+	static private final Clock NANO_CLOCK = new Clock() {
+		public long nanoTime() {
+			return System.nanoTime();
+		}
+	};
+
+	private UltimateBoard board;
+
+	private UltimateMcts mcts;
+
+	private SeededRandom random = new SeededRandom(1);
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		public long playouts;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			playouts = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		board = new UltimateBoard();
+		for (int i = 0; i < OPENING.length; i++) {
+			board.makeMove(OPENING[i]);
+		}
+		mcts = new UltimateMcts(UltimateMcts.DEFAULT_CAPACITY);
+		mcts.setClock(NANO_CLOCK);
+	}
+
+	@Benchmark
+	public int playout() {
+		int start = board.getMoveCount();
+		while (board.makeRandomMove(random)) {
+		}
+		int status = board.getStatus();
+		while (board.getMoveCount() > start) {
+			board.undoMove();
+		}
+		return status;
+	}
+
+	@Benchmark
+	public int reply(Counters counters) {
+		int move = mcts.bestMove(board, Integer.MAX_VALUE, NANO_CLOCK.nanoTime() + BUDGET);
+		counters.playouts += mcts.getPlayouts();
+		return move;
+	}
+}
@@ -0,0 +1,35 @@
+package com.difane.games.ticktacktoe;
+
+import com.livescribe.penlet.Logger;
+
+/**
+ * Benchmark stub of the DI container. Real container creates the pen
+ * components (FSM, display, sound), so only the logger and the board
+ * components are provided here
+ */
+public class Container {
+
+	private Logger logger = new Logger();
+
+	private GameBoard board;
+
+	private BoardRecognizer recognizer;
+
+	public Logger getLoggerComponent() {
+		return logger;
+	}
+
+	public GameBoard getGameBoardComponent() {
+		if (board == null) {
+			board = new GameBoard(this);
+		}
+		return board;
+	}
+
+	public BoardRecognizer getBoardRecognizerComponent() {
+		if (recognizer == null) {
+			recognizer = new BoardRecognizer(this);
+		}
+		return recognizer;
+	}
+}
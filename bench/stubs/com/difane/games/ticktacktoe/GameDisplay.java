@@ -0,0 +1,11 @@
+package com.difane.games.ticktacktoe;
+
+/**
+ * Benchmark stub of the display component. Benchmarks do not draw, so only
+ * the board drawing of the classic mode is declared
+ */
+public class GameDisplay {
+
+	public void redrawBoard(String msg, int position) {
+	}
+}
@@ -0,0 +1,32 @@
+package com.livescribe.afp;
+
+/**
+ * Benchmark stub of the Livescribe page
+ */
+public class PageInstance {
+
+	private long address;
+	private int width;
+	private int height;
+
+	/**
+	 * Stub only constructor
+	 */
+	public PageInstance(long address, int width, int height) {
+		this.address = address;
+		this.width = width;
+		this.height = height;
+	}
+
+	public long getPageAddress() {
+		return address;
+	}
+
+	public int getPageWidth() {
+		return width;
+	}
+
+	public int getPageHeight() {
+		return height;
+	}
+}
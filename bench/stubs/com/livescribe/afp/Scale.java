@@ -0,0 +1,15 @@
+package com.livescribe.afp;
+
+/**
+ * Benchmark stub of the Livescribe units conversion. Anoto unit is 0.3 / 8 mm
+ */
+public class Scale {
+
+	public static float auToMM(int au) {
+		return au * 0.3f / 8f;
+	}
+
+	public static int mmToAu(float mm) {
+		return (int) (mm * 8f / 0.3f);
+	}
+}
@@ -0,0 +1,30 @@
+package com.livescribe.geom;
+
+/**
+ * Benchmark stub of the Livescribe point
+ */
+public class Point extends Shape {
+
+	private int x;
+	private int y;
+
+	public Point() {
+	}
+
+	public Point(int x, int y) {
+		this.x = x;
+		this.y = y;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public String toString() {
+		return "(" + x + ", " + y + ")";
+	}
+}
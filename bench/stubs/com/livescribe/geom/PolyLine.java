@@ -0,0 +1,48 @@
+package com.livescribe.geom;
+
+/**
+ * Benchmark stub of the Livescribe polyline
+ */
+public class PolyLine extends Shape {
+
+	private int[] xs;
+	private int[] ys;
+
+	public PolyLine(int vertices) {
+		xs = new int[vertices];
+		ys = new int[vertices];
+	}
+
+	public int getNumberOfVertices() {
+		return xs.length;
+	}
+
+	public int getX(int i) {
+		return xs[i];
+	}
+
+	public int getY(int i) {
+		return ys[i];
+	}
+
+	public void setX(int i, int x) {
+		xs[i] = x;
+	}
+
+	public void setY(int i, int y) {
+		ys[i] = y;
+	}
+
+	public void setXY(int i, int x, int y) {
+		xs[i] = x;
+		ys[i] = y;
+	}
+
+	public String toString() {
+		StringBuffer sb = new StringBuffer();
+		for (int i = 0; i < xs.length; i++) {
+			sb.append(i == 0 ? "" : " - ").append('(').append(xs[i]).append(", ").append(ys[i]).append(')');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,46 @@
+package com.livescribe.geom;
+
+/**
+ * Benchmark stub of the Livescribe rectangle
+ */
+public class Rectangle extends Shape {
+
+	private int x;
+	private int y;
+	private int width;
+	private int height;
+
+	public Rectangle() {
+	}
+
+	public Rectangle(int x, int y, int width, int height) {
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public boolean contains(int px, int py) {
+		return px >= x && py >= y && px < x + width && py < y + height;
+	}
+
+	public String toString() {
+		return "[" + x + ", " + y + ", " + width + ", " + height + "]";
+	}
+}
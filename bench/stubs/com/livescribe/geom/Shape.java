@@ -0,0 +1,7 @@
+package com.livescribe.geom;
+
+/**
+ * Benchmark stub of the Livescribe shape
+ */
+public class Shape {
+}
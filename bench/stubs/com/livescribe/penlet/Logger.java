@@ -0,0 +1,19 @@
+package com.livescribe.penlet;
+
+/**
+ * Benchmark stub of the Livescribe logger. Messages are discarded
+ */
+public class Logger {
+
+	public void debug(String message) {
+	}
+
+	public void info(String message) {
+	}
+
+	public void warn(String message) {
+	}
+
+	public void error(String message) {
+	}
+}
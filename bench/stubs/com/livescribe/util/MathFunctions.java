@@ -0,0 +1,15 @@
+package com.livescribe.util;
+
+/**
+ * Benchmark stub of the Livescribe math functions
+ */
+public class MathFunctions {
+
+	public static double atan(double a) {
+		return Math.atan(a);
+	}
+
+	public static double pow(double a, double b) {
+		return Math.pow(a, b);
+	}
+}
@@ -0,0 +1,213 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.difane.games.ticktacktoe.engine.AiPlayer;
+import com.difane.games.ticktacktoe.engine.Bitboard;
+import com.difane.games.ticktacktoe.engine.Evaluator;
+import com.difane.games.ticktacktoe.engine.Position;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * Plays the AI level against every possible human move sequence, with the
+ * human playing X and O. On the each AI turn all the moves, that the AI can
+ * select by the random tie-break (AiPlayer.getCandidateFields()), are
+ * explored, so the result does not depend on the random generator.
+ *
+ * Game tree is split into the fork-join tasks for the first SPLIT_PLIES
+ * moves. Each task replays its moves prefix on its own board and AI player,
+ * so tasks share nothing while searching, and the results are merged, when
+ * tasks are joined.
+ */
+public class AdversarialVerifier {
+
+	/**
+	 * Count of the first moves, that are explored by the separate tasks
+	 */
+	static private final int SPLIT_PLIES = 3;
+
+	/**
+	 * HARD level cache size (as power of 2) of the each task
+	 */
+	static private final int CACHE_BITS = 8;
+
+	/**
+	 * Verified AI level
+	 */
+	private final int level;
+
+	/**
+	 * Worker threads count
+	 */
+	private final int parallelism;
+
+	/**
+	 * Constructor
+	 *
+	 * @param level
+	 *            Verified AI level
+	 * @param parallelism
+	 *            Worker threads count
+	 */
+	public AdversarialVerifier(int level, int parallelism) {
+		this.level = level;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Explores all the games
+	 *
+	 * @return merged statistics of the both AI sides
+	 */
+	public VerificationResult run() {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			long start = System.nanoTime();
+			VerificationResult result = pool.invoke(new NodeTask(Evaluator.FIELD_O, new int[0]));
+			result.merge(pool.invoke(new NodeTask(Evaluator.FIELD_X, new int[0])));
+			result.setNanos(System.nanoTime() - start);
+			return result;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Explores games, that start with the given moves
+	 */
+	private class NodeTask extends RecursiveTask<VerificationResult> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Side of the AI: Evaluator.FIELD_X or Evaluator.FIELD_O
+		 */
+		private final int aiType;
+
+		/**
+		 * Moves prefix, X moves first
+		 */
+		private final int[] prefix;
+
+		/**
+		 * Board and AI of the task. Created, when task is started
+		 */
+		private Evaluator board;
+		private AiPlayer ai;
+
+		/**
+		 * Moves of the current line
+		 */
+		private final int[] moves = new int[Bitboard.FIELDS];
+
+		NodeTask(int aiType, int[] prefix) {
+			this.aiType = aiType;
+			this.prefix = prefix;
+		}
+
+		protected VerificationResult compute() {
+			VerificationResult result = new VerificationResult();
+			board = new Evaluator(aiType);
+			ai = new AiPlayer(level, new SeededRandom(0), CACHE_BITS);
+			for (int i = 0; i < prefix.length; i++) {
+				board.makeMove(prefix[i], side(i));
+				moves[i] = prefix[i];
+			}
+
+			if (prefix.length >= SPLIT_PLIES || board.getStatus() != Bitboard.STATUS_NOT_COMPLETED) {
+				explore(result, prefix.length);
+				return result;
+			}
+
+			// Only the split node itself is counted here, children count their
+			// own nodes
+			int fields = moveFields(result, prefix.length);
+			NodeTask[] children = new NodeTask[Bitboard.FIELDS];
+			int count = 0;
+			for (int field = 1; field <= 9; field++) {
+				if ((fields & Bitboard.bit(field)) != 0) {
+					int[] childPrefix = new int[prefix.length + 1];
+					System.arraycopy(prefix, 0, childPrefix, 0, prefix.length);
+					childPrefix[prefix.length] = field;
+					children[count++] = new NodeTask(aiType, childPrefix);
+				}
+			}
+			for (int i = 1; i < count; i++) {
+				children[i].fork();
+			}
+			if (count > 0) {
+				result.merge(children[0].compute());
+			}
+			for (int i = 1; i < count; i++) {
+				result.merge(children[i].join());
+			}
+			return result;
+		}
+
+		/**
+		 * Explores the position after the given count of moves and all
+		 * positions after it
+		 */
+		private void explore(VerificationResult result, int ply) {
+			int status = board.getStatus();
+			if (status != Bitboard.STATUS_NOT_COMPLETED) {
+				result.addNode(position());
+				int aiWins = aiType == Evaluator.FIELD_X ? Bitboard.STATUS_X_WINS
+						: Bitboard.STATUS_O_WINS;
+				if (status == aiWins) {
+					result.addAiWin();
+				} else if (status == Bitboard.STATUS_DRAW) {
+					result.addDraw();
+				} else {
+					result.addLoss(line(ply));
+				}
+				return;
+			}
+
+			int fields = moveFields(result, ply);
+			for (int field = 1; field <= 9; field++) {
+				if ((fields & Bitboard.bit(field)) != 0) {
+					board.makeMove(field, side(ply));
+					moves[ply] = field;
+					explore(result, ply + 1);
+					board.undoMove(field);
+				}
+			}
+		}
+
+		/**
+		 * Counts the node and returns the moves to explore: all candidates
+		 * of the AI or all empty fields for the human
+		 */
+		private int moveFields(VerificationResult result, int ply) {
+			result.addNode(position());
+			int empty = ~(board.getXMask() | board.getOMask()) & Bitboard.FULL;
+			if (side(ply) != aiType) {
+				return empty;
+			}
+
+			int candidates = ai.getCandidateFields(board, aiType);
+			result.addAiNode(Bitboard.bitCount(candidates));
+			if (candidates == 0 || (candidates & ~empty) != 0) {
+				result.addInvalid(line(ply) + " -> candidates 0x"
+						+ Integer.toHexString(candidates));
+				return candidates & empty;
+			}
+			return candidates;
+		}
+
+		private int side(int ply) {
+			return (ply & 1) == 0 ? Evaluator.FIELD_X : Evaluator.FIELD_O;
+		}
+
+		private int position() {
+			return Position.of(board.getXMask(), board.getOMask());
+		}
+
+		private String line(int ply) {
+			return "(human " + (aiType == Evaluator.FIELD_X ? "O" : "X") + "): "
+					+ VerificationResult.formatLine(moves, ply);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.difane.games.ticktacktoe.headless;
+
+/**
+ * Command line names of the AI levels
+ */
+public final class AiLevels {
+
+	/**
+	 * Level names, indexed by the AiPlayer.LEVEL_* value
+	 */
+	static private final String[] NAMES = { "easy", "hard", "perfect", "mcts" };
+
+	private AiLevels() {
+	}
+
+	/**
+	 * Parses level name
+	 *
+	 * @param name
+	 *            Level name (case insensitive)
+	 * @return one of the AiPlayer.LEVEL_* values
+	 * @throws IllegalArgumentException
+	 *             if name is unknown
+	 */
+	static public int parse(String name) {
+		for (int level = 0; level < NAMES.length; level++) {
+			if (NAMES[level].equalsIgnoreCase(name)) {
+				return level;
+			}
+		}
+		throw new IllegalArgumentException("Unknown AI level: " + name
+				+ " (expected one of " + String.join(", ", NAMES) + ")");
+	}
+
+	/**
+	 * @param level
+	 *            One of the AiPlayer.LEVEL_* values
+	 * @return level name
+	 */
+	static public String name(int level) {
+		return NAMES[level];
+	}
+}
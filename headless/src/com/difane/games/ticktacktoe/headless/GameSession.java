@@ -0,0 +1,146 @@
+package com.difane.games.ticktacktoe.headless;
+
+import com.difane.games.ticktacktoe.engine.AiPlayer;
+import com.difane.games.ticktacktoe.engine.Bitboard;
+import com.difane.games.ticktacktoe.engine.Evaluator;
+import com.difane.games.ticktacktoe.engine.Position;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * Single human vs AI game, served by the SessionManager. Human plays X and
+ * starts, AI plays O, same as on the pen.
+ *
+ * Session has a single writer at a time: all methods, that read or change the
+ * board, lock this session only, so moves in the different sessions never
+ * contend, and moves in the same session are applied one by one. Caller may
+ * lock the session to make several calls atomically.
+ */
+public class GameSession {
+
+	/**
+	 * Result of the turn, that was not made (field is out of the board or is
+	 * not empty, or the game is completed)
+	 */
+	static public final int TURN_INVALID = -2;
+
+	/**
+	 * Result of the turn, when the game was completed by the human turn and AI
+	 * has no turn
+	 */
+	static public final int TURN_GAME_OVER = -1;
+
+	/**
+	 * Slots count (as power of 2) of the HARD level cache. Session plays only
+	 * one game, so the cache is small
+	 */
+	static private final int CACHE_BITS = 4;
+
+	/**
+	 * Session id
+	 */
+	private final long id;
+
+	/**
+	 * Game state. Fields are rated for the AI side
+	 */
+	private final Evaluator board = new Evaluator(Evaluator.FIELD_O);
+
+	/**
+	 * AI player
+	 */
+	private final AiPlayer ai;
+
+	/**
+	 * Time of the last access (System.nanoTime()). Read by the expiry without
+	 * locking the session
+	 */
+	private volatile long lastAccess;
+
+	/**
+	 * Constructor
+	 *
+	 * @param id
+	 *            Session id
+	 * @param aiLevel
+	 *            AI level (one of the AiPlayer.LEVEL_*)
+	 * @param seed
+	 *            Seed of the session random generator
+	 * @param now
+	 *            Creation time (System.nanoTime())
+	 */
+	public GameSession(long id, int aiLevel, long seed, long now) {
+		this.id = id;
+		this.ai = new AiPlayer(aiLevel, new SeededRandom(seed), CACHE_BITS);
+		this.lastAccess = now;
+	}
+
+	/**
+	 * Makes human turn and AI reply
+	 *
+	 * @param field
+	 *            Field (1 to 9)
+	 * @param now
+	 *            Current time (System.nanoTime())
+	 * @return AI field (1 to 9), TURN_GAME_OVER or TURN_INVALID
+	 */
+	public synchronized int play(int field, long now) {
+		lastAccess = now;
+		if (field < 1 || field > 9 || !board.isEmpty(field)
+				|| board.getStatus() != Bitboard.STATUS_NOT_COMPLETED) {
+			return TURN_INVALID;
+		}
+
+		board.makeMove(field, Evaluator.FIELD_X);
+		if (board.getStatus() != Bitboard.STATUS_NOT_COMPLETED) {
+			return TURN_GAME_OVER;
+		}
+
+		int reply = ai.chooseMove(board, Evaluator.FIELD_O);
+		if (reply == -1) {
+			return TURN_GAME_OVER;
+		}
+		board.makeMove(reply, Evaluator.FIELD_O);
+		return reply;
+	}
+
+	/**
+	 * Starts new game in this session. Board is reset in place
+	 *
+	 * @param now
+	 *            Current time (System.nanoTime())
+	 */
+	public synchronized void restart(long now) {
+		lastAccess = now;
+		board.reset();
+	}
+
+	/**
+	 * @return game status (one of the Bitboard.STATUS_*)
+	 */
+	public synchronized int getStatus() {
+		return board.getStatus();
+	}
+
+	/**
+	 * Returns consistent snapshot of the board
+	 *
+	 * @return position (see engine.Position)
+	 */
+	public synchronized int getPosition() {
+		return Position.of(board.getXMask(), board.getOMask());
+	}
+
+	/**
+	 * @return session id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * @return time of the last access (System.nanoTime())
+	 */
+	public long getLastAccess() {
+		return lastAccess;
+	}
+}
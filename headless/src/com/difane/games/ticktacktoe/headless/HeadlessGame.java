@@ -0,0 +1,103 @@
+package com.difane.games.ticktacktoe.headless;
+
+import com.difane.games.ticktacktoe.engine.AiPlayer;
+import com.difane.games.ticktacktoe.engine.Bitboard;
+import com.difane.games.ticktacktoe.engine.Evaluator;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * Game between two AI players without pen, display and sound. X always
+ * starts. Each side has its own board, that rates fields for that side, so
+ * EASY and HARD levels can play both X and O.
+ *
+ * Instance is not thread safe and is reused for all games of the one worker,
+ * so playing a game does not allocate memory.
+ */
+public class HeadlessGame {
+
+	/**
+	 * Board, that rates fields for the X side
+	 */
+	private final Evaluator xBoard = new Evaluator(Evaluator.FIELD_X);
+
+	/**
+	 * Board, that rates fields for the O side
+	 */
+	private final Evaluator oBoard = new Evaluator(Evaluator.FIELD_O);
+
+	/**
+	 * Players
+	 */
+	private final AiPlayer xPlayer;
+	private final AiPlayer oPlayer;
+
+	/**
+	 * Fields of the last game in the order of the moves
+	 */
+	private final int[] moves = new int[9];
+
+	/**
+	 * Count of the moves in the last game
+	 */
+	private int moveCount;
+
+	/**
+	 * Constructor
+	 *
+	 * @param xLevel
+	 *            AI level of the X side
+	 * @param oLevel
+	 *            AI level of the O side
+	 * @param random
+	 *            Random generator of this game instance. Shared by both sides
+	 */
+	public HeadlessGame(int xLevel, int oLevel, SeededRandom random) {
+		this.xPlayer = new AiPlayer(xLevel, random);
+		this.oPlayer = new AiPlayer(oLevel, random);
+	}
+
+	/**
+	 * Plays a single game from the empty board
+	 *
+	 * @return game status (one of the Bitboard.STATUS_*)
+	 */
+	public int play() {
+		xBoard.reset();
+		oBoard.reset();
+		moveCount = 0;
+
+		int type = Evaluator.FIELD_X;
+		int status = xBoard.getStatus();
+		while (status == Bitboard.STATUS_NOT_COMPLETED) {
+			int field = type == Evaluator.FIELD_X
+					? xPlayer.chooseMove(xBoard, type)
+					: oPlayer.chooseMove(oBoard, type);
+			if (field == -1) {
+				break;
+			}
+			xBoard.makeMove(field, type);
+			oBoard.makeMove(field, type);
+			moves[moveCount++] = field;
+
+			status = xBoard.getStatus();
+			type = type == Evaluator.FIELD_X ? Evaluator.FIELD_O : Evaluator.FIELD_X;
+		}
+		return status;
+	}
+
+	/**
+	 * @param ply
+	 *            Move number (0 to getMoveCount() - 1)
+	 * @return field of the move in the last game
+	 */
+	public int getMove(int ply) {
+		return moves[ply];
+	}
+
+	/**
+	 * @return count of the moves in the last game
+	 */
+	public int getMoveCount() {
+		return moveCount;
+	}
+}
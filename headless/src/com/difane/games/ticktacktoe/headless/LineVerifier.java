@@ -0,0 +1,115 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.util.SplittableRandom;
+
+import com.difane.geom.Line;
+import com.livescribe.geom.Point;
+
+/**
+ * Checks the fixed point Line kernel (isVerticalFixed(), isHorizontalFixed(),
+ * lengthSquared(), intersectionPacked()) against the floating point
+ * versions on the random segments of the page size. Exits with the code 1
+ * on any mismatch, so the build fails.
+ *
+ * Angle checks may differ only for the lines, that are within the
+ * BOUNDARY_DEGREES of the precision (16.16 tangent rounding), and the
+ * intersection may differ by one unit (double rounding before the
+ * truncation).
+ *
+ * Usage: LineVerifier [cases] [seed]
+ */
+public class LineVerifier {
+
+	/**
+	 * Coordinates range (larger, than the page in Anoto units)
+	 */
+	static private final int RANGE = 8000;
+
+	/**
+	 * Angle distance from the precision, where the rounding may change the
+	 * result
+	 */
+	static private final double BOUNDARY_DEGREES = 0.01;
+
+	public static void main(String[] args) {
+		int cases = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+		SplittableRandom random = new SplittableRandom(seed);
+
+		long angleMismatches = 0;
+		long angleBoundary = 0;
+		long lengthMismatches = 0;
+		long intersectionMismatches = 0;
+		long intersectionRounding = 0;
+
+		for (int i = 0; i < cases; i++) {
+			int x1 = random.nextInt(RANGE);
+			int y1 = random.nextInt(RANGE);
+			int x2 = random.nextInt(RANGE);
+			int y2 = random.nextInt(RANGE);
+			// Half of the segments are near the axes, where the checks matter
+			if (random.nextBoolean()) {
+				if (random.nextBoolean()) {
+					x2 = x1 + random.nextInt(400) - 200;
+				} else {
+					y2 = y1 + random.nextInt(400) - 200;
+				}
+			}
+
+			int degrees = 1 + random.nextInt(Line.MAX_PRECISION);
+			int tanSquared = Line.tanSquared(degrees);
+			double fromVertical = Math.toDegrees(Math.atan2(Math.abs(x2 - x1), Math.abs(y2 - y1)));
+			boolean boundary = Math.abs(fromVertical - degrees) < BOUNDARY_DEGREES
+					|| Math.abs(90 - fromVertical - degrees) < BOUNDARY_DEGREES;
+			if (Line.isVertical(x1, y1, x2, y2, (double) degrees) != Line.isVerticalFixed(x1, y1, x2, y2, tanSquared)
+					|| Line.isHorizontal(x1, y1, x2, y2, (double) degrees) != Line.isHorizontalFixed(x1, y1, x2, y2, tanSquared)) {
+				if (boundary) {
+					angleBoundary++;
+				} else {
+					angleMismatches++;
+					report("angle", x1, y1, x2, y2, degrees);
+				}
+			}
+
+			if (Math.abs(Math.sqrt(Line.lengthSquared(x1, y1, x2, y2)) - Line.length(x1, y1, x2, y2)) > 1e-6) {
+				lengthMismatches++;
+				report("length", x1, y1, x2, y2, 0);
+			}
+
+			int x3 = random.nextInt(RANGE);
+			int y3 = random.nextInt(RANGE);
+			int x4 = random.nextInt(RANGE);
+			int y4 = random.nextInt(RANGE);
+			Point p = Line.intersection(x1, y1, x2, y2, x3, y3, x4, y4);
+			long q = Line.intersectionPacked(x1, y1, x2, y2, x3, y3, x4, y4);
+			if ((p == null) != (q == Line.NO_INTERSECTION)) {
+				intersectionMismatches++;
+				report("parallel", x1, y1, x2, y2, 0);
+			} else if (p != null) {
+				int d = Math.max(Math.abs(p.getX() - Line.unpackX(q)), Math.abs(p.getY() - Line.unpackY(q)));
+				if (d == 1) {
+					intersectionRounding++;
+				} else if (d > 1) {
+					intersectionMismatches++;
+					report("intersection", x1, y1, x2, y2, 0);
+				}
+			}
+		}
+
+		System.out.println("Cases: " + cases + ", seed: " + seed);
+		System.out.println("Angle mismatches: " + angleMismatches + " (" + angleBoundary + " at the precision boundary)");
+		System.out.println("Length mismatches: " + lengthMismatches);
+		System.out.println("Intersection mismatches: " + intersectionMismatches + " (" + intersectionRounding
+				+ " differ by one unit)");
+
+		if (angleMismatches > 0 || lengthMismatches > 0 || intersectionMismatches > 0) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+	}
+
+	static private void report(String check, int x1, int y1, int x2, int y2, int degrees) {
+		System.out.println("Mismatch of the " + check + ": (" + x1 + ", " + y1 + ") - (" + x2 + ", " + y2 + ")"
+				+ (degrees > 0 ? ", precision " + degrees : ""));
+	}
+}
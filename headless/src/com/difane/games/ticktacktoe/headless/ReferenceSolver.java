@@ -0,0 +1,145 @@
+package com.difane.games.ticktacktoe.headless;
+
+/**
+ * Plain reference implementation of the 3x3 rules and perfect play, used to
+ * verify the generated tables. It does not use the bitboards: the board is an
+ * array of the cells, lines and symmetries are built from the row and column
+ * coordinates, and positions are solved by the full minimax without
+ * pruning.
+ *
+ * Cells are counted from 0 (row * 3 + column). Cell values are EMPTY, X and
+ * O.
+ */
+public class ReferenceSolver {
+
+	static public final int EMPTY = 0;
+	static public final int X = 1;
+	static public final int O = 2;
+
+	/**
+	 * Winning lines: 3 rows, 3 columns, main and anti diagonal
+	 */
+	static public final int[][] LINES = new int[8][3];
+
+	static {
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				LINES[i][j] = i * 3 + j;
+				LINES[3 + i][j] = j * 3 + i;
+			}
+			LINES[6][i] = i * 3 + i;
+			LINES[7][i] = i * 3 + 2 - i;
+		}
+	}
+
+	/**
+	 * Solved scores by the base-3 code of the position
+	 */
+	private final int[] scores = new int[19683];
+
+	private final boolean[] solved = new boolean[19683];
+
+	/**
+	 * Returns cell, that the cell is moved to by the board symmetry
+	 *
+	 * @param transform
+	 *            identity, rotations by 90, 180 and 270 degrees clockwise,
+	 *            horizontal, vertical, main diagonal and anti diagonal
+	 *            reflections
+	 */
+	static public int transform(int transform, int cell) {
+		int r = cell / 3;
+		int c = cell % 3;
+		switch (transform) {
+		case 0:
+			return r * 3 + c;
+		case 1:
+			return c * 3 + 2 - r;
+		case 2:
+			return (2 - r) * 3 + 2 - c;
+		case 3:
+			return (2 - c) * 3 + r;
+		case 4:
+			return r * 3 + 2 - c;
+		case 5:
+			return (2 - r) * 3 + c;
+		case 6:
+			return c * 3 + r;
+		default:
+			return (2 - c) * 3 + 2 - r;
+		}
+	}
+
+	/**
+	 * @return side, that has a complete line, or EMPTY
+	 */
+	static public int winner(int[] cells) {
+		for (int[] line : LINES) {
+			int v = cells[line[0]];
+			if (v != EMPTY && cells[line[1]] == v && cells[line[2]] == v) {
+				return v;
+			}
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * @return count of the empty cells
+	 */
+	static public int empties(int[] cells) {
+		int n = 0;
+		for (int v : cells) {
+			if (v == EMPTY) {
+				n++;
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Returns exact score of the position for the side to move: count of the
+	 * empty cells before the winning move for the win, the negative one for
+	 * the loss and 0 for the draw
+	 */
+	public int score(int[] cells, int side) {
+		int code = code(cells);
+		if (solved[code]) {
+			return scores[code];
+		}
+		int empties = empties(cells);
+		int best = Integer.MIN_VALUE;
+		for (int cell = 0; cell < 9; cell++) {
+			if (cells[cell] == EMPTY) {
+				best = Math.max(best, moveScore(cells, side, cell, empties));
+			}
+		}
+		scores[code] = best;
+		solved[code] = true;
+		return best;
+	}
+
+	/**
+	 * Returns exact score of the move for the side, that makes it
+	 */
+	public int moveScore(int[] cells, int side, int cell, int empties) {
+		cells[cell] = side;
+		int result;
+		if (winner(cells) == side) {
+			result = empties;
+		} else if (empties == 1) {
+			result = 0;
+		} else {
+			result = -score(cells, side == X ? O : X);
+		}
+		cells[cell] = EMPTY;
+		return result;
+	}
+
+	static private int code(int[] cells) {
+		int code = 0;
+		for (int v : cells) {
+			code = code * 3 + v;
+		}
+		return code;
+	}
+}
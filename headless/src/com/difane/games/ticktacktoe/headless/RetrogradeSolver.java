@@ -0,0 +1,234 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.difane.games.ticktacktoe.engine.MnkRules;
+
+/**
+ * Builds the Tablebase of the m,n,k game by the retrograde analysis.
+ *
+ * Every move adds a mark, so position with p marks depends only on the
+ * positions with p + 1 marks. Layers are solved from the full board down to
+ * the empty one, and positions of the layer are independent, so the layer is
+ * split into the fork-join tasks by the occupancy masks. Each task enumerates
+ * the X/O splits of its masks and reads the values of the next layer from
+ * the mapped file.
+ *
+ * Tasks write to the same ints of the file (16 positions per int), so values
+ * are OR-ed atomically. File is zero filled (UNKNOWN), when it is created.
+ */
+public class RetrogradeSolver {
+
+	/**
+	 * Atomic access to the little-endian ints of the mapped file
+	 */
+	static private final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class,
+			ByteOrder.LITTLE_ENDIAN);
+
+	/**
+	 * Occupancy masks, that are solved by the task without the split
+	 */
+	static private final int TASK_MASKS = 32;
+
+	private final MnkRules rules;
+
+	/**
+	 * Worker threads count
+	 */
+	private final int parallelism;
+
+	/**
+	 * Index increments of the X and O marks in the each cell (3^cell and
+	 * 2 * 3^cell)
+	 */
+	private final int[] xDigits;
+	private final int[] oDigits;
+
+	/**
+	 * Mapped tablebase file while solving
+	 */
+	private MappedByteBuffer buffer;
+
+	/**
+	 * Constructor
+	 *
+	 * @param rules
+	 *            Game rules, up to Tablebase.MAX_CELLS cells
+	 * @param parallelism
+	 *            Worker threads count
+	 */
+	public RetrogradeSolver(MnkRules rules, int parallelism) {
+		if (rules.getCells() > Tablebase.MAX_CELLS) {
+			throw new IllegalArgumentException("Board " + rules + " has " + rules.getCells()
+					+ " cells, tablebase supports up to " + Tablebase.MAX_CELLS);
+		}
+		this.rules = rules;
+		this.parallelism = parallelism;
+		xDigits = new int[rules.getCells()];
+		oDigits = new int[rules.getCells()];
+		for (int cell = 0; cell < rules.getCells(); cell++) {
+			xDigits[cell] = Tablebase.index(1 << cell, 0);
+			oDigits[cell] = Tablebase.index(0, 1 << cell);
+		}
+	}
+
+	/**
+	 * Solves all the positions and writes tablebase file
+	 *
+	 * @param file
+	 *            Tablebase file. Existing file is replaced
+	 * @return count of the positions by the value (indexed by the
+	 *         Tablebase.LOSS, DRAW and WIN)
+	 */
+	public long[] solve(Path file) throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Tablebase.fileSize(rules));
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			long[] counts = new long[4];
+			for (int layer = rules.getCells(); layer >= 0; layer--) {
+				int[] masks = occupancyMasks(layer);
+				long[] layerCounts = pool.invoke(new LayerTask(masks, 0, masks.length, layer));
+				for (int value = 0; value < counts.length; value++) {
+					counts[value] += layerCounts[value];
+				}
+			}
+
+			// Header is written last, so interrupted solving leaves no valid
+			// tablebase
+			buffer.putInt(4, rules.getWidth());
+			buffer.putInt(8, rules.getHeight());
+			buffer.putInt(12, rules.getK());
+			buffer.putInt(0, Tablebase.MAGIC);
+			buffer.force();
+			return counts;
+		} finally {
+			buffer = null;
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Returns all masks of the board with the given count of bits (Gosper's
+	 * hack)
+	 */
+	private int[] occupancyMasks(int bits) {
+		int count = 1;
+		for (int i = 0; i < bits; i++) {
+			count = count * (rules.getCells() - i) / (i + 1);
+		}
+		int[] masks = new int[count];
+		int mask = (1 << bits) - 1;
+		for (int i = 0; i < count; i++) {
+			masks[i] = mask;
+			if (mask != 0) {
+				int lowest = mask & -mask;
+				int ripple = mask + lowest;
+				mask = ripple | (((mask ^ ripple) >>> 2) / lowest);
+			}
+		}
+		return masks;
+	}
+
+	/**
+	 * Solves positions of the layer with the occupancy masks range
+	 */
+	private class LayerTask extends RecursiveTask<long[]> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] masks;
+		private final int from;
+		private final int to;
+		private final int layer;
+
+		LayerTask(int[] masks, int from, int to, int layer) {
+			this.masks = masks;
+			this.from = from;
+			this.to = to;
+			this.layer = layer;
+		}
+
+		protected long[] compute() {
+			if (to - from > TASK_MASKS) {
+				int middle = (from + to) >>> 1;
+				LayerTask right = new LayerTask(masks, middle, to, layer);
+				right.fork();
+				long[] counts = new LayerTask(masks, from, middle, layer).compute();
+				long[] rightCounts = right.join();
+				for (int value = 0; value < counts.length; value++) {
+					counts[value] += rightCounts[value];
+				}
+				return counts;
+			}
+
+			long[] counts = new long[4];
+			int xCount = (layer + 1) >> 1;
+			for (int i = from; i < to; i++) {
+				int occupied = masks[i];
+				// All submasks of the occupied cells, including 0
+				for (int x = occupied;; x = (x - 1) & occupied) {
+					if (Integer.bitCount(x) == xCount) {
+						counts[solve(x, occupied ^ x)]++;
+					}
+					if (x == 0) {
+						break;
+					}
+				}
+			}
+			return counts;
+		}
+	}
+
+	/**
+	 * Solves the position. Positions with more than one mark in the layer
+	 * below must be solved already
+	 *
+	 * @return value of the position for the side to move
+	 */
+	private int solve(int x, int o) {
+		boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+		int own = xToMove ? x : o;
+		int other = xToMove ? o : x;
+		if (rules.isWin(own)) {
+			// Game has been completed by the own move before
+			return Tablebase.UNKNOWN;
+		}
+
+		int index = Tablebase.index(x, o);
+		int value;
+		int empty = ~(x | o) & rules.getFull();
+		if (rules.isWin(other)) {
+			value = Tablebase.LOSS;
+		} else if (empty == 0) {
+			value = Tablebase.DRAW;
+		} else {
+			int[] digits = xToMove ? xDigits : oDigits;
+			value = Tablebase.LOSS;
+			for (int cell = 0; cell < digits.length && value != Tablebase.WIN; cell++) {
+				if ((empty & (1 << cell)) != 0) {
+					int child = Tablebase.negate(Tablebase.read(buffer, index + digits[cell]));
+					if (child > value) {
+						value = child;
+					}
+				}
+			}
+		}
+
+		INTS.getAndBitwiseOr(buffer, Tablebase.HEADER_SIZE + ((index >>> 4) << 2),
+				value << ((index & 15) << 1));
+		return value;
+	}
+}
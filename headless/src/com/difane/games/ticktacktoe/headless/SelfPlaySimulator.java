@@ -0,0 +1,126 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * Plays many AI vs AI games on all cores.
+ *
+ * Games are split into the fixed count of chunks. Each chunk has its own game
+ * instance, its own random stream (split from the root generator in the chunk
+ * order) and its own result, so workers share nothing while playing, and the
+ * results are merged, when fork-join tasks are joined. Because streams do not
+ * depend on the thread scheduling, the same seed always gives the same
+ * statistics.
+ */
+public class SelfPlaySimulator {
+
+	/**
+	 * Count of the chunks. It does not depend on the threads count, so the
+	 * same seed gives the same statistics on any machine. Many chunks per
+	 * thread let fork-join balance the load, when some chunks are slower
+	 */
+	static private final int CHUNKS = 1024;
+
+	/**
+	 * AI levels of the sides
+	 */
+	private final int xLevel;
+	private final int oLevel;
+
+	/**
+	 * Worker threads count
+	 */
+	private final int parallelism;
+
+	/**
+	 * Constructor
+	 *
+	 * @param xLevel
+	 *            AI level of the X side
+	 * @param oLevel
+	 *            AI level of the O side
+	 * @param parallelism
+	 *            Worker threads count
+	 */
+	public SelfPlaySimulator(int xLevel, int oLevel, int parallelism) {
+		this.xLevel = xLevel;
+		this.oLevel = oLevel;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Plays the games
+	 *
+	 * @param games
+	 *            Count of the games
+	 * @param seed
+	 *            Root seed
+	 * @return merged statistics
+	 */
+	public SimulationResult run(long games, long seed) {
+		int chunks = (int) Math.max(1, Math.min(games, CHUNKS));
+		long[] seeds = new long[chunks];
+		SeededRandom root = new SeededRandom(seed);
+		for (int i = 0; i < chunks; i++) {
+			seeds[i] = root.nextSeed();
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			long start = System.nanoTime();
+			SimulationResult result = pool.invoke(new ChunkTask(games, seeds, 0, chunks));
+			result.setNanos(System.nanoTime() - start);
+			return result;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays chunks [from, to). Range is split in halves until the single chunk
+	 * is left
+	 */
+	private class ChunkTask extends RecursiveTask<SimulationResult> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long games;
+		private final long[] seeds;
+		private final int from;
+		private final int to;
+
+		ChunkTask(long games, long[] seeds, int from, int to) {
+			this.games = games;
+			this.seeds = seeds;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected SimulationResult compute() {
+			if (to - from == 1) {
+				return playChunk();
+			}
+			int middle = (from + to) >>> 1;
+			ChunkTask left = new ChunkTask(games, seeds, from, middle);
+			ChunkTask right = new ChunkTask(games, seeds, middle, to);
+			left.fork();
+			SimulationResult result = right.compute();
+			return result.merge(left.join());
+		}
+
+		private SimulationResult playChunk() {
+			int chunks = seeds.length;
+			long count = games / chunks + (from < games % chunks ? 1 : 0);
+
+			HeadlessGame game = new HeadlessGame(xLevel, oLevel, new SeededRandom(seeds[from]));
+			SimulationResult result = new SimulationResult();
+			for (long i = 0; i < count; i++) {
+				result.add(game, game.play());
+			}
+			return result;
+		}
+	}
+}
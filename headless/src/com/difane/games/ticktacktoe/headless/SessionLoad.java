@@ -0,0 +1,114 @@
+package com.difane.games.ticktacktoe.headless;
+
+import com.difane.games.ticktacktoe.engine.Bitboard;
+import com.difane.games.ticktacktoe.engine.Position;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * Load test of the SessionManager. Creates many sessions and plays random
+ * human turns in the random sessions from several threads. Prints moves per
+ * second and per-move latency percentiles.
+ *
+ * Usage: SessionLoad [sessions] [moves per thread] [ai level] [threads]
+ */
+public class SessionLoad {
+
+	/**
+	 * Latency histogram buckets: bucket i counts latencies in [2^i, 2^(i+1))
+	 * nanoseconds
+	 */
+	static private final int BUCKETS = 40;
+
+	public static void main(String[] args) throws InterruptedException {
+		final int sessionsCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		final long moves = args.length > 1 ? Long.parseLong(args[1]) : 1000000;
+		final int aiLevel = AiLevels.parse(args.length > 2 ? args[2] : "hard");
+		int threads = args.length > 3 ? Integer.parseInt(args[3])
+				: Runtime.getRuntime().availableProcessors();
+
+		final SessionManager manager = new SessionManager(sessionsCount, 1);
+		final long firstId = manager.create(aiLevel).getId();
+		for (int i = 1; i < sessionsCount; i++) {
+			manager.create(aiLevel);
+		}
+
+		final long[][] histograms = new long[threads][BUCKETS];
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final long[] histogram = histograms[t];
+			final SeededRandom random = new SeededRandom(t);
+			workers[t] = new Thread(new Runnable() {
+				public void run() {
+					for (long i = 0; i < moves; i++) {
+						GameSession session = manager.get(firstId + random.nextInt(sessionsCount));
+						long start = System.nanoTime();
+						playRandomTurn(session, random, start);
+						histogram[63 - Long.numberOfLeadingZeros(Math.max(1, System.nanoTime() - start))]++;
+					}
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		for (int t = 0; t < threads; t++) {
+			workers[t].start();
+		}
+		for (int t = 0; t < threads; t++) {
+			workers[t].join();
+		}
+		long nanos = System.nanoTime() - start;
+
+		long[] histogram = new long[BUCKETS];
+		for (int t = 0; t < threads; t++) {
+			for (int i = 0; i < BUCKETS; i++) {
+				histogram[i] += histograms[t][i];
+			}
+		}
+
+		long total = moves * threads;
+		System.out.println("Sessions: " + manager.size() + ", threads: " + threads
+				+ ", AI: " + AiLevels.name(aiLevel));
+		System.out.println(String.format("Moves: %d in %.3f s (%.0f moves/s)", total,
+				nanos / 1e9, total * 1e9 / nanos));
+		System.out.println("Latency p50 < " + percentile(histogram, total, 0.5)
+				+ " ns, p99 < " + percentile(histogram, total, 0.99)
+				+ " ns, p99.9 < " + percentile(histogram, total, 0.999) + " ns");
+	}
+
+	/**
+	 * Plays random human turn (and AI reply) in the session. Completed game
+	 * is restarted
+	 */
+	static private void playRandomTurn(GameSession session, SeededRandom random, long now) {
+		synchronized (session) {
+			if (session.getStatus() != Bitboard.STATUS_NOT_COMPLETED) {
+				session.restart(now);
+				return;
+			}
+			int position = session.getPosition();
+			int empty = ~(Position.xMask(position) | Position.oMask(position)) & Bitboard.FULL;
+			int n = random.nextInt(Bitboard.bitCount(empty));
+			for (int field = 1; field <= 9; field++) {
+				if ((empty & Bitboard.bit(field)) != 0 && n-- == 0) {
+					session.play(field, now);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return upper bound of the bucket, that contains the percentile
+	 */
+	static private long percentile(long[] histogram, long total, double p) {
+		long limit = (long) Math.ceil(total * p);
+		long count = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			count += histogram[i];
+			if (count >= limit) {
+				return 1L << (i + 1);
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+}
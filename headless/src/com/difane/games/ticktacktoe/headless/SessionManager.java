@@ -0,0 +1,123 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+
+/**
+ * Registry of the independent game sessions, so one process can serve many
+ * games at once.
+ *
+ * Sessions are kept in the ConcurrentHashMap, so create, lookup and remove do
+ * not take a global lock, and ids are taken from the atomic counter. Each
+ * session locks only itself (see GameSession), so moves in the different
+ * sessions never contend.
+ */
+public class SessionManager {
+
+	/**
+	 * Sessions by id
+	 */
+	private final ConcurrentHashMap<Long, GameSession> sessions;
+
+	/**
+	 * Last issued id
+	 */
+	private final AtomicLong lastId = new AtomicLong();
+
+	/**
+	 * Root seed. Seed of the session depends only on the root seed and the
+	 * session id, so any session can be replayed
+	 */
+	private final long seed;
+
+	/**
+	 * Constructor
+	 *
+	 * @param expectedSessions
+	 *            Expected count of the concurrent sessions
+	 * @param seed
+	 *            Root seed of the sessions random generators
+	 */
+	public SessionManager(int expectedSessions, long seed) {
+		this.sessions = new ConcurrentHashMap<Long, GameSession>(expectedSessions);
+		this.seed = seed;
+	}
+
+	/**
+	 * Creates new session
+	 *
+	 * @param aiLevel
+	 *            AI level (one of the AiPlayer.LEVEL_*)
+	 * @return new session
+	 */
+	public GameSession create(int aiLevel) {
+		long id = lastId.incrementAndGet();
+		GameSession session = new GameSession(id, aiLevel, sessionSeed(id), System.nanoTime());
+		sessions.put(id, session);
+		return session;
+	}
+
+	/**
+	 * Returns session seed
+	 *
+	 * @param id
+	 *            Session id
+	 * @return seed of the session random generator
+	 */
+	public long sessionSeed(long id) {
+		return new SeededRandom(seed + id).nextSeed();
+	}
+
+	/**
+	 * Looks up session
+	 *
+	 * @param id
+	 *            Session id
+	 * @return session or null, if there is no such session (or it was expired)
+	 */
+	public GameSession get(long id) {
+		return sessions.get(id);
+	}
+
+	/**
+	 * Removes session
+	 *
+	 * @param id
+	 *            Session id
+	 * @return removed session or null, if there is no such session
+	 */
+	public GameSession remove(long id) {
+		return sessions.remove(id);
+	}
+
+	/**
+	 * Removes sessions, that were not accessed for the given time. Sessions
+	 * are not locked: session, that is accessed during the expiry, may be
+	 * removed too
+	 *
+	 * @param maxIdleNanos
+	 *            Maximal idle time in nanoseconds
+	 * @return count of the removed sessions
+	 */
+	public int expire(long maxIdleNanos) {
+		long now = System.nanoTime();
+		int removed = 0;
+		for (Iterator<GameSession> i = sessions.values().iterator(); i.hasNext();) {
+			if (now - i.next().getLastAccess() > maxIdleNanos) {
+				i.remove();
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * @return count of the sessions
+	 */
+	public int size() {
+		return sessions.size();
+	}
+}
@@ -0,0 +1,24 @@
+package com.difane.games.ticktacktoe.headless;
+
+/**
+ * Command line entry of the self-play simulator.
+ *
+ * Usage: Simulate [games] [x level] [o level] [seed] [threads]
+ */
+public class Simulate {
+
+	public static void main(String[] args) {
+		long games = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+		int xLevel = AiLevels.parse(args.length > 1 ? args[1] : "easy");
+		int oLevel = AiLevels.parse(args.length > 2 ? args[2] : "hard");
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+		int threads = args.length > 4 ? Integer.parseInt(args[4])
+				: Runtime.getRuntime().availableProcessors();
+
+		System.out.println("X: " + AiLevels.name(xLevel) + ", O: "
+				+ AiLevels.name(oLevel) + ", seed: " + seed + ", threads: " + threads);
+
+		SelfPlaySimulator simulator = new SelfPlaySimulator(xLevel, oLevel, threads);
+		System.out.print(simulator.run(games, seed));
+	}
+}
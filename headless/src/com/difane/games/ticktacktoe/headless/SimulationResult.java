@@ -0,0 +1,186 @@
+package com.difane.games.ticktacktoe.headless;
+
+import com.difane.games.ticktacktoe.engine.Bitboard;
+
+/**
+ * Statistics of the simulated games. Each worker fills its own instance, and
+ * instances are merged, when workers are joined, so no locks are needed.
+ */
+public class SimulationResult {
+
+	/**
+	 * Games results
+	 */
+	private long xWins;
+	private long oWins;
+	private long draws;
+
+	/**
+	 * Count of the moves to the each field (1 to 9) for the each move number
+	 * (0 to 8)
+	 */
+	private final long[][] moves = new long[9][10];
+
+	/**
+	 * Count of the games for the each game length (0 to 9 moves)
+	 */
+	private final long[] lengths = new long[10];
+
+	/**
+	 * Time of the simulation in nanoseconds. Set only for the merged result
+	 */
+	private long nanos;
+
+	/**
+	 * Adds the last game of the given instance
+	 *
+	 * @param game
+	 *            Played game
+	 * @param status
+	 *            Game status, returned by the HeadlessGame.play()
+	 */
+	public void add(HeadlessGame game, int status) {
+		switch (status) {
+		case Bitboard.STATUS_X_WINS:
+			xWins++;
+			break;
+		case Bitboard.STATUS_O_WINS:
+			oWins++;
+			break;
+		default:
+			draws++;
+			break;
+		}
+
+		int count = game.getMoveCount();
+		for (int ply = 0; ply < count; ply++) {
+			moves[ply][game.getMove(ply)]++;
+		}
+		lengths[count]++;
+	}
+
+	/**
+	 * Adds statistics of the other result to this one
+	 *
+	 * @param other
+	 *            Result to add
+	 * @return this result
+	 */
+	public SimulationResult merge(SimulationResult other) {
+		xWins += other.xWins;
+		oWins += other.oWins;
+		draws += other.draws;
+		for (int ply = 0; ply < 9; ply++) {
+			for (int field = 1; field <= 9; field++) {
+				moves[ply][field] += other.moves[ply][field];
+			}
+		}
+		for (int i = 0; i < lengths.length; i++) {
+			lengths[i] += other.lengths[i];
+		}
+		return this;
+	}
+
+	/**
+	 * @return count of the played games
+	 */
+	public long getGames() {
+		return xWins + oWins + draws;
+	}
+
+	/**
+	 * @return count of the games, won by X
+	 */
+	public long getXWins() {
+		return xWins;
+	}
+
+	/**
+	 * @return count of the games, won by O
+	 */
+	public long getOWins() {
+		return oWins;
+	}
+
+	/**
+	 * @return count of the draws
+	 */
+	public long getDraws() {
+		return draws;
+	}
+
+	/**
+	 * @param ply
+	 *            Move number (0 to 8)
+	 * @param field
+	 *            Field (1 to 9)
+	 * @return count of the moves to the field
+	 */
+	public long getMoves(int ply, int field) {
+		return moves[ply][field];
+	}
+
+	/**
+	 * @param length
+	 *            Count of the moves (0 to 9)
+	 * @return count of the games with the given length
+	 */
+	public long getLengths(int length) {
+		return lengths[length];
+	}
+
+	/**
+	 * @return time of the simulation in nanoseconds
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * @param nanos
+	 *            Time of the simulation in nanoseconds
+	 */
+	public void setNanos(long nanos) {
+		this.nanos = nanos;
+	}
+
+	/**
+	 * @return games per second
+	 */
+	public double getGamesPerSecond() {
+		return nanos == 0 ? 0 : getGames() * 1e9 / nanos;
+	}
+
+	/**
+	 * @return human readable report
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		long games = getGames();
+		sb.append(String.format("Games: %d in %.3f s (%.0f games/s)%n", games,
+				nanos / 1e9, getGamesPerSecond()));
+		sb.append(String.format("X wins: %d (%.2f%%)%n", xWins, percent(xWins, games)));
+		sb.append(String.format("O wins: %d (%.2f%%)%n", oWins, percent(oWins, games)));
+		sb.append(String.format("Draws:  %d (%.2f%%)%n", draws, percent(draws, games)));
+
+		sb.append("Moves by field (rows - move number, columns - fields 1..9):\n");
+		for (int ply = 0; ply < 9; ply++) {
+			sb.append(String.format("%d:", ply + 1));
+			for (int field = 1; field <= 9; field++) {
+				sb.append(String.format(" %10d", moves[ply][field]));
+			}
+			sb.append('\n');
+		}
+
+		sb.append("Game lengths:");
+		for (int i = 5; i <= 9; i++) {
+			sb.append(String.format(" %d=%d", i, lengths[i]));
+		}
+		sb.append('\n');
+		return sb.toString();
+	}
+
+	static private double percent(long value, long total) {
+		return total == 0 ? 0 : value * 100.0 / total;
+	}
+}
@@ -0,0 +1,65 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.difane.games.ticktacktoe.engine.MnkRules;
+
+/**
+ * Command line entry of the retrograde solver. Solves the m,n,k game, writes
+ * the tablebase and prints the value of the empty board.
+ *
+ * Usage: SolveTablebase [variant, e.g. 4x4k3] [file] [threads]
+ */
+public class SolveTablebase {
+
+	static private final String[] VALUES = { "unknown", "loss", "draw", "win" };
+
+	public static void main(String[] args) throws IOException {
+		MnkRules rules = parse(args.length > 0 ? args[0] : "4x4k3");
+		Path file = Paths.get(args.length > 1 ? args[1] : rules + ".tb");
+		int threads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+
+		System.out.println("Board: " + rules + ", threads: " + threads);
+		if (rules.getCells() > Tablebase.MAX_CELLS) {
+			System.out.println("FAILED: " + rules.getCells() + " cells need 3^"
+					+ rules.getCells() + " positions, tablebase supports up to "
+					+ Tablebase.MAX_CELLS + " cells");
+			System.exit(1);
+		}
+
+		long start = System.nanoTime();
+		long[] counts = new RetrogradeSolver(rules, threads).solve(file);
+		long nanos = System.nanoTime() - start;
+		long solved = counts[Tablebase.LOSS] + counts[Tablebase.DRAW] + counts[Tablebase.WIN];
+		System.out.println(String.format("Positions: %d (wins %d, draws %d, losses %d) in %.1f ms",
+				solved, counts[Tablebase.WIN], counts[Tablebase.DRAW], counts[Tablebase.LOSS],
+				nanos / 1e6));
+		System.out.println("File: " + file + ", " + Files.size(file) + " bytes");
+
+		try (Tablebase tablebase = Tablebase.open(file)) {
+			int move = tablebase.getBestMove(0, 0);
+			System.out.println("Empty board: " + VALUES[tablebase.getValue(0, 0)]
+					+ " for X, best move row " + move / rules.getWidth() + " column "
+					+ move % rules.getWidth());
+		}
+	}
+
+	/**
+	 * Parses variant name: width x height k line length, e.g. 4x4k3
+	 *
+	 * @throws IllegalArgumentException
+	 *             if name is invalid
+	 */
+	static MnkRules parse(String name) {
+		String[] parts = name.toLowerCase().split("[xk]");
+		if (parts.length != 3) {
+			throw new IllegalArgumentException("Unknown board: " + name + " (expected e.g. 4x4k3)");
+		}
+		return new MnkRules(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+				Integer.parseInt(parts[2]));
+	}
+}
@@ -0,0 +1,624 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates engine.Tables: all the constant lookup tables of the engine and
+ * the display, including the optimal moves table for every reachable
+ * position. Each table is verified against the ReferenceSolver before the
+ * class is written, and the build fails on any mismatch.
+ *
+ * Big tables are written as the string constants (16 bits per char), so they
+ * are kept in the class constant pool and are not built by the class
+ * initializer code. File is written only if its content changed.
+ *
+ * Generator does not use the engine classes, because they are built from
+ * the generated tables.
+ *
+ * Usage: TableGenerator output-file
+ */
+public class TableGenerator {
+
+	static private final int FIELDS = 9;
+
+	static private final int FULL = 0x1FF;
+
+	/**
+	 * Transforms count of the board symmetries
+	 */
+	static private final int TRANSFORMS = 8;
+
+	/**
+	 * Winning lines: 3 rows, 3 columns and 2 diagonals
+	 */
+	static private final int[] WIN_MASKS = { 0x007, 0x038, 0x1C0, 0x049,
+			0x092, 0x124, 0x111, 0x054 };
+
+	/**
+	 * Fields of the each winning line, counted from 1 (former statusHelper)
+	 */
+	static private final int[][] LINE_FIELDS = { { 0, 0, 0, 0 }, { 0, 1, 2, 3 },
+			{ 0, 4, 5, 6 }, { 0, 7, 8, 9 }, { 0, 1, 4, 7 }, { 0, 2, 5, 8 },
+			{ 0, 3, 6, 9 }, { 0, 1, 5, 9 }, { 0, 3, 5, 7 } };
+
+	/**
+	 * Lines through the each field: row, column, main and anti diagonal, 0 -
+	 * no line (former ratingHelper)
+	 */
+	static private final int[][] FIELD_LINES = { { 0, 0, 0, 0, 0 },
+			{ 0, 1, 4, 7, 0 }, { 0, 1, 5, 0, 0 }, { 0, 1, 6, 0, 8 },
+			{ 0, 2, 4, 0, 0 }, { 0, 2, 5, 7, 8 }, { 0, 2, 6, 0, 0 },
+			{ 0, 3, 4, 0, 8 }, { 0, 3, 5, 0, 0 }, { 0, 3, 6, 7, 0 } };
+
+	/**
+	 * Target field of the each field for the each symmetry
+	 */
+	static private final int[][] PERMUTATIONS = {
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8 }, { 2, 5, 8, 1, 4, 7, 0, 3, 6 },
+			{ 8, 7, 6, 5, 4, 3, 2, 1, 0 }, { 6, 3, 0, 7, 4, 1, 8, 5, 2 },
+			{ 2, 1, 0, 5, 4, 3, 8, 7, 6 }, { 6, 7, 8, 3, 4, 5, 0, 1, 2 },
+			{ 0, 3, 6, 1, 4, 7, 2, 5, 8 }, { 8, 5, 2, 7, 4, 1, 6, 3, 0 } };
+
+	static private final int[] INVERSE = { 0, 3, 2, 1, 4, 5, 6, 7 };
+
+	/**
+	 * Screen coordinates of the "X" and "O" marks of the each field
+	 */
+	static private final int[][] FIELD_COORDS = { { 0, 0 }, { 1, 2 },
+			{ 7, 2 }, { 13, 2 }, { 1, 8 }, { 7, 8 }, { 13, 8 }, { 1, 14 },
+			{ 7, 14 }, { 13, 14 } };
+
+	/**
+	 * Screen size of the cell and of the sub-board of the Ultimate board
+	 * (9x9 cells in the 18x18 pixels)
+	 */
+	static private final int ULTIMATE_CELL_SIZE = 2;
+	static private final int ULTIMATE_BOARD_SIZE = ULTIMATE_CELL_SIZE * 3;
+
+	/**
+	 * Optimal moves table layout (see engine.MoveTable)
+	 */
+	static private final int MOVE_TABLE_SIZE = 6046;
+	static private final int ENTRY_BITS = 11;
+	static private final int VALUE_LOSS = 0;
+	static private final int VALUE_DRAW = 1;
+	static private final int VALUE_WIN = 2;
+
+	/**
+	 * Generated tables
+	 */
+	private final int[] affected = new int[10];
+	private final int[] wins = new int[FULL + 1];
+	private final int[] openLines = new int[FULL + 1];
+	private final int[] completions = new int[FULL + 1];
+	private final int[] bitCount = new int[FULL + 1];
+	private final int[] rank = new int[FULL + 1];
+	private final int[][] binomial = new int[10][10];
+	private final int[][] offset = new int[6][5];
+	private final int[] maps = new int[TRANSFORMS * (FULL + 1)];
+	private final int[] moveTable = new int[(MOVE_TABLE_SIZE * ENTRY_BITS + 31) / 32];
+	private final int[][] ultimateFieldCoords = new int[82][2];
+
+	/**
+	 * Mismatches found by the verification
+	 */
+	private final List<String> errors = new ArrayList<>();
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: TableGenerator output-file");
+			System.exit(2);
+		}
+
+		TableGenerator generator = new TableGenerator();
+		generator.generate();
+		int checked = generator.verify();
+		if (!generator.errors.isEmpty()) {
+			for (String error : generator.errors) {
+				System.err.println(error);
+			}
+			System.err.println(generator.errors.size() + " table mismatches");
+			System.exit(1);
+		}
+
+		Path output = Paths.get(args[0]);
+		String source = generator.source();
+		if (Files.exists(output)
+				&& source.equals(new String(Files.readAllBytes(output), StandardCharsets.UTF_8))) {
+			System.out.println("Tables are up to date (" + checked + " positions verified)");
+		} else {
+			Files.write(output, source.getBytes(StandardCharsets.UTF_8));
+			System.out.println("Tables written to " + output + " (" + checked + " positions verified)");
+		}
+	}
+
+	/**
+	 * Computes all the tables
+	 */
+	void generate() {
+		for (int field = 1; field <= 9; field++) {
+			for (int j = 1; j <= 4; j++) {
+				int line = FIELD_LINES[field][j];
+				if (line != 0) {
+					affected[field] |= WIN_MASKS[line - 1];
+				}
+			}
+		}
+
+		int[] counters = new int[10];
+		for (int mask = 0; mask <= FULL; mask++) {
+			for (int i = 0; i < WIN_MASKS.length; i++) {
+				if ((mask & WIN_MASKS[i]) == WIN_MASKS[i]) {
+					wins[mask] = 1;
+				}
+				if ((mask & WIN_MASKS[i]) == 0) {
+					openLines[mask] |= 1 << i;
+				}
+			}
+			for (int field = 0; field < FIELDS; field++) {
+				int bit = 1 << field;
+				if ((mask & bit) == 0) {
+					for (int i = 0; i < WIN_MASKS.length; i++) {
+						if (((mask | bit) & WIN_MASKS[i]) == WIN_MASKS[i]) {
+							completions[mask] |= bit;
+						}
+					}
+				}
+			}
+			bitCount[mask] = bitCount[mask >> 1] + (mask & 1);
+			rank[mask] = counters[bitCount[mask]]++;
+
+			for (int t = 0; t < TRANSFORMS; t++) {
+				int result = 0;
+				for (int field = 0; field < FIELDS; field++) {
+					if ((mask & (1 << field)) != 0) {
+						result |= 1 << PERMUTATIONS[t][field];
+					}
+				}
+				maps[t * (FULL + 1) + mask] = result;
+			}
+		}
+
+		for (int n = 0; n <= 9; n++) {
+			binomial[n][0] = 1;
+			for (int k = 1; k <= n; k++) {
+				binomial[n][k] = binomial[n - 1][k - 1] + (k <= n - 1 ? binomial[n - 1][k] : 0);
+			}
+		}
+		int next = 0;
+		for (int o = 0; o <= 4; o++) {
+			for (int x = o; x <= o + 1; x++) {
+				offset[x][o] = next;
+				next += binomial[9][x] * binomial[9 - x][o];
+			}
+		}
+
+		// Ultimate fields are numbered by the sub-boards: (board - 1) * 9 + cell
+		for (int board = 0; board < FIELDS; board++) {
+			for (int cell = 0; cell < FIELDS; cell++) {
+				int[] coords = ultimateFieldCoords[board * FIELDS + cell + 1];
+				coords[0] = (board % 3) * ULTIMATE_BOARD_SIZE + (cell % 3) * ULTIMATE_CELL_SIZE;
+				coords[1] = (board / 3) * ULTIMATE_BOARD_SIZE + (cell / 3) * ULTIMATE_CELL_SIZE;
+			}
+		}
+
+		solve(0, 0, new byte[MOVE_TABLE_SIZE], new boolean[MOVE_TABLE_SIZE]);
+	}
+
+	/**
+	 * Perfect index of the position (same as engine.MoveTable.index())
+	 */
+	private int index(int x, int o) {
+		int xCount = bitCount[x];
+		int packed = 0;
+		int j = 0;
+		for (int field = 0; field < FIELDS; field++) {
+			int bit = 1 << field;
+			if ((x & bit) == 0) {
+				if ((o & bit) != 0) {
+					packed |= 1 << j;
+				}
+				j++;
+			}
+		}
+		return offset[xCount][bitCount[o]] + rank[x] * binomial[FIELDS - xCount][bitCount[o]]
+				+ rank[packed];
+	}
+
+	/**
+	 * Solves position and all positions, that are reachable from it, and
+	 * writes best moves and value to the moves table
+	 *
+	 * @return exact score for the side to move
+	 */
+	private int solve(int x, int o, byte[] scores, boolean[] solved) {
+		int index = index(x, o);
+		if (solved[index]) {
+			return scores[index];
+		}
+
+		boolean xTurn = bitCount[x] == bitCount[o];
+		int own = xTurn ? x : o;
+		int empties = FIELDS - bitCount[x | o];
+		int best = Integer.MIN_VALUE;
+		int bestFields = 0;
+
+		for (int field = 0; field < FIELDS; field++) {
+			int bit = 1 << field;
+			if (((x | o) & bit) != 0) {
+				continue;
+			}
+			int score;
+			if (wins[own | bit] != 0) {
+				score = empties;
+			} else if (empties == 1) {
+				score = 0;
+			} else if (xTurn) {
+				score = -solve(x | bit, o, scores, solved);
+			} else {
+				score = -solve(x, o | bit, scores, solved);
+			}
+
+			if (score > best) {
+				best = score;
+				bestFields = bit;
+			} else if (score == best) {
+				bestFields |= bit;
+			}
+		}
+
+		int value = best > 0 ? VALUE_WIN : (best < 0 ? VALUE_LOSS : VALUE_DRAW);
+		int entry = bestFields | (value << 9);
+		int position = index * ENTRY_BITS;
+		moveTable[position >> 5] |= entry << (position & 31);
+		if ((position & 31) + ENTRY_BITS > 32) {
+			moveTable[(position >> 5) + 1] |= entry >>> (32 - (position & 31));
+		}
+		scores[index] = (byte) best;
+		solved[index] = true;
+		return best;
+	}
+
+	/**
+	 * Reads entry of the moves table
+	 */
+	private int entry(int index) {
+		long bits = 0;
+		for (int bit = 0; bit < ENTRY_BITS; bit++) {
+			int position = index * ENTRY_BITS + bit;
+			bits |= (long) ((moveTable[position / 32] >>> (position % 32)) & 1) << bit;
+		}
+		return (int) bits;
+	}
+
+	/**
+	 * Verifies all the tables against the reference solver
+	 *
+	 * @return count of the verified positions of the moves table
+	 */
+	int verify() {
+		int[][] lines = ReferenceSolver.LINES;
+		for (int i = 0; i < lines.length; i++) {
+			int mask = 0;
+			for (int cell : lines[i]) {
+				mask |= 1 << cell;
+			}
+			check(WIN_MASKS[i] == mask, "WIN_MASKS[" + i + "]");
+			for (int j = 0; j < 3; j++) {
+				check(LINE_FIELDS[i + 1][j + 1] == lines[i][j] + 1, "LINE_FIELDS[" + (i + 1) + "]");
+			}
+		}
+
+		for (int cell = 0; cell < FIELDS; cell++) {
+			int r = cell / 3;
+			int c = cell % 3;
+			int[] expected = { 0, r + 1, c + 4, r == c ? 7 : 0, r + c == 2 ? 8 : 0 };
+			int expectedAffected = 0;
+			for (int[] line : lines) {
+				for (int lineCell : line) {
+					if (lineCell == cell) {
+						for (int other : line) {
+							expectedAffected |= 1 << other;
+						}
+					}
+				}
+			}
+			for (int j = 0; j <= 4; j++) {
+				check(FIELD_LINES[cell + 1][j] == expected[j], "FIELD_LINES[" + (cell + 1) + "]");
+			}
+			check(affected[cell + 1] == expectedAffected, "AFFECTED[" + (cell + 1) + "]");
+		}
+
+		// Each pixel of the Ultimate board belongs to exactly one field
+		int[][] owners = new int[ULTIMATE_BOARD_SIZE * 3][ULTIMATE_BOARD_SIZE * 3];
+		for (int field = 1; field <= FIELDS * FIELDS; field++) {
+			for (int dy = 0; dy < ULTIMATE_CELL_SIZE; dy++) {
+				for (int dx = 0; dx < ULTIMATE_CELL_SIZE; dx++) {
+					owners[ultimateFieldCoords[field][1] + dy][ultimateFieldCoords[field][0] + dx]++;
+				}
+			}
+		}
+		for (int[] row : owners) {
+			for (int count : row) {
+				check(count == 1, "ULTIMATE_FIELD_COORDS");
+			}
+		}
+
+		for (int t = 0; t < TRANSFORMS; t++) {
+			for (int cell = 0; cell < FIELDS; cell++) {
+				check(PERMUTATIONS[t][cell] == ReferenceSolver.transform(t, cell),
+						"PERMUTATIONS[" + t + "][" + cell + "]");
+				check(PERMUTATIONS[INVERSE[t]][PERMUTATIONS[t][cell]] == cell, "INVERSE[" + t + "]");
+			}
+		}
+
+		for (int mask = 0; mask <= FULL; mask++) {
+			int[] cells = new int[FIELDS];
+			int count = 0;
+			for (int cell = 0; cell < FIELDS; cell++) {
+				if ((mask & (1 << cell)) != 0) {
+					cells[cell] = ReferenceSolver.X;
+					count++;
+				}
+			}
+			check(bitCount[mask] == count, "BIT_COUNT[" + mask + "]");
+			check((wins[mask] != 0) == (ReferenceSolver.winner(cells) == ReferenceSolver.X),
+					"WINS[" + mask + "]");
+
+			int smaller = 0;
+			for (int other = 0; other < mask; other++) {
+				if (Integer.bitCount(other) == count) {
+					smaller++;
+				}
+			}
+			check(rank[mask] == smaller, "RANK[" + mask + "]");
+
+			for (int i = 0; i < lines.length; i++) {
+				boolean open = true;
+				for (int cell : lines[i]) {
+					open &= cells[cell] == ReferenceSolver.EMPTY;
+				}
+				check(((openLines[mask] >> i) & 1) == (open ? 1 : 0), "OPEN_LINES[" + mask + "]");
+			}
+
+			for (int cell = 0; cell < FIELDS; cell++) {
+				boolean completes = false;
+				if (cells[cell] == ReferenceSolver.EMPTY) {
+					cells[cell] = ReferenceSolver.X;
+					completes = ReferenceSolver.winner(cells) == ReferenceSolver.X;
+					cells[cell] = ReferenceSolver.EMPTY;
+				}
+				check(((completions[mask] >> cell) & 1) == (completes ? 1 : 0),
+						"COMPLETIONS[" + mask + "]");
+			}
+
+			for (int t = 0; t < TRANSFORMS; t++) {
+				int expected = 0;
+				for (int cell = 0; cell < FIELDS; cell++) {
+					if (cells[cell] != ReferenceSolver.EMPTY) {
+						expected |= 1 << ReferenceSolver.transform(t, cell);
+					}
+				}
+				check(maps[t * (FULL + 1) + mask] == expected, "SYMMETRY_MAPS[" + t + "][" + mask + "]");
+			}
+		}
+
+		return verifyMoves(new ReferenceSolver(), new int[FIELDS], ReferenceSolver.X,
+				new int[MOVE_TABLE_SIZE]);
+	}
+
+	/**
+	 * Verifies moves table for the position and all positions, that are
+	 * reachable from it
+	 *
+	 * @param owners
+	 *            Mask of the each visited index, used to detect index
+	 *            collisions
+	 * @return count of the verified positions
+	 */
+	private int verifyMoves(ReferenceSolver solver, int[] cells, int side, int[] owners) {
+		if (ReferenceSolver.winner(cells) != ReferenceSolver.EMPTY
+				|| ReferenceSolver.empties(cells) == 0) {
+			return 0;
+		}
+
+		int x = 0;
+		int o = 0;
+		for (int cell = 0; cell < FIELDS; cell++) {
+			if (cells[cell] == ReferenceSolver.X) {
+				x |= 1 << cell;
+			} else if (cells[cell] == ReferenceSolver.O) {
+				o |= 1 << cell;
+			}
+		}
+		int index = index(x, o);
+		int key = (x << 9) | o | (1 << 18);
+		if (owners[index] == key) {
+			return 0;
+		}
+		check(index >= 0 && index < MOVE_TABLE_SIZE && owners[index] == 0,
+				"index collision at " + index);
+		owners[index] = key;
+
+		int empties = ReferenceSolver.empties(cells);
+		int score = solver.score(cells, side);
+		int bestFields = 0;
+		for (int cell = 0; cell < FIELDS; cell++) {
+			if (cells[cell] == ReferenceSolver.EMPTY
+					&& solver.moveScore(cells, side, cell, empties) == score) {
+				bestFields |= 1 << cell;
+			}
+		}
+		int value = score > 0 ? VALUE_WIN : (score < 0 ? VALUE_LOSS : VALUE_DRAW);
+		check(entry(index) == (bestFields | (value << 9)), "MOVE_TABLE[" + index + "]");
+
+		int checked = 1;
+		int next = side == ReferenceSolver.X ? ReferenceSolver.O : ReferenceSolver.X;
+		for (int cell = 0; cell < FIELDS; cell++) {
+			if (cells[cell] == ReferenceSolver.EMPTY) {
+				cells[cell] = side;
+				checked += verifyMoves(solver, cells, next, owners);
+				cells[cell] = ReferenceSolver.EMPTY;
+			}
+		}
+		return checked;
+	}
+
+	private void check(boolean condition, String table) {
+		if (!condition && errors.size() < 100) {
+			errors.add("Mismatch: " + table);
+		}
+	}
+
+	/**
+	 * @return source of the Tables class
+	 */
+	String source() {
+		StringBuilder s = new StringBuilder();
+		s.append("package com.difane.games.ticktacktoe.engine;\n\n");
+		s.append("/**\n");
+		s.append(" * Constant lookup tables of the engine and the display.\n");
+		s.append(" *\n");
+		s.append(" * GENERATED by the headless TableGenerator (ant tables), do not edit. All\n");
+		s.append(" * the tables are verified against the reference solver during the\n");
+		s.append(" * generation.\n");
+		s.append(" *\n");
+		s.append(" * Big tables are the string constants with 16 bits per char. They are kept\n");
+		s.append(" * in the class constant pool, and are unpacked by the single copy loop of\n");
+		s.append(" * bytes(), shorts() or ints(), so no table is computed on the pen.\n");
+		s.append(" */\n");
+		s.append("public final class Tables {\n\n");
+
+		constant(s, "Winning lines: 3 rows, 3 columns and 2 diagonals", "int[] WIN_MASKS",
+				array(WIN_MASKS, true));
+		constant(s, "Fields of the each winning line (lines and fields are counted from 1)",
+				"int[][] LINE_FIELDS", array(LINE_FIELDS, false));
+		constant(s, "Lines through the each field: row, column, main and anti diagonal (0 -\n\t * no line)",
+				"int[][] FIELD_LINES", array(FIELD_LINES, false));
+		constant(s, "Fields, that share a line with the each field (including the field\n\t * itself)",
+				"int[] AFFECTED", array(affected, true));
+		constant(s, "Target field (bit index) of the each field for the each symmetry",
+				"int[][] PERMUTATIONS", array(PERMUTATIONS, false));
+		constant(s, "Inverse symmetry for the each symmetry", "int[] INVERSE", array(INVERSE, false));
+		constant(s, "Screen coordinates of the marks of the each field", "int[][] FIELD_COORDS",
+				array(FIELD_COORDS, false));
+		constant(s, "Screen coordinates of the marks of the each Ultimate field (fields are\n\t * numbered by the sub-boards: (board - 1) * 9 + cell)",
+				"int[][] ULTIMATE_FIELD_COORDS", array(ultimateFieldCoords, false));
+		constant(s, "Binomial coefficients C(n, k) for n <= 9", "int[][] BINOMIAL",
+				array(binomial, false));
+		constant(s, "Moves table index offset of the each group. Indexed by [count of X]\n\t * [count of O]",
+				"int[][] MOVE_OFFSET", array(offset, false));
+
+		constant(s, "1 if the mask contains a winning line (bytes)", "String WINS", string(chars(wins)));
+		constant(s, "Winning lines, that have no common fields with the mask (bytes)",
+				"String OPEN_LINES", string(chars(openLines)));
+		constant(s, "Fields, that complete a winning line, when added to the mask (shorts)",
+				"String COMPLETIONS", string(chars(completions)));
+		constant(s, "Count of the bits in the mask (bytes)", "String BIT_COUNT", string(chars(bitCount)));
+		constant(s, "Rank of the mask among all masks with the same bits count (shorts)",
+				"String RANK", string(chars(rank)));
+		constant(s, "Transformed mask for the each symmetry and mask, 512 shorts per\n\t * symmetry",
+				"String SYMMETRY_MAPS", string(chars(maps)));
+
+		char[] moves = new char[moveTable.length * 2];
+		for (int i = 0; i < moveTable.length; i++) {
+			moves[2 * i] = (char) (moveTable[i] >>> 16);
+			moves[2 * i + 1] = (char) moveTable[i];
+		}
+		constant(s, "Packed optimal moves table (ints, see MoveTable)", "String MOVE_TABLE", string(moves));
+
+		s.append("\tprivate Tables() {\n\t}\n\n");
+		s.append("\t/**\n\t * Unpacks table of the bytes\n\t */\n");
+		s.append("\tstatic public byte[] bytes(String data) {\n");
+		s.append("\t\tbyte[] result = new byte[data.length()];\n");
+		s.append("\t\tfor (int i = 0; i < result.length; i++) {\n");
+		s.append("\t\t\tresult[i] = (byte) data.charAt(i);\n");
+		s.append("\t\t}\n\t\treturn result;\n\t}\n\n");
+		s.append("\t/**\n\t * Unpacks part of the table of the shorts\n\t */\n");
+		s.append("\tstatic public short[] shorts(String data, int offset, int length) {\n");
+		s.append("\t\tshort[] result = new short[length];\n");
+		s.append("\t\tfor (int i = 0; i < length; i++) {\n");
+		s.append("\t\t\tresult[i] = (short) data.charAt(offset + i);\n");
+		s.append("\t\t}\n\t\treturn result;\n\t}\n\n");
+		s.append("\t/**\n\t * Unpacks table of the ints (high char first)\n\t */\n");
+		s.append("\tstatic public int[] ints(String data) {\n");
+		s.append("\t\tint[] result = new int[data.length() / 2];\n");
+		s.append("\t\tfor (int i = 0; i < result.length; i++) {\n");
+		s.append("\t\t\tresult[i] = (data.charAt(2 * i) << 16) | data.charAt(2 * i + 1);\n");
+		s.append("\t\t}\n\t\treturn result;\n\t}\n");
+		s.append("}\n");
+		return s.toString();
+	}
+
+	static private void constant(StringBuilder s, String doc, String declaration, String value) {
+		s.append("\t/**\n\t * ").append(doc).append("\n\t */\n");
+		s.append("\tstatic public final ").append(declaration).append(" = ").append(value).append(";\n\n");
+	}
+
+	static private String array(int[] values, boolean hex) {
+		StringBuilder s = new StringBuilder("{ ");
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				s.append(i % 16 == 0 ? ",\n\t\t\t" : ", ");
+			}
+			s.append(hex ? String.format("0x%03X", values[i]) : Integer.toString(values[i]));
+		}
+		return s.append(" }").toString();
+	}
+
+	static private String array(int[][] values, boolean hex) {
+		StringBuilder s = new StringBuilder("{");
+		for (int i = 0; i < values.length; i++) {
+			s.append(i > 0 ? ",\n\t\t\t" : "\n\t\t\t").append(array(values[i], hex));
+		}
+		return s.append(" }").toString();
+	}
+
+	static private char[] chars(int[] values) {
+		char[] result = new char[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = (char) values[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Writes chars as the string literal. Chars, that are not printable
+	 * ASCII, are written as the escapes
+	 */
+	static private String string(char[] chars) {
+		StringBuilder s = new StringBuilder("\"");
+		int column = 0;
+		for (int i = 0; i < chars.length; i++) {
+			if (column >= 64) {
+				s.append("\"\n\t\t\t+ \"");
+				column = 0;
+			}
+			char c = chars[i];
+			String text;
+			if (c == '"' || c == '\\') {
+				text = "\\" + c;
+			} else if (c >= 0x20 && c < 0x7F) {
+				text = String.valueOf(c);
+			} else if (c < 0x100) {
+				// Octal escape is not processed before the lexing, so it is
+				// safe for the line feeds too
+				text = "\\" + Integer.toOctalString(c);
+				if (i + 1 < chars.length && chars[i + 1] >= '0' && chars[i + 1] <= '7') {
+					text = "\\" + String.format("%03o", (int) c);
+				}
+			} else {
+				text = String.format("\\u%04X", (int) c);
+			}
+			s.append(text);
+			column += text.length();
+		}
+		return s.append('"').toString();
+	}
+}
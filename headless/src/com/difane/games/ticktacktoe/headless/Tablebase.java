@@ -0,0 +1,74 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.difane.games.ticktacktoe.engine.MnkRules;
+import com.difane.games.ticktacktoe.engine.MnkTable;
+
+/**
+ * Win/draw/loss tablebase of the m,n,k game, written by the RetrogradeSolver.
+ * File format and the position index are described in the MnkTable. File is
+ * mapped read-only instead of reading it into the memory.
+ */
+public class Tablebase extends MnkTable implements Closeable {
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+
+	private Tablebase(MnkRules rules, FileChannel channel, MappedByteBuffer buffer) {
+		super(rules, null);
+		this.channel = channel;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Maps tablebase file for reading
+	 */
+	public static Tablebase open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+				throw new IOException(file + " is not a tablebase");
+			}
+			MnkRules rules = new MnkRules(buffer.getInt(4), buffer.getInt(8), buffer.getInt(12));
+			if (rules.getCells() > MAX_CELLS || channel.size() != fileSize(rules)) {
+				throw new IOException(file + " has unexpected size");
+			}
+			return new Tablebase(rules, channel, buffer);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	protected int value(int index) {
+		return read(buffer, index);
+	}
+
+	/**
+	 * @return file size: header and 2 bits per position, rounded up to the
+	 *         whole ints
+	 */
+	static long fileSize(MnkRules rules) {
+		return HEADER_SIZE + (long) dataSize(rules);
+	}
+
+	/**
+	 * Reads value of the position index
+	 */
+	static int read(MappedByteBuffer buffer, int index) {
+		return (buffer.get(HEADER_SIZE + (index >>> 2)) >>> ((index & 3) << 1)) & 3;
+	}
+}
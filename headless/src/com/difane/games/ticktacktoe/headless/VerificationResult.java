@@ -0,0 +1,204 @@
+package com.difane.games.ticktacktoe.headless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics of the adversarial verification. Each fork-join task fills its
+ * own instance, and instances are merged, when tasks are joined.
+ */
+public class VerificationResult {
+
+	/**
+	 * Count of the positions, that are reachable by the legal play from the
+	 * empty board (including the completed ones)
+	 */
+	static public final int REACHABLE_POSITIONS = 5478;
+
+	/**
+	 * Maximal count of the lines, that are kept for the report
+	 */
+	static private final int MAX_LINES = 50;
+
+	/**
+	 * Visited nodes (each position on the each line is counted)
+	 */
+	private long nodes;
+
+	/**
+	 * AI decisions: all of them, ones with more than one candidate move and
+	 * total count of the candidate moves
+	 */
+	private long aiNodes;
+	private long tieBreaks;
+	private long branches;
+
+	/**
+	 * Completed lines by the result for the AI
+	 */
+	private long aiWins;
+	private long draws;
+	private long losses;
+
+	/**
+	 * AI decisions, where candidate set was empty or contained an occupied
+	 * field
+	 */
+	private long invalid;
+
+	/**
+	 * Visited positions, bit set indexed by the position
+	 */
+	private final long[] positions = new long[(1 << 18) / 64];
+
+	/**
+	 * Losing and invalid lines, up to the MAX_LINES
+	 */
+	private final List<String> lines = new ArrayList<>();
+
+	/**
+	 * Time of the verification in nanoseconds. Set only for the merged result
+	 */
+	private long nanos;
+
+	/**
+	 * Counts visited position
+	 */
+	void addNode(int position) {
+		nodes++;
+		positions[position >>> 6] |= 1L << position;
+	}
+
+	/**
+	 * Counts AI decision
+	 *
+	 * @param candidates
+	 *            Count of the candidate moves
+	 */
+	void addAiNode(int candidates) {
+		aiNodes++;
+		branches += candidates;
+		if (candidates > 1) {
+			tieBreaks++;
+		}
+	}
+
+	void addAiWin() {
+		aiWins++;
+	}
+
+	void addDraw() {
+		draws++;
+	}
+
+	void addLoss(String line) {
+		losses++;
+		addLine("LOSS " + line);
+	}
+
+	void addInvalid(String line) {
+		invalid++;
+		addLine("INVALID " + line);
+	}
+
+	private void addLine(String line) {
+		if (lines.size() < MAX_LINES) {
+			lines.add(line);
+		}
+	}
+
+	/**
+	 * Adds statistics of the other result
+	 *
+	 * @return this result
+	 */
+	public VerificationResult merge(VerificationResult other) {
+		nodes += other.nodes;
+		aiNodes += other.aiNodes;
+		tieBreaks += other.tieBreaks;
+		branches += other.branches;
+		aiWins += other.aiWins;
+		draws += other.draws;
+		losses += other.losses;
+		invalid += other.invalid;
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] |= other.positions[i];
+		}
+		for (String line : other.lines) {
+			addLine(line);
+		}
+		return this;
+	}
+
+	/**
+	 * @return count of the distinct visited positions
+	 */
+	public int getDistinctPositions() {
+		int count = 0;
+		for (long bits : positions) {
+			count += Long.bitCount(bits);
+		}
+		return count;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getLosses() {
+		return losses;
+	}
+
+	public long getInvalid() {
+		return invalid;
+	}
+
+	public void setNanos(long nanos) {
+		this.nanos = nanos;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		long lines = aiWins + draws + losses;
+		int distinct = getDistinctPositions();
+		s.append(String.format("Lines: %d (AI wins %d, draws %d, AI loses %d, invalid %d)%n",
+				lines, aiWins, draws, losses, invalid));
+		s.append(String.format("AI decisions: %d, with tie-breaks %d, branches %d%n",
+				aiNodes, tieBreaks, branches));
+		s.append(String.format("Coverage: %d of %d reachable positions (%.1f%%)%n", distinct,
+				REACHABLE_POSITIONS, 100.0 * distinct / REACHABLE_POSITIONS));
+		s.append(String.format("Nodes: %d in %.1f ms, %.0f nodes/s%n", nodes, nanos / 1e6,
+				nanos == 0 ? 0.0 : nodes * 1e9 / nanos));
+		for (String line : this.lines) {
+			s.append(line).append(String.format("%n"));
+		}
+		if (losses + invalid > this.lines.size()) {
+			s.append("... ").append(losses + invalid - this.lines.size()).append(" more")
+					.append(String.format("%n"));
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Formats line as the replayable moves list, e.g. "X1 O5 X9"
+	 *
+	 * @param moves
+	 *            Fields of the moves, X moves first
+	 * @param count
+	 *            Count of the moves
+	 */
+	static String formatLine(int[] moves, int count) {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				s.append(' ');
+			}
+			s.append((i & 1) == 0 ? 'X' : 'O').append(moves[i]);
+		}
+		return s.toString();
+	}
+}
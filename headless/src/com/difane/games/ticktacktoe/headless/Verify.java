@@ -0,0 +1,33 @@
+package com.difane.games.ticktacktoe.headless;
+
+/**
+ * Command line entry of the adversarial verifier. Exits with the code 1, if
+ * the AI loses more lines, than allowed, or selects an invalid move, so the
+ * build fails.
+ *
+ * Usage: Verify [level] [max losing lines] [threads]
+ */
+public class Verify {
+
+	public static void main(String[] args) {
+		int level = AiLevels.parse(args.length > 0 ? args[0] : "hard");
+		long maxLosses = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		int threads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+
+		System.out.println("Level: " + AiLevels.name(level) + ", threads: " + threads);
+
+		VerificationResult result = new AdversarialVerifier(level, threads).run();
+		System.out.print(result);
+
+		if (result.getInvalid() > 0 || result.getLosses() > maxLosses) {
+			System.out.println("FAILED: " + result.getLosses() + " losing lines (allowed "
+					+ maxLosses + "), " + result.getInvalid() + " invalid moves");
+			System.exit(1);
+		}
+		if (result.getLosses() < maxLosses) {
+			System.out.println("Losing lines: " + result.getLosses() + ", allowed " + maxLosses
+					+ ". Allowed count can be lowered");
+		}
+	}
+}
@@ -0,0 +1,280 @@
+package com.difane.games.ticktacktoe;
+
+import com.difane.games.ticktacktoe.engine.Bitboard;
+import com.difane.games.ticktacktoe.engine.Evaluator;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+import com.livescribe.geom.Point;
+
+/**
+ * Base of the game modes logic: players order, game seed and the turn API,
+ * that is used by the GameFSM. Each mode numbers the fields of its board,
+ * finds the field of the human turn on the drawn board and draws its board
+ * on the display. Mode is selected by the Container.setGameMode()
+ */
+public abstract class BaseGameLogic {
+
+	/**
+	 * DI Container
+	 */
+	protected Container container;
+
+	/**
+	 * Game board field possible states. FIELD_X and FIELD_O are used also to
+	 * track user and pen type in the game
+	 */
+	static public final int FIELD_EMPTY = Evaluator.FIELD_EMPTY;
+	static public final int FIELD_X = Evaluator.FIELD_X;
+	static public final int FIELD_O = Evaluator.FIELD_O;
+
+	/**
+	 * Possible game statuses
+	 */
+	static public final int GAME_STATUS_NOT_COMPLETED = Bitboard.STATUS_NOT_COMPLETED;
+	static public final int GAME_STATUS_X_WINS = Bitboard.STATUS_X_WINS;
+	static public final int GAME_STATUS_O_WINS = Bitboard.STATUS_O_WINS;
+	static public final int GAME_STATUS_DRAW = Bitboard.STATUS_DRAW;
+
+	/**
+	 * Type of the AI in that game "X" or "O" Must be one of the FIELD_X or
+	 * FIELD_O
+	 */
+	private int aiType;
+
+	/**
+	 * Type of the Human in that game "X" or "O" Must be one of the FIELD_X or
+	 * FIELD_O
+	 */
+	private int humanType;
+
+	/**
+	 * Source of the games seeds. Each game gets its own seed, so the game can
+	 * be replayed exactly by passing that seed to the setGameSeed()
+	 */
+	private SeededRandom seeds = new SeededRandom(System.currentTimeMillis());
+
+	/**
+	 * Seed of the current game
+	 */
+	private long gameSeed;
+
+	/**
+	 * Constructor
+	 *
+	 * @param c
+	 *            DI Container
+	 */
+	public BaseGameLogic(Container c) {
+		this.container = c;
+		this.setGameSeed(seeds.nextSeed());
+	}
+
+	/**
+	 * Sets new AI level. Modes without the AI levels ignore it
+	 *
+	 * @param aiLevel
+	 *            the aiLevel to set
+	 */
+	public void setAiLevel(int aiLevel) {
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[BaseGameLogic] AI levels are not used in this mode");
+	}
+
+	/**
+	 * Selects player order. Currently player always starts and plays X
+	 *
+	 * @return true, if Human goes first, false otherwise
+	 */
+	public boolean selectPlayersOrder() {
+		humanType = FIELD_X;
+		aiType = FIELD_O;
+
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[BaseGameLogic] Players order was selected. Human plays X, AI pays O. Human starts the game");
+		return true;
+	}
+
+	/**
+	 * Makes human turn
+	 *
+	 * @param field
+	 *            Field of the mode board, where turn was made
+	 * @return true if ok, false otherwise
+	 */
+	public abstract boolean humanTurn(int field);
+
+	/**
+	 * Makes ai turn
+	 *
+	 * @return Field of the mode board, where turn was made
+	 */
+	public abstract int aiTurn();
+
+	/**
+	 * Makes ai turn within the deadline
+	 *
+	 * @param deadlineNanos
+	 *            Deadline in nanoseconds of the Clock.SYSTEM time
+	 * @return Field of the mode board, where turn was made
+	 */
+	public abstract int aiTurn(long deadlineNanos);
+
+	/**
+	 * Starts computation of the AI replies in the background. Modes without
+	 * pondering do nothing
+	 */
+	public void startPondering() {
+	}
+
+	/**
+	 * Stops background computation of the AI replies
+	 */
+	public void stopPondering() {
+	}
+
+	/**
+	 * Returns game status
+	 *
+	 * @return one of the GAME_STATUS_* values
+	 */
+	public abstract int getGameStatus();
+
+	/**
+	 * Returns state of the single field
+	 *
+	 * @param field
+	 *            Field of the mode board
+	 * @return one of the FIELD_* values
+	 */
+	public abstract int getField(int field);
+
+	/**
+	 * Checks, that turn to the given field is possible
+	 *
+	 * @param field
+	 *            Field to check turn possibility
+	 * @return true, if turn is possible, false otherwise
+	 */
+	public abstract boolean isTurnPossible(int field);
+
+	/**
+	 * Returns field of the mode board, where turn was made, by coordinates
+	 * of the user turn on the drawn board (see GameBoard)
+	 *
+	 * @param p
+	 *            Point, where user has done his turn
+	 * @return field of the mode board, -1 if turn was made outside the board
+	 */
+	public abstract int getTurnField(Point p);
+
+	/**
+	 * Returns count of the grids, that user draws for the mode board (see
+	 * GridRecognizer). Modes, that are played on the 3x3 board of the
+	 * BoardRecognizer, return 0
+	 *
+	 * @return count of the grids
+	 */
+	public int getGridCount() {
+		return 0;
+	}
+
+	/**
+	 * @return count of the fields in the row of the each grid
+	 */
+	public int getGridColumns() {
+		return 3;
+	}
+
+	/**
+	 * @return count of the fields in the column of the each grid
+	 */
+	public int getGridRows() {
+		return 3;
+	}
+
+	/**
+	 * Draws board of the mode on the display
+	 *
+	 * @param display
+	 *            Display to draw on
+	 * @param msg
+	 *            Message to be displayed at the right of the board
+	 */
+	public abstract void drawBoard(GameDisplay display, String msg);
+
+	/**
+	 * Sets seed of the current game. Used to replay the game exactly
+	 *
+	 * @param seed
+	 *            Game seed
+	 */
+	public void setGameSeed(long seed) {
+		gameSeed = seed;
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[BaseGameLogic] Game seed was set to "+seed);
+	}
+
+	/**
+	 * Returns seed of the current game
+	 *
+	 * @return Game seed
+	 */
+	public long getGameSeed() {
+		return gameSeed;
+	}
+
+	/**
+	 * Replaces source of the games seeds. Next games seeds are taken from the
+	 * given generator
+	 *
+	 * @param seeds
+	 *            Seeds generator
+	 */
+	public void setRandom(SeededRandom seeds) {
+		this.seeds = seeds;
+		this.setGameSeed(seeds.nextSeed());
+	}
+
+	/**
+	 * Returns human type
+	 *
+	 * @return Human type
+	 */
+	public int getHumanType() {
+		return humanType;
+	}
+
+	/**
+	 * Returns AI type
+	 *
+	 * @return AI type
+	 */
+	public int getAiType() {
+		return aiType;
+	}
+
+	/**
+	 * Prepares the next game: players are selected again and the game gets
+	 * the new seed
+	 */
+	public void restart() {
+		aiType = 0;
+		humanType = 0;
+
+		this.getContainer().
+			getLoggerComponent().
+			debug("[BaseGameLogic] Restart executed");
+		this.setGameSeed(seeds.nextSeed());
+	}
+
+	/**
+	 * Returns container
+	 *
+	 * @return container
+	 */
+	public Container getContainer() {
+		return container;
+	}
+}
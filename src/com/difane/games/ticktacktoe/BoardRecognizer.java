@@ -0,0 +1,241 @@
+package com.difane.games.ticktacktoe;
+
+import com.difane.games.ticktacktoe.exceptions.GameBoardImpossibleException;
+import com.difane.games.ticktacktoe.exceptions.GameBoardLineException;
+import com.livescribe.geom.PolyLine;
+
+/**
+ * Recognizes the board grid from the lines, drawn in any order. Lines are
+ * collected, until there are two vertical and two horizontal lines, that make
+ * the board. Then the lines are assigned to the board (left and right
+ * vertical, top and bottom horizontal lines) and the board is calculated.
+ *
+ * When more lines are drawn (the first attempt was wrong), the newest lines
+ * are tried first, and the oldest lines are dropped, when there are more
+ * than MAX_LINES lines of the same type.
+ */
+public class BoardRecognizer {
+
+	/**
+	 * Maximal count of the kept lines of the each type
+	 */
+	static public final int MAX_LINES = 4;
+
+	/**
+	 * Missing lines of the getMissingLine()
+	 */
+	static public final int MISSING_FIRST_VERTICAL_LINE = 0;
+	static public final int MISSING_SECOND_VERTICAL_LINE = 1;
+	static public final int MISSING_FIRST_HORIZONTAL_LINE = 2;
+	static public final int MISSING_SECOND_HORIZONTAL_LINE = 3;
+
+	/**
+	 * DI Container
+	 */
+	private Container container;
+
+	/**
+	 * Collected lines from the oldest to the newest
+	 */
+	private PolyLine[] verticalLines = new PolyLine[MAX_LINES];
+	private int verticalLinesCount;
+	private PolyLine[] horizontalLines = new PolyLine[MAX_LINES];
+	private int horizontalLinesCount;
+
+	/**
+	 * Is board calculated from the collected lines
+	 */
+	private boolean boardReady;
+
+	/**
+	 * Constructor
+	 *
+	 * @param c
+	 *            DI container
+	 */
+	public BoardRecognizer(Container c) {
+		this.container = c;
+
+		this.getContainer().getLoggerComponent().debug(
+				"[BoardRecognizer] Component initialized");
+	}
+
+	/**
+	 * Adds the board line
+	 *
+	 * @param line
+	 *            Segment, fitted to the stroke (see LineFitter). Contains 2
+	 *            points in any direction
+	 * @return GameBoard.LINE_VERTICAL or GameBoard.LINE_HORIZONTAL
+	 * @throws GameBoardLineException
+	 *             if line can not be a board line
+	 */
+	public int addLine(PolyLine line) throws GameBoardLineException {
+		int type = this.getContainer().getGameBoardComponent()
+				.classifyLine(line);
+		if (type == GameBoard.LINE_VERTICAL) {
+			verticalLinesCount = add(verticalLines, verticalLinesCount, line);
+		} else {
+			horizontalLinesCount = add(horizontalLines, horizontalLinesCount,
+					line);
+		}
+		boardReady = false;
+
+		this.getContainer().getLoggerComponent().debug(
+				"[BoardRecognizer] Line " + line + " was added as "
+						+ (type == GameBoard.LINE_VERTICAL ? "vertical" : "horizontal")
+						+ ". Lines: " + verticalLinesCount + " vertical, "
+						+ horizontalLinesCount + " horizontal");
+		return type;
+	}
+
+	/**
+	 * Adds the line to the end, dropping the oldest line if there is no room
+	 *
+	 * @return new count of the lines
+	 */
+	static private int add(PolyLine[] lines, int count, PolyLine line) {
+		if (count == MAX_LINES) {
+			System.arraycopy(lines, 1, lines, 0, MAX_LINES - 1);
+			count--;
+		}
+		lines[count] = line;
+		return count + 1;
+	}
+
+	/**
+	 * Tries to make the board from the collected lines. Each pair of the
+	 * vertical lines is validated once, and only the valid pairs are
+	 * combined with the pairs of the horizontal lines. First valid
+	 * combination is set to the game board and the board is calculated
+	 *
+	 * @return true, if board is calculated, false, if there are less than
+	 *         two lines of any type
+	 * @throws GameBoardLineException
+	 *             if the lines are collected, but they do not make the
+	 *             board. Reason is taken from the combination of the newest
+	 *             lines
+	 */
+	public boolean recognize() throws GameBoardLineException {
+		boardReady = false;
+		if (verticalLinesCount < 2 || horizontalLinesCount < 2) {
+			return false;
+		}
+
+		GameBoard board = this.getContainer().getGameBoardComponent();
+		GameBoardLineException rejection = null;
+		for (int a = verticalLinesCount - 1; a > 0; a--) {
+			for (int b = a - 1; b >= 0; b--) {
+				try {
+					setVerticalLines(board, verticalLines[a], verticalLines[b]);
+				} catch (GameBoardLineException e) {
+					if (null == rejection) {
+						rejection = e;
+					}
+					continue;
+				}
+				for (int c = horizontalLinesCount - 1; c > 0; c--) {
+					for (int d = c - 1; d >= 0; d--) {
+						try {
+							setHorizontalLines(board, horizontalLines[c],
+									horizontalLines[d]);
+						} catch (GameBoardLineException e) {
+							if (null == rejection) {
+								rejection = e;
+							}
+							continue;
+						}
+						this.getContainer().getLoggerComponent().debug(
+								"[BoardRecognizer] Board was recognized");
+						boardReady = true;
+						return true;
+					}
+				}
+			}
+		}
+
+		this.getContainer().getLoggerComponent().debug(
+				"[BoardRecognizer] Collected lines do not make the board. Reason: "
+						+ rejection.getReason());
+		throw rejection;
+	}
+
+	/**
+	 * Sets vertical lines to the board, the left one first
+	 *
+	 * @throws GameBoardLineException
+	 *             if lines are not valid
+	 */
+	private void setVerticalLines(GameBoard board, PolyLine a, PolyLine b)
+			throws GameBoardLineException {
+		boolean aFirst = a.getX(0) < b.getX(0);
+		board.setFirstVerticalLine(aFirst ? a : b);
+		board.setSecondVerticalLine(aFirst ? b : a);
+	}
+
+	/**
+	 * Sets horizontal lines to the board, the top one first, and calculates
+	 * the board
+	 *
+	 * @throws GameBoardLineException
+	 *             if lines are not valid or board can not be calculated
+	 */
+	private void setHorizontalLines(GameBoard board, PolyLine a, PolyLine b)
+			throws GameBoardLineException {
+		boolean aFirst = a.getY(0) < b.getY(0);
+		board.setFirstHorizontalLine(aFirst ? a : b);
+		board.setSecondHorizontalLine(aFirst ? b : a);
+		try {
+			board.calculateBoard();
+		} catch (GameBoardImpossibleException e) {
+			throw new GameBoardLineException(
+					GameBoardLineException.REASON_UNKNOWN);
+		}
+	}
+
+	/**
+	 * Returns the line, that must be drawn next
+	 *
+	 * @return one of the MISSING_* values. When all the lines are drawn, but
+	 *         they do not make the board (recognize() reports the reason),
+	 *         MISSING_SECOND_HORIZONTAL_LINE is returned
+	 */
+	public int getMissingLine() {
+		if (verticalLinesCount < 2) {
+			return verticalLinesCount;
+		}
+		if (horizontalLinesCount < 2) {
+			return MISSING_FIRST_HORIZONTAL_LINE + horizontalLinesCount;
+		}
+		return MISSING_SECOND_HORIZONTAL_LINE;
+	}
+
+	/**
+	 * @return true, if board was calculated by the last recognize()
+	 */
+	public boolean isBoardReady() {
+		return boardReady;
+	}
+
+	/**
+	 * Clears the collected lines
+	 */
+	public void reset() {
+		for (int i = 0; i < MAX_LINES; i++) {
+			verticalLines[i] = null;
+			horizontalLines[i] = null;
+		}
+		verticalLinesCount = 0;
+		horizontalLinesCount = 0;
+		boardReady = false;
+	}
+
+	/**
+	 * Returns DI container
+	 *
+	 * @return the container
+	 */
+	public Container getContainer() {
+		return container;
+	}
+}
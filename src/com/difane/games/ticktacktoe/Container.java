@@ -3,14 +3,32 @@ package com.difane.games.ticktacktoe;
 import java.util.Hashtable;
 import java.util.NoSuchElementException;
 
+import com.difane.games.ticktacktoe.engine.MnkRules;
 import com.livescribe.penlet.Logger;
 
 public class Container {
 
 	/*
-	 * Available components: GameBoard GameLogic GameFSM GameDisplay Logger
+	 * Available components: GameBoard BoardRecognizer GridRecognizer
+	 * GameLogic GameFSM GameDisplay Logger
 	 */
 
+	/**
+	 * Available game modes. GameLogic component is created for the selected
+	 * mode
+	 */
+	static public final int GAME_MODE_CLASSIC = 0;
+	static public final int GAME_MODE_ULTIMATE = 1;
+	static public final int GAME_MODE_MNK_4X4_K3 = 2;
+	static public final int GAME_MODE_MNK_4X4_K4 = 3;
+	static public final int GAME_MODE_MNK_5X5_K4 = 4;
+	static public final int GAME_MODE_QUBIC = 5;
+
+	/**
+	 * Selected game mode
+	 */
+	private int gameMode = GAME_MODE_CLASSIC;
+
 	/**
 	 * Parameters
 	 */
@@ -58,13 +76,74 @@ public class Container {
 		return (GameBoard)components.get("gameboard");
 	}
 
-	public GameLogic getGameLogicComponent() {
+	public BoardRecognizer getBoardRecognizerComponent() {
+		if(false == components.containsKey("boardrecognizer"))
+		{
+			components.put("boardrecognizer", new BoardRecognizer(this));
+		}
+		
+		return (BoardRecognizer)components.get("boardrecognizer");
+	}
+
+	public GridRecognizer getGridRecognizerComponent() {
+		if(false == components.containsKey("gridrecognizer"))
+		{
+			components.put("gridrecognizer", new GridRecognizer(this));
+		}
+		
+		return (GridRecognizer)components.get("gridrecognizer");
+	}
+
+	public BaseGameLogic getGameLogicComponent() {
 		if(false == components.containsKey("gamelogic"))
 		{
-			components.put("gamelogic", new GameLogic(this));
+			switch (gameMode) {
+			case GAME_MODE_ULTIMATE:
+				components.put("gamelogic", new UltimateLogic(this));
+				break;
+			case GAME_MODE_MNK_4X4_K3:
+				components.put("gamelogic", new MnkLogic(this, MnkRules.BOARD_4X4_K3));
+				break;
+			case GAME_MODE_MNK_4X4_K4:
+				components.put("gamelogic", new MnkLogic(this, MnkRules.BOARD_4X4_K4));
+				break;
+			case GAME_MODE_MNK_5X5_K4:
+				components.put("gamelogic", new MnkLogic(this, MnkRules.BOARD_5X5_K4));
+				break;
+			case GAME_MODE_QUBIC:
+				components.put("gamelogic", new QubicLogic(this));
+				break;
+			default:
+				components.put("gamelogic", new GameLogic(this));
+				break;
+			}
 		}
 		
-		return (GameLogic)components.get("gamelogic");
+		return (BaseGameLogic)components.get("gamelogic");
+	}
+
+	/**
+	 * Selects game mode. GameLogic component of the previous mode is
+	 * dropped, so the memory of the mode AI is allocated only, when the mode
+	 * is played
+	 * 
+	 * @param mode
+	 *            One of the GAME_MODE_* values
+	 */
+	public void setGameMode(int mode) {
+		if (mode != gameMode) {
+			components.remove("gamelogic");
+			gameMode = mode;
+		}
+	}
+
+	/**
+	 * Returns selected game mode
+	 * 
+	 * @return one of the GAME_MODE_* values
+	 */
+	public int getGameMode() {
+		return gameMode;
 	}
 
 	public GameFSM getGameFSMComponent() {
@@ -1,7 +1,5 @@
 package com.difane.games.ticktacktoe;
 
-import java.util.Vector;
-
 import com.difane.games.ticktacktoe.exceptions.GameBoardImpossibleException;
 import com.difane.games.ticktacktoe.exceptions.GameBoardLineException;
 import com.difane.geom.Line;
@@ -9,7 +7,6 @@ import com.livescribe.afp.PageInstance;
 import com.livescribe.afp.Scale;
 import com.livescribe.geom.Point;
 import com.livescribe.geom.PolyLine;
-import com.livescribe.geom.Rectangle;
 
 public class GameBoard {
 
@@ -37,14 +34,39 @@ public class GameBoard {
 	//private int secondHorizontalLineLength;
 
 	/*
-	 * Vector, that contains board fields rectangles
+	 * Borders of the board columns and rows (left of the each column and
+	 * right of the last one, same for the rows). Inner borders split the
+	 * fields. Outer cells have no outer lines, so for the Ultimate and m,n,k
+	 * boards their size is taken from the middle cell
+	 */
+	private int[] columns = new int[4];
+	private int[] rows = new int[4];
+
+	/*
+	 * Page size. Classic outer fields reach the page borders. Zero, until the
+	 * board is calculated, so no field is found
 	 */
-	private Vector board;
+	private int pageWidth;
+	private int pageHeight;
 	
 	/*
-	 * Line drawing precision in grad
+	 * Line drawing precision in grad, as the squared tangent threshold of the
+	 * Line fixed point checks
+	 */
+	private static final int LINE_PRECISION = 10;
+	private static final int LINE_PRECISION_TAN_SQUARED = Line.tanSquared(LINE_PRECISION);
+
+	/*
+	 * Minimal line length in mm and squared minimal length in Anoto units
+	 */
+	private static final int MIN_LINE_LENGTH = 10;
+	private static final long MIN_LINE_LENGTH_SQUARED = minLineLengthSquared();
+
+	/*
+	 * Line types of the classifyLine()
 	 */
-	private static final double LINE_PRECISION = 10;
+	static public final int LINE_VERTICAL = 0;
+	static public final int LINE_HORIZONTAL = 1;
 
 	/**
 	 * Constructor
@@ -65,8 +87,6 @@ public class GameBoard {
 //		this.firstHorizontalLineLength = 0;
 //		this.secondHorizontalLineLength = 0;
 
-		this.board = new Vector(10);
-
 		this.getContainer()
 			.getLoggerComponent()
 			.debug("[GameBoard] Component initialized");
@@ -76,8 +96,9 @@ public class GameBoard {
 	 * Sets first vertical line (lines are from the left to the right)
 	 * 
 	 * @param firstVerticalLine
-	 *            Polyline, that contains 2 points. First point is the top
-	 *            point, second point is the bottom point
+	 *            Segment, fitted to the stroke (see LineFitter). Contains 2
+	 *            points. First point is the top point, second point is the
+	 *            bottom point
 	 * @throws GameBoardLineException 
 	 */
 	public void setFirstVerticalLine(PolyLine firstVerticalLine) throws GameBoardLineException {
@@ -116,8 +137,9 @@ public class GameBoard {
 	 * Sets second vertical line (lines are from the left to the right)
 	 * 
 	 * @param secondVerticalLine
-	 *            Polyline, that contains 2 points. First point is the top
-	 *            point, second point is the bottom point
+	 *            Segment, fitted to the stroke (see LineFitter). Contains 2
+	 *            points. First point is the top point, second point is the
+	 *            bottom point
 	 * @throws GameBoardLineException 
 	 */
 	public void setSecondVerticalLine(PolyLine secondVerticalLine) throws GameBoardLineException {
@@ -189,8 +211,9 @@ public class GameBoard {
 	 * Sets first horizontal line (lines are from the top to the bottom)
 	 * 
 	 * @param firstHorizontalLine
-	 *            Polyline, that contains 2 points. First point is the left
-	 *            point, second point is the right point
+	 *            Segment, fitted to the stroke (see LineFitter). Contains 2
+	 *            points. First point is the left point, second point is the
+	 *            right point
 	 * @throws GameBoardLineException 
 	 */
 	public void setFirstHorizontalLine(PolyLine firstHorizontalLine) throws GameBoardLineException {
@@ -230,17 +253,10 @@ public class GameBoard {
 		/*
 		 * Line must cross both vertical lines
 		 */
-		Point p1, p2;
-		p1 = Line.intersection(firstHorizontalLine.getX(0), firstHorizontalLine.getY(0), 
-				firstHorizontalLine.getX(1), firstHorizontalLine.getY(1), 
-				firstVerticalLine.getX(0), firstVerticalLine.getY(0), 
-				firstVerticalLine.getX(1), firstVerticalLine.getY(1));
-		p2 = Line.intersection(firstHorizontalLine.getX(0), firstHorizontalLine.getY(0), 
-				firstHorizontalLine.getX(1), firstHorizontalLine.getY(1), 
-				secondVerticalLine.getX(0), secondVerticalLine.getY(0), 
-				secondVerticalLine.getX(1), secondVerticalLine.getY(1));
+		long p1 = intersection(firstHorizontalLine, firstVerticalLine);
+		long p2 = intersection(firstHorizontalLine, secondVerticalLine);
 		
-		if (p1 == null || p2 == null) {
+		if (p1 == Line.NO_INTERSECTION || p2 == Line.NO_INTERSECTION) {
 			throw new GameBoardLineException(
 					GameBoardLineException.REASON_MUST_CROSS_BOTH_VERTICAL_LINES);
 		}
@@ -256,8 +272,9 @@ public class GameBoard {
 	 * Sets second horizontal line (lines are from the top to the bottom)
 	 * 
 	 * @param secondHorizontalLine
-	 *            Polyline, that contains 2 points. First point is the left
-	 *            point, second point is the right point
+	 *            Segment, fitted to the stroke (see LineFitter). Contains 2
+	 *            points. First point is the left point, second point is the
+	 *            right point
 	 * @throws GameBoardLineException 
 	 */
 	public void setSecondHorizontalLine(PolyLine secondHorizontalLine) throws GameBoardLineException {
@@ -300,17 +317,10 @@ public class GameBoard {
 		/*
 		 * Line must cross both vertical lines
 		 */
-		Point p1, p2;
-		p1 = Line.intersection(secondHorizontalLine.getX(0), secondHorizontalLine.getY(0), 
-				secondHorizontalLine.getX(1), secondHorizontalLine.getY(1), 
-				firstVerticalLine.getX(0), firstVerticalLine.getY(0), 
-				firstVerticalLine.getX(1), firstVerticalLine.getY(1));
-		p2 = Line.intersection(secondHorizontalLine.getX(0), secondHorizontalLine.getY(0), 
-				secondHorizontalLine.getX(1), secondHorizontalLine.getY(1), 
-				secondVerticalLine.getX(0), secondVerticalLine.getY(0), 
-				secondVerticalLine.getX(1), secondVerticalLine.getY(1));
+		long p1 = intersection(secondHorizontalLine, firstVerticalLine);
+		long p2 = intersection(secondHorizontalLine, secondVerticalLine);
 		
-		if (p1 == null || p2 == null) {
+		if (p1 == Line.NO_INTERSECTION || p2 == Line.NO_INTERSECTION) {
 			throw new GameBoardLineException(
 					GameBoardLineException.REASON_MUST_CROSS_BOTH_VERTICAL_LINES);
 		}
@@ -332,6 +342,50 @@ public class GameBoard {
 			.debug("[GameBoard] secondHorizontalLine: " + this.secondHorizontalLine);
 	}
 
+	/**
+	 * Classifies the board line, drawn in any order and direction. Vertical
+	 * line is turned to go from the top point to the bottom point, horizontal
+	 * line - from the left point to the right point, as the set*Line() methods
+	 * require
+	 * 
+	 * @param line
+	 *            Polyline, that contains 2 points
+	 * @return LINE_VERTICAL or LINE_HORIZONTAL
+	 * @throws GameBoardLineException
+	 *             if line is too short or is neither vertical nor horizontal
+	 */
+	public int classifyLine(PolyLine line) throws GameBoardLineException {
+		this.validateLinePointsCount(line);
+		this.validateLineLength(line);
+
+		int x1 = line.getX(0);
+		int y1 = line.getY(0);
+		int x2 = line.getX(1);
+		int y2 = line.getY(1);
+		if (Line.isVerticalFixed(x1, y1, x2, y2, LINE_PRECISION_TAN_SQUARED)) {
+			if (y1 > y2) {
+				line.setXY(0, x2, y2);
+				line.setXY(1, x1, y1);
+			}
+			return LINE_VERTICAL;
+		}
+		if (Line.isHorizontalFixed(x1, y1, x2, y2, LINE_PRECISION_TAN_SQUARED)) {
+			if (x1 > x2) {
+				line.setXY(0, x2, y2);
+				line.setXY(1, x1, y1);
+			}
+			return LINE_HORIZONTAL;
+		}
+
+		// Reason is taken from the nearest direction
+		if (Math.abs(x2 - x1) < Math.abs(y2 - y1)) {
+			throw new GameBoardLineException(
+					GameBoardLineException.REASON_LINE_IS_NOT_VERTICAL);
+		}
+		throw new GameBoardLineException(
+				GameBoardLineException.REASON_LINE_IS_NOT_HORIZONTAL);
+	}
+
 	/**
 	 * Calculates board cells coordinates, that then will be used to determine,
 	 * where turn was made
@@ -343,134 +397,65 @@ public class GameBoard {
 		// between lines
 
 		// 1. First point - first vertical line and first horizontal line
-		Point tlPoint = Line.intersection(firstVerticalLine.getX(0),
-				firstVerticalLine.getY(0), firstVerticalLine.getX(1),
-				firstVerticalLine.getY(1), firstHorizontalLine.getX(0),
-				firstHorizontalLine.getY(0), firstHorizontalLine.getX(1),
-				firstHorizontalLine.getY(1));
+		long tlPoint = intersection(firstVerticalLine, firstHorizontalLine);
 
 		this.getContainer()
 			.getLoggerComponent()
-			.debug("[GameBoard] Top-left point of intersection: " + tlPoint);
+			.debug("[GameBoard] Top-left point of intersection: " + Line.unpackX(tlPoint) + ", " + Line.unpackY(tlPoint));
 
 		// 2. Second point - second vertical line and first horizontal line
-		Point trPoint = Line.intersection(secondVerticalLine.getX(0),
-				secondVerticalLine.getY(0), secondVerticalLine.getX(1),
-				secondVerticalLine.getY(1), firstHorizontalLine.getX(0),
-				firstHorizontalLine.getY(0), firstHorizontalLine.getX(1),
-				firstHorizontalLine.getY(1));
+		long trPoint = intersection(secondVerticalLine, firstHorizontalLine);
 
 		this.getContainer()
 			.getLoggerComponent()
-			.debug("[GameBoard] Top-right point of intersection: " + trPoint);
+			.debug("[GameBoard] Top-right point of intersection: " + Line.unpackX(trPoint) + ", " + Line.unpackY(trPoint));
 
 		// 3. Third point - first vertical line and second horizontal line
-		Point blPoint = Line.intersection(firstVerticalLine.getX(0),
-				firstVerticalLine.getY(0), firstVerticalLine.getX(1),
-				firstVerticalLine.getY(1), secondHorizontalLine.getX(0),
-				secondHorizontalLine.getY(0), secondHorizontalLine.getX(1),
-				secondHorizontalLine.getY(1));
+		long blPoint = intersection(firstVerticalLine, secondHorizontalLine);
 
 		this.getContainer()
 			.getLoggerComponent()
-			.debug("[GameBoard] Bottom-left point of intersection: " + blPoint);
+			.debug("[GameBoard] Bottom-left point of intersection: " + Line.unpackX(blPoint) + ", " + Line.unpackY(blPoint));
 
 		// 4. Fourth point - second vertical line and second horizontal line
-		Point brPoint = Line.intersection(secondVerticalLine.getX(0),
-				secondVerticalLine.getY(0), secondVerticalLine.getX(1),
-				secondVerticalLine.getY(1), secondHorizontalLine.getX(0),
-				secondHorizontalLine.getY(0), secondHorizontalLine.getX(1),
-				secondHorizontalLine.getY(1));
+		long brPoint = intersection(secondVerticalLine, secondHorizontalLine);
 
 		this.getContainer()
 			.getLoggerComponent()
-			.debug("[GameBoard] Bottom-right point of intersection: " + brPoint);
+			.debug("[GameBoard] Bottom-right point of intersection: " + Line.unpackX(brPoint) + ", " + Line.unpackY(brPoint));
 
 		// If there are no all 4 intersections - board is impossible :)
-		if (null == tlPoint || null == trPoint || null == blPoint
-				|| null == brPoint) {
+		if (Line.NO_INTERSECTION == tlPoint || Line.NO_INTERSECTION == trPoint
+				|| Line.NO_INTERSECTION == blPoint || Line.NO_INTERSECTION == brPoint) {
 			this.getContainer().getLoggerComponent().debug(
 					"[GameBoard] There are less than 4 points of intersections. Board is impossible");
 			throw new GameBoardImpossibleException();
 		}
 
-		// Now constructing 9 rectangles for 9 board fields		
-
-		// Element with zero index (to be arranged with existing game algo)
-		board.addElement(new Rectangle());
-
-		//TODO Refactoring needed to use only one rectangle
-		// Rectangle #1		
-		Rectangle r1 = new Rectangle(0, 0, tlPoint.getX(), tlPoint.getY());
-		board.addElement(r1);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #1: " + r1);
-
-		// Rectangle #2
-		Rectangle r2 = new Rectangle(tlPoint.getX(), 0, trPoint.getX()-tlPoint.getX(), trPoint.getY());
-		board.addElement(r2);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #2: " + r2);
-
-		// Rectangle #3
-		Rectangle r3 = new Rectangle(trPoint.getX(), 0, this.page.getPageWidth()-trPoint.getX(), trPoint.getY());
-		board.addElement(r3);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #3: " + r3);
+		// Fields are split by the two x and the two y coordinates. Outer
+		// fields reach the page borders
+		pageWidth = this.page.getPageWidth();
+		pageHeight = this.page.getPageHeight();
+
+		int left = Line.unpackX(tlPoint);
+		int right = Line.unpackX(trPoint);
+		int top = Line.unpackY(tlPoint);
+		int bottom = Line.unpackY(blPoint);
+		int width = right - left;
+		int height = bottom - top;
+		columns[0] = left - width;
+		columns[1] = left;
+		columns[2] = right;
+		columns[3] = right + width;
+		rows[0] = top - height;
+		rows[1] = top;
+		rows[2] = bottom;
+		rows[3] = bottom + height;
 
-		// Rectangle #4
-		Rectangle r4 = new Rectangle(0, tlPoint.getY(), tlPoint.getX(), blPoint.getY()-tlPoint.getY());
-		board.addElement(r4);
-		
 		this.getContainer()
 			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #4: " + r4);
-
-		// Rectangle #5
-		Rectangle r5 = new Rectangle(tlPoint.getX(), tlPoint.getY(), trPoint.getX()-tlPoint.getX(), brPoint.getY()-trPoint.getY());
-		board.addElement(r5);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #5: " + r5);
-
-		// Rectangle #6
-		Rectangle r6 = new Rectangle(trPoint.getX(), trPoint.getY(), this.page.getPageWidth()-trPoint.getX(), brPoint.getY()-trPoint.getY());
-		board.addElement(r6);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #6: " + r6);
-
-		// Rectangle #7
-		Rectangle r7 = new Rectangle(0, blPoint.getY(), blPoint.getX(), this.page.getPageHeight()-blPoint.getY());
-		board.addElement(r7);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #7: " + r7);
-
-		// Rectangle #8
-		Rectangle r8 = new Rectangle(blPoint.getX(), blPoint.getY(), brPoint.getX()-blPoint.getX(), this.page.getPageHeight()-brPoint.getY());
-		board.addElement(r8);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #8: " + r8);
-
-		// Rectangle #9
-		Rectangle r9 = new Rectangle(brPoint.getX(), brPoint.getY(), this.page.getPageWidth()-brPoint.getX(), this.page.getPageHeight()-brPoint.getY());
-		board.addElement(r9);
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameBoard] Rectangle for board field #9: " + r9);
+			.debug("[GameBoard] Fields are split by x " + columns[1] + ", " + columns[2]
+					+ " and by y " + rows[1] + ", " + rows[2]);
 	}
 
 	/**
@@ -483,26 +468,64 @@ public class GameBoard {
 	 *         otherwise
 	 */
 	public int getTurnField(Point p) {
-		for (int i = 1; i < board.size(); i++) {
-			Rectangle r = (Rectangle) board.elementAt(i);
+		int x = p.getX();
+		int y = p.getY();
+		if (x < 0 || y < 0 || x >= pageWidth || y >= pageHeight) {
+			return -1;
+		}
+		int column = x < columns[1] ? 0 : x < columns[2] ? 1 : 2;
+		int row = y < rows[1] ? 0 : y < rows[2] ? 1 : 2;
+		return row * 3 + column + 1;
+	}
 
+	/**
+	 * Return Ultimate board field, where turn was made, by coordinates of the
+	 * user turn. Each board cell is a sub-board, that is split into 3x3
+	 * fields by thirds. Sub-boards and their fields are counted from the left
+	 * to the right and from the top to the bottom
+	 * 
+	 * @param p
+	 *            Point, where user has dome his turn
+	 * @return number from 1 to 81 ((sub-board - 1) * 9 + field), if turn was
+	 *         made to the one of the fields, -1 otherwise
+	 */
+	public int getUltimateTurnField(Point p) {
+		int column = findCell(columns, p.getX());
+		int row = findCell(rows, p.getY());
+		if (column < 0 || row < 0) {
 			this.getContainer().
 				getLoggerComponent().
-				debug("[GameBoard] Checking field #" + i + ". It's rectangle: " + r
-							+ ". Point to check: " + p);
-			if (r.contains(p.getX(), p.getY())) {
-				this.getContainer().
-					getLoggerComponent().
-					debug("[GameBoard] Found target field. It's number is "+i);
+				debug("[GameBoard] Point " + p + " is outside of the Ultimate board");
+			return -1;
+		}
+		int subColumn = findPart(columns[column], columns[column + 1], p.getX(), 3);
+		int subRow = findPart(rows[row], rows[row + 1], p.getY(), 3);
+		return (row * 3 + column) * 9 + subRow * 3 + subColumn + 1;
+	}
+
+	/**
+	 * Finds column or row, that contains coordinate
+	 * 
+	 * @return 0 to 2 or -1, if coordinate is outside of the board
+	 */
+	static private int findCell(int[] borders, int coordinate) {
+		for (int i = 0; i < 3; i++) {
+			if (coordinate >= borders[i] && coordinate < borders[i + 1]) {
 				return i;
 			}
 		}
-		this.getContainer().
-			getLoggerComponent().
-			debug("[GameBoard] No one of the fields rectangles contains passed point");
 		return -1;
 	}
 
+	/**
+	 * Finds part of the [from, to) range, split into the equal parts, that
+	 * contains coordinate
+	 */
+	static private int findPart(int from, int to, int coordinate, int parts) {
+		int part = (coordinate - from) * parts / (to - from);
+		return part > parts - 1 ? parts - 1 : part;
+	}
+
 	/**
 	 * Validates count of the points in the line. If it differs from 2 throws an
 	 * exception
@@ -531,8 +554,8 @@ public class GameBoard {
 	 */
 	private void validateLineVerticality(PolyLine line) throws GameBoardLineException
 	{
-		if(false == Line.isVertical(line.getX(0), line.getY(0), line.getX(1), line
-				.getY(1), LINE_PRECISION))
+		if(false == Line.isVerticalFixed(line.getX(0), line.getY(0), line.getX(1), line
+				.getY(1), LINE_PRECISION_TAN_SQUARED))
 		{
 			throw new GameBoardLineException(GameBoardLineException.REASON_LINE_IS_NOT_VERTICAL);
 		}
@@ -548,8 +571,8 @@ public class GameBoard {
 	 */
 	private void validateLineHorizontality(PolyLine line) throws GameBoardLineException
 	{
-		if(false == Line.isHorizontal(line.getX(0), line.getY(0), line.getX(1), line
-				.getY(1), LINE_PRECISION))
+		if(false == Line.isHorizontalFixed(line.getX(0), line.getY(0), line.getX(1), line
+				.getY(1), LINE_PRECISION_TAN_SQUARED))
 		{
 			throw new GameBoardLineException(GameBoardLineException.REASON_LINE_IS_NOT_HORIZONTAL);
 		}
@@ -562,15 +585,38 @@ public class GameBoard {
 	 */
 	private void validateLineLength(PolyLine line) throws GameBoardLineException
 	{		
-		float lengthInMM = Scale.auToMM((int) Line.length(line.getX(0), line
-				.getY(0), line.getX(1), line.getY(1)));
-
-		if (lengthInMM < 10) { // Less than one Centimeter
+		if (Line.lengthSquared(line.getX(0), line.getY(0), line.getX(1), line
+				.getY(1)) < MIN_LINE_LENGTH_SQUARED) { // Less than one Centimeter
 			throw new GameBoardLineException(
 					GameBoardLineException.REASON_LINE_TO_SHORT);
 		}
 	}
 	
+	/**
+	 * Finds the shortest line length in Anoto units, that is not less than
+	 * MIN_LINE_LENGTH mm. Units conversion is done once, so the length checks
+	 * do not use the floating point
+	 * 
+	 * @return squared length
+	 */
+	static private long minLineLengthSquared() {
+		long length = 0;
+		while (Scale.auToMM((int) length) < MIN_LINE_LENGTH) {
+			length++;
+		}
+		return length * length;
+	}
+
+	/**
+	 * Computes the intersection of two board lines
+	 * 
+	 * @return point, packed by the Line.pack(), or Line.NO_INTERSECTION
+	 */
+	static private long intersection(PolyLine a, PolyLine b) {
+		return Line.intersectionPacked(a.getX(0), a.getY(0), a.getX(1), a
+				.getY(1), b.getX(0), b.getY(0), b.getX(1), b.getY(1));
+	}
+
 	/**
 	 * Resets board to the initial state
 	 */
@@ -580,7 +626,12 @@ public class GameBoard {
 		this.firstHorizontalLine = null;
 		this.secondHorizontalLine = null;
 		
-		this.board = new Vector(10);
+		for (int i = 0; i < 4; i++) {
+			this.columns[i] = 0;
+			this.rows[i] = 0;
+		}
+		this.pageWidth = 0;
+		this.pageHeight = 0;
 
 		this.getContainer()
 			.getLoggerComponent()
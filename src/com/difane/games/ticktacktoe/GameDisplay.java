@@ -2,6 +2,8 @@ package com.difane.games.ticktacktoe;
 
 import java.util.Vector;
 
+import com.difane.games.ticktacktoe.engine.Position;
+import com.difane.games.ticktacktoe.engine.Tables;
 import com.difane.games.ticktacktoe.exceptions.GameBoardLineException;
 import com.livescribe.display.BrowseList;
 import com.livescribe.display.Display;
@@ -47,8 +49,27 @@ public class GameDisplay {
 	/**
 	 * Field coordinates to draw "X" or "O"
 	 */
-	private int[][] fieldCoords = { { 0, 0 }, { 1, 2 }, { 7, 2 }, { 13, 2 },
-			{ 1, 8 }, { 7, 8 }, { 13, 8 }, { 1, 14 }, { 7, 14 }, { 13, 14 } };
+	static private final int[][] fieldCoords = Tables.FIELD_COORDS;
+
+	/**
+	 * Field coordinates to draw "X" or "O" on the Ultimate board (fields 1-81)
+	 */
+	static private final int[][] ultimateFieldCoords = Tables.ULTIMATE_FIELD_COORDS;
+
+	/**
+	 * Screen size of the Ultimate sub-board
+	 */
+	static private final int ULTIMATE_BOARD_SIZE = 6;
+
+	/**
+	 * Screen distance between the Qubic layers
+	 */
+	static private final int QUBIC_LAYER_GAP = 3;
+
+	/**
+	 * Height of the drawing, in pixels
+	 */
+	static private final int DRAWING_HEIGHT = 18;
 
 	
 	/**
@@ -98,10 +119,15 @@ public class GameDisplay {
 		this.menuLevelSelectItems = new Vector();
 		this.menuLevelSelectItems.addElement("Easy");
 		this.menuLevelSelectItems.addElement("Hard");
+		this.menuLevelSelectItems.addElement("Ultimate");
+		this.menuLevelSelectItems.addElement("4x4, 3 in a row");
+		this.menuLevelSelectItems.addElement("4x4, 4 in a row");
+		this.menuLevelSelectItems.addElement("5x5, 4 in a row");
+		this.menuLevelSelectItems.addElement("Qubic 4x4x4");
 		this.menuLevelSelect = new BrowseList(this.menuLevelSelectItems);
 
 		// Initializing graphics
-		this.image = Image.createImage(96, 18);
+		this.image = Image.createImage(96, DRAWING_HEIGHT);
 		this.graphics = Graphics.getGraphics(this.image);
 		this.graphics.setBrushColor(Display.getWhiteColor());
 		this.graphics.setLineStyle(Graphics.LINE_STYLE_SOLID);
@@ -156,6 +182,15 @@ public class GameDisplay {
 		this.display.setCurrent(this.label);
 	}
 
+	/**
+	 * Displays, that board line was drawed incorrectly (lines are drawn in
+	 * any order)
+	 * @param reason 
+	 */
+	public void displayErrorDrawBoardLine(int reason) {
+		displayErrorDrawLine(reason);
+	}
+
 	/**
 	 * Displays, that second horizontal line was drawed incorrectly
 	 * @param reason 
@@ -177,6 +212,9 @@ public class GameDisplay {
 		case GameBoardLineException.REASON_LINE_TO_SHORT:
 			message = "Line is too short. ";
 			break;
+		case GameBoardLineException.REASON_LINE_IS_NOT_STRAIGHT:
+			message = "Line is not straight. ";
+			break;
 		case GameBoardLineException.REASON_MUST_BE_AT_THE_RIGHT:
 			message = "Line must be at the right of previous one. ";
 			break;
@@ -189,6 +227,15 @@ public class GameDisplay {
 		case GameBoardLineException.REASON_MUST_CROSS_BOTH_VERTICAL_LINES:
 			message = "Line must cross both vertical lines. ";
 			break;
+		case GameBoardLineException.REASON_MUST_CROSS_ALL_LINES:
+			message = "Each grid line must cross all lines of the other direction. ";
+			break;
+		case GameBoardLineException.REASON_LINES_MUST_BE_EVEN:
+			message = "Grid lines must be at the same distance. ";
+			break;
+		case GameBoardLineException.REASON_GRIDS_MUST_NOT_OVERLAP:
+			message = "Grid must not overlap the previous grid. ";
+			break;
 		default:
 			break;
 		}
@@ -244,21 +291,21 @@ public class GameDisplay {
 	 * Displays message about game draw result
 	 */
 	public void displayDraw() {
-		redrawBoard("DRAW !!!");
+		redrawGameBoard("DRAW !!!");
 	}
 
 	/**
 	 * Displays message about pen wins result
 	 */
 	public void displayPenWins() {
-		redrawBoard("YOU LOSE !!!");
+		redrawGameBoard("YOU LOSE !!!");
 	}
 
 	/**
 	 * Displays message about human wins result
 	 */
 	public void displayHumanWins() {
-		redrawBoard("YOU WIN !!!");
+		redrawGameBoard("YOU WIN !!!");
 	}
 
 	/**
@@ -305,13 +352,24 @@ public class GameDisplay {
 		selectMenuItemIfNotSelected(menuLevelSelect, newIndex);
 	}
 
+	/**
+	 * Draws board of the current game mode on the screen and displays message
+	 * to the user with information about next activity
+	 * 
+	 * @param msg Message to be displayed at the right of the board
+	 */
+	public void redrawGameBoard(String msg) {
+		this.getContainer().getGameLogicComponent().drawBoard(this, msg);
+	}
+
 	/**
 	 * Draws board on the screen and displays message to the user with
 	 * information about next activity
 	 * 
 	 * @param msg Message to be displayed at the right of the board
+	 * @param position Position to draw (see engine.Position)
 	 */
-	public void redrawBoard(String msg) {
+	public void redrawBoard(String msg, int position) {
 		// At first drawing empty game field
 		this.graphics.clearRect();
 		this.drawFirstVerticalLine();
@@ -319,12 +377,11 @@ public class GameDisplay {
 		this.drawFirstHorizontalLine();
 		this.drawSecondHorizontalLine();
 
-		int[] board = this.getContainer().getGameLogicComponent().getFields();
-
 		for (int i = 1; i <= 9; i++) {
-			if (board[i] == GameLogic.FIELD_X) {
+			int field = Position.cell(position, i);
+			if (field == GameLogic.FIELD_X) {
 				this.drawX(i);
-			} else if (board[i] == GameLogic.FIELD_O) {
+			} else if (field == GameLogic.FIELD_O) {
 				this.drawO(i);
 			} else {
 				// Field is empty
@@ -336,18 +393,203 @@ public class GameDisplay {
 		this.displayDrawing(true);
 	}
 
+	/**
+	 * Draws Ultimate board on the screen and displays message to the user with
+	 * information about next activity. Board does not fit with the grid lines,
+	 * so the cells are 2x2 pixels without the lines, and the won sub-board is
+	 * drawn as the single big mark
+	 * 
+	 * @param msg Message to be displayed at the right of the board
+	 * @param logic Ultimate game state
+	 */
+	public void redrawUltimateBoard(String msg, UltimateLogic logic) {
+		this.graphics.clearRect();
+
+		for (int board = 1; board <= 9; board++) {
+			int status = logic.getSubBoardStatus(board);
+			int[] corner = ultimateFieldCoords[(board - 1) * 9 + 1];
+			if (status == GameLogic.GAME_STATUS_X_WINS) {
+				this.drawXInUltimateBoard(corner[0], corner[1]);
+				continue;
+			}
+			if (status == GameLogic.GAME_STATUS_O_WINS) {
+				this.drawOInUltimateBoard(corner[0], corner[1]);
+				continue;
+			}
+			for (int field = (board - 1) * 9 + 1; field <= board * 9; field++) {
+				int x = ultimateFieldCoords[field][0];
+				int y = ultimateFieldCoords[field][1];
+				int state = logic.getField(field);
+				if (state == GameLogic.FIELD_X) {
+					this.graphics.drawLine(x, y, x + 1, y + 1);
+				} else if (state == GameLogic.FIELD_O) {
+					this.graphics.fillRect(x, y, 2, 2);
+				}
+			}
+		}
+
+		this.graphics.drawString(msg, 25, 2, 0);
+
+		this.displayDrawing(true);
+	}
+
+	/**
+	 * Draws big X over the sub-board
+	 */
+	private void drawXInUltimateBoard(int x, int y) {
+		int last = ULTIMATE_BOARD_SIZE - 1;
+		this.graphics.drawLine(x, y, x + last, y + last);
+		this.graphics.drawLine(x, y + last, x + last, y);
+	}
+
+	/**
+	 * Draws big O over the sub-board
+	 */
+	private void drawOInUltimateBoard(int x, int y) {
+		int last = ULTIMATE_BOARD_SIZE - 1;
+		this.graphics.drawLine(x, y, x + last, y);
+		this.graphics.drawLine(x + last, y, x + last, y + last);
+		this.graphics.drawLine(x + last, y + last, x, y + last);
+		this.graphics.drawLine(x, y + last, x, y);
+	}
+
+	/**
+	 * Draws m,n,k board on the screen and displays message to the user with
+	 * information about next activity. Fields are the squares, that fill the
+	 * drawing height with the lines between them: X is the diagonal, O is
+	 * the filled square
+	 * 
+	 * @param msg Message to be displayed at the right of the board
+	 * @param logic m,n,k game state
+	 */
+	public void redrawMnkBoard(String msg, MnkLogic logic) {
+		this.graphics.clearRect();
+
+		int columns = logic.getRules().getWidth();
+		int rows = logic.getRules().getHeight();
+		int size = (DRAWING_HEIGHT + 1) / rows - 1;
+		int width = this.drawGrid(0, columns, rows, size);
+		this.drawGridMarks(0, columns, rows, size, logic, 1);
+
+		this.graphics.drawString(msg, width + 4, 2, 0);
+
+		this.displayDrawing(true);
+	}
+
+	/**
+	 * Draws Qubic board on the screen and displays message to the user with
+	 * information about next activity. Four layers are drawn side by side as
+	 * the m,n,k boards
+	 * 
+	 * @param msg Message to be displayed at the right of the board
+	 * @param logic Qubic game state
+	 */
+	public void redrawQubicBoard(String msg, QubicLogic logic) {
+		this.graphics.clearRect();
+
+		int size = (DRAWING_HEIGHT + 1) / QubicLogic.LAYER_SIZE - 1;
+		int left = 0;
+		for (int layer = 0; layer < QubicLogic.LAYERS; layer++) {
+			int width = this.drawGrid(left, QubicLogic.LAYER_SIZE,
+					QubicLogic.LAYER_SIZE, size);
+			this.drawGridMarks(left, QubicLogic.LAYER_SIZE,
+					QubicLogic.LAYER_SIZE, size, logic, layer
+							* QubicLogic.LAYER_SIZE * QubicLogic.LAYER_SIZE + 1);
+			left += width + QUBIC_LAYER_GAP;
+		}
+
+		this.graphics.drawString(msg, left + 1, 2, 0);
+
+		this.displayDrawing(true);
+	}
+
+	/**
+	 * Draws marks of the grid fields: X is the diagonal, O is the filled
+	 * square
+	 * 
+	 * @param left X-coord of the grid
+	 * @param columns Count of the fields in the row
+	 * @param rows Count of the fields in the column
+	 * @param size Size of the field
+	 * @param logic Game state
+	 * @param firstField Field of the top-left grid square
+	 */
+	private void drawGridMarks(int left, int columns, int rows, int size,
+			BaseGameLogic logic, int firstField) {
+		for (int i = 0; i < columns * rows; i++) {
+			int state = logic.getField(firstField + i);
+			if (state == GameLogic.FIELD_EMPTY) {
+				continue;
+			}
+			int x = left + (i % columns) * (size + 1);
+			int y = (i / columns) * (size + 1);
+			if (state == GameLogic.FIELD_X) {
+				this.graphics.drawLine(x, y, x + size - 1, y + size - 1);
+			} else {
+				this.graphics.fillRect(x, y, size, size);
+			}
+		}
+	}
+
+	/**
+	 * Draws lines of the grid with the square fields
+	 * 
+	 * @param left X-coord of the grid
+	 * @param columns Count of the fields in the row
+	 * @param rows Count of the fields in the column
+	 * @param size Size of the field
+	 * @return width of the grid
+	 */
+	private int drawGrid(int left, int columns, int rows, int size) {
+		int width = columns * (size + 1) - 1;
+		int height = rows * (size + 1) - 1;
+		for (int line = 1; line < columns; line++) {
+			int x = left + line * (size + 1) - 1;
+			this.graphics.drawLine(x, 0, x, height - 1);
+		}
+		for (int line = 1; line < rows; line++) {
+			int y = line * (size + 1) - 1;
+			this.graphics.drawLine(left, y, left + width - 1, y);
+		}
+		return width;
+	}
+
+	/**
+	 * Displays the grid, that must be drawn, with the count of the lines,
+	 * that are not drawn yet
+	 * 
+	 * @param grid Recognizer of the grids
+	 */
+	public void displayDrawGrid(GridRecognizer grid) {
+		cancelTask();
+		this.graphics.clearRect();
+
+		int size = (DRAWING_HEIGHT + 1) / grid.getRows() - 1;
+		int width = this.drawGrid(0, grid.getColumns(), grid.getRows(), size);
+
+		String msg = grid.getMissingVerticalLines() + " vert., "
+				+ grid.getMissingHorizontalLines() + " horiz.";
+		if (grid.getGrids() > 1) {
+			msg = "Grid " + (grid.getGrid() + 1) + "/" + grid.getGrids()
+					+ ": " + msg;
+		}
+		this.graphics.drawString(msg, width + 4, 2, 0);
+
+		this.displayDrawing(true);
+	}
+
 	/**
 	 * Redraws game board and displays a message, that next turn is human's
 	 */
 	public void drawBoardHumansTurn() {
-		this.redrawBoard("Your turn!");
+		this.redrawGameBoard("Your turn!");
 	}
 
 	/**
 	 * Redraws game board and displays a message, that next turn is pen's
 	 */
 	public void drawBoardPensTurn() {
-		this.redrawBoard("Pens turn!");
+		this.redrawGameBoard("Pens turn!");
 	}
 
 	/**
@@ -537,7 +779,7 @@ public class GameDisplay {
 	 */
 	public void displayHowToPlay() {
 		displayMessage(
-				"At first please select 'Start Game' in the main menu. Next select pen level: easy or hard. Then please draw the board. To learn, how to draw game board, please look at the corresponded help menu item. After drawing the board the game begins. Your turn is first. To make a turn please draw an 'x' in one of the board fields. Then look at the pen screen. If You turn is correct - You will see it on the screen together with the pen's turn. Continue making turns until game ends.",
+				"At first please select 'Start Game' in the main menu. Next select pen level: easy or hard, or select 'Ultimate' to play nine boards in one, or one of the bigger boards, where three or four marks in a row win, or 'Qubic' to play four in a row on the four layers of the four by four board. Then please draw the board. To learn, how to draw game board, please look at the corresponded help menu item. After drawing the board the game begins. Your turn is first. To make a turn please draw an 'x' in one of the board fields. Then look at the pen screen. If You turn is correct - You will see it on the screen together with the pen's turn. Continue making turns until game ends. In the Ultimate game each field of the board is a small board, that is split into thirds. Your turn sends the pen to the small board at the same place, and the pen sends You too. On the bigger boards each field is the square of the grid, that You draw. In the Qubic game four in a row win in the layer, and also through the layers, e.g. the same field of the all layers, or the diagonal, that goes one field further in the each next layer.",
 				true);
 	}
 
@@ -546,7 +788,7 @@ public class GameDisplay {
 	 */
 	public void displayHowToDrawBoard() {
 		displayMessage(
-				"Game board is 3x3 grid of squares. To draw it please make following steps. First draw one vertical line, that has minimal lenght of 1 cantimeter. Next draw another vertical line near the first one at the right. Then draw horizontal line, that crosses both vertical lines. Next draw another horizontal line near the first one on the bottom, that also crosses both vertical lines. You board is ready.",
+				"Game board is 3x3 grid of squares. To draw it please make following steps. First draw one vertical line, that has minimal lenght of 1 cantimeter. Next draw another vertical line near the first one at the right. Then draw horizontal line, that crosses both vertical lines. Next draw another horizontal line near the first one on the bottom, that also crosses both vertical lines. Lines can be drawn in any order and direction. You board is ready. Bigger boards are drawn the same way: three vertical and three horizontal lines at the same distances for the four by four board, four and four lines for the five by five board. For the Qubic draw four separate four by four grids, one for the each layer, from the first layer to the last one. Screen shows, how many lines are left.",
 				true);
 	}
 
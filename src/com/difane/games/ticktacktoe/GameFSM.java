@@ -1,7 +1,9 @@
 package com.difane.games.ticktacktoe;
 
-import com.difane.games.ticktacktoe.exceptions.GameBoardImpossibleException;
 import com.difane.games.ticktacktoe.exceptions.GameBoardLineException;
+import com.difane.geom.Line;
+import com.difane.geom.LineFitter;
+import com.difane.geom.StrokeSimplifier;
 import com.livescribe.afp.PageInstance;
 import com.livescribe.event.HWRListener;
 import com.livescribe.event.PenTipListener;
@@ -50,6 +52,12 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 	static public final int FSM_STATE_GAME_END_PEN_WINS = 21;
 	static public final int FSM_STATE_GAME_END_DRAW = 22;
 	static public final int FSM_STATE_END = 23;
+	static public final int FSM_STATE_LEVEL_MENU_ULTIMATE = 24;
+	static public final int FSM_STATE_LEVEL_MENU_MNK_4X4_K3 = 25;
+	static public final int FSM_STATE_LEVEL_MENU_MNK_4X4_K4 = 26;
+	static public final int FSM_STATE_LEVEL_MENU_MNK_5X5_K4 = 27;
+	static public final int FSM_STATE_LEVEL_MENU_QUBIC = 28;
+	static public final int FSM_STATE_DRAW_GRID = 29;
 
 	/**
 	 * Current game state
@@ -61,6 +69,43 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 	 */
 	protected ICRContext icrContext;
 
+	/**
+	 * Fitter of the board lines. Reused for the each stroke
+	 */
+	private LineFitter lineFitter = new LineFitter();
+
+	/**
+	 * Stroke simplification tolerance in Anoto units (about 1 mm)
+	 */
+	static private final int STROKE_TOLERANCE = 27;
+
+	/**
+	 * Maximal residual error of the fitted board line in Anoto units (about
+	 * 1 mm root mean square distance of the stroke points from the line)
+	 */
+	static private final int LINE_MAX_ERROR = 27;
+
+	/**
+	 * Maximal angle between the simplified segments of the board line. Hooks
+	 * and wobbles at the line ends turn more, so they are not fitted
+	 */
+	static private final int LINE_RUN_TAN_SQUARED = Line.tanSquared(20);
+
+	/**
+	 * Buffers of the stroke simplification. Grow up to the longest stroke
+	 */
+	private int[] simplifyStack = new int[0];
+	private int[] simplifiedIndices = new int[0];
+
+	/**
+	 * Bounds of the mark, drawn in the current human turn
+	 */
+	private boolean markDrawn = false;
+	private int markLeft;
+	private int markTop;
+	private int markRight;
+	private int markBottom;
+
 	/**
 	 * Next event, that must be handled after transition
 	 */
@@ -128,9 +173,18 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 		case FSM_STATE_LEVEL_MENU_EASY:
 			transition(currentState, FSM_STATE_LEVEL_MENU_HARD);
 			break;
+		case FSM_STATE_LEVEL_MENU_HARD:
+			transition(currentState, FSM_STATE_LEVEL_MENU_ULTIMATE);
+			break;
+		case FSM_STATE_LEVEL_MENU_ULTIMATE:
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K3:
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K4:
+		case FSM_STATE_LEVEL_MENU_MNK_5X5_K4:
+			transition(currentState, currentState + 1);
+			break;
 		case FSM_STATE_MAIN_MENU_ABOUT:
 		case FSM_STATE_HELP_MENU_HOW_TO_PLAY:
-		case FSM_STATE_LEVEL_MENU_HARD:
+		case FSM_STATE_LEVEL_MENU_QUBIC:
 			this.getContainer().getSoundManagerComponent().playEndList();
 			break;
 		default:
@@ -164,6 +218,15 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 		case FSM_STATE_LEVEL_MENU_HARD:
 			transition(currentState, FSM_STATE_LEVEL_MENU_EASY);
 			break;
+		case FSM_STATE_LEVEL_MENU_ULTIMATE:
+			transition(currentState, FSM_STATE_LEVEL_MENU_HARD);
+			break;
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K3:
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K4:
+		case FSM_STATE_LEVEL_MENU_MNK_5X5_K4:
+		case FSM_STATE_LEVEL_MENU_QUBIC:
+			transition(currentState, currentState - 1);
+			break;
 		case FSM_STATE_MAIN_MENU_START_GAME:
 		case FSM_STATE_HELP_MENU_RULES:
 		case FSM_STATE_LEVEL_MENU_EASY:
@@ -190,6 +253,11 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 		switch (currentState) {
 		case FSM_STATE_LEVEL_MENU_EASY:
 		case FSM_STATE_LEVEL_MENU_HARD:
+		case FSM_STATE_LEVEL_MENU_ULTIMATE:
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K3:
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K4:
+		case FSM_STATE_LEVEL_MENU_MNK_5X5_K4:
+		case FSM_STATE_LEVEL_MENU_QUBIC:
 			transition(currentState, FSM_STATE_MAIN_MENU_START_GAME);
 			result = true;
 			break;
@@ -253,15 +321,37 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 			transition(currentState, FSM_STATE_HELP_MENU_HOW_TO_PLAY_DISPLAYED);
 			break;
 		case FSM_STATE_LEVEL_MENU_EASY:
+			this.getContainer().setGameMode(Container.GAME_MODE_CLASSIC);
 			this.getContainer().getGameLogicComponent().setAiLevel(
 					GameLogic.AI_LEVEL_EASY);
 			transition(currentState, FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE);
 			break;
 		case FSM_STATE_LEVEL_MENU_HARD:
+			this.getContainer().setGameMode(Container.GAME_MODE_CLASSIC);
 			this.getContainer().getGameLogicComponent().setAiLevel(
 					GameLogic.AI_LEVEL_HARD);
 			transition(currentState, FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE);
 			break;
+		case FSM_STATE_LEVEL_MENU_ULTIMATE:
+			this.getContainer().setGameMode(Container.GAME_MODE_ULTIMATE);
+			transition(currentState, FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE);
+			break;
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K3:
+			this.getContainer().setGameMode(Container.GAME_MODE_MNK_4X4_K3);
+			transition(currentState, FSM_STATE_DRAW_GRID);
+			break;
+		case FSM_STATE_LEVEL_MENU_MNK_4X4_K4:
+			this.getContainer().setGameMode(Container.GAME_MODE_MNK_4X4_K4);
+			transition(currentState, FSM_STATE_DRAW_GRID);
+			break;
+		case FSM_STATE_LEVEL_MENU_MNK_5X5_K4:
+			this.getContainer().setGameMode(Container.GAME_MODE_MNK_5X5_K4);
+			transition(currentState, FSM_STATE_DRAW_GRID);
+			break;
+		case FSM_STATE_LEVEL_MENU_QUBIC:
+			this.getContainer().setGameMode(Container.GAME_MODE_QUBIC);
+			transition(currentState, FSM_STATE_DRAW_GRID);
+			break;
 		default:
 			this.getContainer().getLoggerComponent().warn(
 					"[GameFSM] Unexpected eventMenuRight received");
@@ -272,48 +362,79 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 	}
 
 	/**
-	 * This event must be called, when first board vertical line be ready
+	 * This event must be called, when board line was added to the board
+	 * recognizer. Starts the game, when the board is recognized, or prompts
+	 * the missing line otherwise
 	 */
-	public void eventFirstVerticalLineReady() {
+	public void eventBoardLineReady() {
 		this.getContainer().getLoggerComponent().debug(
-				"[GameFSM] eventFirstVerticalLineReady received");
-		if (currentState == FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE) {
-			transition(currentState, FSM_STATE_DRAW_BOARD_SECOND_VERTICAL_LINE);
+				"[GameFSM] eventBoardLineReady received");
+		if (isDrawBoardState(currentState)) {
+			BoardRecognizer recognizer = this.getContainer()
+					.getBoardRecognizerComponent();
+			if (recognizer.isBoardReady()) {
+				transition(currentState, FSM_STATE_GAME_SELECT_PLAYER_ORDER);
+			} else {
+				int state = FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE
+						+ recognizer.getMissingLine();
+				if (state != currentState) {
+					transition(currentState, state);
+				}
+			}
 		}
 	}
 
 	/**
-	 * This event must be called, when second board vertical line be ready
+	 * This event must be called, when grid line was added to the grid
+	 * recognizer. Starts the game, when all grids are recognized, or prompts
+	 * the missing lines otherwise
 	 */
-	public void eventSecondVerticalLineReady() {
+	public void eventGridLineReady() {
 		this.getContainer().getLoggerComponent().debug(
-				"[GameFSM] eventSecondVerticalLineReady received");
-		if (currentState == FSM_STATE_DRAW_BOARD_SECOND_VERTICAL_LINE) {
-			transition(currentState, FSM_STATE_DRAW_BOARD_FIRST_HORIZONTAL_LINE);
+				"[GameFSM] eventGridLineReady received");
+		if (currentState == FSM_STATE_DRAW_GRID) {
+			if (this.getContainer().getGridRecognizerComponent().isReady()) {
+				transition(currentState, FSM_STATE_GAME_SELECT_PLAYER_ORDER);
+			} else {
+				transition(currentState, FSM_STATE_DRAW_GRID);
+			}
 		}
 	}
 
 	/**
-	 * This event must be called, when first board horizontal line be ready
+	 * Returns state, where board of the selected game mode is drawn
+	 * 
+	 * @return FSM_STATE_DRAW_GRID for the modes, that are played on the
+	 *         grids, FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE otherwise
 	 */
-	public void eventFirstHorizontalLineReady() {
-		this.getContainer().getLoggerComponent().debug(
-				"[GameFSM] eventFirstHorizontalLineReady received");
-		if (currentState == FSM_STATE_DRAW_BOARD_FIRST_HORIZONTAL_LINE) {
-			transition(currentState,
-					FSM_STATE_DRAW_BOARD_SECOND_HORIZONTAL_LINE);
-		}
+	private int getDrawBoardState() {
+		return this.getContainer().getGameLogicComponent().getGridCount() > 0 ? FSM_STATE_DRAW_GRID
+				: FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE;
 	}
 
 	/**
-	 * This event must be called, when second board horizontal line be ready
+	 * Checks, that level menu item of the game mode is selected in the given
+	 * state
+	 * 
+	 * @param state
+	 *            State to check
+	 * @return true, if state is one of the mode items of the level menu
 	 */
-	public void eventSecondHorizontalLineReady() {
-		this.getContainer().getLoggerComponent().debug(
-				"[GameFSM] eventSecondHorizontalLineReady received");
-		if (currentState == FSM_STATE_DRAW_BOARD_SECOND_HORIZONTAL_LINE) {
-			transition(currentState, FSM_STATE_GAME_SELECT_PLAYER_ORDER);
-		}
+	static private boolean isModeMenuState(int state) {
+		return state >= FSM_STATE_LEVEL_MENU_ULTIMATE
+				&& state <= FSM_STATE_LEVEL_MENU_QUBIC;
+	}
+
+	/**
+	 * Checks, that board is drawn in the given state
+	 * 
+	 * @param state
+	 *            State to check
+	 * @return true, if state is one of the FSM_STATE_DRAW_BOARD_* states
+	 */
+	static private boolean isDrawBoardState(int state) {
+		return state >= FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE
+				&& state <= FSM_STATE_DRAW_BOARD_SECOND_HORIZONTAL_LINE;
 	}
 
 	/**
@@ -456,7 +577,7 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 		if (currentState == FSM_STATE_END) {
 			this.getContainer().getGameBoardComponent().reset();
 			this.getContainer().getGameLogicComponent().restart();
-			this.transition(currentState, FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE);
+			this.transition(currentState, getDrawBoardState());
 		}
 	}
 
@@ -469,7 +590,8 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 			case FSM_STATE_MAIN_MENU_START_GAME:
 				if (currentState == FSM_STATE_START
 						|| currentState == FSM_STATE_LEVEL_MENU_EASY
-						|| currentState == FSM_STATE_LEVEL_MENU_HARD) {
+						|| currentState == FSM_STATE_LEVEL_MENU_HARD
+						|| isModeMenuState(currentState)) {
 					
 					// Play sound for menu item
 					this.getContainer().getSoundManagerComponent().playMainMenuStartGame(false);
@@ -603,6 +725,39 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 							.focusLevelSelectMenuToNext();
 					this.getContainer().getLoggerComponent().debug(
 							"[GameFSM] Level select menu item 1 was activated");
+				} else if (currentState == FSM_STATE_LEVEL_MENU_ULTIMATE) {
+					// Play sound for menu item
+					this.getContainer().getSoundManagerComponent().playHard(false);
+					
+					this.getContainer().getGameDisplayComponent()
+							.focusLevelSelectMenuToPrevious();
+					this.getContainer().getLoggerComponent().debug(
+							"[GameFSM] Level select menu item 1 was activated");
+				}
+				break;
+			case FSM_STATE_LEVEL_MENU_ULTIMATE:
+			case FSM_STATE_LEVEL_MENU_MNK_4X4_K3:
+			case FSM_STATE_LEVEL_MENU_MNK_4X4_K4:
+			case FSM_STATE_LEVEL_MENU_MNK_5X5_K4:
+			case FSM_STATE_LEVEL_MENU_QUBIC:
+				// There is no sound for the mode items, menu shows them.
+				// Mode items follow the "Hard" item in the states order
+				if (currentState == FSM_STATE_LEVEL_MENU_HARD
+						|| (isModeMenuState(currentState) && currentState == transitionState - 1)) {
+					this.getContainer().getGameDisplayComponent()
+							.focusLevelSelectMenuToNext();
+					this.getContainer().getLoggerComponent().debug(
+							"[GameFSM] Level select menu item "
+									+ (transitionState - FSM_STATE_LEVEL_MENU_ULTIMATE + 2)
+									+ " was activated");
+				} else if (isModeMenuState(currentState)
+						&& currentState == transitionState + 1) {
+					this.getContainer().getGameDisplayComponent()
+							.focusLevelSelectMenuToPrevious();
+					this.getContainer().getLoggerComponent().debug(
+							"[GameFSM] Level select menu item "
+									+ (transitionState - FSM_STATE_LEVEL_MENU_ULTIMATE + 2)
+									+ " was activated");
 				}
 				break;
 			case FSM_STATE_HELP_MENU_RULES:
@@ -722,8 +877,11 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 			case FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE:
 				if (currentState == FSM_STATE_LEVEL_MENU_EASY
 						|| currentState == FSM_STATE_LEVEL_MENU_HARD
+						|| currentState == FSM_STATE_LEVEL_MENU_ULTIMATE
 						|| currentState == FSM_STATE_END) {
 					
+					this.getContainer().getBoardRecognizerComponent().reset();
+
 					this.getContainer().getSoundManagerComponent().playDrawFirstVerticalLine(false);
 					
 					this.getContainer().getGameDisplayComponent()
@@ -733,7 +891,7 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 				}
 				break;
 			case FSM_STATE_DRAW_BOARD_SECOND_VERTICAL_LINE:
-				if (currentState == FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE) {
+				if (isDrawBoardState(currentState)) {
 					
 					this.getContainer().getSoundManagerComponent().playDrawSecondVerticalLine(false);
 					
@@ -747,7 +905,7 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 				}
 				break;
 			case FSM_STATE_DRAW_BOARD_FIRST_HORIZONTAL_LINE:
-				if (currentState == FSM_STATE_DRAW_BOARD_SECOND_VERTICAL_LINE) {
+				if (isDrawBoardState(currentState)) {
 					
 					this.getContainer().getSoundManagerComponent().playDrawFirstHorizontalLine(false);
 					
@@ -761,7 +919,7 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 				}
 				break;
 			case FSM_STATE_DRAW_BOARD_SECOND_HORIZONTAL_LINE:
-				if (currentState == FSM_STATE_DRAW_BOARD_FIRST_HORIZONTAL_LINE) {
+				if (isDrawBoardState(currentState)) {
 					this.getContainer().getSoundManagerComponent().playDrawSecondHorizontalLine(false);
 					
 					this.getContainer().getGameDisplayComponent()
@@ -773,8 +931,31 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 									"[GameFSM] Draw second horizontal line was displayed");
 				}
 				break;
+			case FSM_STATE_DRAW_GRID:
+				if (isModeMenuState(currentState)
+						|| currentState == FSM_STATE_END) {
+					BaseGameLogic logic = this.getContainer()
+							.getGameLogicComponent();
+					this.getContainer().getGridRecognizerComponent().setup(
+							logic.getGridColumns(), logic.getGridRows(),
+							logic.getGridCount());
+				}
+				if (isModeMenuState(currentState)
+						|| currentState == FSM_STATE_END
+						|| currentState == FSM_STATE_DRAW_GRID) {
+					// There is no sound for the grid lines, display shows
+					// the lines to draw
+					this.getContainer().getGameDisplayComponent()
+							.displayDrawGrid(
+									this.getContainer()
+											.getGridRecognizerComponent());
+					this.getContainer().getLoggerComponent().debug(
+							"[GameFSM] Draw grid was displayed");
+				}
+				break;
 			case FSM_STATE_GAME_SELECT_PLAYER_ORDER:
-				if (currentState == FSM_STATE_DRAW_BOARD_SECOND_HORIZONTAL_LINE) {
+				if (isDrawBoardState(currentState)
+						|| currentState == FSM_STATE_DRAW_GRID) {
 					// Stopping display blinking
 					this.getContainer().getGameDisplayComponent().cancelTask();
 					
@@ -797,6 +978,9 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 						// 2. Redrawing board with text "Your turn"
 						this.getContainer().getGameDisplayComponent()
 								.drawBoardHumansTurn();
+						// 3. Computing pen replies while human draws his turn
+						this.getContainer().getGameLogicComponent()
+								.startPondering();
 					}
 				}
 				break;
@@ -966,10 +1150,8 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 
 		PolyLine line = null;
 
-		if (currentState == FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE
-				|| currentState == FSM_STATE_DRAW_BOARD_SECOND_VERTICAL_LINE
-				|| currentState == FSM_STATE_DRAW_BOARD_FIRST_HORIZONTAL_LINE
-				|| currentState == FSM_STATE_DRAW_BOARD_SECOND_HORIZONTAL_LINE) {
+		if (isDrawBoardState(currentState)
+				|| currentState == FSM_STATE_DRAW_GRID) {
 
 			this.getContainer().getLoggerComponent().debug(
 					"[GameFSM] Trying to get line from stroke");
@@ -977,38 +1159,51 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 			StrokeStorage ss = new StrokeStorage(pageInstance);
 			Stroke stroke = ss.getStroke(time);
 
-			// Create a line, based on the first and last points of the stroke
+			// Create a line, fitted to the all points of the stroke
 			int numPoints = stroke.getNumberOfVertices();
 			this.getContainer().getLoggerComponent().debug(
 					"[GameFSM] Number of vertices in the stroke is "
 							+ numPoints);
 
 			if (numPoints >= 2) {
-				line = new PolyLine(2);
-				line.setXY(0, stroke.getX(0), stroke.getY(0));
-				line.setXY(1, stroke.getX(numPoints - 1), stroke
-						.getY(numPoints - 1));
+				// Only the straight run of the stroke is fitted
+				int count = simplifyStroke(stroke);
+				int from = simplifiedIndices[StrokeSimplifier.runStart(stroke,
+						simplifiedIndices, count, LINE_RUN_TAN_SQUARED)];
+				int to = simplifiedIndices[StrokeSimplifier.runEnd(stroke,
+						simplifiedIndices, count, LINE_RUN_TAN_SQUARED)];
+				this.getContainer().getLoggerComponent().debug(
+						"[GameFSM] Stroke was simplified to " + count
+								+ " vertices. Fitting vertices " + from
+								+ " to " + to);
+
+				lineFitter.reset();
+				for (int i = from; i <= to; i++) {
+					lineFitter.add(stroke.getX(i), stroke.getY(i));
+				}
+				line = lineFitter.getSegment();
 
 				this.getContainer().getLoggerComponent().debug(
-						"[GameFSM] Creating line from two points: " + line);
+						"[GameFSM] Creating fitted line: " + line);
 			}
 		}
 
-		if (currentState == FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE) {
+		if (isDrawBoardState(currentState)) {
+			if (null == line) {
+				return;
+			}
+			// Lines are collected in any order. Board is recognized, when the
+			// collected lines make it
 			try {
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] Trying to use this line as first vertical line");
-				this.getContainer().getGameBoardComponent()
-						.setFirstVerticalLine(line);
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] First vertical line was successfully created");
-				this.eventFirstVerticalLineReady();
+				// Curved strokes are not fitted well, so they are rejected
+				// before they can be used in the board
+				if (lineFitter.getError() > LINE_MAX_ERROR) {
+					throw new GameBoardLineException(
+							GameBoardLineException.REASON_LINE_IS_NOT_STRAIGHT);
+				}
+				this.getContainer().getBoardRecognizerComponent().addLine(line);
+				this.getContainer().getBoardRecognizerComponent().recognize();
+				this.eventBoardLineReady();
 			} catch (GameBoardLineException e) {
 				this.getContainer().getLoggerComponent().error(
 						"GameBoardLineException. Reason: "+e.getReason());
@@ -1016,103 +1211,118 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 				this.getContainer().getGameDisplayComponent().cancelTask();
 				
 				this.getContainer().getGameDisplayComponent()
-					.displayErrorDrawFirstVerticalLine(e.getReason());
+					.displayErrorDrawBoardLine(e.getReason());
 				
 				playErrorDrawLineOrSleep(e);
 				
-				this.getContainer().getGameDisplayComponent().displayDrawFirstVerticalLine(true);
-				
-			} 
-		} else if (currentState == FSM_STATE_DRAW_BOARD_SECOND_VERTICAL_LINE) {
-			try {
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] Trying to use this line as second vertical line");
-				this.getContainer().getGameBoardComponent()
-						.setSecondVerticalLine(line);
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] Second vertical line was successfully created");
-				this.eventSecondVerticalLineReady();
-			} catch (GameBoardLineException e) {
-				this.getContainer().getLoggerComponent().error(
-						"GameBoardLineException. Reason: "+e.getReason());
-				
-				this.getContainer().getGameDisplayComponent().cancelTask();
-				this.getContainer().getGameDisplayComponent()
-						.displayErrorDrawSecondVerticalLine(e.getReason());
-				playErrorDrawLineOrSleep(e);
-				this.getContainer().getGameDisplayComponent().displayDrawSecondVerticalLine(true);
-			} 
-		} else if (currentState == FSM_STATE_DRAW_BOARD_FIRST_HORIZONTAL_LINE) {
-			try {
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] Trying to use this line as first horizontal line");
-				this.getContainer().getGameBoardComponent()
-						.setFirstHorizontalLine(line);
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] First horizontal line was successfully created");
-				this.eventFirstHorizontalLineReady();
-			} catch (GameBoardLineException e) {
-				this.getContainer().getLoggerComponent().error(
-						"GameBoardLineException. Reason: "+e.getReason());
-				
-				this.getContainer().getGameDisplayComponent().cancelTask();
-				this.getContainer().getGameDisplayComponent()
-						.displayErrorDrawFirstHorizontalLine(e.getReason());
-				playErrorDrawLineOrSleep(e);
-				
-				this.getContainer().getGameDisplayComponent().displayDrawFirstHorizontalLine(true);
-			} 
-		} else if (currentState == FSM_STATE_DRAW_BOARD_SECOND_HORIZONTAL_LINE) {
+				// Rejected collection of the lines still may add the line
+				int missing = FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE
+						+ this.getContainer().getBoardRecognizerComponent()
+								.getMissingLine();
+				if (missing == currentState) {
+					displayDrawBoardLine();
+				} else {
+					this.eventBoardLineReady();
+				}
+			}
+		} else if (currentState == FSM_STATE_DRAW_GRID) {
+			if (null == line) {
+				return;
+			}
 			try {
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] Trying to use this line as second horizontal line");
-				this.getContainer().getGameBoardComponent()
-						.setSecondHorizontalLine(line);
-				this
-						.getContainer()
-						.getLoggerComponent()
-						.debug(
-								"[GameFSM] Second horizontal line was successfully created. Calculating game board");
-				this.getContainer().getGameBoardComponent().calculateBoard();
-				this.eventSecondHorizontalLineReady();
+				if (lineFitter.getError() > LINE_MAX_ERROR) {
+					throw new GameBoardLineException(
+							GameBoardLineException.REASON_LINE_IS_NOT_STRAIGHT);
+				}
+				this.getContainer().getGridRecognizerComponent().addLine(line);
 			} catch (GameBoardLineException e) {
 				this.getContainer().getLoggerComponent().error(
 						"GameBoardLineException. Reason: "+e.getReason());
-				this.getContainer().getGameDisplayComponent().cancelTask();
+
 				this.getContainer().getGameDisplayComponent()
-						.displayErrorDrawSecondHorizontalLine(e.getReason());
+					.displayErrorDrawBoardLine(e.getReason());
+
 				playErrorDrawLineOrSleep(e);
-				this.getContainer().getGameDisplayComponent().displayDrawSecondHorizontalLine(true);
-			} catch (GameBoardImpossibleException e) {
-				this.getContainer().getLoggerComponent().error(
-						"GameBoardImpossibleException");
-				this.getContainer().getGameDisplayComponent()
-						.displayErrorDrawSecondHorizontalLine(-1);
-			} 
+			}
+			this.eventGridLineReady();
 		} else if (currentState == FSM_STATE_GAME_HUMAN_TURN) {
 			this.icrContext.addStroke(pageInstance, time);
 			this.getContainer().getLoggerComponent().debug(
 					"[GameFSM] StrokeCreated. Stroke was added to ICR context");
+
+			StrokeStorage ss = new StrokeStorage(pageInstance);
+			addMarkStroke(ss.getStroke(time));
+		}
+	}
+
+	/**
+	 * Simplifies the stroke into the simplifiedIndices
+	 * 
+	 * @param stroke
+	 *            Stroke to simplify
+	 * @return count of the kept vertices
+	 */
+	private int simplifyStroke(Stroke stroke) {
+		int numPoints = stroke.getNumberOfVertices();
+		if (simplifyStack.length < numPoints) {
+			simplifyStack = new int[numPoints];
+			simplifiedIndices = new int[numPoints];
+		}
+		return StrokeSimplifier.simplify(stroke, STROKE_TOLERANCE,
+				simplifyStack, simplifiedIndices);
+	}
+
+	/**
+	 * Extends bounds of the mark by the essential vertices of the stroke
+	 * 
+	 * @param stroke
+	 *            Stroke of the mark
+	 */
+	private void addMarkStroke(Stroke stroke) {
+		int count = simplifyStroke(stroke);
+		for (int k = 0; k < count; k++) {
+			int x = stroke.getX(simplifiedIndices[k]);
+			int y = stroke.getY(simplifiedIndices[k]);
+			if (!markDrawn) {
+				markLeft = markRight = x;
+				markTop = markBottom = y;
+				markDrawn = true;
+			} else {
+				markLeft = Math.min(markLeft, x);
+				markRight = Math.max(markRight, x);
+				markTop = Math.min(markTop, y);
+				markBottom = Math.max(markBottom, y);
+			}
+		}
+		this.getContainer().getLoggerComponent().debug(
+				"[GameFSM] Mark stroke was simplified to " + count
+						+ " vertices");
+	}
+
+	/**
+	 * Displays the prompt of the line, that is drawn in the current state
+	 */
+	private void displayDrawBoardLine() {
+		switch (currentState) {
+		case FSM_STATE_DRAW_BOARD_FIRST_VERTICAL_LINE:
+			this.getContainer().getGameDisplayComponent().displayDrawFirstVerticalLine(true);
+			break;
+		case FSM_STATE_DRAW_BOARD_SECOND_VERTICAL_LINE:
+			this.getContainer().getGameDisplayComponent().displayDrawSecondVerticalLine(true);
+			break;
+		case FSM_STATE_DRAW_BOARD_FIRST_HORIZONTAL_LINE:
+			this.getContainer().getGameDisplayComponent().displayDrawFirstHorizontalLine(true);
+			break;
+		default:
+			this.getContainer().getGameDisplayComponent().displayDrawSecondHorizontalLine(true);
+			break;
 		}
 	}
 
 	private void playErrorDrawLineOrSleep(GameBoardLineException e) {
-		if(isMuted())
+		// Message of the reason without the sound is shown for the same time
+		if(isMuted() || false == this.getContainer().getSoundManagerComponent()
+				.playErrorDrawLine(e.getReason()))
 		{					
 			try {
 				Thread.sleep(3000);
@@ -1120,11 +1330,6 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 				this.getContainer().getLoggerComponent().error(e1.getMessage());
 			}
 		}
-		else
-		{
-			this.getContainer().getSoundManagerComponent()
-					.playErrorDrawLine(e.getReason());
-		}
 	}
 
 	/**
@@ -1190,27 +1395,36 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 			// Required symbol appears. Now we must check, which field is used
 			// Retrieving center of the user symbol
 
-			this.getContainer().getLoggerComponent().debug(
-					"[GameFSM][ICR] Receiving symbol rectangle. ICRContext: "
-							+ this.icrContext);
+			Point p;
+			if (markDrawn) {
+				// Center of the essential vertices of the mark strokes
+				p = new Point((markLeft + markRight) / 2,
+						(markTop + markBottom) / 2);
+			} else {
+				this.getContainer().getLoggerComponent().debug(
+						"[GameFSM][ICR] Receiving symbol rectangle. ICRContext: "
+								+ this.icrContext);
 
-			Rectangle r = this.icrContext.getTextBoundingBox();
+				Rectangle r = this.icrContext.getTextBoundingBox();
 
-			this.getContainer().getLoggerComponent().debug(
-					"[GameFSM][ICR] Rectangle: " + r);
-			this.getContainer().getLoggerComponent()
-					.debug(
-							"[GameFSM][ICR] symbol rectangle was received ("
-									+ r.toString()
-									+ "). Calculating it's center point");
-			Point p = new Point(r.getX() + r.getWidth() / 2, r.getY()
-					+ r.getHeight() / 2);
+				this.getContainer().getLoggerComponent().debug(
+						"[GameFSM][ICR] Rectangle: " + r);
+				this.getContainer().getLoggerComponent()
+						.debug(
+								"[GameFSM][ICR] symbol rectangle was received ("
+										+ r.toString()
+										+ "). Calculating it's center point");
+				p = new Point(r.getX() + r.getWidth() / 2, r.getY()
+						+ r.getHeight() / 2);
+			}
 
 			this.getContainer().getLoggerComponent().debug(
 					"[GameFSM][ICR] Point of the user symbol is (" + p.getX()
 							+ "," + p.getY() + ")");
 
-			int field = this.container.getGameBoardComponent().getTurnField(p);
+			// Field is found by the board of the game mode
+			int field = this.getContainer().getGameLogicComponent()
+					.getTurnField(p);
 			if (field != -1) {
 				if (this.getContainer().getGameLogicComponent().isTurnPossible(
 						field)) {
@@ -1240,6 +1454,7 @@ public class GameFSM implements StrokeListener, HWRListener, PenTipListener {
 
 		// ICR Strokes clearing must be done in any case
 		this.icrContext.clearStrokes();
+		markDrawn = false;
 	}
 
 	public void penUp(long time, Region region, PageInstance page) {
@@ -1,84 +1,60 @@
 package com.difane.games.ticktacktoe;
 
-import java.util.Random;
-
-public class GameLogic {
-
-	/**
-	 * DI Container
-	 */
-	protected Container container;
+import com.difane.games.ticktacktoe.engine.AiPlayer;
+import com.difane.games.ticktacktoe.engine.Evaluator;
+import com.difane.games.ticktacktoe.engine.Mcts;
+import com.difane.games.ticktacktoe.engine.Negamax;
+import com.difane.games.ticktacktoe.engine.Ponderer;
+import com.difane.games.ticktacktoe.engine.Position;
+import com.difane.games.ticktacktoe.engine.SeededRandom;
+import com.livescribe.geom.Point;
+
+/**
+ * Classic 3x3 game mode. Fields are numbered 1 to 9 from the left to the
+ * right and from the top to the bottom
+ */
+public class GameLogic extends BaseGameLogic {
 
 	/**
 	 * AI possible levels
 	 */
-	static public final int AI_LEVEL_EASY = 0;
-	static public final int AI_LEVEL_HARD = 1;
-
-	/**
-	 * Game board field possible states. FIELD_X and FIELD_O are used also to
-	 * track user and pen type in the game
-	 */
-	static public final int FIELD_EMPTY = 0;
-	static public final int FIELD_X = 1;
-	static public final int FIELD_O = 4;
-
-	/**
-	 * Possible game statuses
-	 */
-	static public final int GAME_STATUS_NOT_COMPLETED = 0;
-	static public final int GAME_STATUS_X_WINS = 1;
-	static public final int GAME_STATUS_O_WINS = 4;
-	static public final int GAME_STATUS_DRAW = 3;
-
-	/**
-	 * Type of the AI in that game "X" or "O" Must be one of the FIELD_X or
-	 * FIELD_O
-	 */
-	private int aiType;
-
-	/**
-	 * Type of the Human in that game "X" or "O" Must be one of the FIELD_X or
-	 * FIELD_O
-	 */
-	private int humanType;
-
-	/**
-	 * AI level. Must be one of the AI_LEVEL_*
-	 */
-	private int aiLevel;
+	static public final int AI_LEVEL_EASY = AiPlayer.LEVEL_EASY;
+	static public final int AI_LEVEL_HARD = AiPlayer.LEVEL_HARD;
+	static public final int AI_LEVEL_PERFECT = AiPlayer.LEVEL_PERFECT;
+	static public final int AI_LEVEL_MCTS = AiPlayer.LEVEL_MCTS;
 
 	/**
-	 * Game fields during the game
+	 * Game state: occupancy masks, fields ratings and game status. Updated
+	 * incrementally on each turn
 	 */
-	private int[] fields = new int[10];
+	private Evaluator board = new Evaluator();
 
 	/**
-	 * Game fields ratings. Using by AI to make his turn
+	 * Random generator of the AI replies. Reseeded before each reply from the
+	 * game seed and the position (see replySeed()), so the reply is the same,
+	 * whether it is computed now or was pondered
 	 */
-	private int[] ratings = new int[10];
+	private SeededRandom random = new SeededRandom(0);
 
 	/**
-	 * Helper array for calculate game status
+	 * AI player. Keeps level, random generator and caches between the turns
 	 */
-	private int[][] statusHelper = { { 0, 0, 0, 0 }, { 0, 1, 2, 3 },
-			{ 0, 4, 5, 6 }, { 0, 7, 8, 9 }, { 0, 1, 4, 7 }, { 0, 2, 5, 8 },
-			{ 0, 3, 6, 9 }, { 0, 1, 5, 9 }, { 0, 3, 5, 7 } };
+	private AiPlayer ai = new AiPlayer(AI_LEVEL_EASY, random);
 
 	/**
-	 * Helper array for calculate fields rating
+	 * Background computation of the AI replies during the human turn.
+	 * Created on the first use
 	 */
-	private int[][] ratingHelper = { { 0, 0, 0, 0, 0 }, { 0, 1, 4, 7, 0 },
-			{ 0, 1, 5, 0, 0 }, { 0, 1, 6, 0, 8 }, { 0, 2, 4, 0, 0 },
-			{ 0, 2, 5, 7, 8 }, { 0, 2, 6, 0, 0 }, { 0, 3, 4, 0, 8 },
-			{ 0, 3, 5, 0, 0 }, { 0, 3, 6, 7, 0 } };
+	private Ponderer ponderer = null;
 
 	/**
-	 * Helper array, that used during game status calculation and fields rating
-	 * calculation to store some intermediate data to prevent it's multiple
-	 * recalculation
+	 * Pondering statistics: AI turns, taken from the pondering replies, AI
+	 * turns, that were computed, and total time of the taken replies
+	 * computation
 	 */
-	private int[] runtimeHelper = new int[9];
+	private int ponderHits = 0;
+	private int ponderMisses = 0;
+	private long ponderSavedNanos = 0;
 
 	/**
 	 * Current game status
@@ -92,10 +68,9 @@ public class GameLogic {
 	 *            DI Container
 	 */
 	public GameLogic(Container c) {
-		this.container = c;
+		super(c);
 
 		// AI level is easy by default
-		aiLevel = AI_LEVEL_EASY;
 		this.getContainer()
 			.getLoggerComponent()
 			.debug("[GameLogic] Component initiated. AI level was set to AI_LEVEL_EASY by default");
@@ -108,27 +83,12 @@ public class GameLogic {
 	 *            the aiLevel to set
 	 */
 	public void setAiLevel(int aiLevel) {
-		this.aiLevel = aiLevel;
+		ai.setLevel(aiLevel);
 		this.getContainer()
 			.getLoggerComponent()
 			.debug("[GameLogic] AI level was set to "+aiLevel);
 	}
 
-	/**
-	 * Selects player order. Currently player always starts and plays X
-	 * 
-	 * @return true, if Human goes first, false otherwise
-	 */
-	public boolean selectPlayersOrder() {
-		humanType = FIELD_X;
-		aiType = FIELD_O;
-		
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameLogic] Players order was selected. Human plays X, AI pays O. Human starts the game");
-		return true;
-	}
-
 	/**
 	 * Makes human turn
 	 * 
@@ -161,19 +121,21 @@ public class GameLogic {
 		/*
 		 * If field not empty - do nothing
 		 */
-		if (fields[field] != FIELD_EMPTY) {
+		if (!isFieldEmpty(field)) {
 			// TODO Rewrite to throw an exception
 			
 			this.getContainer()
 				.getLoggerComponent()
-				.debug("[GameLogic] Human tries to make a turn, but target field is not empty and contains: "+fields[field]);
+				.debug("[GameLogic] Human tries to make a turn, but target field is not empty and contains: "+getField(field));
 			return false;
 		}
 
 		/*
-		 * Making a turn
+		 * Making a turn. Pondering is stopped, reply will be taken from it, if
+		 * ready
 		 */
-		fields[field] = humanType;
+		stopPondering();
+		setField(field, getHumanType());
 		
 		this.getContainer()
 			.getLoggerComponent()
@@ -195,92 +157,149 @@ public class GameLogic {
 			return -1;
 		}
 
-		this.calculateRating();
-		Random rand = new Random();
-
-		int m, r, mr, i;
-
-		m = 0;
-		r = 0;
-
-		if (aiLevel == AI_LEVEL_EASY) {
-			for (i = 1; i <= 9; i++) {
-				r = r + ratings[i];
-			}
-			mr = rand.nextInt(r) + 1;
-			for (i = 1; i <= 9; i++) {
-				mr = mr - ratings[i];
-				if (mr <= 0) {
-					fields[i] = aiType;
-					this.getContainer()
-						.getLoggerComponent()
-						.debug("[GameLogic] AI makes a turn to the field "+i);
-					return i;
-				}
-			}
-		} else {
-			for (i = 1; i <= 9; i++) {
-				if (ratings[i] > r) {
-					r = ratings[i];
-				}
-			}
-			for (i = 1; i <= 9; i++) {
-				if (ratings[i] == r) {
-					m = m + 1;
-				}
-			}
-			mr = rand.nextInt(m) + 1;
-			m = 0;
-
-			for (i = 1; i <= 9; i++) {
-				if (ratings[i] == r) {
-					m = m + 1;
-					if (m == mr) {
-						fields[i] = aiType;
-						this.getContainer()
-							.getLoggerComponent()
-							.debug("[GameLogic] AI makes a turn to the field "+i);
-						return i;
-					}
-				}
+		int field = this.ponderedReply();
+		boolean searched = field == Ponderer.NOT_READY;
+		if (searched) {
+			random.setSeed(replySeed());
+			field = ai.chooseMove(board, getAiType());
+		}
+		if (field != -1) {
+			setField(field, getAiType());
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[GameLogic] AI makes a turn to the field "+field);
+			if (searched && ai.getLevel() == AI_LEVEL_MCTS) {
+				this.logMctsStatistics();
 			}
 		}
-		return -1;
+		return field;
 	}
 
 	/**
-	 * Returns game status
+	 * Makes ai turn, that is found by the iterative deepening search within
+	 * the deadline. Search always holds the best move of the last completed
+	 * depth, so the turn is made even if the budget is too small for the full
+	 * search
 	 * 
-	 * @return one of the GAME_STATUS_* values
+	 * @param deadlineNanos
+	 *            Deadline in nanoseconds of the Clock.SYSTEM time, e.g.
+	 *            Clock.SYSTEM.nanoTime() + budget
+	 * @return Field (1 to 9), where turn was made
 	 */
-	public int getGameStatus() {
+	public int aiTurn(long deadlineNanos) {
+		// There are no turn possible, if game already completed
+		if (gameStatus != GAME_STATUS_NOT_COMPLETED) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[GameLogic] AI tries to make a turn, but the game is already completed");
+			return -1;
+		}
 
-		int result = 0;
+		random.setSeed(replySeed());
+		int field = ai.chooseMove(board, getAiType(), deadlineNanos);
+		if (field != -1) {
+			setField(field, getAiType());
+			if (ai.getLevel() == AI_LEVEL_MCTS) {
+				this.getContainer()
+					.getLoggerComponent()
+					.debug("[GameLogic] AI makes a turn to the field "+field);
+				this.logMctsStatistics();
+				return field;
+			}
+			Negamax search = ai.getSearch();
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[GameLogic] AI makes a turn to the field "+field+" (depth "+search.getDepth()+", "+search.getNodes()+" nodes"+(search.isAborted() ? ", stopped by deadline)" : ")"));
+		}
+		return field;
+	}
 
-		int ni;
-		int sa;
-		int so;
-		int sj;
+	/**
+	 * Starts computation of the AI replies for the every possible human turn
+	 * in the background. Must be called, when human starts his turn
+	 */
+	public void startPondering() {
+		if (gameStatus != GAME_STATUS_NOT_COMPLETED) {
+			return;
+		}
+		if (ponderer == null) {
+			ponderer = new Ponderer();
+		}
+		ponderer.start(getPosition(), getHumanType(), ai.getLevel(), getGameSeed());
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[GameLogic] Pondering started");
+	}
 
-		ni = 5;
+	/**
+	 * Stops background computation of the AI replies. Computed replies are
+	 * kept
+	 */
+	public void stopPondering() {
+		if (ponderer != null) {
+			ponderer.cancel();
+		}
+	}
 
-		for (int i = 1; i <= 8; i++) {
-			sa = 5;
-			so = 0;
-			runtimeHelper[i] = 0;
-			for (int j = 1; j <= 3; j++) {
-				sj = fields[statusHelper[i][j]];
-				sa = sa & sj;
-				so = so | sj;
-				runtimeHelper[i] = runtimeHelper[i] + sj;
-			}
-			result = result | sa;
-			ni = ni & so;
+	/**
+	 * Returns AI reply, that was computed during the human turn
+	 * 
+	 * @return Field (1 to 9) or Ponderer.NOT_READY, if reply was not computed
+	 */
+	private int ponderedReply() {
+		if (ponderer == null) {
+			return Ponderer.NOT_READY;
 		}
-		if (ni == 5) {
-			result = 3;
+
+		int position = getPosition();
+		int field = ponderer.getReply(position);
+		if (field < 1 || !isFieldEmpty(field)) {
+			ponderMisses++;
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[GameLogic] Pondering miss. Hit rate: "+ponderHits+"/"+(ponderHits+ponderMisses));
+			return Ponderer.NOT_READY;
 		}
 
+		long saved = ponderer.getReplyTime(position);
+		ponderHits++;
+		ponderSavedNanos += saved;
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[GameLogic] Pondering hit. Saved "+(saved / 1000)+" us (total "+(ponderSavedNanos / 1000)+" us). Hit rate: "+ponderHits+"/"+(ponderHits+ponderMisses));
+		return field;
+	}
+
+	/**
+	 * Returns seed of the AI reply in the current position. Ponderer derives
+	 * the same seed for the position, so the pondered reply and the computed
+	 * one are equal
+	 * 
+	 * @return seed of the AI replies generator
+	 */
+	private long replySeed() {
+		return SeededRandom.seedOf(getGameSeed(), Position.of(board.getXMask(), board.getOMask()));
+	}
+
+	/**
+	 * Logs playouts count and speed of the last MCTS move
+	 */
+	private void logMctsStatistics() {
+		Mcts mcts = ai.getMcts();
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[GameLogic] MCTS: "+mcts.getPlayouts()+" playouts, "+mcts.getNodes()+" nodes, "+mcts.getPlayoutsPerSecond()+" playouts/s");
+	}
+
+	/**
+	 * Returns game status
+	 * 
+	 * @return one of the GAME_STATUS_* values
+	 */
+	public int getGameStatus() {
+
+		int result = board.getStatus();
+
 		// Storing game status for internal using
 		gameStatus = result;
 
@@ -292,131 +311,47 @@ public class GameLogic {
 	}
 
 	/**
-	 * Calculates fields rating to use during making AI turn
+	 * Returns current position. Position is a value, so it is not changed by
+	 * the next turns
+	 * 
+	 * @return Position (see engine.Position)
 	 */
-	private void calculateRating() {
-		int[] s00 = new int[4];
-		int[] s11 = new int[4];
-		int[] s44 = new int[4];
-		int s0, s1, s4, ssj, ii, j, jj, jjj, sj;
-
-		for (ii = 1; ii <= 9; ii++) {
-			ratings[ii] = 0;
-		}
-
-		for (ii = 1; ii <= 9; ii++) {
-			if (fields[ii] == FIELD_EMPTY) {
-				ratings[ii] = ratings[ii] + 1;
-				s0 = 0;
-				s1 = 0;
-				s4 = 0;
-				for (j = 1; j <= 4; j++) {
-					ssj = ratingHelper[ii][j];
-					if (ssj != 0) {
-						switch (runtimeHelper[ssj]) {
-						case 0:
-							s00[s0] = ssj;
-							s0 = s0 + 1;
-							for (jj = 0; jj <= s4 - 1; jj++) {
-								for (jjj = 1; jjj <= 3; jjj++) {
-									sj = statusHelper[ssj][jjj];
-									if (sj != ii) {
-										ratings[sj] = ratings[sj] + 100;
-									}
-								}
-							}
-
-							for (jj = 0; jj <= s1 - 1; jj++) {
-								for (jjj = 1; jjj <= 3; jjj++) {
-									sj = statusHelper[ssj][jjj];
-									ratings[sj] = ratings[sj] + 10;
-								}
-								for (jjj = 1; jjj <= 3; jjj++) {
-									sj = statusHelper[s11[jj]][jjj];
-									if (sj != ii && fields[sj] == FIELD_EMPTY) {
-										ratings[sj] = ratings[sj] + 10;
-									}
-								}
-							}
-							break;
-						case 1:
-							s11[s1] = ssj;
-							s1 = s1 + 1;
-							if (s1 > 1) {
-								ratings[ii] = ratings[ii] + 1000;
-								for (jj = 0; jj <= s1 - 1; jj++) {
-									for (jjj = 1; jjj <= 3; jjj++) {
-										sj = statusHelper[s11[jj]][jjj];
-										if (sj != ii
-												&& fields[sj] == FIELD_EMPTY) {
-											ratings[sj] = ratings[sj] + 1000;
-										}
-									}
-								}
-							}
-							for (jj = 0; jj <= s0 - 1; jj++) {
-								for (jjj = 1; jjj <= 3; jjj++) {
-									sj = statusHelper[ssj][jjj];
-									if (fields[sj] == FIELD_EMPTY) {
-										ratings[sj] = ratings[sj] + 10;
-									}
-								}
-								for (jjj = 1; jjj <= 3; jjj++) {
-									sj = statusHelper[s00[jj]][jjj];
-									if (sj != ii && fields[sj] == FIELD_EMPTY) {
-										ratings[sj] = ratings[sj] + 10;
-									}
-								}
-							}
-							break;
-						case 2:
-							ratings[ii] = ratings[ii] + 100000;
-							break;
-						case 4:
-							s44[s4] = ssj;
-							s4 = s4 + 1;
-							if (s4 > 1) {
-								ratings[ii] = ratings[ii] + 10000;
-							}
-							for (jj = 0; jj <= s0 - 1; jj++) {
-								for (jjj = 1; jjj <= 3; jjj++) {
-									sj = statusHelper[s00[jj]][jjj];
-									if (sj != ii) {
-										ratings[sj] = ratings[sj] + 100;
-									}
-								}
-							}
-							break;
-						case 8:
-							ratings[ii] = ratings[ii] + 1000000;
-							break;
-						}
-					}
-				}
-			}
-		}
+	public int getPosition() {
+		return Position.of(board.getXMask(), board.getOMask());
+	}
 
-		this.getContainer()
-			.getLoggerComponent()
-			.debug("[GameLogic] Fields ratings was recalculated");
+	/**
+	 * Returns state of the single field
+	 * 
+	 * @param field
+	 *            Field (1 to 9)
+	 * @return one of the FIELD_* values
+	 */
+	public int getField(int field) {
+		return Position.cell(getPosition(), field);
 	}
 
 	/**
-	 * Returns human type
+	 * Checks, that field has no marks
 	 * 
-	 * @return Human type
+	 * @param field
+	 *            Field (1 to 9)
+	 * @return true, if field is empty, false otherwise
 	 */
-	public int getHumanType() {
-		return humanType;
+	private boolean isFieldEmpty(int field) {
+		return board.isEmpty(field);
 	}
 
 	/**
-	 * Returns board information
+	 * Puts mark of the given type to the field
 	 * 
-	 * @return Board information
+	 * @param field
+	 *            Field (1 to 9)
+	 * @param type
+	 *            FIELD_X or FIELD_O
 	 */
-	public int[] getFields() {
-		return fields;
+	private void setField(int field, int type) {
+		board.makeMove(field, type);
 	}
 	
 	/**
@@ -435,7 +370,7 @@ public class GameLogic {
 			return false;
 		}
 		
-		if(fields[field] != FIELD_EMPTY)
+		if(!isFieldEmpty(field))
 		{
 			this.getContainer().
 				getLoggerComponent().
@@ -452,26 +387,35 @@ public class GameLogic {
 			
 	}
 	
-	public void restart() {
-		aiType = 0;
-		humanType = 0;
-		fields = new int[10];
-		ratings = new int[10];
-		runtimeHelper = new int[9];
-		gameStatus = GAME_STATUS_NOT_COMPLETED;
-		
-		this.getContainer().
-			getLoggerComponent().
-			debug("[GameLogic] Restart executed");
+	/**
+	 * Return field, where turn was made, by the classic 3x3 cells of the
+	 * drawn board
+	 * 
+	 * @param p
+	 *            Point, where user has done his turn
+	 * @return number from 1 to 9, -1 if turn was made outside the board
+	 */
+	public int getTurnField(Point p) {
+		return this.getContainer().getGameBoardComponent().getTurnField(p);
 	}
 
 	/**
-	 * Returns container
+	 * Draws 3x3 board with the current position
 	 * 
-	 * @return container
+	 * @param display
+	 *            Display to draw on
+	 * @param msg
+	 *            Message to be displayed at the right of the board
 	 */
-	public Container getContainer() {
-		return container;
+	public void drawBoard(GameDisplay display, String msg) {
+		display.redrawBoard(msg, getPosition());
+	}
+
+	public void restart() {
+		stopPondering();
+		board.reset();
+		gameStatus = GAME_STATUS_NOT_COMPLETED;
+		super.restart();
 	}
 
 }
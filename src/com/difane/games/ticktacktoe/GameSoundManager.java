@@ -218,7 +218,14 @@ public class GameSoundManager {
 		playSoundByName("to-start-new-game-start-drawing", blocked);
 	}
 
-	public void playErrorDrawLine(int reason) {
+	/**
+	 * Plays the reason of the line error
+	 * 
+	 * @param reason
+	 *            One of the GameBoardLineException.REASON_* values
+	 * @return false, if there is no sound for the reason
+	 */
+	public boolean playErrorDrawLine(int reason) {
 		switch (reason) {
 		case GameBoardLineException.REASON_LINE_IS_NOT_HORIZONTAL:
 			playLineIsNotHorizontal(true);
@@ -242,9 +249,9 @@ public class GameSoundManager {
 			playLineMustCross(true);
 			break;
 		default:
-			break;
+			return false;
 		}
-		
+		return true;
 	}
 	
 	public void playPenTurnReady() {
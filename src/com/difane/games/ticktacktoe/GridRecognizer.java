@@ -0,0 +1,395 @@
+package com.difane.games.ticktacktoe;
+
+import com.difane.games.ticktacktoe.exceptions.GameBoardLineException;
+import com.difane.geom.Line;
+import com.livescribe.geom.Point;
+import com.livescribe.geom.PolyLine;
+
+/**
+ * Recognizes the boards, that are drawn as the grids of the given size:
+ * columns - 1 vertical and rows - 1 horizontal lines, that cross each
+ * other, same as the 3x3 board of the BoardRecognizer. Lines of the grid are
+ * drawn in any order. Board may be made of the several grids (e.g. the four
+ * levels of the Qubic), that are drawn one after another and must not
+ * overlap.
+ *
+ * Outer fields of the grid have no outer lines, so their size is taken from
+ * the average distance between the grid lines. When the lines do not make
+ * the grid, lines of the current grid are dropped and the grid is drawn
+ * again.
+ */
+public class GridRecognizer {
+
+	/**
+	 * Maximal count of the grids
+	 */
+	static public final int MAX_GRIDS = 4;
+
+	/**
+	 * Maximal count of the fields in the grid row or column
+	 */
+	static public final int MAX_SIZE = 6;
+
+	/**
+	 * DI Container
+	 */
+	private Container container;
+
+	/**
+	 * Size of the each grid and count of the grids
+	 */
+	private int columns;
+	private int rows;
+	private int grids;
+
+	/**
+	 * Collected lines of the current grid
+	 */
+	private PolyLine[] verticalLines = new PolyLine[MAX_SIZE - 1];
+	private int verticalLinesCount;
+	private PolyLine[] horizontalLines = new PolyLine[MAX_SIZE - 1];
+	private int horizontalLinesCount;
+
+	/**
+	 * Borders of the columns and rows of the recognized grids (left of the
+	 * each column and right of the last one, same for the rows)
+	 */
+	private int[][] gridColumns = new int[MAX_GRIDS][MAX_SIZE + 1];
+	private int[][] gridRows = new int[MAX_GRIDS][MAX_SIZE + 1];
+
+	/**
+	 * Count of the recognized grids
+	 */
+	private int recognized;
+
+	/**
+	 * Constructor
+	 *
+	 * @param c
+	 *            DI container
+	 */
+	public GridRecognizer(Container c) {
+		this.container = c;
+
+		this.getContainer().getLoggerComponent().debug(
+				"[GridRecognizer] Component initialized");
+	}
+
+	/**
+	 * Sets size of the board and clears the collected lines
+	 *
+	 * @param columns
+	 *            Count of the fields in the grid row (3 to MAX_SIZE)
+	 * @param rows
+	 *            Count of the fields in the grid column (3 to MAX_SIZE)
+	 * @param grids
+	 *            Count of the grids (1 to MAX_GRIDS)
+	 */
+	public void setup(int columns, int rows, int grids) {
+		if (columns < 3 || columns > MAX_SIZE || rows < 3 || rows > MAX_SIZE
+				|| grids < 1 || grids > MAX_GRIDS) {
+			throw new IllegalArgumentException("Unsupported grid " + columns
+					+ "x" + rows + " x " + grids);
+		}
+		this.columns = columns;
+		this.rows = rows;
+		this.grids = grids;
+		reset();
+	}
+
+	/**
+	 * Adds the grid line. When all lines of the current grid are collected,
+	 * the grid is recognized
+	 *
+	 * @param line
+	 *            Segment, fitted to the stroke (see LineFitter). Contains 2
+	 *            points in any direction
+	 * @throws GameBoardLineException
+	 *             if line can not be a grid line, or the lines do not make
+	 *             the grid. In the last case lines of the grid are dropped
+	 */
+	public void addLine(PolyLine line) throws GameBoardLineException {
+		if (isReady()) {
+			return;
+		}
+		int type = this.getContainer().getGameBoardComponent()
+				.classifyLine(line);
+		if (type == GameBoard.LINE_VERTICAL) {
+			verticalLinesCount = add(verticalLines, verticalLinesCount,
+					columns - 1, line);
+		} else {
+			horizontalLinesCount = add(horizontalLines, horizontalLinesCount,
+					rows - 1, line);
+		}
+
+		this.getContainer().getLoggerComponent().debug(
+				"[GridRecognizer] Line " + line + " was added to the grid "
+						+ recognized + ". Lines: " + verticalLinesCount
+						+ " vertical, " + horizontalLinesCount + " horizontal");
+
+		if (verticalLinesCount == columns - 1
+				&& horizontalLinesCount == rows - 1) {
+			try {
+				recognizeGrid();
+			} finally {
+				clearLines();
+			}
+		}
+	}
+
+	/**
+	 * Adds the line to the end, dropping the oldest line if there is no room
+	 *
+	 * @return new count of the lines
+	 */
+	static private int add(PolyLine[] lines, int count, int max, PolyLine line) {
+		if (count == max) {
+			System.arraycopy(lines, 1, lines, 0, max - 1);
+			count--;
+		}
+		lines[count] = line;
+		return count + 1;
+	}
+
+	/**
+	 * Calculates borders of the current grid from the collected lines
+	 *
+	 * @throws GameBoardLineException
+	 *             if the lines do not make the grid
+	 */
+	private void recognizeGrid() throws GameBoardLineException {
+		sort(verticalLines, verticalLinesCount, true);
+		sort(horizontalLines, horizontalLinesCount, false);
+
+		// Inner borders are the average crossings of the lines
+		int[] borderColumns = gridColumns[recognized];
+		int[] borderRows = gridRows[recognized];
+		for (int i = 0; i <= MAX_SIZE; i++) {
+			borderColumns[i] = 0;
+			borderRows[i] = 0;
+		}
+		for (int v = 0; v < verticalLinesCount; v++) {
+			for (int h = 0; h < horizontalLinesCount; h++) {
+				long p = Line.intersectionPacked(verticalLines[v].getX(0),
+						verticalLines[v].getY(0), verticalLines[v].getX(1),
+						verticalLines[v].getY(1), horizontalLines[h].getX(0),
+						horizontalLines[h].getY(0), horizontalLines[h].getX(1),
+						horizontalLines[h].getY(1));
+				if (p == Line.NO_INTERSECTION) {
+					throw new GameBoardLineException(
+							GameBoardLineException.REASON_MUST_CROSS_ALL_LINES);
+				}
+				borderColumns[v + 1] += Line.unpackX(p);
+				borderRows[h + 1] += Line.unpackY(p);
+			}
+		}
+		for (int v = 0; v < verticalLinesCount; v++) {
+			borderColumns[v + 1] /= horizontalLinesCount;
+		}
+		for (int h = 0; h < horizontalLinesCount; h++) {
+			borderRows[h + 1] /= verticalLinesCount;
+		}
+
+		int cellWidth = validateSpacing(borderColumns, columns);
+		int cellHeight = validateSpacing(borderRows, rows);
+		borderColumns[0] = borderColumns[1] - cellWidth;
+		borderColumns[columns] = borderColumns[columns - 1] + cellWidth;
+		borderRows[0] = borderRows[1] - cellHeight;
+		borderRows[rows] = borderRows[rows - 1] + cellHeight;
+
+		// Lines must cross each other, with the half of the field for the
+		// lines, that are a bit too short
+		for (int v = 0; v < verticalLinesCount; v++) {
+			int x = borderColumns[v + 1];
+			if (verticalLines[v].getY(0) > borderRows[1] + cellHeight / 2
+					|| verticalLines[v].getY(1) < borderRows[rows - 1] - cellHeight / 2) {
+				throw new GameBoardLineException(
+						GameBoardLineException.REASON_MUST_CROSS_ALL_LINES);
+			}
+			for (int h = 0; h < horizontalLinesCount; h++) {
+				if (x < horizontalLines[h].getX(0) - cellWidth / 2
+						|| x > horizontalLines[h].getX(1) + cellWidth / 2) {
+					throw new GameBoardLineException(
+							GameBoardLineException.REASON_MUST_CROSS_ALL_LINES);
+				}
+			}
+		}
+
+		for (int g = 0; g < recognized; g++) {
+			if (borderColumns[0] < gridColumns[g][columns]
+					&& gridColumns[g][0] < borderColumns[columns]
+					&& borderRows[0] < gridRows[g][rows]
+					&& gridRows[g][0] < borderRows[rows]) {
+				throw new GameBoardLineException(
+						GameBoardLineException.REASON_GRIDS_MUST_NOT_OVERLAP);
+			}
+		}
+
+		this.getContainer().getLoggerComponent().debug(
+				"[GridRecognizer] Grid " + recognized + " was recognized: x "
+						+ borderColumns[0] + " - " + borderColumns[columns]
+						+ ", y " + borderRows[0] + " - " + borderRows[rows]);
+		recognized++;
+	}
+
+	/**
+	 * Checks, that the inner borders go in order with the similar distances
+	 * (none is less than the half of the largest one)
+	 *
+	 * @return average distance between the inner borders
+	 * @throws GameBoardLineException
+	 *             if the distances differ too much
+	 */
+	static private int validateSpacing(int[] borders, int count)
+			throws GameBoardLineException {
+		int min = Integer.MAX_VALUE;
+		int max = 0;
+		for (int i = 1; i < count - 1; i++) {
+			int distance = borders[i + 1] - borders[i];
+			min = Math.min(min, distance);
+			max = Math.max(max, distance);
+		}
+		if (min <= 0 || min * 2 < max) {
+			throw new GameBoardLineException(
+					GameBoardLineException.REASON_LINES_MUST_BE_EVEN);
+		}
+		return (borders[count - 1] - borders[1]) / (count - 2);
+	}
+
+	/**
+	 * Sorts lines from the left to the right (vertical) or from the top to
+	 * the bottom (horizontal) by their middle points
+	 */
+	static private void sort(PolyLine[] lines, int count, boolean vertical) {
+		for (int i = 1; i < count; i++) {
+			PolyLine line = lines[i];
+			int key = middle(line, vertical);
+			int j = i;
+			while (j > 0 && middle(lines[j - 1], vertical) > key) {
+				lines[j] = lines[j - 1];
+				j--;
+			}
+			lines[j] = line;
+		}
+	}
+
+	static private int middle(PolyLine line, boolean vertical) {
+		return vertical ? (line.getX(0) + line.getX(1)) / 2 : (line.getY(0) + line
+				.getY(1)) / 2;
+	}
+
+	/**
+	 * Returns field, where turn was made
+	 *
+	 * @param p
+	 *            Point, where user has done his turn
+	 * @return grid * columns * rows + row * columns + column, -1 if the point
+	 *         is outside of the recognized grids
+	 */
+	public int getField(Point p) {
+		for (int g = 0; g < recognized; g++) {
+			int column = find(gridColumns[g], columns, p.getX());
+			int row = find(gridRows[g], rows, p.getY());
+			if (column >= 0 && row >= 0) {
+				return (g * rows + row) * columns + column;
+			}
+		}
+		this.getContainer().getLoggerComponent().debug(
+				"[GridRecognizer] Point " + p + " is outside of the grids");
+		return -1;
+	}
+
+	/**
+	 * Finds column or row, that contains coordinate
+	 *
+	 * @return 0 to count - 1 or -1, if coordinate is outside of the grid
+	 */
+	static private int find(int[] borders, int count, int coordinate) {
+		for (int i = 0; i < count; i++) {
+			if (coordinate >= borders[i] && coordinate < borders[i + 1]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return true, if all grids are recognized
+	 */
+	public boolean isReady() {
+		return grids > 0 && recognized == grids;
+	}
+
+	/**
+	 * @return index of the grid, that is drawn now
+	 */
+	public int getGrid() {
+		return recognized;
+	}
+
+	/**
+	 * @return count of the grids
+	 */
+	public int getGrids() {
+		return grids;
+	}
+
+	/**
+	 * @return count of the fields in the grid row
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * @return count of the fields in the grid column
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return count of the vertical lines, that are not drawn yet in the
+	 *         current grid
+	 */
+	public int getMissingVerticalLines() {
+		return columns - 1 - verticalLinesCount;
+	}
+
+	/**
+	 * @return count of the horizontal lines, that are not drawn yet in the
+	 *         current grid
+	 */
+	public int getMissingHorizontalLines() {
+		return rows - 1 - horizontalLinesCount;
+	}
+
+	/**
+	 * Clears the collected lines of the current grid
+	 */
+	private void clearLines() {
+		for (int i = 0; i < MAX_SIZE - 1; i++) {
+			verticalLines[i] = null;
+			horizontalLines[i] = null;
+		}
+		verticalLinesCount = 0;
+		horizontalLinesCount = 0;
+	}
+
+	/**
+	 * Clears the collected lines and the recognized grids
+	 */
+	public void reset() {
+		clearLines();
+		recognized = 0;
+	}
+
+	/**
+	 * Returns DI container
+	 *
+	 * @return the container
+	 */
+	public Container getContainer() {
+		return container;
+	}
+}
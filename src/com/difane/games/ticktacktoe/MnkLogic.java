@@ -0,0 +1,305 @@
+package com.difane.games.ticktacktoe;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.difane.games.ticktacktoe.engine.Clock;
+import com.difane.games.ticktacktoe.engine.MnkAi;
+import com.difane.games.ticktacktoe.engine.MnkRules;
+import com.difane.games.ticktacktoe.engine.MnkTable;
+import com.livescribe.geom.Point;
+
+/**
+ * m,n,k game mode: board of the MnkRules width and height, k marks in a row
+ * win. Fields are numbered 1 to width * height (row * width + column + 1).
+ * User draws the board as the grid of width - 1 vertical and height - 1
+ * horizontal lines (see GridRecognizer). Mode is selected by the
+ * Container.setGameMode().
+ *
+ * AI reply is taken from the win/draw/loss tablebase, when the tablebase of
+ * the rules is bundled as the resource (e.g. "/3x3k3.tb", written by the
+ * headless "tablebase" target) and fits into MAX_TABLE_SIZE, otherwise it
+ * is searched by the MnkAi within the AI_TIME_BUDGET. Tablebase is read
+ * into the memory, so the 4x4 one (10.8 MB) is left to the headless tools.
+ * AI levels and pondering are not used in this mode.
+ */
+public class MnkLogic extends BaseGameLogic {
+
+	/**
+	 * Time of the AI reply, nanoseconds
+	 */
+	static public final long AI_TIME_BUDGET = 1000L * 1000000L;
+
+	/**
+	 * Transposition table size of the MnkAi (2^AI_TABLE_BITS entries)
+	 */
+	static private final int AI_TABLE_BITS = 16;
+
+	/**
+	 * Maximal size of the tablebase values, that is read from the resource,
+	 * bytes
+	 */
+	static public final int MAX_TABLE_SIZE = 64 * 1024;
+
+	/**
+	 * Game rules
+	 */
+	private MnkRules rules;
+
+	/**
+	 * Occupancy masks of the X and O
+	 */
+	private int x;
+	private int o;
+
+	/**
+	 * Solved game, null if the tablebase is not bundled
+	 */
+	private MnkTable table;
+
+	/**
+	 * AI player. Keeps search buffers between the turns
+	 */
+	private MnkAi ai;
+
+	/**
+	 * Constructor
+	 *
+	 * @param c
+	 *            DI Container
+	 * @param rules
+	 *            Game rules
+	 */
+	public MnkLogic(Container c, MnkRules rules) {
+		super(c);
+		this.rules = rules;
+		this.ai = new MnkAi(rules, AI_TABLE_BITS);
+		this.table = loadTable(rules);
+	}
+
+	/**
+	 * Loads tablebase of the rules from the resource
+	 *
+	 * @return tablebase or null, if it is not bundled or can not be read
+	 */
+	private MnkTable loadTable(MnkRules rules) {
+		if (rules.getCells() > MnkTable.MAX_CELLS
+				|| MnkTable.dataSize(rules) > MAX_TABLE_SIZE) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[MnkLogic] Tablebase of "+rules+" is too big for the pen, AI will search");
+			return null;
+		}
+		InputStream in = getClass().getResourceAsStream("/" + rules + ".tb");
+		if (null == in) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[MnkLogic] Tablebase of "+rules+" is not bundled, AI will search");
+			return null;
+		}
+		try {
+			MnkTable loaded = MnkTable.load(in);
+			if (loaded.getRules().getWidth() != rules.getWidth()
+					|| loaded.getRules().getHeight() != rules.getHeight()
+					|| loaded.getRules().getK() != rules.getK()) {
+				this.getContainer()
+					.getLoggerComponent()
+					.warn("[MnkLogic] Bundled tablebase is of "+loaded.getRules()+", not of "+rules);
+				return null;
+			}
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[MnkLogic] Tablebase of "+rules+" was loaded");
+			return loaded;
+		} catch (IOException e) {
+			this.getContainer()
+				.getLoggerComponent()
+				.warn("[MnkLogic] Tablebase of "+rules+" can not be read: "+e.getMessage());
+			return null;
+		} catch (OutOfMemoryError e) {
+			this.getContainer()
+				.getLoggerComponent()
+				.warn("[MnkLogic] There is no memory for the tablebase of "+rules+", AI will search");
+			return null;
+		} finally {
+			try {
+				in.close();
+			} catch (IOException e) {
+				// Table is already read
+			}
+		}
+	}
+
+	/**
+	 * Makes human turn
+	 *
+	 * @param field
+	 *            Field (1 to width * height), where turn was made
+	 * @return true if ok, false otherwise
+	 */
+	public boolean humanTurn(int field) {
+		if (!isTurnPossible(field)) {
+			return false;
+		}
+		if (rules.status(x, o) != GAME_STATUS_NOT_COMPLETED) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[MnkLogic] Human tries to make a turn, but the game is already completed");
+			return false;
+		}
+
+		move(field - 1, getHumanType());
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[MnkLogic] Human makes a turn to the field "+field);
+		return true;
+	}
+
+	/**
+	 * Makes ai turn within the AI_TIME_BUDGET
+	 *
+	 * @return Field (1 to width * height), where turn was made
+	 */
+	public int aiTurn() {
+		return aiTurn(Clock.SYSTEM.nanoTime() + AI_TIME_BUDGET);
+	}
+
+	/**
+	 * Makes ai turn within the deadline. Tablebase reply does not depend on
+	 * the deadline
+	 *
+	 * @param deadlineNanos
+	 *            Deadline in nanoseconds of the Clock.SYSTEM time
+	 * @return Field (1 to width * height), where turn was made
+	 */
+	public int aiTurn(long deadlineNanos) {
+		if (rules.status(x, o) != GAME_STATUS_NOT_COMPLETED) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[MnkLogic] AI tries to make a turn, but the game is already completed");
+			return -1;
+		}
+
+		int cell = null != table ? table.getBestMove(x, o) : ai.chooseMove(x, o, deadlineNanos);
+		if (cell == -1) {
+			return -1;
+		}
+		move(cell, getAiType());
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[MnkLogic] AI makes a turn to the field "+(cell + 1)+(null != table ? " (tablebase)" : " (depth "+ai.getDepth()+", "+ai.getNodes()+" nodes"+(ai.isAborted() ? ", stopped by deadline)" : ")")));
+		return cell + 1;
+	}
+
+	/**
+	 * Puts mark of the type to the cell
+	 */
+	private void move(int cell, int type) {
+		if (type == FIELD_X) {
+			x |= 1 << cell;
+		} else {
+			o |= 1 << cell;
+		}
+	}
+
+	/**
+	 * Returns game status. Game is a draw, when nobody can make k in a row
+	 *
+	 * @return one of the GAME_STATUS_* values
+	 */
+	public int getGameStatus() {
+		int result = rules.status(x, o);
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[MnkLogic] Game status requested. Current status is "+result);
+		return result;
+	}
+
+	/**
+	 * Returns state of the single field
+	 *
+	 * @param field
+	 *            Field (1 to width * height)
+	 * @return one of the FIELD_* values
+	 */
+	public int getField(int field) {
+		int bit = 1 << (field - 1);
+		return (x & bit) != 0 ? FIELD_X : (o & bit) != 0 ? FIELD_O : FIELD_EMPTY;
+	}
+
+	/**
+	 * Checks, that turn to the given field is possible (field is empty)
+	 *
+	 * @param field
+	 *            Field to check turn possibility
+	 * @return true, if turn is possible, false otherwise
+	 */
+	public boolean isTurnPossible(int field) {
+		if (field < 1 || field > rules.getCells()) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[MnkLogic] Checking turn possibility to the impossible field: "+field);
+			return false;
+		}
+		if (getField(field) != FIELD_EMPTY) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[MnkLogic] Checking turn possibility. Target field ("+field+") is already captured");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return field, where turn was made, by the drawn grid
+	 *
+	 * @param p
+	 *            Point, where user has done his turn
+	 * @return number from 1 to width * height, -1 if turn was made outside
+	 *         the grid
+	 */
+	public int getTurnField(Point p) {
+		int field = this.getContainer().getGridRecognizerComponent().getField(p);
+		return field == -1 ? -1 : field + 1;
+	}
+
+	/**
+	 * Board is drawn as the single grid
+	 */
+	public int getGridCount() {
+		return 1;
+	}
+
+	public int getGridColumns() {
+		return rules.getWidth();
+	}
+
+	public int getGridRows() {
+		return rules.getHeight();
+	}
+
+	/**
+	 * Draws board of the rules size with the current position
+	 *
+	 * @param display
+	 *            Display to draw on
+	 * @param msg
+	 *            Message to be displayed at the right of the board
+	 */
+	public void drawBoard(GameDisplay display, String msg) {
+		display.redrawMnkBoard(msg, this);
+	}
+
+	/**
+	 * @return game rules
+	 */
+	public MnkRules getRules() {
+		return rules;
+	}
+
+	public void restart() {
+		super.restart();
+		x = 0;
+		o = 0;
+	}
+}
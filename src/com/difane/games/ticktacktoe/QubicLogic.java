@@ -0,0 +1,213 @@
+package com.difane.games.ticktacktoe;
+
+import com.difane.games.ticktacktoe.engine.Clock;
+import com.difane.games.ticktacktoe.engine.QubicAi;
+import com.difane.games.ticktacktoe.engine.QubicBoard;
+import com.livescribe.geom.Point;
+
+/**
+ * Qubic game mode: 4x4x4 board, four in a row in any direction wins,
+ * including the lines through the layers. Fields are numbered 1 to 64
+ * (layer * 16 + row * 4 + column + 1). User draws the layers as four
+ * separate 4x4 grids, from the first layer to the last one (see
+ * GridRecognizer). Mode is selected by the Container.setGameMode().
+ *
+ * AI reply always fits into the AI_TIME_BUDGET. AI levels and pondering are
+ * not used in this mode.
+ */
+public class QubicLogic extends BaseGameLogic {
+
+	/**
+	 * Count of the fields
+	 */
+	static public final int FIELDS = QubicBoard.CELLS;
+
+	/**
+	 * Count of the layers and size of the each layer
+	 */
+	static public final int LAYERS = 4;
+	static public final int LAYER_SIZE = 4;
+
+	/**
+	 * Time of the AI reply, nanoseconds
+	 */
+	static public final long AI_TIME_BUDGET = 1000L * 1000000L;
+
+	/**
+	 * Size of the AI transposition table (2^TABLE_BITS entries, 20 bytes
+	 * each)
+	 */
+	static private final int TABLE_BITS = 14;
+
+	/**
+	 * Game state
+	 */
+	private QubicBoard board = new QubicBoard();
+
+	/**
+	 * AI player. Keeps search buffers and transposition table between the
+	 * turns
+	 */
+	private QubicAi ai = new QubicAi(TABLE_BITS);
+
+	/**
+	 * Constructor
+	 *
+	 * @param c
+	 *            DI Container
+	 */
+	public QubicLogic(Container c) {
+		super(c);
+	}
+
+	/**
+	 * Makes human turn
+	 *
+	 * @param field
+	 *            Field (1 to 64), where turn was made
+	 * @return true if ok, false otherwise
+	 */
+	public boolean humanTurn(int field) {
+		if (!isTurnPossible(field)) {
+			return false;
+		}
+		if (board.getStatus() != GAME_STATUS_NOT_COMPLETED) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[QubicLogic] Human tries to make a turn, but the game is already completed");
+			return false;
+		}
+
+		board.makeMove(field - 1);
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[QubicLogic] Human makes a turn to the field "+field);
+		return true;
+	}
+
+	/**
+	 * Makes ai turn within the AI_TIME_BUDGET
+	 *
+	 * @return Field (1 to 64), where turn was made
+	 */
+	public int aiTurn() {
+		return aiTurn(Clock.SYSTEM.nanoTime() + AI_TIME_BUDGET);
+	}
+
+	/**
+	 * Makes ai turn within the deadline
+	 *
+	 * @param deadlineNanos
+	 *            Deadline in nanoseconds of the Clock.SYSTEM time
+	 * @return Field (1 to 64), where turn was made
+	 */
+	public int aiTurn(long deadlineNanos) {
+		if (board.getStatus() != GAME_STATUS_NOT_COMPLETED) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[QubicLogic] AI tries to make a turn, but the game is already completed");
+			return -1;
+		}
+
+		int cell = ai.chooseMove(board, deadlineNanos);
+		if (cell == -1) {
+			return -1;
+		}
+		board.makeMove(cell);
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[QubicLogic] AI makes a turn to the field "+(cell + 1)+" (depth "+ai.getDepth()+", "+ai.getNodes()+" nodes"+(ai.isAborted() ? ", stopped by deadline)" : ")"));
+		return cell + 1;
+	}
+
+	/**
+	 * Returns game status
+	 *
+	 * @return one of the GAME_STATUS_* values
+	 */
+	public int getGameStatus() {
+		int result = board.getStatus();
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[QubicLogic] Game status requested. Current status is "+result);
+		return result;
+	}
+
+	/**
+	 * Returns state of the single field
+	 *
+	 * @param field
+	 *            Field (1 to 64)
+	 * @return one of the FIELD_* values
+	 */
+	public int getField(int field) {
+		return board.getCell(field - 1);
+	}
+
+	/**
+	 * Checks, that turn to the given field is possible (field is empty)
+	 *
+	 * @param field
+	 *            Field to check turn possibility
+	 * @return true, if turn is possible, false otherwise
+	 */
+	public boolean isTurnPossible(int field) {
+		if (field < 1 || field > FIELDS) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[QubicLogic] Checking turn possibility to the impossible field: "+field);
+			return false;
+		}
+		if (!board.isEmpty(field - 1)) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[QubicLogic] Checking turn possibility. Target field ("+field+") is already captured");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return field, where turn was made, by the drawn layer grids
+	 *
+	 * @param p
+	 *            Point, where user has done his turn
+	 * @return number from 1 to 64, -1 if turn was made outside the grids
+	 */
+	public int getTurnField(Point p) {
+		int field = this.getContainer().getGridRecognizerComponent().getField(p);
+		return field == -1 ? -1 : field + 1;
+	}
+
+	/**
+	 * Each layer is drawn as the separate grid
+	 */
+	public int getGridCount() {
+		return LAYERS;
+	}
+
+	public int getGridColumns() {
+		return LAYER_SIZE;
+	}
+
+	public int getGridRows() {
+		return LAYER_SIZE;
+	}
+
+	/**
+	 * Draws four layers with the current position
+	 *
+	 * @param display
+	 *            Display to draw on
+	 * @param msg
+	 *            Message to be displayed at the right of the board
+	 */
+	public void drawBoard(GameDisplay display, String msg) {
+		display.redrawQubicBoard(msg, this);
+	}
+
+	public void restart() {
+		super.restart();
+		board.reset();
+	}
+}
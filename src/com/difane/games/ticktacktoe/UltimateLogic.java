@@ -0,0 +1,216 @@
+package com.difane.games.ticktacktoe;
+
+import com.difane.games.ticktacktoe.engine.Clock;
+import com.difane.games.ticktacktoe.engine.UltimateBoard;
+import com.difane.games.ticktacktoe.engine.UltimateMcts;
+import com.livescribe.geom.Point;
+
+/**
+ * Ultimate tic-tac-toe game mode: nine 3x3 sub-boards, turn to the cell sends
+ * the opponent to the sub-board with the same position. Fields are numbered 1
+ * to 81 ((board - 1) * 9 + cell, where board and cell are the classic fields
+ * 1 to 9). Each cell of the drawn board is a sub-board, that is split into
+ * thirds. Mode is selected by the Container.setGameMode().
+ *
+ * AI reply always fits into the AI_TIME_BUDGET. AI levels and pondering are
+ * not used in this mode.
+ */
+public class UltimateLogic extends BaseGameLogic {
+
+	/**
+	 * Count of the fields
+	 */
+	static public final int FIELDS = UltimateBoard.CELLS;
+
+	/**
+	 * Time of the AI reply, nanoseconds
+	 */
+	static public final long AI_TIME_BUDGET = 1000L * 1000000L;
+
+	/**
+	 * Count of the AI nodes (14 bytes each). Pen makes a few thousand
+	 * playouts within the AI_TIME_BUDGET, so the bigger pool is not used,
+	 * and the search continues from the leaves, when the pool is full
+	 */
+	static private final int MCTS_CAPACITY = 8192;
+
+	/**
+	 * Game state
+	 */
+	private UltimateBoard board = new UltimateBoard();
+
+	/**
+	 * AI player. Keeps the node pool between the turns
+	 */
+	private UltimateMcts mcts = new UltimateMcts(MCTS_CAPACITY);
+
+	/**
+	 * Constructor
+	 *
+	 * @param c
+	 *            DI Container
+	 */
+	public UltimateLogic(Container c) {
+		super(c);
+		mcts.setSeed(getGameSeed());
+	}
+
+	/**
+	 * Makes human turn
+	 *
+	 * @param field
+	 *            Field (1 to 81), where turn was made
+	 * @return true if ok, false otherwise
+	 */
+	public boolean humanTurn(int field) {
+		if (board.getStatus() != GAME_STATUS_NOT_COMPLETED) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[UltimateLogic] Human tries to make a turn, but the game is already completed");
+			return false;
+		}
+		if (!isTurnPossible(field)) {
+			return false;
+		}
+
+		board.makeMove(field - 1);
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[UltimateLogic] Human makes a turn to the field "+field);
+		return true;
+	}
+
+	/**
+	 * Makes ai turn within the AI_TIME_BUDGET
+	 *
+	 * @return Field (1 to 81), where turn was made
+	 */
+	public int aiTurn() {
+		return aiTurn(Clock.SYSTEM.nanoTime() + AI_TIME_BUDGET);
+	}
+
+	/**
+	 * Makes ai turn within the deadline
+	 *
+	 * @param deadlineNanos
+	 *            Deadline in nanoseconds of the Clock.SYSTEM time
+	 * @return Field (1 to 81), where turn was made
+	 */
+	public int aiTurn(long deadlineNanos) {
+		if (board.getStatus() != GAME_STATUS_NOT_COMPLETED) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[UltimateLogic] AI tries to make a turn, but the game is already completed");
+			return -1;
+		}
+
+		int move = mcts.bestMove(board, Integer.MAX_VALUE, deadlineNanos);
+		if (move == -1) {
+			return -1;
+		}
+		board.makeMove(move);
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[UltimateLogic] AI makes a turn to the field "+(move + 1)+" ("+mcts.getPlayouts()+" playouts, "+mcts.getNodes()+" nodes, depth "+mcts.getMaxDepth()+")");
+		return move + 1;
+	}
+
+	/**
+	 * Returns game status
+	 *
+	 * @return one of the GAME_STATUS_* values
+	 */
+	public int getGameStatus() {
+		int result = board.getStatus();
+		this.getContainer()
+			.getLoggerComponent()
+			.debug("[UltimateLogic] Game status requested. Current status is "+result);
+		return result;
+	}
+
+	/**
+	 * Returns state of the single field
+	 *
+	 * @param field
+	 *            Field (1 to 81)
+	 * @return one of the FIELD_* values
+	 */
+	public int getField(int field) {
+		return board.getCell(field - 1);
+	}
+
+	/**
+	 * Returns status of the sub-board
+	 *
+	 * @param subBoard
+	 *            Sub-board (1 to 9)
+	 * @return one of the GAME_STATUS_* values
+	 */
+	public int getSubBoardStatus(int subBoard) {
+		return board.getBoardStatus(subBoard - 1);
+	}
+
+	/**
+	 * Returns sub-board, where the next turn must be made
+	 *
+	 * @return Sub-board (1 to 9) or 0, if any open sub-board may be used
+	 */
+	public int getTargetSubBoard() {
+		int target = board.getTarget();
+		return target == UltimateBoard.ANY_BOARD ? 0 : target + 1;
+	}
+
+	/**
+	 * Checks, that turn to the given field is possible (field is empty and
+	 * it is in the sub-board, where the opponent has sent)
+	 *
+	 * @param field
+	 *            Field to check turn possibility
+	 * @return true, if turn is possible, false otherwise
+	 */
+	public boolean isTurnPossible(int field) {
+		if (field < 1 || field > FIELDS) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[UltimateLogic] Checking turn possibility to the impossible field: "+field);
+			return false;
+		}
+		if (!board.isLegal(field - 1)) {
+			this.getContainer()
+				.getLoggerComponent()
+				.debug("[UltimateLogic] Checking turn possibility. Target field ("+field+") is captured or is outside of the sub-board "+getTargetSubBoard());
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return field, where turn was made, by the thirds of the drawn board
+	 * cells (see GameBoard.getUltimateTurnField())
+	 *
+	 * @param p
+	 *            Point, where user has done his turn
+	 * @return number from 1 to 81, -1 if turn was made outside the board
+	 */
+	public int getTurnField(Point p) {
+		return this.getContainer().getGameBoardComponent().getUltimateTurnField(p);
+	}
+
+	/**
+	 * Draws nine sub-boards with the current position
+	 *
+	 * @param display
+	 *            Display to draw on
+	 * @param msg
+	 *            Message to be displayed at the right of the board
+	 */
+	public void drawBoard(GameDisplay display, String msg) {
+		display.redrawUltimateBoard(msg, this);
+	}
+
+	public void restart() {
+		super.restart();
+		board.reset();
+		mcts.setSeed(getGameSeed());
+	}
+}
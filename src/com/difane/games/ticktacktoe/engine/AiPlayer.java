@@ -0,0 +1,334 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * AI player for the 3x3 board. Selects a move for the given position on the
+ * given level. All working state (random generator, caches) is kept in the
+ * player, so selecting a move does not allocate memory.
+ */
+public class AiPlayer {
+
+	/**
+	 * AI possible levels
+	 */
+	static public final int LEVEL_EASY = 0;
+	static public final int LEVEL_HARD = 1;
+	static public final int LEVEL_PERFECT = 2;
+	static public final int LEVEL_MCTS = 3;
+
+	/**
+	 * Playouts budget of the LEVEL_MCTS move
+	 */
+	static public final int MCTS_PLAYOUTS = 3000;
+
+	/**
+	 * AI level. Must be one of the LEVEL_*
+	 */
+	private int level;
+
+	/**
+	 * Random generator for the tie-breaks and weighted selection
+	 */
+	private SeededRandom random;
+
+	/**
+	 * Cache of the best fields for the LEVEL_HARD, keyed by the canonical
+	 * position (own marks are stored as O). Fields are stored in the canonical
+	 * position coordinates
+	 */
+	private TranspositionCache hardCache;
+
+	/**
+	 * Alias tables of the LEVEL_EASY weighted selection. Created on the first
+	 * use
+	 */
+	private AliasCache easyCache = null;
+
+	/**
+	 * Caches size (as power of 2)
+	 */
+	private int cacheBits;
+
+	/**
+	 * Moves table for the LEVEL_PERFECT. Taken from the MoveTable on the first
+	 * use, so players in the different threads do not lock on each move
+	 */
+	private MoveTable moveTable = null;
+
+	/**
+	 * Search for the deadline bounded moves. Created on the first use
+	 */
+	private Negamax search = null;
+
+	/**
+	 * Monte Carlo Tree Search for the LEVEL_MCTS. Created on the first use
+	 */
+	private Mcts mcts = null;
+
+	/**
+	 * Constructor
+	 *
+	 * @param level
+	 *            AI level
+	 * @param random
+	 *            Random generator
+	 */
+	public AiPlayer(int level, SeededRandom random) {
+		this(level, random, 10);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param level
+	 *            AI level
+	 * @param random
+	 *            Random generator
+	 * @param cacheBits
+	 *            HARD level cache contains 2^cacheBits slots. Small cache is
+	 *            enough for the players, that play only few games
+	 */
+	public AiPlayer(int level, SeededRandom random, int cacheBits) {
+		this.level = level;
+		this.random = random;
+		this.cacheBits = cacheBits;
+		this.hardCache = new TranspositionCache(cacheBits);
+	}
+
+	/**
+	 * Selects a move. Move is not made on the board
+	 *
+	 * @param board
+	 *            Current position. For the EASY and HARD levels board ratings
+	 *            must be calculated for the side to move
+	 * @param type
+	 *            Side to move: Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @return Field (1 to 9) or -1, if there are no moves
+	 */
+	public int chooseMove(Evaluator board, int type) {
+		switch (level) {
+		case LEVEL_PERFECT:
+			if (moveTable == null) {
+				moveTable = MoveTable.getInstance();
+			}
+			return randomField(moveTable.getBestFields(board.getXMask(),
+					board.getOMask()));
+		case LEVEL_HARD:
+			return randomField(hardBestFields(board, type));
+		case LEVEL_MCTS:
+			return mctsMove(board, type, Long.MAX_VALUE);
+		default:
+			return weightedField(board, type);
+		}
+	}
+
+	/**
+	 * Returns all fields, that chooseMove() can select in the position. For
+	 * the HARD and PERFECT levels these are the random tie-breaks, for the
+	 * EASY level - fields with the non-zero rating, for the MCTS level - all
+	 * empty fields
+	 *
+	 * @param board
+	 *            Current position. For the EASY and HARD levels board ratings
+	 *            must be calculated for the side to move
+	 * @param type
+	 *            Side to move: Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @return mask of the fields
+	 */
+	public int getCandidateFields(Evaluator board, int type) {
+		switch (level) {
+		case LEVEL_PERFECT:
+			if (moveTable == null) {
+				moveTable = MoveTable.getInstance();
+			}
+			return moveTable.getBestFields(board.getXMask(), board.getOMask());
+		case LEVEL_HARD:
+			return hardBestFields(board, type);
+		case LEVEL_MCTS:
+			return ~(board.getXMask() | board.getOMask()) & Bitboard.FULL;
+		default:
+			int fields = 0;
+			for (int i = 1; i <= 9; i++) {
+				if (board.getRating(i) > 0) {
+					fields |= Bitboard.bit(i);
+				}
+			}
+			return fields;
+		}
+	}
+
+	/**
+	 * Selects a move within the deadline: by the MCTS for the LEVEL_MCTS, by
+	 * the iterative deepening search for the other levels (quality of the
+	 * move depends only on the time budget). Move is not made on the board
+	 *
+	 * @param board
+	 *            Current position
+	 * @param type
+	 *            Side to move: Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime())
+	 * @return Field (1 to 9) or -1, if there are no moves
+	 */
+	public int chooseMove(Evaluator board, int type, long deadline) {
+		if (level == LEVEL_MCTS) {
+			return mctsMove(board, type, deadline);
+		}
+		if (search == null) {
+			search = new Negamax();
+		}
+		if (type == Evaluator.FIELD_X) {
+			return search.bestMove(board.getXMask(), board.getOMask(), deadline);
+		}
+		return search.bestMove(board.getOMask(), board.getXMask(), deadline);
+	}
+
+	/**
+	 * Selects a move by the MCTS within the playouts budget and the deadline
+	 */
+	private int mctsMove(Evaluator board, int type, long deadline) {
+		if (mcts == null) {
+			mcts = new Mcts(Mcts.DEFAULT_CAPACITY, 1);
+		}
+		if (type == Evaluator.FIELD_X) {
+			return mcts.bestMove(board.getXMask(), board.getOMask(),
+					MCTS_PLAYOUTS, deadline, random);
+		}
+		return mcts.bestMove(board.getOMask(), board.getXMask(),
+				MCTS_PLAYOUTS, deadline, random);
+	}
+
+	/**
+	 * Selects a field with the probability, that is proportional to the field
+	 * rating (alias table of the position is built on the first use)
+	 */
+	private int weightedField(Evaluator board, int type) {
+		if (easyCache == null) {
+			easyCache = new AliasCache(cacheBits);
+		}
+		if (type == Evaluator.FIELD_X) {
+			return easyCache.select(board, board.getXMask(), board.getOMask(), random);
+		}
+		return easyCache.select(board, board.getOMask(), board.getXMask(), random);
+	}
+
+	/**
+	 * Returns fields with the maximal rating. Result is cached for the
+	 * canonical position, so rating is scanned only once for all symmetrical
+	 * positions
+	 */
+	private int hardBestFields(Evaluator board, int type) {
+		int own = type == Evaluator.FIELD_X ? board.getXMask() : board.getOMask();
+		int other = type == Evaluator.FIELD_X ? board.getOMask() : board.getXMask();
+
+		int canonical = Symmetry.canonicalize(other, own);
+		int best = hardCache.get(Symmetry.key(canonical));
+		if (best != TranspositionCache.MISS) {
+			return Symmetry.toOriginal(best, canonical);
+		}
+
+		int r = 0;
+		for (int i = 1; i <= 9; i++) {
+			if (board.getRating(i) > r) {
+				r = board.getRating(i);
+			}
+		}
+		best = 0;
+		for (int i = 1; i <= 9; i++) {
+			if (board.getRating(i) == r) {
+				best |= Bitboard.bit(i);
+			}
+		}
+
+		hardCache.put(Symmetry.key(canonical), Symmetry.toCanonical(best, canonical));
+		return best;
+	}
+
+	/**
+	 * Selects random field from the set
+	 */
+	private int randomField(int fields) {
+		int count = Bitboard.bitCount(fields);
+		if (count == 0) {
+			return -1;
+		}
+
+		int n = random.nextInt(count);
+		for (int field = 1; field <= 9; field++) {
+			if ((fields & Bitboard.bit(field)) != 0 && n-- == 0) {
+				return field;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return AI level
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * @param level
+	 *            New AI level
+	 */
+	public void setLevel(int level) {
+		this.level = level;
+	}
+
+	/**
+	 * @return random generator
+	 */
+	public SeededRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * @param random
+	 *            New random generator
+	 */
+	public void setRandom(SeededRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * @return search of the deadline bounded moves (depth and nodes of the
+	 *         last search). Null, if there were no such moves
+	 */
+	public Negamax getSearch() {
+		return search;
+	}
+
+	/**
+	 * @return MCTS of the LEVEL_MCTS moves (playouts and speed of the last
+	 *         search). Null, if there were no such moves
+	 */
+	public Mcts getMcts() {
+		return mcts;
+	}
+
+	/**
+	 * Replaces MCTS of the LEVEL_MCTS moves, e.g. with the multithreaded one
+	 *
+	 * @param mcts
+	 *            New MCTS
+	 */
+	public void setMcts(Mcts mcts) {
+		this.mcts = mcts;
+	}
+
+	/**
+	 * @return cache of the HARD level best fields
+	 */
+	public TranspositionCache getHardCache() {
+		return hardCache;
+	}
+
+	/**
+	 * @return alias tables of the EASY level. Null, if there were no EASY
+	 *         moves
+	 */
+	public AliasCache getEasyCache() {
+		return easyCache;
+	}
+}
@@ -0,0 +1,184 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Weighted random selection of the field by the fields rating (EASY level)
+ * with the Walker alias tables.
+ *
+ * Each field is selected with the probability rating / sum of the ratings.
+ * Table has a column for the each field: column keeps the own field with
+ * the probability prob / total and the alias field otherwise. Selection
+ * takes two random numbers (column and threshold) and no loops. All the
+ * numbers are integers (weights are multiplied by the count of the columns),
+ * so the probabilities are exactly the same as of the linear selection.
+ *
+ * Tables are built on the first use of the position and are cached for the
+ * position (own marks are stored as O, so both sides share the tables).
+ * Symmetrical positions do not share the table, because the original rating
+ * algorithm depends on the lines order and is not symmetrical for some
+ * positions. Cache is direct mapped, same as the TranspositionCache, and
+ * does not allocate memory after construction.
+ */
+public class AliasCache {
+
+	/**
+	 * Count of the table columns
+	 */
+	static private final int COLUMNS = Bitboard.FIELDS;
+
+	/**
+	 * Stored keys. Empty slot contains -1
+	 */
+	private int[] keys;
+
+	/**
+	 * Sum of the ratings of the each table. 0 - no field can be selected
+	 */
+	private int[] totals;
+
+	/**
+	 * Column thresholds (0 to total) and aliases (bit indexes) of the each
+	 * table
+	 */
+	private int[] probs;
+	private byte[] aliases;
+
+	/**
+	 * Shift to calculate slot from the hash
+	 */
+	private int slotShift;
+
+	/**
+	 * Scratch data of the table construction
+	 */
+	private int[] scaled = new int[COLUMNS];
+	private int[] small = new int[COLUMNS];
+	private int[] large = new int[COLUMNS];
+
+	/**
+	 * Statistics
+	 */
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param bits
+	 *            Cache contains 2^bits tables (1 to 18)
+	 */
+	public AliasCache(int bits) {
+		int size = 1 << bits;
+		keys = new int[size];
+		totals = new int[size];
+		probs = new int[size * COLUMNS];
+		aliases = new byte[size * COLUMNS];
+		slotShift = 32 - bits;
+		clear();
+	}
+
+	/**
+	 * Selects field with the probability, that is proportional to the field
+	 * rating
+	 *
+	 * @param board
+	 *            Current position. Ratings must be calculated for the own side
+	 * @param own
+	 *            Occupancy mask of the side to move
+	 * @param other
+	 *            Occupancy mask of the opponent
+	 * @param random
+	 *            Random generator
+	 * @return Field (1 to 9) or -1, if all ratings are 0
+	 */
+	public int select(Evaluator board, int own, int other, SeededRandom random) {
+		int key = Position.of(other, own);
+		int slot = (key * 0x9E3779B9) >>> slotShift;
+		if (keys[slot] == key) {
+			hits++;
+		} else {
+			misses++;
+			build(slot, key, board);
+		}
+
+		int total = totals[slot];
+		if (total == 0) {
+			return -1;
+		}
+		int column = random.nextInt(COLUMNS);
+		int index = slot * COLUMNS + column;
+		return (random.nextInt(total) < probs[index] ? column : aliases[index]) + 1;
+	}
+
+	/**
+	 * Builds alias table of the position (Vose's method)
+	 */
+	private void build(int slot, int key, Evaluator board) {
+		int total = 0;
+		for (int bit = 0; bit < COLUMNS; bit++) {
+			scaled[bit] = board.getRating(bit + 1);
+			total += scaled[bit];
+		}
+
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int bit = 0; bit < COLUMNS; bit++) {
+			scaled[bit] *= COLUMNS;
+			if (scaled[bit] < total) {
+				small[smallCount++] = bit;
+			} else {
+				large[largeCount++] = bit;
+			}
+		}
+
+		int base = slot * COLUMNS;
+		while (smallCount > 0 && largeCount > 0) {
+			int s = small[--smallCount];
+			int l = large[--largeCount];
+			probs[base + s] = scaled[s];
+			aliases[base + s] = (byte) l;
+			scaled[l] -= total - scaled[s];
+			if (scaled[l] < total) {
+				small[smallCount++] = l;
+			} else {
+				large[largeCount++] = l;
+			}
+		}
+		// Remaining columns are full (exactly total in the integers)
+		while (largeCount > 0) {
+			int l = large[--largeCount];
+			probs[base + l] = total;
+			aliases[base + l] = (byte) l;
+		}
+		while (smallCount > 0) {
+			int s = small[--smallCount];
+			probs[base + s] = total;
+			aliases[base + s] = (byte) s;
+		}
+
+		keys[slot] = key;
+		totals[slot] = total;
+	}
+
+	/**
+	 * Removes all tables. Statistics is not reset
+	 */
+	public void clear() {
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = -1;
+		}
+	}
+
+	/**
+	 * @return count of the selections with the cached table
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return count of the selections, that built the table
+	 */
+	public long getMisses() {
+		return misses;
+	}
+}
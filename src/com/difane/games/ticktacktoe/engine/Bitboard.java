@@ -0,0 +1,126 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Bitboard helpers for the 3x3 board. Each side is stored as a 9-bit
+ * occupancy mask, where bit (field - 1) is set, if the side has a mark in that
+ * field. Fields are counted from the left to the right and from the top to the
+ * bottom, same as in the GameLogic.
+ *
+ * All the checks are done with lookup tables, indexed by the 9-bit mask, so
+ * they are allocation-free and contain no loops. Tables are generated at
+ * build time (see Tables).
+ */
+public final class Bitboard {
+
+	/**
+	 * Count of the board fields
+	 */
+	static public final int FIELDS = 9;
+
+	/**
+	 * Mask with all board fields set
+	 */
+	static public final int FULL = 0x1FF;
+
+	/**
+	 * Possible game statuses. Values are the same as in the GameLogic
+	 */
+	static public final int STATUS_NOT_COMPLETED = 0;
+	static public final int STATUS_X_WINS = 1;
+	static public final int STATUS_O_WINS = 4;
+	static public final int STATUS_DRAW = 3;
+
+	/**
+	 * Winning lines. Order is the same as in the GameLogic status helper: 3
+	 * rows, 3 columns and 2 diagonals
+	 */
+	static public final int[] WIN_MASKS = Tables.WIN_MASKS;
+
+	/**
+	 * 1 if the mask contains at least one of the winning lines, 0 otherwise
+	 */
+	static private final byte[] WINS = Tables.bytes(Tables.WINS);
+
+	/**
+	 * Bit set of the winning lines (bit i is the WIN_MASKS[i]), that has no
+	 * common fields with the mask. Such lines are still open for the opponent
+	 */
+	static private final byte[] OPEN_LINES = Tables.bytes(Tables.OPEN_LINES);
+
+	/**
+	 * Fields, that are not in the mask and complete a winning line, when added
+	 * to the mask
+	 */
+	static private final short[] COMPLETIONS = Tables.shorts(Tables.COMPLETIONS, 0, FULL + 1);
+
+	/**
+	 * Count of the bits in the mask
+	 */
+	static private final byte[] BIT_COUNT = Tables.bytes(Tables.BIT_COUNT);
+
+	private Bitboard() {
+	}
+
+	/**
+	 * Returns game status for the given position. Game is a draw, when each
+	 * winning line contains both X and O, even if the board is not full yet
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return one of the STATUS_* values
+	 */
+	static public int status(int x, int o) {
+		// (open - 1) >> 31 is -1 only when there are no open lines at all
+		return WINS[x] | (WINS[o] << 2)
+				| (STATUS_DRAW & (((OPEN_LINES[x] | OPEN_LINES[o]) & 0xFF) - 1) >> 31);
+	}
+
+	/**
+	 * Checks, that the mask contains at least one winning line
+	 *
+	 * @param mask
+	 *            Occupancy mask
+	 * @return true, if mask has a winning line, false otherwise
+	 */
+	static public boolean isWin(int mask) {
+		return WINS[mask] != 0;
+	}
+
+	/**
+	 * Returns empty fields, where the side can complete a winning line with
+	 * one turn
+	 *
+	 * @param own
+	 *            Occupancy mask of the side
+	 * @param other
+	 *            Occupancy mask of the opponent
+	 * @return mask of the winning fields
+	 */
+	static public int winningFields(int own, int other) {
+		return COMPLETIONS[own] & ~(own | other);
+	}
+
+	/**
+	 * Returns count of the marks in the mask
+	 *
+	 * @param mask
+	 *            Occupancy mask
+	 * @return count of the set bits
+	 */
+	static public int bitCount(int mask) {
+		return BIT_COUNT[mask];
+	}
+
+	/**
+	 * Returns mask bit for the field
+	 *
+	 * @param field
+	 *            Field (1 to 9)
+	 * @return mask with only the field bit set
+	 */
+	static public int bit(int field) {
+		return 1 << (field - 1);
+	}
+}
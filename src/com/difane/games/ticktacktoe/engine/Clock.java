@@ -0,0 +1,24 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Time source for the search deadlines. CLDC has no System.nanoTime(), so the
+ * pen clock is based on the System.currentTimeMillis() and has millisecond
+ * resolution. Desktop tools can pass more precise clock.
+ */
+public abstract class Clock {
+
+	/**
+	 * Clock, that is available on every platform
+	 */
+	static public final Clock SYSTEM = new Clock() {
+		public long nanoTime() {
+			return System.currentTimeMillis() * 1000000L;
+		}
+	};
+
+	/**
+	 * @return current time in nanoseconds. Only differences between the
+	 *         values are meaningful
+	 */
+	public abstract long nanoTime();
+}
@@ -0,0 +1,423 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Incremental game state for the 3x3 board. Keeps the occupancy masks, sum of
+ * the each winning line, fields rating (used by the EASY and HARD AI levels)
+ * and the game status up to date on each move.
+ *
+ * Rating of the board is a sum of the contributions of the each empty field.
+ * Contribution of the field depends only on the lines, that go through that
+ * field, so the move changes only contributions of the fields, that share a
+ * line with the moved field. Only these contributions are recalculated on
+ * makeMove() and undoMove().
+ *
+ * Fields (1 to 9) and lines (1 to 8) are counted from 1, same as in the
+ * original rating algorithm.
+ */
+public class Evaluator {
+
+	/**
+	 * Field values in the line sums
+	 */
+	static public final int FIELD_EMPTY = 0;
+	static public final int FIELD_X = 1;
+	static public final int FIELD_O = 4;
+
+	/**
+	 * Fields of the each winning line (same order as Bitboard.WIN_MASKS)
+	 */
+	static private final int[][] LINE_FIELDS = Tables.LINE_FIELDS;
+
+	/**
+	 * Lines, that go through the each field (0 - no line)
+	 */
+	static private final int[][] FIELD_LINES = Tables.FIELD_LINES;
+
+	/**
+	 * Fields, that share a line with the each field (including the field
+	 * itself). Contributions of these fields depend on the field state
+	 */
+	static private final int[] AFFECTED = Tables.AFFECTED;
+
+	/**
+	 * Side, for that fields rating is calculated (FIELD_X or FIELD_O)
+	 */
+	private int ratedType;
+
+	/**
+	 * Occupancy masks
+	 */
+	private int xMask;
+	private int oMask;
+
+	/**
+	 * Sum of the each line (X counts as 1, O counts as 4)
+	 */
+	private int[] lineSums = new int[9];
+
+	/**
+	 * Contribution of the each field to the rating of the each field
+	 */
+	private int[][] contributions = new int[10][10];
+
+	/**
+	 * Fields rating
+	 */
+	private int[] ratings = new int[10];
+
+	/**
+	 * Count of the lines, that are completed by X, by O, and that contain
+	 * both X and O
+	 */
+	private int xLines;
+	private int oLines;
+	private int blockedLines;
+
+	/**
+	 * Scratch lists of the lines with the sum 0, 1 and 4, used during
+	 * contribution calculation
+	 */
+	private int[] s00 = new int[4];
+	private int[] s11 = new int[4];
+	private int[] s44 = new int[4];
+
+	/**
+	 * Constructor. Creates empty board with ratings for the O side
+	 */
+	public Evaluator() {
+		this(FIELD_O);
+	}
+
+	/**
+	 * Constructor. Creates empty board
+	 *
+	 * @param ratedType
+	 *            Side, for that fields rating is calculated: FIELD_X or FIELD_O
+	 */
+	public Evaluator(int ratedType) {
+		this.ratedType = ratedType;
+		reset();
+	}
+
+	/**
+	 * Resets to the empty board. No memory is allocated
+	 */
+	public void reset() {
+		xMask = 0;
+		oMask = 0;
+		xLines = 0;
+		oLines = 0;
+		blockedLines = 0;
+		for (int line = 1; line <= 8; line++) {
+			lineSums[line] = 0;
+		}
+		for (int field = 1; field <= 9; field++) {
+			ratings[field] = 0;
+			for (int i = 1; i <= 9; i++) {
+				contributions[field][i] = 0;
+			}
+		}
+		for (int field = 1; field <= 9; field++) {
+			updateContribution(field);
+		}
+	}
+
+	/**
+	 * Sets the position. Status and ratings are recalculated from scratch
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 */
+	public void setPosition(int x, int o) {
+		reset();
+		for (int field = 1; field <= 9; field++) {
+			int bit = Bitboard.bit(field);
+			if ((x & bit) != 0) {
+				makeMove(field, FIELD_X);
+			} else if ((o & bit) != 0) {
+				makeMove(field, FIELD_O);
+			}
+		}
+	}
+
+	/**
+	 * Puts the mark to the empty field
+	 *
+	 * @param field
+	 *            Field (1 to 9)
+	 * @param type
+	 *            FIELD_X or FIELD_O
+	 */
+	public void makeMove(int field, int type) {
+		if (type == FIELD_X) {
+			xMask |= Bitboard.bit(field);
+		} else {
+			oMask |= Bitboard.bit(field);
+		}
+		update(field, type);
+	}
+
+	/**
+	 * Removes the mark from the field
+	 *
+	 * @param field
+	 *            Field (1 to 9)
+	 */
+	public void undoMove(int field) {
+		int bit = Bitboard.bit(field);
+		int type;
+		if ((xMask & bit) != 0) {
+			xMask &= ~bit;
+			type = FIELD_X;
+		} else if ((oMask & bit) != 0) {
+			oMask &= ~bit;
+			type = FIELD_O;
+		} else {
+			return;
+		}
+		update(field, -type);
+	}
+
+	/**
+	 * Updates lines, that go through the field, and contributions of the
+	 * affected fields
+	 *
+	 * @param field
+	 *            Changed field
+	 * @param delta
+	 *            Change of the line sums
+	 */
+	private void update(int field, int delta) {
+		for (int j = 1; j <= 4; j++) {
+			int line = FIELD_LINES[field][j];
+			if (line != 0) {
+				countLine(lineSums[line], -1);
+				lineSums[line] += delta;
+				countLine(lineSums[line], 1);
+			}
+		}
+
+		int affected = AFFECTED[field];
+		for (int i = 1; i <= 9; i++) {
+			if ((affected & Bitboard.bit(i)) != 0) {
+				updateContribution(i);
+			}
+		}
+	}
+
+	/**
+	 * Adds line with the given sum to the status counters
+	 */
+	private void countLine(int sum, int delta) {
+		if (sum == 3 * FIELD_X) {
+			xLines += delta;
+		} else if (sum == 3 * FIELD_O) {
+			oLines += delta;
+		} else if (sum >= FIELD_O && sum % FIELD_O != 0) {
+			blockedLines += delta;
+		}
+	}
+
+	/**
+	 * Recalculates contribution of the field to the ratings
+	 */
+	private void updateContribution(int field) {
+		int[] contribution = contributions[field];
+		for (int i = 1; i <= 9; i++) {
+			ratings[i] -= contribution[i];
+			contribution[i] = 0;
+		}
+
+		calculateContribution(field, contribution);
+
+		for (int i = 1; i <= 9; i++) {
+			ratings[i] += contribution[i];
+		}
+	}
+
+	/**
+	 * Calculates contribution of the field to the fields rating
+	 *
+	 * @param ii
+	 *            Field to calculate contribution for
+	 * @param rating
+	 *            Zeroed array to add contribution to
+	 */
+	private void calculateContribution(int ii, int[] rating) {
+		int s0, s1, s4, ssj, j, jj, jjj, sj;
+
+		if (!isEmpty(ii)) {
+			return;
+		}
+
+		rating[ii] = rating[ii] + 1;
+		s0 = 0;
+		s1 = 0;
+		s4 = 0;
+		for (j = 1; j <= 4; j++) {
+			ssj = FIELD_LINES[ii][j];
+			if (ssj != 0) {
+				switch (ratedSum(ssj)) {
+				case 0:
+					s00[s0] = ssj;
+					s0 = s0 + 1;
+					for (jj = 0; jj <= s4 - 1; jj++) {
+						for (jjj = 1; jjj <= 3; jjj++) {
+							sj = LINE_FIELDS[ssj][jjj];
+							if (sj != ii) {
+								rating[sj] = rating[sj] + 100;
+							}
+						}
+					}
+
+					for (jj = 0; jj <= s1 - 1; jj++) {
+						for (jjj = 1; jjj <= 3; jjj++) {
+							sj = LINE_FIELDS[ssj][jjj];
+							rating[sj] = rating[sj] + 10;
+						}
+						for (jjj = 1; jjj <= 3; jjj++) {
+							sj = LINE_FIELDS[s11[jj]][jjj];
+							if (sj != ii && isEmpty(sj)) {
+								rating[sj] = rating[sj] + 10;
+							}
+						}
+					}
+					break;
+				case 1:
+					s11[s1] = ssj;
+					s1 = s1 + 1;
+					if (s1 > 1) {
+						rating[ii] = rating[ii] + 1000;
+						for (jj = 0; jj <= s1 - 1; jj++) {
+							for (jjj = 1; jjj <= 3; jjj++) {
+								sj = LINE_FIELDS[s11[jj]][jjj];
+								if (sj != ii && isEmpty(sj)) {
+									rating[sj] = rating[sj] + 1000;
+								}
+							}
+						}
+					}
+					for (jj = 0; jj <= s0 - 1; jj++) {
+						for (jjj = 1; jjj <= 3; jjj++) {
+							sj = LINE_FIELDS[ssj][jjj];
+							if (isEmpty(sj)) {
+								rating[sj] = rating[sj] + 10;
+							}
+						}
+						for (jjj = 1; jjj <= 3; jjj++) {
+							sj = LINE_FIELDS[s00[jj]][jjj];
+							if (sj != ii && isEmpty(sj)) {
+								rating[sj] = rating[sj] + 10;
+							}
+						}
+					}
+					break;
+				case 2:
+					rating[ii] = rating[ii] + 100000;
+					break;
+				case 4:
+					s44[s4] = ssj;
+					s4 = s4 + 1;
+					if (s4 > 1) {
+						rating[ii] = rating[ii] + 10000;
+					}
+					for (jj = 0; jj <= s0 - 1; jj++) {
+						for (jjj = 1; jjj <= 3; jjj++) {
+							sj = LINE_FIELDS[s00[jj]][jjj];
+							if (sj != ii) {
+								rating[sj] = rating[sj] + 100;
+							}
+						}
+					}
+					break;
+				case 8:
+					rating[ii] = rating[ii] + 1000000;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns sum of the line from the rated side point of view. Rating
+	 * algorithm is written for the O side, so for the X side marks are swapped
+	 */
+	private int ratedSum(int line) {
+		int sum = lineSums[line];
+		if (ratedType == FIELD_X) {
+			return (sum >> 2) + ((sum & 3) << 2);
+		}
+		return sum;
+	}
+
+	/**
+	 * Checks, that field has no marks
+	 *
+	 * @param field
+	 *            Field (1 to 9)
+	 * @return true, if field is empty, false otherwise
+	 */
+	public boolean isEmpty(int field) {
+		return ((xMask | oMask) & Bitboard.bit(field)) == 0;
+	}
+
+	/**
+	 * Returns game status
+	 *
+	 * @return one of the Bitboard.STATUS_* values
+	 */
+	public int getStatus() {
+		if (xLines > 0 || oLines > 0) {
+			return (xLines > 0 ? Bitboard.STATUS_X_WINS : 0)
+					| (oLines > 0 ? Bitboard.STATUS_O_WINS : 0);
+		}
+		return blockedLines == 8 ? Bitboard.STATUS_DRAW
+				: Bitboard.STATUS_NOT_COMPLETED;
+	}
+
+	/**
+	 * Returns rating of the field. Ratings are calculated for the rated side
+	 * (O by default)
+	 *
+	 * @param field
+	 *            Field (1 to 9)
+	 * @return rating of the field
+	 */
+	public int getRating(int field) {
+		return ratings[field];
+	}
+
+	/**
+	 * Returns sum of the line
+	 *
+	 * @param line
+	 *            Line (1 to 8)
+	 * @return sum of the line (X counts as 1, O counts as 4)
+	 */
+	public int getLineSum(int line) {
+		return lineSums[line];
+	}
+
+	/**
+	 * @return X occupancy mask
+	 */
+	public int getXMask() {
+		return xMask;
+	}
+
+	/**
+	 * @return O occupancy mask
+	 */
+	public int getOMask() {
+		return oMask;
+	}
+
+	/**
+	 * @return side, for that fields rating is calculated
+	 */
+	public int getRatedType() {
+		return ratedType;
+	}
+}
@@ -0,0 +1,339 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Gomoku AI. Move is selected within the deadline in the order:
+ *
+ * 1. Own five, block of the opponent five.
+ *
+ * 2. Forced win by the threats (ThreatSearch), limited to the THREAT_SHARE
+ * of the time.
+ *
+ * 3. Iterative deepening alpha-beta search over the candidate window. Each
+ * node searches only BREADTH best cells by the pattern rating (own attack
+ * plus opponent defence), or only the block, when opponent has four. Leaves
+ * are rated by the sum of the cells ratings of the both sides. Move of the
+ * last completed depth is returned, so the move is ready, even if the
+ * deadline is too close.
+ *
+ * Search does not allocate memory after construction.
+ */
+public class GomokuAi {
+
+	/**
+	 * Score of the won position, decreased by the ply of the win
+	 */
+	static public final int WIN = 1000000;
+
+	/**
+	 * Cells, that are searched in the each node
+	 */
+	static private final int BREADTH = 10;
+
+	/**
+	 * Maximal depth of the alpha-beta search
+	 */
+	static private final int MAX_DEPTH = 12;
+
+	/**
+	 * Maximal depth and tree size of the threat search
+	 */
+	static private final int THREAT_DEPTH = 15;
+	static private final int THREAT_NODES = 20000;
+
+	/**
+	 * Part of the time budget for the threat search (1 / THREAT_SHARE)
+	 */
+	static private final int THREAT_SHARE = 3;
+
+	/**
+	 * Count of the nodes between the deadline checks (power of 2)
+	 */
+	static private final int CHECK_INTERVAL = 64;
+
+	/**
+	 * Rating of the cell by the shape of the line (see GomokuPatterns)
+	 */
+	static private final int[] SHAPE_SCORES = { 0, 2, 10, 12, 100, 120, 2000, 100000 };
+
+	/**
+	 * Rating bonuses of two fours or four and open three (wins, unless
+	 * opponent has four) and of two open threes
+	 */
+	static private final int DOUBLE_FOUR_SCORE = 2000;
+	static private final int DOUBLE_THREE_SCORE = 500;
+
+	private ThreatSearch threats = new ThreatSearch(THREAT_NODES);
+
+	/**
+	 * Clock for the deadline checks
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Candidate cells and their order scores of the each ply
+	 */
+	private short[][] moves = new short[MAX_DEPTH + 1][BREADTH];
+	private int[][] scores = new int[MAX_DEPTH + 1][BREADTH];
+
+	/**
+	 * Sum of the candidate cells ratings for the side to move minus the sum
+	 * for the opponent, calculated with the candidates
+	 */
+	private int balance;
+
+	/**
+	 * Search state
+	 */
+	private long deadline;
+	private boolean aborted;
+	private int nodes;
+	private int depth;
+	private boolean threatWin;
+
+	/**
+	 * Selects move
+	 *
+	 * @param board
+	 *            Current position. Board is restored, when method returns
+	 * @param type
+	 *            Side to move: Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime())
+	 * @return Cell of the move or -1, if game is completed
+	 */
+	public int chooseMove(GomokuBoard board, int type, long deadline) {
+		nodes = 0;
+		depth = 0;
+		aborted = false;
+		threatWin = false;
+		this.deadline = deadline;
+
+		if (board.getStatus() != Bitboard.STATUS_NOT_COMPLETED) {
+			return -1;
+		}
+		if (board.getMoveCount() == 0) {
+			return GomokuBoard.CENTER;
+		}
+
+		int other = opposite(type);
+		int block = -1;
+		for (int cell = 0; cell < GomokuBoard.CELLS; cell++) {
+			if (board.isCandidate(cell)) {
+				if (board.getShape(cell, type) == GomokuPatterns.FIVE) {
+					return cell;
+				}
+				if (block < 0 && board.getShape(cell, other) == GomokuPatterns.FIVE) {
+					block = cell;
+				}
+			}
+		}
+		if (block >= 0) {
+			return block;
+		}
+
+		long now = clock.nanoTime();
+		int win = threats.search(board, type, THREAT_DEPTH, now + (deadline - now)
+				/ THREAT_SHARE);
+		if (win >= 0) {
+			threatWin = true;
+			return win;
+		}
+
+		// Iterative deepening. Root candidates are kept between the depths,
+		// best move goes first
+		int count = generate(board, type, 0);
+		if (count <= 0) {
+			return -1;
+		}
+		short[] rootMoves = moves[0];
+		int best = rootMoves[0];
+		for (int d = 1; d <= MAX_DEPTH && count > 1; d++) {
+			int alpha = -WIN - 1;
+			int iterationBest = -1;
+			for (int i = 0; i < count; i++) {
+				board.makeMove(rootMoves[i], type);
+				int score = -search(board, other, d - 1, 1, -WIN - 1, -alpha);
+				board.undoMove();
+				if (aborted) {
+					break;
+				}
+				if (score > alpha) {
+					alpha = score;
+					iterationBest = i;
+				}
+			}
+			if (aborted) {
+				break;
+			}
+			best = rootMoves[iterationBest];
+			depth = d;
+			System.arraycopy(rootMoves, 0, rootMoves, 1, iterationBest);
+			rootMoves[0] = (short) best;
+			if (alpha >= WIN - MAX_DEPTH || alpha <= -WIN + MAX_DEPTH) {
+				// Forced result is found
+				break;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Alpha-beta search
+	 *
+	 * @return score for the side to move
+	 */
+	private int search(GomokuBoard board, int type, int depth, int ply, int alpha, int beta) {
+		if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && clock.nanoTime() >= deadline) {
+			aborted = true;
+		}
+		if (aborted) {
+			return 0;
+		}
+
+		int count = generate(board, type, ply);
+		if (count < 0) {
+			return WIN - ply;
+		}
+		if (count == 0) {
+			return 0;
+		}
+		if (depth == 0 || ply == MAX_DEPTH) {
+			return balance;
+		}
+
+		int other = opposite(type);
+		short[] plyMoves = moves[ply];
+		for (int i = 0; i < count; i++) {
+			board.makeMove(plyMoves[i], type);
+			int score = -search(board, other, depth - 1, ply + 1, -beta, -alpha);
+			board.undoMove();
+			if (score > alpha) {
+				alpha = score;
+				if (alpha >= beta) {
+					break;
+				}
+			}
+		}
+		return alpha;
+	}
+
+	/**
+	 * Collects BREADTH best candidate cells of the ply, ordered by the rating
+	 * of the both sides, and calculates the balance
+	 *
+	 * @return count of the cells or -1, if side to move has five
+	 */
+	private int generate(GomokuBoard board, int type, int ply) {
+		int other = opposite(type);
+		short[] plyMoves = moves[ply];
+		int[] plyScores = scores[ply];
+		int count = 0;
+		int blocks = 0;
+		balance = 0;
+		for (int cell = 0; cell < GomokuBoard.CELLS; cell++) {
+			if (!board.isCandidate(cell)) {
+				continue;
+			}
+			int own = rate(board, cell, type);
+			if (own >= SHAPE_SCORES[GomokuPatterns.FIVE]) {
+				return -1;
+			}
+			int opponent = rate(board, cell, other);
+			balance += own - opponent;
+
+			int score = own + opponent;
+			if (opponent >= SHAPE_SCORES[GomokuPatterns.FIVE]) {
+				// Opponent has four: only the blocks are searched
+				if (blocks == 0) {
+					count = 0;
+				}
+				blocks++;
+			} else if (blocks > 0) {
+				continue;
+			}
+
+			// Insertion into the sorted list
+			int i = count < BREADTH ? count++ : BREADTH;
+			while (i > 0 && plyScores[i - 1] < score) {
+				if (i < BREADTH) {
+					plyMoves[i] = plyMoves[i - 1];
+					plyScores[i] = plyScores[i - 1];
+				}
+				i--;
+			}
+			if (i < BREADTH) {
+				plyMoves[i] = (short) cell;
+				plyScores[i] = score;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Rates the stone of the given type in the empty cell
+	 */
+	public int rate(GomokuBoard board, int cell, int type) {
+		int score = 0;
+		int fours = 0;
+		int threes = 0;
+		for (int d = 0; d < GomokuBoard.DIRECTIONS; d++) {
+			int shape = board.getShape(cell, d, type);
+			score += SHAPE_SCORES[shape];
+			if (shape >= GomokuPatterns.FOUR) {
+				fours++;
+			} else if (shape == GomokuPatterns.OPEN_THREE) {
+				threes++;
+			}
+		}
+		if (fours >= 2 || (fours == 1 && threes >= 1)) {
+			score += DOUBLE_FOUR_SCORE;
+		} else if (threes >= 2) {
+			score += DOUBLE_THREE_SCORE;
+		}
+		return score;
+	}
+
+	static private int opposite(int type) {
+		return type == Evaluator.FIELD_X ? Evaluator.FIELD_O : Evaluator.FIELD_X;
+	}
+
+	/**
+	 * @return alpha-beta nodes of the last move
+	 */
+	public int getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return last completed alpha-beta depth of the last move
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return true, if the last move search was stopped by the deadline
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * @return true, if the last move was found by the threat search
+	 */
+	public boolean isThreatWin() {
+		return threatWin;
+	}
+
+	public ThreatSearch getThreatSearch() {
+		return threats;
+	}
+
+	/**
+	 * Sets clock of the alpha-beta and threat searches
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+		threats.setClock(clock);
+	}
+}
@@ -0,0 +1,237 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Incremental game state of the Gomoku: 15x15 board, five or more stones in
+ * a row win.
+ *
+ * For the each cell and direction board keeps the window code: states of 4
+ * cells before and 4 cells after the cell along the direction, 2 bits per
+ * cell (X stones are GomokuPatterns.OWN, O stones are OTHER, cells outside
+ * of the board are BORDER). Move changes only 32 windows (4 directions by 8
+ * cells), so the shape of any line through any cell is a single table lookup
+ * without scanning the board.
+ *
+ * Board also counts stones near the each cell, so the moves can be limited
+ * to the candidate window: empty cells within NEAR cells of any stone.
+ *
+ * Cells are numbered from 0: cell = row * SIZE + column.
+ */
+public class GomokuBoard {
+
+	/**
+	 * Board size
+	 */
+	static public final int SIZE = 15;
+	static public final int CELLS = SIZE * SIZE;
+
+	/**
+	 * Center cell, the first move of the game
+	 */
+	static public final int CENTER = (SIZE / 2) * SIZE + SIZE / 2;
+
+	/**
+	 * Distance of the candidate moves from the stones
+	 */
+	static public final int NEAR = 2;
+
+	/**
+	 * Line directions: horizontal, vertical, diagonal and anti-diagonal
+	 */
+	static public final int DIRECTIONS = 4;
+	static private final int[] DX = { 1, 0, 1, 1 };
+	static private final int[] DY = { 0, 1, 1, -1 };
+
+	/**
+	 * Cells: FIELD_EMPTY, FIELD_X or FIELD_O
+	 */
+	private byte[] cells = new byte[CELLS];
+
+	/**
+	 * Window code of the each cell and direction (cell * DIRECTIONS +
+	 * direction), X stones are OWN
+	 */
+	private int[] windows = new int[CELLS * DIRECTIONS];
+
+	/**
+	 * Count of the stones within NEAR cells of the each cell
+	 */
+	private byte[] near = new byte[CELLS];
+
+	/**
+	 * Moves of the game, X moves first
+	 */
+	private short[] moves = new short[CELLS];
+	private int moveCount = 0;
+
+	/**
+	 * Current game status
+	 */
+	private int status = Bitboard.STATUS_NOT_COMPLETED;
+
+	/**
+	 * Constructor
+	 */
+	public GomokuBoard() {
+		reset();
+	}
+
+	/**
+	 * Clears the board
+	 */
+	public void reset() {
+		for (int cell = 0; cell < CELLS; cell++) {
+			cells[cell] = Evaluator.FIELD_EMPTY;
+			near[cell] = 0;
+			int x = cell % SIZE;
+			int y = cell / SIZE;
+			for (int d = 0; d < DIRECTIONS; d++) {
+				int code = 0;
+				for (int offset = -GomokuPatterns.REACH; offset <= GomokuPatterns.REACH; offset++) {
+					if (offset != 0 && !inside(x + DX[d] * offset, y + DY[d] * offset)) {
+						code |= GomokuPatterns.BORDER << (GomokuPatterns.slot(offset) * 2);
+					}
+				}
+				windows[cell * DIRECTIONS + d] = code;
+			}
+		}
+		moveCount = 0;
+		status = Bitboard.STATUS_NOT_COMPLETED;
+	}
+
+	/**
+	 * Puts stone to the empty cell. Cell must be empty and game must not be
+	 * completed
+	 *
+	 * @param cell
+	 *            Cell (0 to CELLS - 1)
+	 * @param type
+	 *            Evaluator.FIELD_X or Evaluator.FIELD_O
+	 */
+	public void makeMove(int cell, int type) {
+		if (getShape(cell, type) == GomokuPatterns.FIVE) {
+			status = type == Evaluator.FIELD_X ? Bitboard.STATUS_X_WINS
+					: Bitboard.STATUS_O_WINS;
+		} else if (moveCount + 1 == CELLS) {
+			status = Bitboard.STATUS_DRAW;
+		}
+		cells[cell] = (byte) type;
+		moves[moveCount++] = (short) cell;
+		update(cell, type == Evaluator.FIELD_X ? GomokuPatterns.OWN : GomokuPatterns.OTHER, 1);
+	}
+
+	/**
+	 * Takes back the last move
+	 */
+	public void undoMove() {
+		int cell = moves[--moveCount];
+		int type = cells[cell];
+		cells[cell] = Evaluator.FIELD_EMPTY;
+		status = Bitboard.STATUS_NOT_COMPLETED;
+		update(cell, type == Evaluator.FIELD_X ? GomokuPatterns.OWN : GomokuPatterns.OTHER, -1);
+	}
+
+	/**
+	 * Toggles stone in the windows of the cells along the lines and updates
+	 * near counters
+	 */
+	private void update(int cell, int value, int delta) {
+		int x = cell % SIZE;
+		int y = cell / SIZE;
+		for (int d = 0; d < DIRECTIONS; d++) {
+			for (int offset = -GomokuPatterns.REACH; offset <= GomokuPatterns.REACH; offset++) {
+				int nx = x + DX[d] * offset;
+				int ny = y + DY[d] * offset;
+				if (offset != 0 && inside(nx, ny)) {
+					// Cell is at -offset in the window of the other cell
+					windows[(ny * SIZE + nx) * DIRECTIONS + d] ^= value << (GomokuPatterns
+							.slot(-offset) * 2);
+				}
+			}
+		}
+		for (int ny = Math.max(0, y - NEAR); ny <= Math.min(SIZE - 1, y + NEAR); ny++) {
+			for (int nx = Math.max(0, x - NEAR); nx <= Math.min(SIZE - 1, x + NEAR); nx++) {
+				near[ny * SIZE + nx] += delta;
+			}
+		}
+	}
+
+	/**
+	 * Returns shape of the line, that is made by the stone of the given type
+	 * in the cell
+	 *
+	 * @param cell
+	 *            Empty cell
+	 * @param direction
+	 *            Direction (0 to DIRECTIONS - 1)
+	 * @param type
+	 *            Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @return one of the GomokuPatterns shapes
+	 */
+	public int getShape(int cell, int direction, int type) {
+		int code = windows[cell * DIRECTIONS + direction];
+		return GomokuPatterns.shape(type == Evaluator.FIELD_X ? code : GomokuPatterns.swap(code));
+	}
+
+	/**
+	 * Returns the strongest shape of the lines, that are made by the stone of
+	 * the given type in the cell
+	 */
+	public int getShape(int cell, int type) {
+		int best = GomokuPatterns.NONE;
+		for (int d = 0; d < DIRECTIONS; d++) {
+			int shape = getShape(cell, d, type);
+			if (shape > best) {
+				best = shape;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Checks, that cell is a candidate move: empty and has a stone within
+	 * NEAR cells
+	 */
+	public boolean isCandidate(int cell) {
+		return cells[cell] == Evaluator.FIELD_EMPTY && near[cell] > 0;
+	}
+
+	/**
+	 * @return Evaluator.FIELD_EMPTY, FIELD_X or FIELD_O
+	 */
+	public int getCell(int cell) {
+		return cells[cell];
+	}
+
+	public boolean isEmpty(int cell) {
+		return cells[cell] == Evaluator.FIELD_EMPTY;
+	}
+
+	/**
+	 * @return one of the Bitboard.STATUS_* values
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	/**
+	 * @return type of the side to move
+	 */
+	public int getSideToMove() {
+		return (moveCount & 1) == 0 ? Evaluator.FIELD_X : Evaluator.FIELD_O;
+	}
+
+	/**
+	 * @return cell of the move with the given number (from 0)
+	 */
+	public int getMove(int index) {
+		return moves[index];
+	}
+
+	static private boolean inside(int x, int y) {
+		return x >= 0 && x < SIZE && y >= 0 && y < SIZE;
+	}
+}
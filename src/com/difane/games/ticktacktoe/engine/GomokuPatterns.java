@@ -0,0 +1,147 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Shapes of the Gomoku lines. Shape is found by the single table lookup of
+ * the line window: 4 cells before and 4 cells after the cell along one
+ * direction, 2 bits per cell (see GomokuBoard). Shape tells, what the own
+ * stone, placed to the cell, makes on that line.
+ *
+ * Shapes are defined by the count of the stones, that are needed to complete
+ * five: FOUR has one cell to make five, OPEN_FOUR has two of them, OPEN_THREE
+ * makes OPEN_FOUR with one more stone, THREE makes FOUR and so on. Table is
+ * built on the class loading, each window is classified once.
+ */
+public final class GomokuPatterns {
+
+	/**
+	 * Shapes, ordered by strength
+	 */
+	static public final int NONE = 0;
+	static public final int TWO = 1;
+	static public final int OPEN_TWO = 2;
+	static public final int THREE = 3;
+	static public final int OPEN_THREE = 4;
+	static public final int FOUR = 5;
+	static public final int OPEN_FOUR = 6;
+	static public final int FIVE = 7;
+
+	/**
+	 * Window cell values
+	 */
+	static public final int EMPTY = 0;
+	static public final int OWN = 1;
+	static public final int OTHER = 2;
+	static public final int BORDER = 3;
+
+	/**
+	 * Count of the window cells before and after the cell
+	 */
+	static public final int REACH = 4;
+
+	/**
+	 * Count of the window slots (cell itself is not stored)
+	 */
+	static public final int SLOTS = REACH * 2;
+
+	/**
+	 * Shape, that is made by one stone less than the shape
+	 */
+	static private final byte[] WEAKER = { NONE, NONE, NONE, TWO, OPEN_TWO, THREE,
+			OPEN_THREE, FOUR };
+
+	/**
+	 * Shapes of all windows
+	 */
+	static private final byte[] SHAPES = new byte[1 << (SLOTS * 2)];
+
+	static {
+		for (int i = 0; i < SHAPES.length; i++) {
+			SHAPES[i] = -1;
+		}
+		for (int code = 0; code < SHAPES.length; code++) {
+			classify(code);
+		}
+	}
+
+	private GomokuPatterns() {
+	}
+
+	/**
+	 * Returns shape of the window, where own stones are OWN
+	 *
+	 * @param code
+	 *            Window code
+	 * @return one of the shapes
+	 */
+	static public int shape(int code) {
+		return SHAPES[code];
+	}
+
+	/**
+	 * Swaps OWN and OTHER cells of the window, so the window of one side can
+	 * be looked up for the other side
+	 *
+	 * @param code
+	 *            Window code
+	 * @return window code for the other side
+	 */
+	static public int swap(int code) {
+		int stones = (code ^ (code >>> 1)) & 0x5555;
+		return code ^ (stones | (stones << 1));
+	}
+
+	/**
+	 * Returns slot of the window cell
+	 *
+	 * @param offset
+	 *            Offset from the cell along the line (-REACH to REACH, not 0)
+	 * @return slot (0 to SLOTS - 1)
+	 */
+	static public int slot(int offset) {
+		return offset < 0 ? offset + REACH : offset + REACH - 1;
+	}
+
+	/**
+	 * Classifies window and all windows with more own stones
+	 */
+	static private int classify(int code) {
+		if (SHAPES[code] >= 0) {
+			return SHAPES[code];
+		}
+
+		// Run of own stones through the cell
+		int run = 1;
+		for (int offset = 1; offset <= REACH && cell(code, offset) == OWN; offset++) {
+			run++;
+		}
+		for (int offset = -1; offset >= -REACH && cell(code, offset) == OWN; offset--) {
+			run++;
+		}
+
+		int shape = NONE;
+		if (run >= 5) {
+			shape = FIVE;
+		} else {
+			int fives = 0;
+			int best = NONE;
+			for (int slot = 0; slot < SLOTS; slot++) {
+				if (((code >>> (slot * 2)) & 3) != EMPTY) {
+					continue;
+				}
+				int next = classify(code | (OWN << (slot * 2)));
+				if (next == FIVE) {
+					fives++;
+				} else if (WEAKER[next] > best) {
+					best = WEAKER[next];
+				}
+			}
+			shape = fives >= 2 ? OPEN_FOUR : fives == 1 ? FOUR : best;
+		}
+		SHAPES[code] = (byte) shape;
+		return shape;
+	}
+
+	static private int cell(int code, int offset) {
+		return (code >>> (slot(offset) * 2)) & 3;
+	}
+}
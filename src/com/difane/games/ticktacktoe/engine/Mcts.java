@@ -0,0 +1,501 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Monte Carlo Tree Search for the 3x3 board.
+ *
+ * Tree is stored in the preallocated arrays (node pool), so the search does
+ * not allocate memory. Each iteration selects a leaf by UCT, expands one
+ * untried move, plays a random game from the new node on the bitboards and
+ * adds the result to all nodes on the path. When the playouts or time budget
+ * is spent, the most visited root move is returned.
+ *
+ * Search can run in several threads on the same tree (tree parallelism).
+ * Selection with expansion and result propagation are done under the tree
+ * lock, playouts are done without it. Visits are added during the selection,
+ * and the result only after the playout, so a node with the playouts in
+ * progress looks worse (virtual loss) and other threads prefer other paths.
+ * Search threads are started by the first search and wait for the next
+ * searches, so the search does not create threads. stop() ends them.
+ */
+public class Mcts {
+
+	/**
+	 * Default count of the nodes in the pool
+	 */
+	static public final int DEFAULT_CAPACITY = 2048;
+
+	/**
+	 * Playout result scores for the side, that moved to the node: win counts
+	 * 2, draw counts 1, loss counts 0
+	 */
+	static private final int SCORE_WIN = 2;
+	static private final int SCORE_DRAW = 1;
+
+	/**
+	 * UCT exploration constant (for the scores in [0, 1])
+	 */
+	static private final double EXPLORATION = 1.4;
+
+	/**
+	 * Natural logarithm of 2
+	 */
+	static private final double LN2 = 0.6931471805599453;
+
+	/**
+	 * Index of the "no node"
+	 */
+	static private final int NONE = -1;
+
+	/**
+	 * Node pool. Node is described by the same index in the each array:
+	 * move (bit index), first child, next sibling, visits count, sum of the
+	 * scores and mask of the moves, that are not expanded yet
+	 */
+	private int[] moves;
+	private int[] children;
+	private int[] siblings;
+	private int[] visits;
+	private int[] scores;
+	private int[] untried;
+
+	/**
+	 * Count of the used nodes. Node 0 is the root
+	 */
+	private int size;
+
+	/**
+	 * Root position. Index 0 is the side to move at the root
+	 */
+	private int rootOwn;
+	private int rootOther;
+
+	/**
+	 * Budget of the current search
+	 */
+	private int playoutLimit;
+	private long deadline;
+
+	/**
+	 * Count of the playouts of the current search
+	 */
+	private int playouts;
+
+	/**
+	 * Duration of the last search (clock time)
+	 */
+	private long duration;
+
+	/**
+	 * Clock for the deadline checks
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Search workers. Worker 0 runs in the calling thread
+	 */
+	private Worker[] workers;
+
+	/**
+	 * Threads of the workers 1 and above. Null, until the first search
+	 */
+	private Thread[] threads;
+
+	/**
+	 * Lock of the workers signalling: count of the started searches, count
+	 * of the workers, that have not finished the current search yet, and
+	 * the stop flag
+	 */
+	private final Object signal = new Object();
+	private int generation;
+	private int running;
+	private boolean stopped;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            Count of the nodes in the pool
+	 * @param threads
+	 *            Count of the search threads
+	 */
+	public Mcts(int capacity, int threads) {
+		moves = new int[capacity];
+		children = new int[capacity];
+		siblings = new int[capacity];
+		visits = new int[capacity];
+		scores = new int[capacity];
+		untried = new int[capacity];
+
+		workers = new Worker[threads];
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new Worker();
+		}
+	}
+
+	/**
+	 * Finds the best move for the side to move
+	 *
+	 * @param own
+	 *            Occupancy mask of the side to move
+	 * @param other
+	 *            Occupancy mask of the opponent
+	 * @param playoutLimit
+	 *            Maximal count of the playouts
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime()), Long.MAX_VALUE for no time
+	 *            limit
+	 * @param random
+	 *            Source of the workers seeds
+	 * @return Field (1 to 9) of the most visited move, -1 if there are no
+	 *         moves
+	 */
+	public int bestMove(int own, int other, int playoutLimit, long deadline,
+			SeededRandom random) {
+		long start = clock.nanoTime();
+
+		this.rootOwn = own;
+		this.rootOther = other;
+		this.playoutLimit = playoutLimit;
+		this.deadline = deadline;
+		this.playouts = 0;
+		this.size = 0;
+		newNode(NONE, 0, own, other);
+		if (untried[0] == 0) {
+			duration = 0;
+			return -1;
+		}
+
+		for (int i = 0; i < workers.length; i++) {
+			workers[i].random.setSeed(random.nextSeed());
+		}
+
+		if (workers.length == 1) {
+			workers[0].search();
+		} else {
+			if (threads == null) {
+				startThreads();
+			}
+			synchronized (signal) {
+				running = workers.length - 1;
+				generation++;
+				signal.notifyAll();
+			}
+			workers[0].search();
+			synchronized (signal) {
+				while (running > 0) {
+					try {
+						signal.wait();
+					} catch (InterruptedException e) {
+						// Worker stops by itself, when budget is spent
+					}
+				}
+			}
+		}
+
+		duration = clock.nanoTime() - start;
+
+		int best = NONE;
+		for (int c = children[0]; c != NONE; c = siblings[c]) {
+			if (best == NONE || visits[c] > visits[best]) {
+				best = c;
+			}
+		}
+		return best == NONE ? -1 : moves[best] + 1;
+	}
+
+	/**
+	 * Starts threads of the workers 1 and above. They wait for the searches
+	 */
+	private void startThreads() {
+		synchronized (signal) {
+			stopped = false;
+		}
+		threads = new Thread[workers.length - 1];
+		for (int i = 0; i < threads.length; i++) {
+			workers[i + 1].seen = generation;
+			threads[i] = new Thread(workers[i + 1]);
+			threads[i].start();
+		}
+	}
+
+	/**
+	 * Stops the search threads. Next search starts them again
+	 */
+	public void stop() {
+		if (threads == null) {
+			return;
+		}
+		synchronized (signal) {
+			stopped = true;
+			signal.notifyAll();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			try {
+				threads[i].join();
+			} catch (InterruptedException e) {
+				// Thread ends by itself after the stop flag
+			}
+		}
+		threads = null;
+	}
+
+	/**
+	 * Adds node to the pool
+	 *
+	 * @param parent
+	 *            Parent node
+	 * @param move
+	 *            Move (bit index), that leads to the node
+	 * @param own
+	 *            Occupancy mask of the side to move in the node
+	 * @param other
+	 *            Occupancy mask of the side, that made the move
+	 * @return index of the node
+	 */
+	private int newNode(int parent, int move, int own, int other) {
+		int node = size++;
+		moves[node] = move;
+		children[node] = NONE;
+		siblings[node] = NONE;
+		visits[node] = 0;
+		scores[node] = 0;
+		untried[node] = isTerminal(own, other) ? 0 : ~(own | other) & Bitboard.FULL;
+		if (parent != NONE) {
+			siblings[node] = children[parent];
+			children[parent] = node;
+		}
+		return node;
+	}
+
+	/**
+	 * Selects child of the node by UCT
+	 */
+	private int select(int node) {
+		double logVisits = log(visits[node]);
+		double bestValue = -1;
+		int best = NONE;
+		for (int c = children[node]; c != NONE; c = siblings[c]) {
+			double n = visits[c];
+			double value = scores[c] / (SCORE_WIN * n) + EXPLORATION
+					* Math.sqrt(logVisits / n);
+			if (value > bestValue) {
+				bestValue = value;
+				best = c;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Natural logarithm approximation (CLDC has no Math.log): logarithm
+	 * base 2 is linearly interpolated between the powers of 2
+	 */
+	static double log(int n) {
+		int k = 31;
+		while (k > 0 && (n >>> k) == 0) {
+			k--;
+		}
+		return LN2 * (k + (double) (n - (1 << k)) / (1 << k));
+	}
+
+	/**
+	 * Checks, that game is completed in the position
+	 */
+	static private boolean isTerminal(int a, int b) {
+		return Bitboard.isWin(a) || Bitboard.isWin(b)
+				|| (a | b) == Bitboard.FULL;
+	}
+
+	/**
+	 * @return count of the playouts of the last search
+	 */
+	public int getPlayouts() {
+		return playouts;
+	}
+
+	/**
+	 * @return count of the tree nodes of the last search
+	 */
+	public int getNodes() {
+		return size;
+	}
+
+	/**
+	 * @return duration of the last search in nanoseconds
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @return playouts per second of the last search
+	 */
+	public long getPlayoutsPerSecond() {
+		return duration <= 0 ? 0 : playouts * 1000000000L / duration;
+	}
+
+	/**
+	 * @return count of the search threads
+	 */
+	public int getThreads() {
+		return workers.length;
+	}
+
+	/**
+	 * @param clock
+	 *            Clock for the deadline checks
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Search worker. Keeps its own playout board, path and random generator.
+	 * Thread of the worker searches once per the search generation
+	 */
+	private class Worker implements Runnable {
+
+		/**
+		 * Last searched generation
+		 */
+		private int seen;
+
+		/**
+		 * Nodes on the path from the root
+		 */
+		private int[] path = new int[Bitboard.FIELDS + 1];
+
+		/**
+		 * Playout board. Index 0 is the side to move at the root
+		 */
+		private int[] boards = new int[2];
+
+		/**
+		 * Random generator of the playouts
+		 */
+		private SeededRandom random = new SeededRandom(0);
+
+		public void run() {
+			while (true) {
+				synchronized (signal) {
+					while (generation == seen && !stopped) {
+						try {
+							signal.wait();
+						} catch (InterruptedException e) {
+							// Waits for the next search or for the stop
+						}
+					}
+					if (stopped) {
+						return;
+					}
+					seen = generation;
+				}
+				search();
+				synchronized (signal) {
+					running--;
+					signal.notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * Searches, until the budget is spent
+		 */
+		private void search() {
+			while (clock.nanoTime() < deadline && iterate()) {
+			}
+		}
+
+		/**
+		 * Makes one search iteration
+		 *
+		 * @return false, if the playouts budget is spent
+		 */
+		private boolean iterate() {
+			int depth = 0;
+			int side = 0;
+
+			synchronized (Mcts.this) {
+				if (playouts >= playoutLimit) {
+					return false;
+				}
+				playouts++;
+
+				boards[0] = rootOwn;
+				boards[1] = rootOther;
+				int node = 0;
+				path[0] = node;
+				visits[node]++;
+
+				while (!isTerminal(boards[0], boards[1])) {
+					if (untried[node] != 0) {
+						if (size < moves.length) {
+							int move = randomBit(untried[node]);
+							untried[node] &= ~(1 << move);
+							boards[side] |= 1 << move;
+							side ^= 1;
+							node = newNode(node, move, boards[side], boards[side ^ 1]);
+							path[++depth] = node;
+							visits[node]++;
+						}
+						break;
+					}
+					node = select(node);
+					boards[side] |= 1 << moves[node];
+					side ^= 1;
+					path[++depth] = node;
+					visits[node]++;
+				}
+			}
+
+			int winner = playout(side);
+
+			synchronized (Mcts.this) {
+				for (int d = 1; d <= depth; d++) {
+					// Node on the depth d is reached by the move of side (d - 1) % 2
+					int mover = (d - 1) & 1;
+					if (winner == -1) {
+						scores[path[d]] += SCORE_DRAW;
+					} else if (winner == mover) {
+						scores[path[d]] += SCORE_WIN;
+					}
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Plays random moves until the end of the game
+		 *
+		 * @param side
+		 *            Index of the side to move
+		 * @return index of the winner, -1 for the draw
+		 */
+		private int playout(int side) {
+			while (true) {
+				if (Bitboard.isWin(boards[side ^ 1])) {
+					return side ^ 1;
+				}
+				int empty = ~(boards[0] | boards[1]) & Bitboard.FULL;
+				if (empty == 0) {
+					return -1;
+				}
+				boards[side] |= 1 << randomBit(empty);
+				side ^= 1;
+			}
+		}
+
+		/**
+		 * Selects random bit index from the mask
+		 */
+		private int randomBit(int mask) {
+			int n = random.nextInt(Bitboard.bitCount(mask));
+			for (int bit = 0; bit < Bitboard.FIELDS; bit++) {
+				if ((mask & (1 << bit)) != 0 && n-- == 0) {
+					return bit;
+				}
+			}
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,380 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * AI of the m,n,k game: iterative deepening negamax with the alpha-beta
+ * pruning and the transposition table over the occupancy masks of the
+ * MnkRules, within the deadline.
+ *
+ * Position is terminal, when the last move made the line, when the board is
+ * full, or when each line contains both X and O (nobody can win). Moves are
+ * ordered by the table move and then by the gain of the open lines through
+ * the cell. Position on the depth limit is rated by the open lines of the
+ * both sides. When the depth reaches the count of the empty cells, the
+ * result is exact, so the small boards are solved, if the deadline allows.
+ *
+ * Move of the last completed depth is returned, so the move is ready, even
+ * if the deadline is too close. Search does not allocate memory after
+ * construction.
+ */
+public class MnkAi {
+
+	/**
+	 * Score of the won position, decreased by the ply of the win
+	 */
+	static public final int WIN = 100000;
+
+	/**
+	 * Count of the nodes between the deadline checks (power of 2)
+	 */
+	static private final int CHECK_INTERVAL = 256;
+
+	/**
+	 * Table entry bounds
+	 */
+	static private final int EXACT = 0;
+	static private final int LOWER = 1;
+	static private final int UPPER = 2;
+
+	/**
+	 * Game rules
+	 */
+	private MnkRules rules;
+
+	/**
+	 * Rating of the open line by the count of the own marks: 0, 1, 4, 16,
+	 * up to 256, and 0 for the full line (it is the win)
+	 */
+	private int[] lineScores;
+
+	/**
+	 * Transposition table: masks of the side to move and of the opponent and
+	 * packed entry: move (bits 0-4), bound (bits 5-6), depth (bits 7-12) and
+	 * score (bits 13-31)
+	 */
+	private int[] tableOwn;
+	private int[] tableOther;
+	private int[] tableEntries;
+	private int tableShift;
+
+	/**
+	 * Clock for the deadline checks
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Moves and their order scores of the each ply
+	 */
+	private byte[][] moves;
+	private int[][] scores;
+
+	/**
+	 * Search state
+	 */
+	private long deadline;
+	private boolean aborted;
+	private int nodes;
+	private int depth;
+
+	/**
+	 * Constructor
+	 *
+	 * @param rules
+	 *            Game rules
+	 * @param tableBits
+	 *            Transposition table contains 2^tableBits entries
+	 */
+	public MnkAi(MnkRules rules, int tableBits) {
+		this.rules = rules;
+		int cells = rules.getCells();
+		lineScores = new int[rules.getK() + 1];
+		for (int n = 1; n < rules.getK(); n++) {
+			lineScores[n] = 1 << (2 * Math.min(n - 1, 4));
+		}
+		moves = new byte[cells + 1][cells];
+		scores = new int[cells + 1][cells];
+
+		int size = 1 << tableBits;
+		tableOwn = new int[size];
+		tableOther = new int[size];
+		tableEntries = new int[size];
+		tableShift = 32 - tableBits;
+	}
+
+	/**
+	 * Selects move
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime())
+	 * @return Cell of the move or -1, if game is completed
+	 */
+	public int chooseMove(int x, int o, long deadline) {
+		nodes = 0;
+		depth = 0;
+		aborted = false;
+		this.deadline = deadline;
+
+		if (rules.status(x, o) != Bitboard.STATUS_NOT_COMPLETED) {
+			return -1;
+		}
+
+		boolean xToMove = MnkRules.sideToMove(x, o) == Evaluator.FIELD_X;
+		int own = xToMove ? x : o;
+		int other = xToMove ? o : x;
+		int empties = MnkRules.bitCount(~(x | o) & rules.getFull());
+		int count = generate(own, other, 0, -1);
+		byte[] rootMoves = moves[0];
+		int best = rootMoves[0];
+		for (int d = 1; d <= empties && count > 1; d++) {
+			int alpha = -WIN - 1;
+			int iterationBest = -1;
+			for (int i = 0; i < count; i++) {
+				int score = -search(other, own | (1 << rootMoves[i]), rootMoves[i],
+						d - 1, 1, -WIN - 1, -alpha);
+				if (aborted) {
+					break;
+				}
+				if (score > alpha) {
+					alpha = score;
+					iterationBest = i;
+				}
+			}
+			if (aborted) {
+				break;
+			}
+			best = rootMoves[iterationBest];
+			depth = d;
+			System.arraycopy(rootMoves, 0, rootMoves, 1, iterationBest);
+			rootMoves[0] = (byte) best;
+			if (alpha >= WIN - rules.getCells() || alpha <= -WIN + rules.getCells()) {
+				// Forced result is found
+				break;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Alpha-beta search
+	 *
+	 * @param own
+	 *            Marks of the side to move
+	 * @param other
+	 *            Marks of the opponent, that has moved to the last cell
+	 * @return score for the side to move
+	 */
+	private int search(int own, int other, int last, int depth, int ply,
+			int alpha, int beta) {
+		if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && clock.nanoTime() >= deadline) {
+			aborted = true;
+		}
+		if (aborted) {
+			return 0;
+		}
+
+		if (rules.isWinAt(other, last)) {
+			return -WIN + ply;
+		}
+		if ((own | other) == rules.getFull() || !hasOpenLine(own, other)) {
+			return 0;
+		}
+		if (depth <= 0) {
+			return evaluate(own, other);
+		}
+
+		// Transposition table
+		int slot = slot(own, other);
+		int tableMove = -1;
+		if (tableOwn[slot] == own && tableOther[slot] == other && tableEntries[slot] != 0) {
+			int entry = tableEntries[slot];
+			tableMove = entry & 0x1F;
+			if (((entry >> 7) & 0x3F) >= depth) {
+				int score = fromTable(entry >> 13, ply);
+				int bound = (entry >> 5) & 3;
+				if (bound == EXACT || (bound == LOWER && score >= beta)
+						|| (bound == UPPER && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+
+		int count = generate(own, other, ply, tableMove);
+		byte[] plyMoves = moves[ply];
+		int originalAlpha = alpha;
+		int best = -WIN - 1;
+		int bestMove = plyMoves[0];
+		for (int i = 0; i < count; i++) {
+			int score = -search(other, own | (1 << plyMoves[i]), plyMoves[i],
+					depth - 1, ply + 1, -beta, -alpha);
+			if (aborted) {
+				return 0;
+			}
+			if (score > best) {
+				best = score;
+				bestMove = plyMoves[i];
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+
+		int bound = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+		tableOwn[slot] = own;
+		tableOther[slot] = other;
+		tableEntries[slot] = (toTable(best, ply) << 13) | (depth << 7)
+				| (bound << 5) | bestMove;
+		return best;
+	}
+
+	/**
+	 * Collects empty cells, ordered by the table move and the rating
+	 *
+	 * @return count of the cells
+	 */
+	private int generate(int own, int other, int ply, int tableMove) {
+		int empty = ~(own | other) & rules.getFull();
+		byte[] plyMoves = moves[ply];
+		int[] plyScores = scores[ply];
+		int count = 0;
+		for (int cell = 0; cell < rules.getCells(); cell++) {
+			if ((empty & (1 << cell)) == 0) {
+				continue;
+			}
+			int score = cell == tableMove ? Integer.MAX_VALUE : gain(own, other, cell);
+
+			// Insertion into the sorted list
+			int i = count++;
+			while (i > 0 && plyScores[i - 1] < score) {
+				plyMoves[i] = plyMoves[i - 1];
+				plyScores[i] = plyScores[i - 1];
+				i--;
+			}
+			plyMoves[i] = (byte) cell;
+			plyScores[i] = score;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns change of the position rating for the side to move, when it
+	 * moves to the empty cell: own open lines through the cell grow, and the
+	 * opponent open lines through the cell are closed
+	 */
+	private int gain(int own, int other, int cell) {
+		int score = 0;
+		for (int l = 0; l < rules.getLineCount(); l++) {
+			int line = rules.getLine(l);
+			if ((line & (1 << cell)) == 0) {
+				continue;
+			}
+			int otherLine = other & line;
+			if (otherLine == 0) {
+				int n = MnkRules.bitCount(own & line);
+				score += lineScores[n + 1] - lineScores[n];
+			} else if ((own & line) == 0) {
+				score += lineScores[MnkRules.bitCount(otherLine)];
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Rates the position by the open lines
+	 *
+	 * @return score for the side to move
+	 */
+	private int evaluate(int own, int other) {
+		int score = 0;
+		for (int l = 0; l < rules.getLineCount(); l++) {
+			int line = rules.getLine(l);
+			int ownLine = own & line;
+			int otherLine = other & line;
+			if (otherLine == 0) {
+				score += lineScores[MnkRules.bitCount(ownLine)];
+			} else if (ownLine == 0) {
+				score -= lineScores[MnkRules.bitCount(otherLine)];
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * @return true, if any line does not contain marks of the both sides
+	 */
+	private boolean hasOpenLine(int own, int other) {
+		for (int l = 0; l < rules.getLineCount(); l++) {
+			int line = rules.getLine(l);
+			if ((own & line) == 0 || (other & line) == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Win scores are stored relative to the node, so they are valid at any
+	 * ply
+	 */
+	private int toTable(int score, int ply) {
+		if (score >= WIN - rules.getCells() * 2) {
+			return score + ply;
+		}
+		if (score <= -WIN + rules.getCells() * 2) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private int fromTable(int score, int ply) {
+		if (score >= WIN - rules.getCells() * 2) {
+			return score - ply;
+		}
+		if (score <= -WIN + rules.getCells() * 2) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	private int slot(int own, int other) {
+		int hash = own * 0x9E3779B9 ^ other * 0x85EBCA6B;
+		return (hash ^ (hash >>> 15)) >>> tableShift;
+	}
+
+	/**
+	 * @return game rules
+	 */
+	public MnkRules getRules() {
+		return rules;
+	}
+
+	/**
+	 * @return alpha-beta nodes of the last move
+	 */
+	public int getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return last completed depth of the last move
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return true, if the last move search was stopped by the deadline
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+}
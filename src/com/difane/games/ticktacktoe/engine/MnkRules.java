@@ -0,0 +1,250 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Rules of the m,n,k game: board of the given width and height, side wins by
+ * k own marks in a row (horizontal, vertical or diagonal). 3x3 board with
+ * k = 3 is the tic-tac-toe.
+ *
+ * Same as in the Bitboard, each side is stored as an occupancy mask, where
+ * bit (row * width + column) is set, if the side has a mark in that cell, so
+ * the 3x3 masks are the same as the Bitboard ones. Masks of all the winning
+ * lines are precomputed, so the win is checked by the single AND for the
+ * each line, and only the lines through the cell are checked after the
+ * move.
+ */
+public class MnkRules {
+
+	/**
+	 * Maximal count of the board cells (bits of the occupancy mask)
+	 */
+	static public final int MAX_CELLS = 30;
+
+	/**
+	 * Supported variants
+	 */
+	static public final MnkRules TIC_TAC_TOE = new MnkRules(3, 3, 3);
+	static public final MnkRules BOARD_4X4_K3 = new MnkRules(4, 4, 3);
+	static public final MnkRules BOARD_4X4_K4 = new MnkRules(4, 4, 4);
+	static public final MnkRules BOARD_5X5_K4 = new MnkRules(5, 5, 4);
+
+	/**
+	 * Board size and line length
+	 */
+	private int width;
+	private int height;
+	private int k;
+
+	/**
+	 * Mask with all board cells set
+	 */
+	private int full;
+
+	/**
+	 * Masks of the winning lines
+	 */
+	private int[] lines;
+
+	/**
+	 * Masks of the winning lines through the each cell
+	 */
+	private int[][] cellLines;
+
+	/**
+	 * Constructor
+	 *
+	 * @param width
+	 *            Board width (columns count)
+	 * @param height
+	 *            Board height (rows count)
+	 * @param k
+	 *            Length of the winning line
+	 */
+	public MnkRules(int width, int height, int k) {
+		if (width < 1 || height < 1 || width * height > MAX_CELLS || k < 1
+				|| (k > width && k > height)) {
+			throw new IllegalArgumentException("Unsupported board " + width
+					+ "x" + height + ", k = " + k);
+		}
+		this.width = width;
+		this.height = height;
+		this.k = k;
+		this.full = (1 << (width * height)) - 1;
+
+		// Directions: right, down, down-right, down-left
+		int[] dx = { 1, 0, 1, -1 };
+		int[] dy = { 0, 1, 1, 1 };
+		int[] found = new int[width * height * 4];
+		int count = 0;
+		for (int d = 0; d < 4; d++) {
+			for (int row = 0; row < height; row++) {
+				for (int column = 0; column < width; column++) {
+					int endRow = row + dy[d] * (k - 1);
+					int endColumn = column + dx[d] * (k - 1);
+					if (endRow >= height || endColumn < 0 || endColumn >= width) {
+						continue;
+					}
+					int mask = 0;
+					for (int i = 0; i < k; i++) {
+						mask |= 1 << cell(row + dy[d] * i, column + dx[d] * i);
+					}
+					found[count++] = mask;
+				}
+			}
+		}
+		lines = new int[count];
+		System.arraycopy(found, 0, lines, 0, count);
+
+		cellLines = new int[width * height][];
+		for (int cell = 0; cell < width * height; cell++) {
+			int n = 0;
+			for (int i = 0; i < count; i++) {
+				if ((lines[i] & (1 << cell)) != 0) {
+					found[n++] = lines[i];
+				}
+			}
+			cellLines[cell] = new int[n];
+			System.arraycopy(found, 0, cellLines[cell], 0, n);
+		}
+	}
+
+	/**
+	 * Returns cell (bit index) of the row and column
+	 */
+	public int cell(int row, int column) {
+		return row * width + column;
+	}
+
+	/**
+	 * Checks, that the mask contains at least one winning line
+	 *
+	 * @param mask
+	 *            Occupancy mask
+	 * @return true, if mask has a winning line
+	 */
+	public boolean isWin(int mask) {
+		for (int i = 0; i < lines.length; i++) {
+			if ((mask & lines[i]) == lines[i]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks, that the mask contains a winning line through the cell. Used
+	 * after the move to the cell
+	 *
+	 * @param mask
+	 *            Occupancy mask
+	 * @param cell
+	 *            Cell (bit index)
+	 * @return true, if mask has a winning line through the cell
+	 */
+	public boolean isWinAt(int mask, int cell) {
+		int[] through = cellLines[cell];
+		for (int i = 0; i < through.length; i++) {
+			if ((mask & through[i]) == through[i]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns game status. Game is a draw, when each winning line contains
+	 * both X and O, even if the board is not full yet
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return one of the Bitboard.STATUS_* values
+	 */
+	public int status(int x, int o) {
+		int status = (isWin(x) ? Bitboard.STATUS_X_WINS : 0)
+				| (isWin(o) ? Bitboard.STATUS_O_WINS : 0);
+		if (status != Bitboard.STATUS_NOT_COMPLETED) {
+			return status;
+		}
+		for (int i = 0; i < lines.length; i++) {
+			if ((x & lines[i]) == 0 || (o & lines[i]) == 0) {
+				return Bitboard.STATUS_NOT_COMPLETED;
+			}
+		}
+		return Bitboard.STATUS_DRAW;
+	}
+
+	/**
+	 * Count of the set bits (CLDC has no Integer.bitCount)
+	 */
+	static public int bitCount(int mask) {
+		mask = mask - ((mask >>> 1) & 0x55555555);
+		mask = (mask & 0x33333333) + ((mask >>> 2) & 0x33333333);
+		mask = (mask + (mask >>> 4)) & 0x0F0F0F0F;
+		return (mask * 0x01010101) >>> 24;
+	}
+
+	/**
+	 * Returns side to move: X, if counts of the marks are equal
+	 *
+	 * @return Evaluator.FIELD_X or Evaluator.FIELD_O
+	 */
+	static public int sideToMove(int x, int o) {
+		return bitCount(x) == bitCount(o) ? Evaluator.FIELD_X : Evaluator.FIELD_O;
+	}
+
+	/**
+	 * @return board width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return board height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return length of the winning line
+	 */
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * @return count of the board cells
+	 */
+	public int getCells() {
+		return width * height;
+	}
+
+	/**
+	 * @return mask with all board cells set
+	 */
+	public int getFull() {
+		return full;
+	}
+
+	/**
+	 * @return count of the winning lines
+	 */
+	public int getLineCount() {
+		return lines.length;
+	}
+
+	/**
+	 * @param index
+	 *            Line index
+	 * @return mask of the winning line
+	 */
+	public int getLine(int index) {
+		return lines[index];
+	}
+
+	public String toString() {
+		return width + "x" + height + "k" + k;
+	}
+}
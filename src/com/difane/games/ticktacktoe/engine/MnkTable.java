@@ -0,0 +1,226 @@
+package com.difane.games.ticktacktoe.engine;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Win/draw/loss tablebase of the m,n,k game, written by the headless
+ * RetrogradeSolver. Reader uses only the CLDC streams, so the same file is
+ * played by the pen (from the resource) and by the headless tools (which map
+ * the file, see headless.Tablebase).
+ *
+ * File contains the header (magic, width, height, k as little-endian ints)
+ * and 2 bits for the each position. Position index is the base-3 number,
+ * where digit of the cell (row * width + column) is 0 for the empty cell, 1
+ * for X and 2 for O. Value is stored for the side to move (X, if counts of
+ * marks are equal). Positions, that can not happen in the game, keep
+ * UNKNOWN value.
+ *
+ * Index must fit into int, so tablebase is limited to MAX_CELLS cells (4x4
+ * board takes 10.8 MB, 5x5 board would take 3^25 / 4 = 212 GB).
+ */
+public class MnkTable {
+
+	/**
+	 * Values for the side to move
+	 */
+	static public final int UNKNOWN = 0;
+	static public final int LOSS = 1;
+	static public final int DRAW = 2;
+	static public final int WIN = 3;
+
+	/**
+	 * Maximal count of the board cells
+	 */
+	static public final int MAX_CELLS = 19;
+
+	/**
+	 * File header: "MNKT", width, height, k
+	 */
+	static public final int MAGIC = 0x544B4E4D;
+	static public final int HEADER_SIZE = 16;
+
+	/**
+	 * Base-3 values of the mask bytes: BASE3[b][m] = sum of 3^(8 * b + i)
+	 * for the bits i of m
+	 */
+	static private final int[][] BASE3 = new int[3][256];
+
+	static {
+		int power = 1;
+		for (int bit = 0; bit < 24 && bit < MAX_CELLS; bit++) {
+			for (int m = 0; m < 256; m++) {
+				if ((m & (1 << (bit & 7))) != 0) {
+					BASE3[bit >> 3][m] += power;
+				}
+			}
+			power *= 3;
+		}
+	}
+
+	/**
+	 * Rules of the solved game
+	 */
+	private MnkRules rules;
+
+	/**
+	 * Packed values (file without the header). Null, if the subclass reads
+	 * the values itself
+	 */
+	private byte[] values;
+
+	/**
+	 * Constructor
+	 *
+	 * @param rules
+	 *            Rules of the solved game
+	 * @param values
+	 *            Packed values, 2 bits per position index
+	 */
+	protected MnkTable(MnkRules rules, byte[] values) {
+		this.rules = rules;
+		this.values = values;
+	}
+
+	/**
+	 * Reads tablebase from the stream. Stream is not closed
+	 *
+	 * @param in
+	 *            Stream with the tablebase file
+	 * @return tablebase
+	 * @throws IOException
+	 *             if stream does not contain the tablebase
+	 */
+	static public MnkTable load(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (readIntLittleEndian(data) != MAGIC) {
+			throw new IOException("Stream does not contain the tablebase");
+		}
+		int width = readIntLittleEndian(data);
+		int height = readIntLittleEndian(data);
+		int k = readIntLittleEndian(data);
+		MnkRules rules;
+		try {
+			rules = new MnkRules(width, height, k);
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage());
+		}
+		if (rules.getCells() > MAX_CELLS) {
+			throw new IOException("Tablebase of " + rules + " is too big");
+		}
+		byte[] values = new byte[dataSize(rules)];
+		data.readFully(values);
+		return new MnkTable(rules, values);
+	}
+
+	/**
+	 * Returns value of the position
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return value for the side to move (one of UNKNOWN, LOSS, DRAW, WIN)
+	 */
+	public int getValue(int x, int o) {
+		return value(index(x, o));
+	}
+
+	/**
+	 * Selects the best move: immediate win, if any, otherwise any move to the
+	 * position, that is the worst for the opponent
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return cell of the move or -1, if game is completed
+	 */
+	public int getBestMove(int x, int o) {
+		if (rules.status(x, o) != Bitboard.STATUS_NOT_COMPLETED) {
+			return -1;
+		}
+		boolean xToMove = MnkRules.sideToMove(x, o) == Evaluator.FIELD_X;
+		int empty = ~(x | o) & rules.getFull();
+		int best = -1;
+		int bestValue = UNKNOWN;
+		for (int cell = 0; cell < rules.getCells(); cell++) {
+			if ((empty & (1 << cell)) == 0) {
+				continue;
+			}
+			int nx = xToMove ? x | (1 << cell) : x;
+			int no = xToMove ? o : o | (1 << cell);
+			if (rules.isWinAt(xToMove ? nx : no, cell)) {
+				return cell;
+			}
+			int value = negate(getValue(nx, no));
+			if (value > bestValue) {
+				best = cell;
+				bestValue = value;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return rules of the solved game
+	 */
+	public MnkRules getRules() {
+		return rules;
+	}
+
+	/**
+	 * Reads value of the position index
+	 */
+	protected int value(int index) {
+		return (values[index >>> 2] >>> ((index & 3) << 1)) & 3;
+	}
+
+	/**
+	 * @return value for the other side
+	 */
+	static public int negate(int value) {
+		return value == UNKNOWN ? UNKNOWN : 4 - value;
+	}
+
+	/**
+	 * @return base-3 index of the position
+	 */
+	static public int index(int x, int o) {
+		return base3(x) + 2 * base3(o);
+	}
+
+	static private int base3(int mask) {
+		return BASE3[0][mask & 0xFF] + BASE3[1][(mask >>> 8) & 0xFF]
+				+ BASE3[2][(mask >>> 16) & 0xFF];
+	}
+
+	/**
+	 * @return count of the positions (3^cells)
+	 */
+	static public int positions(MnkRules rules) {
+		int count = 1;
+		for (int i = 0; i < rules.getCells(); i++) {
+			count *= 3;
+		}
+		return count;
+	}
+
+	/**
+	 * @return size of the packed values: 2 bits per position, rounded up to
+	 *         the whole ints
+	 */
+	static public int dataSize(MnkRules rules) {
+		return ((positions(rules) + 15) >>> 4) * 4;
+	}
+
+	static private int readIntLittleEndian(DataInputStream data)
+			throws IOException {
+		int b0 = data.readUnsignedByte();
+		int b1 = data.readUnsignedByte();
+		int b2 = data.readUnsignedByte();
+		int b3 = data.readUnsignedByte();
+		return b0 | (b1 << 8) | (b2 << 16) | (b3 << 24);
+	}
+}
@@ -0,0 +1,293 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Table of the optimal moves for every reachable 3x3 position.
+ *
+ * Positions are indexed by a perfect index: positions are grouped by the count
+ * of X and O marks, and inside the group index is built from the rank of the X
+ * mask and the rank of the O mask over the fields, that are free from X. There
+ * are 6046 such positions, and each of them takes 11 bits in the packed table:
+ * 9 bits of the best moves set and 2 bits of the game value for the side to
+ * move. Whole table takes about 8 KB.
+ *
+ * Best moves are the moves with the best exact score (faster win, slower
+ * loss), so the AI never plays a slower win, when a faster one exists.
+ *
+ * Shared table is generated and verified at build time (see Tables), so the
+ * pen does not solve the game. solve() builds the same table at runtime.
+ */
+public class MoveTable {
+
+	/**
+	 * Game values for the side to move
+	 */
+	static public final int VALUE_LOSS = 0;
+	static public final int VALUE_DRAW = 1;
+	static public final int VALUE_WIN = 2;
+
+	/**
+	 * Count of the positions in the index
+	 */
+	static public final int SIZE = 6046;
+
+	/**
+	 * Size of the single table entry in bits
+	 */
+	static private final int ENTRY_BITS = 11;
+
+	/**
+	 * Mask of the moves part of the entry
+	 */
+	static private final int MOVES_MASK = Bitboard.FULL;
+
+	/**
+	 * Rank of the mask among all masks with the same count of bits
+	 */
+	static private final short[] RANK = Tables.shorts(Tables.RANK, 0, Bitboard.FULL + 1);
+
+	/**
+	 * Index offset of the each position group. Indexed by [count of X][count
+	 * of O]
+	 */
+	static private final int[][] OFFSET = Tables.MOVE_OFFSET;
+
+	/**
+	 * Binomial coefficients C(n, k) for n <= 9
+	 */
+	static private final int[][] BINOMIAL = Tables.BINOMIAL;
+
+	/**
+	 * Shared instance
+	 */
+	static private MoveTable instance = null;
+
+	/**
+	 * Packed table entries
+	 */
+	private int[] data;
+
+	/**
+	 * Constructor
+	 *
+	 * @param data
+	 *            Packed table entries
+	 */
+	public MoveTable(int[] data) {
+		this.data = data;
+	}
+
+	/**
+	 * Returns shared table. Table is unpacked during the first call
+	 *
+	 * @return shared table
+	 */
+	static public synchronized MoveTable getInstance() {
+		if (null == instance) {
+			instance = new MoveTable(Tables.ints(Tables.MOVE_TABLE));
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns perfect index of the position
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return index (0 to SIZE - 1)
+	 */
+	static public int index(int x, int o) {
+		int xCount = Bitboard.bitCount(x);
+		int oCount = Bitboard.bitCount(o);
+
+		// Packing O bits over the fields, that are free from X
+		int packed = 0;
+		int j = 0;
+		for (int field = 0; field < Bitboard.FIELDS; field++) {
+			int bit = 1 << field;
+			if ((x & bit) == 0) {
+				if ((o & bit) != 0) {
+					packed |= 1 << j;
+				}
+				j++;
+			}
+		}
+
+		return OFFSET[xCount][oCount] + RANK[x]
+				* BINOMIAL[Bitboard.FIELDS - xCount][oCount] + RANK[packed];
+	}
+
+	/**
+	 * Returns set of the best moves for the side to move
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return mask of the best fields, 0 if game is completed
+	 */
+	public int getBestFields(int x, int o) {
+		return entry(index(x, o)) & MOVES_MASK;
+	}
+
+	/**
+	 * Returns game value for the side to move
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return one of the VALUE_* values
+	 */
+	public int getValue(int x, int o) {
+		return entry(index(x, o)) >> 9;
+	}
+
+	/**
+	 * Reads packed entry
+	 */
+	private int entry(int index) {
+		int position = index * ENTRY_BITS;
+		int word = position >> 5;
+		int shift = position & 31;
+		long bits = data[word] & 0xFFFFFFFFL;
+		if (shift + ENTRY_BITS > 32) {
+			bits |= (data[word + 1] & 0xFFFFFFFFL) << 32;
+		}
+		return (int) (bits >>> shift) & ((1 << ENTRY_BITS) - 1);
+	}
+
+	/**
+	 * Writes packed entry
+	 */
+	static private void write(int[] data, int index, int entry) {
+		int position = index * ENTRY_BITS;
+		int word = position >> 5;
+		int shift = position & 31;
+		data[word] |= entry << shift;
+		if (shift + ENTRY_BITS > 32) {
+			data[word + 1] |= entry >>> (32 - shift);
+		}
+	}
+
+	/**
+	 * Solves all reachable positions
+	 *
+	 * @return solved table
+	 */
+	static public MoveTable solve() {
+		int[] data = new int[(SIZE * ENTRY_BITS + 31) / 32];
+		byte[] scores = new byte[SIZE];
+		boolean[] solved = new boolean[SIZE];
+		solve(0, 0, data, scores, solved);
+		return new MoveTable(data);
+	}
+
+	/**
+	 * Solves position and all positions, that are reachable from it
+	 *
+	 * @return exact score for the side to move
+	 */
+	static private int solve(int x, int o, int[] data, byte[] scores,
+			boolean[] solved) {
+		int index = index(x, o);
+		if (solved[index]) {
+			return scores[index];
+		}
+
+		boolean xTurn = Bitboard.bitCount(x) == Bitboard.bitCount(o);
+		int own = xTurn ? x : o;
+		int empties = Bitboard.FIELDS - Bitboard.bitCount(x | o);
+		int best = -Negamax.INFINITY;
+		int bestFields = 0;
+
+		for (int field = 0; field < Bitboard.FIELDS; field++) {
+			int bit = 1 << field;
+			if (((x | o) & bit) != 0) {
+				continue;
+			}
+			int score;
+			if (Bitboard.isWin(own | bit)) {
+				score = empties;
+			} else if (empties == 1) {
+				score = 0;
+			} else if (xTurn) {
+				score = -solve(x | bit, o, data, scores, solved);
+			} else {
+				score = -solve(x, o | bit, data, scores, solved);
+			}
+
+			if (score > best) {
+				best = score;
+				bestFields = bit;
+			} else if (score == best) {
+				bestFields |= bit;
+			}
+		}
+
+		int value = best > 0 ? VALUE_WIN : (best < 0 ? VALUE_LOSS : VALUE_DRAW);
+		write(data, index, bestFields | (value << 9));
+		scores[index] = (byte) best;
+		solved[index] = true;
+		return best;
+	}
+
+	/**
+	 * Verifies the table against the search engine. Each reachable position
+	 * is checked: value must match the exact score and each of the best moves
+	 * must reach it
+	 *
+	 * @param search
+	 *            Search engine to verify against
+	 * @return count of the positions, that does not match
+	 */
+	public int verify(Negamax search) {
+		return verify(search, 0, 0, new boolean[SIZE]);
+	}
+
+	private int verify(Negamax search, int x, int o, boolean[] visited) {
+		if (Bitboard.isWin(x) || Bitboard.isWin(o) || (x | o) == Bitboard.FULL) {
+			return 0;
+		}
+		int index = index(x, o);
+		if (visited[index]) {
+			return 0;
+		}
+		visited[index] = true;
+
+		boolean xTurn = Bitboard.bitCount(x) == Bitboard.bitCount(o);
+		int own = xTurn ? x : o;
+		int other = xTurn ? o : x;
+		int empties = Bitboard.FIELDS - Bitboard.bitCount(x | o);
+		int score = search.evaluate(own, other);
+		int value = score > 0 ? VALUE_WIN : (score < 0 ? VALUE_LOSS : VALUE_DRAW);
+
+		int mismatches = 0;
+		int best = getBestFields(x, o);
+		if (value != getValue(x, o) || best == 0) {
+			mismatches++;
+		} else {
+			for (int field = 0; field < Bitboard.FIELDS; field++) {
+				int bit = 1 << field;
+				if ((best & bit) != 0) {
+					int moveScore = Bitboard.isWin(own | bit) ? empties
+							: -search.evaluate(other, own | bit);
+					if (moveScore != score) {
+						mismatches++;
+						break;
+					}
+				}
+			}
+		}
+
+		for (int field = 0; field < Bitboard.FIELDS; field++) {
+			int bit = 1 << field;
+			if (((x | o) & bit) == 0) {
+				mismatches += xTurn ? verify(search, x | bit, o, visited)
+						: verify(search, x, o | bit, visited);
+			}
+		}
+		return mismatches;
+	}
+}
@@ -0,0 +1,329 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Perfect play search for the 3x3 board. Negamax with alpha-beta pruning over
+ * the bitboards. Board is changed in place (make / unmake is a single bit
+ * operation), so the search does not allocate any memory.
+ *
+ * Scores are calculated for the side to move: win is the count of the empty
+ * fields before the winning turn (so faster wins are better), loss is the
+ * negated value and draw is 0.
+ *
+ * bestMove(own, other, deadline) is the anytime variant: iterative deepening,
+ * that always holds the best move of the last completed depth and stops, when
+ * the deadline is reached. Positions beyond the depth limit score 0.
+ */
+public class Negamax {
+
+	/**
+	 * Score, that is bigger than any possible position score
+	 */
+	static public final int INFINITY = Bitboard.FIELDS + 1;
+
+	/**
+	 * Static moves order: center, corners, edges (bit indexes)
+	 */
+	static private final int[] MOVE_ORDER = { 4, 0, 2, 6, 8, 1, 3, 5, 7 };
+
+	/**
+	 * Occupancy masks of the both sides during the search. Index 0 is the side
+	 * to move at the root
+	 */
+	private int[] boards = new int[2];
+
+	/**
+	 * Count of the nodes between the deadline checks (power of 2)
+	 */
+	static private final int CHECK_INTERVAL = 256;
+
+	/**
+	 * Depth, that means "no depth limit"
+	 */
+	static private final int UNLIMITED = Bitboard.FIELDS + 1;
+
+	/**
+	 * Clock for the deadline checks
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Deadline of the current search (clock time)
+	 */
+	private long deadline = 0;
+
+	/**
+	 * Is the current search limited by the deadline
+	 */
+	private boolean timed = false;
+
+	/**
+	 * Is the current iteration aborted by the deadline
+	 */
+	private boolean aborted = false;
+
+	/**
+	 * Search depth of the last completed iteration
+	 */
+	private int depth = 0;
+
+	/**
+	 * Count of the nodes, visited during last search
+	 */
+	private int nodes = 0;
+
+	/**
+	 * Score of the last found best move
+	 */
+	private int lastScore = 0;
+
+	/**
+	 * Finds the best move for the side to move
+	 *
+	 * @param own
+	 *            Occupancy mask of the side to move
+	 * @param other
+	 *            Occupancy mask of the opponent
+	 * @return Field (1 to 9) of the best move, -1 if there are no moves
+	 */
+	public int bestMove(int own, int other) {
+		boards[0] = own;
+		boards[1] = other;
+		nodes = 0;
+		timed = false;
+
+		int empties = Bitboard.FIELDS - Bitboard.bitCount(own | other);
+		int candidates = candidateFields(own, other);
+		int best = -1;
+		int alpha = -INFINITY;
+
+		for (int i = 0; i < MOVE_ORDER.length; i++) {
+			int bit = 1 << MOVE_ORDER[i];
+			if ((candidates & bit) == 0) {
+				continue;
+			}
+			int score = play(0, bit, alpha, INFINITY, empties, UNLIMITED);
+			if (score > alpha) {
+				alpha = score;
+				best = MOVE_ORDER[i] + 1;
+			}
+		}
+
+		lastScore = alpha;
+		depth = empties;
+		return best;
+	}
+
+	/**
+	 * Finds the best move for the side to move within the deadline. Search
+	 * depth is increased by one until the whole game tree is searched, the
+	 * forced result is found or the deadline is reached. Move of the last
+	 * completed depth is returned, so some move is returned even if the
+	 * deadline has already passed.
+	 *
+	 * @param own
+	 *            Occupancy mask of the side to move
+	 * @param other
+	 *            Occupancy mask of the opponent
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime())
+	 * @return Field (1 to 9) of the best move, -1 if there are no moves
+	 */
+	public int bestMove(int own, int other, long deadline) {
+		boards[0] = own;
+		boards[1] = other;
+		nodes = 0;
+		depth = 0;
+		lastScore = 0;
+		this.deadline = deadline;
+		this.timed = true;
+		this.aborted = false;
+
+		int empties = Bitboard.FIELDS - Bitboard.bitCount(own | other);
+		int candidates = candidateFields(own, other);
+		int best = -1;
+		if (candidates == 0) {
+			return best;
+		}
+
+		// Best-so-far before any search: first candidate in the static order
+		for (int i = 0; i < MOVE_ORDER.length && best == -1; i++) {
+			if ((candidates & (1 << MOVE_ORDER[i])) != 0) {
+				best = MOVE_ORDER[i] + 1;
+			}
+		}
+
+		for (int limit = 1; limit <= empties; limit++) {
+			// Best move of the previous iteration is searched first
+			int alpha = -INFINITY;
+			int iterationBest = -1;
+			for (int i = -1; i < MOVE_ORDER.length; i++) {
+				int bit = i == -1 ? Bitboard.bit(best) : 1 << MOVE_ORDER[i];
+				if ((candidates & bit) == 0 || (i != -1 && bit == Bitboard.bit(best))) {
+					continue;
+				}
+				int score = play(0, bit, alpha, INFINITY, empties, limit);
+				if (aborted) {
+					break;
+				}
+				if (score > alpha) {
+					alpha = score;
+					iterationBest = i == -1 ? best : MOVE_ORDER[i] + 1;
+				}
+			}
+			if (aborted) {
+				break;
+			}
+
+			best = iterationBest;
+			lastScore = alpha;
+			depth = limit;
+			if (alpha != 0) {
+				// Forced win or loss is found, deeper search gives the same
+				break;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Calculates exact score of the position
+	 *
+	 * @param own
+	 *            Occupancy mask of the side to move
+	 * @param other
+	 *            Occupancy mask of the opponent
+	 * @return score for the side to move
+	 */
+	public int evaluate(int own, int other) {
+		boards[0] = own;
+		boards[1] = other;
+		nodes = 0;
+		timed = false;
+		if (Bitboard.isWin(other)) {
+			return -(Bitboard.FIELDS - Bitboard.bitCount(own | other) + 1);
+		}
+		return search(0, -INFINITY, INFINITY, Bitboard.FIELDS
+				- Bitboard.bitCount(own | other), UNLIMITED);
+	}
+
+	/**
+	 * Negamax search
+	 *
+	 * @param side
+	 *            Index of the side to move
+	 * @param alpha
+	 *            Lower bound
+	 * @param beta
+	 *            Upper bound
+	 * @param empties
+	 *            Count of the empty fields
+	 * @param limit
+	 *            Remaining depth
+	 * @return score for the side to move
+	 */
+	private int search(int side, int alpha, int beta, int empties, int limit) {
+		if (empties == 0 || limit == 0) {
+			return 0;
+		}
+
+		int own = boards[side];
+		int other = boards[side ^ 1];
+		int candidates = candidateFields(own, other);
+
+		for (int i = 0; i < MOVE_ORDER.length; i++) {
+			int bit = 1 << MOVE_ORDER[i];
+			if ((candidates & bit) == 0) {
+				continue;
+			}
+			int score = play(side, bit, alpha, beta, empties, limit);
+			if (aborted) {
+				return 0;
+			}
+			if (score > alpha) {
+				alpha = score;
+				if (alpha >= beta) {
+					break;
+				}
+			}
+		}
+		return alpha;
+	}
+
+	/**
+	 * Makes a move, evaluates resulting position and unmakes the move
+	 *
+	 * @return score of the move for the side, that made it
+	 */
+	private int play(int side, int bit, int alpha, int beta, int empties, int limit) {
+		nodes++;
+		if (timed && (nodes & (CHECK_INTERVAL - 1)) == 0
+				&& clock.nanoTime() >= deadline) {
+			aborted = true;
+			return 0;
+		}
+		boards[side] |= bit;
+		int score;
+		if (Bitboard.isWin(boards[side])) {
+			score = empties;
+		} else {
+			score = -search(side ^ 1, -beta, -alpha, empties - 1, limit - 1);
+		}
+		boards[side] ^= bit;
+		return score;
+	}
+
+	/**
+	 * Returns fields, that worth to be searched. If side can win with one
+	 * move, only winning fields are returned. If opponent threatens to win,
+	 * only blocking fields are returned (other moves lose immediately).
+	 * Otherwise all empty fields are returned
+	 */
+	private int candidateFields(int own, int other) {
+		int wins = Bitboard.winningFields(own, other);
+		if (wins != 0) {
+			return wins;
+		}
+		int threats = Bitboard.winningFields(other, own);
+		if (threats != 0) {
+			return threats;
+		}
+		return ~(own | other) & Bitboard.FULL;
+	}
+
+	/**
+	 * @return count of the nodes, visited during last search
+	 */
+	public int getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return depth of the last search (last completed iteration for the
+	 *         deadline search)
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return true, if the last deadline search was stopped by the deadline
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * @param clock
+	 *            Clock for the deadline checks
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * @return score of the last best move
+	 */
+	public int getLastScore() {
+		return lastScore;
+	}
+}
@@ -0,0 +1,296 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Computes AI replies in the background while the human is thinking and
+ * writing. For every legal human move the reply is stored in the small table,
+ * indexed by the human field, so the AI turn after the real human move takes
+ * the ready reply. Human moves are pondered from the best rated for the human
+ * side, so the likely replies are ready first.
+ *
+ * Ponderer uses its own AI player and board, so it does not share any state
+ * with the main AI. Random generator is seeded before each reply from the
+ * game seed and the position after the human move (see
+ * SeededRandom.seedOf()), so each reply does not depend on the moment of
+ * cancellation and is the same, as the main AI computes for that position.
+ *
+ * Start and cancel never wait for the pondering thread. Each start is the new
+ * job: the thread drops the job, that is cancelled or replaced, at the next
+ * reply, and the in-flight MCTS reply stops at its next deadline check (the
+ * pondering search clock is over, when the job is dropped). Replies of the
+ * dropped job are not stored. Thread ends, when there are no jobs.
+ */
+public class Ponderer implements Runnable {
+
+	/**
+	 * Reply, that is not computed (yet)
+	 */
+	static public final int NOT_READY = -2;
+
+	/**
+	 * Slots count (as power of 2) of the HARD level cache of the pondering AI
+	 */
+	static private final int CACHE_BITS = 6;
+
+	/**
+	 * AI player of the pondering. Used by the pondering thread only
+	 */
+	private AiPlayer ai;
+
+	/**
+	 * Board of the pondering. Ratings are calculated for the AI side. Used
+	 * by the pondering thread only
+	 */
+	private Evaluator board = null;
+
+	/**
+	 * Board, that rates the human moves. Used by the pondering thread only
+	 */
+	private Evaluator humanBoard = null;
+
+	/**
+	 * Job: position, that is pondered, AI level, seed of the game (replies
+	 * seeds are derived from it) and sides
+	 */
+	private int base;
+	private int level;
+	private long gameSeed;
+	private int humanType;
+	private int aiType;
+
+	/**
+	 * Count of the started and cancelled jobs. Job of the thread is dropped,
+	 * when it changes
+	 */
+	private volatile int generation = 0;
+
+	/**
+	 * Generation of the job, that the thread computes
+	 */
+	private volatile int seen = 0;
+
+	/**
+	 * Is there a started job, that the thread has not taken yet
+	 */
+	private boolean pending = false;
+
+	/**
+	 * Replies for the each human field (1 to 9): AI field, -1 if the game is
+	 * completed by the human move, or NOT_READY
+	 */
+	private int[] replies = new int[10];
+
+	/**
+	 * Time of the each reply computation (clock time)
+	 */
+	private long[] times = new long[10];
+
+	/**
+	 * Pondering thread. Null, when there are no jobs
+	 */
+	private Thread thread = null;
+
+	/**
+	 * Clock to measure replies computation time
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Clock of the pondering MCTS: time is over, when the job of the thread
+	 * is dropped, so the search without the deadline stops too
+	 */
+	private Clock searchClock = new Clock() {
+		public long nanoTime() {
+			return generation != seen ? Long.MAX_VALUE : clock.nanoTime();
+		}
+	};
+
+	/**
+	 * Human moves of the job in the pondering order
+	 */
+	private int[] order = new int[9];
+
+	/**
+	 * Constructor
+	 */
+	public Ponderer() {
+		ai = new AiPlayer(AiPlayer.LEVEL_EASY, new SeededRandom(0), CACHE_BITS);
+		clear();
+	}
+
+	/**
+	 * Starts pondering of the position in the background thread. Previous
+	 * pondering is cancelled. Does not wait for the thread
+	 *
+	 * @param position
+	 *            Position before the human move
+	 * @param humanType
+	 *            Human side: Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @param level
+	 *            AI level (one of the AiPlayer.LEVEL_*)
+	 * @param gameSeed
+	 *            Seed of the game
+	 */
+	public synchronized void start(int position, int humanType, int level, long gameSeed) {
+		generation++;
+		this.base = position;
+		this.level = level;
+		this.gameSeed = gameSeed;
+		this.humanType = humanType;
+		this.aiType = humanType == Evaluator.FIELD_X ? Evaluator.FIELD_O : Evaluator.FIELD_X;
+		clear();
+		pending = true;
+
+		if (thread == null) {
+			thread = new Thread(this);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops pondering. Does not wait for the thread: in-flight reply is
+	 * dropped. Replies, that are already computed, are kept
+	 */
+	public synchronized void cancel() {
+		generation++;
+		pending = false;
+	}
+
+	public void run() {
+		while (true) {
+			int job;
+			int position;
+			int human;
+			int type;
+			long seed;
+			synchronized (this) {
+				if (!pending) {
+					thread = null;
+					return;
+				}
+				pending = false;
+				job = generation;
+				seen = job;
+				position = base;
+				human = humanType;
+				type = aiType;
+				seed = gameSeed;
+				ai.setLevel(level);
+			}
+			ponder(job, position, human, type, seed);
+		}
+	}
+
+	/**
+	 * Computes replies of the job, until it is dropped
+	 */
+	private void ponder(int job, int position, int human, int type, long seed) {
+		if (board == null || board.getRatedType() != type) {
+			board = new Evaluator(type);
+			humanBoard = new Evaluator(human);
+		}
+		if (ai.getLevel() == AiPlayer.LEVEL_MCTS && ai.getMcts() == null) {
+			Mcts mcts = new Mcts(Mcts.DEFAULT_CAPACITY, 1);
+			mcts.setClock(searchClock);
+			ai.setMcts(mcts);
+		}
+
+		int count = orderHumanMoves(position);
+		for (int i = 0; i < count && generation == job; i++) {
+			int field = order[i];
+
+			long start = clock.nanoTime();
+			board.setPosition(Position.xMask(position), Position.oMask(position));
+			board.makeMove(field, human);
+			int reply = -1;
+			if (board.getStatus() == Bitboard.STATUS_NOT_COMPLETED) {
+				ai.getRandom().setSeed(SeededRandom.seedOf(seed,
+						Position.withMove(position, field, human)));
+				reply = ai.chooseMove(board, type);
+			}
+
+			synchronized (this) {
+				// Reply of the dropped job may be cut by the search clock
+				if (generation == job) {
+					replies[field] = reply;
+					times[field] = clock.nanoTime() - start;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects empty fields of the position into the order, from the best
+	 * rated for the human side
+	 *
+	 * @return count of the fields
+	 */
+	private int orderHumanMoves(int position) {
+		humanBoard.setPosition(Position.xMask(position), Position.oMask(position));
+		int count = 0;
+		for (int field = 1; field <= 9; field++) {
+			if (Position.cell(position, field) != Evaluator.FIELD_EMPTY) {
+				continue;
+			}
+			int rating = humanBoard.getRating(field);
+			int i = count++;
+			while (i > 0 && humanBoard.getRating(order[i - 1]) < rating) {
+				order[i] = order[i - 1];
+				i--;
+			}
+			order[i] = field;
+		}
+		return count;
+	}
+	/**
+	 * Returns pondered reply for the position after the human move
+	 *
+	 * @param position
+	 *            Position after the human move
+	 * @return AI field (1 to 9), -1 if the game is completed, or NOT_READY if
+	 *         position was not pondered or reply is not computed
+	 */
+	public synchronized int getReply(int position) {
+		int field = humanField(position);
+		return field == -1 ? NOT_READY : replies[field];
+	}
+
+	/**
+	 * Returns time, that was spent in the background to compute the reply
+	 *
+	 * @param position
+	 *            Position after the human move
+	 * @return time in nanoseconds, 0 if reply is not computed
+	 */
+	public synchronized long getReplyTime(int position) {
+		int field = humanField(position);
+		return field == -1 || replies[field] == NOT_READY ? 0 : times[field];
+	}
+
+	/**
+	 * Finds human move, that leads from the pondered position to the given
+	 * one
+	 *
+	 * @return field (1 to 9) or -1, if position is not the pondered position
+	 *         with one human mark added
+	 */
+	private int humanField(int position) {
+		for (int field = 1; field <= 9; field++) {
+			if (Position.cell(base, field) == Evaluator.FIELD_EMPTY
+					&& Position.withMove(base, field, humanType) == position) {
+				return field;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Marks all replies as not computed
+	 */
+	private void clear() {
+		for (int field = 0; field <= 9; field++) {
+			replies[field] = NOT_READY;
+			times[field] = 0;
+		}
+	}
+}
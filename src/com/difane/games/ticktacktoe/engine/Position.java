@@ -0,0 +1,123 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Immutable game position, packed into the single int: bits 0-8 are the O
+ * occupancy mask and bits 9-17 are the X occupancy mask. Layout is the same
+ * as the Symmetry key, so the canonical key is a position too.
+ *
+ * Positions are passed as primitives, so they are never shared or changed
+ * by the receiver, and can be used as the cache keys directly. All the
+ * accessors are constant-time.
+ */
+public final class Position {
+
+	/**
+	 * Position without marks
+	 */
+	static public final int EMPTY = 0;
+
+	private Position() {
+	}
+
+	/**
+	 * Packs position
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return position
+	 */
+	static public int of(int x, int o) {
+		return (x << 9) | o;
+	}
+
+	/**
+	 * @param position
+	 *            Position
+	 * @return X occupancy mask
+	 */
+	static public int xMask(int position) {
+		return position >>> 9;
+	}
+
+	/**
+	 * @param position
+	 *            Position
+	 * @return O occupancy mask
+	 */
+	static public int oMask(int position) {
+		return position & Bitboard.FULL;
+	}
+
+	/**
+	 * Returns state of the single field
+	 *
+	 * @param position
+	 *            Position
+	 * @param field
+	 *            Field (1 to 9)
+	 * @return one of the Evaluator.FIELD_* values
+	 */
+	static public int cell(int position, int field) {
+		// X bit gives FIELD_X (1), O bit gives FIELD_O (4)
+		return ((position >>> (field + 8)) & 1) | (((position >>> (field - 1)) & 1) << 2);
+	}
+
+	/**
+	 * Returns side to move. X always starts the game
+	 *
+	 * @param position
+	 *            Position
+	 * @return Evaluator.FIELD_X or Evaluator.FIELD_O
+	 */
+	static public int sideToMove(int position) {
+		return Bitboard.bitCount(xMask(position)) > Bitboard.bitCount(oMask(position)) ? Evaluator.FIELD_O
+				: Evaluator.FIELD_X;
+	}
+
+	/**
+	 * @param position
+	 *            Position
+	 * @return one of the Bitboard.STATUS_* values
+	 */
+	static public int status(int position) {
+		return Bitboard.status(xMask(position), oMask(position));
+	}
+
+	/**
+	 * Returns canonical form of the position (smallest position among all
+	 * board symmetries)
+	 *
+	 * @param position
+	 *            Position
+	 * @return canonical position
+	 */
+	static public int canonical(int position) {
+		return Symmetry.key(Symmetry.canonicalize(xMask(position), oMask(position)));
+	}
+
+	/**
+	 * Returns position with the mark added
+	 *
+	 * @param position
+	 *            Position
+	 * @param field
+	 *            Field (1 to 9)
+	 * @param type
+	 *            Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @return new position
+	 */
+	static public int withMove(int position, int field, int type) {
+		return position | (Bitboard.bit(field) << (type == Evaluator.FIELD_X ? 9 : 0));
+	}
+
+	/**
+	 * @param position
+	 *            Position
+	 * @return count of the marks on the board
+	 */
+	static public int marks(int position) {
+		return Bitboard.bitCount(xMask(position)) + Bitboard.bitCount(oMask(position));
+	}
+}
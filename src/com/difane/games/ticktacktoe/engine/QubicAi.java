@@ -0,0 +1,392 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Qubic AI: iterative deepening alpha-beta search with the transposition
+ * table, within the deadline.
+ *
+ * Threats are kept by the board: side, that has three in the open line,
+ * wins on the next move, so the opponent must block it, and two such lines
+ * of the opponent lose. Forced blocks do not decrease the depth, so the
+ * search sees the forced lines much deeper. Moves are ordered by the table
+ * move and then by the gain of the open lines through the cell. Position is
+ * rated by the open lines of the both sides, and the rating is updated by
+ * the same gain of the move, so the leaves are not rated from scratch.
+ *
+ * Move of the last completed depth is returned, so the move is ready, even
+ * if the deadline is too close. Search does not allocate memory after
+ * construction.
+ */
+public class QubicAi {
+
+	/**
+	 * Score of the won position, decreased by the ply of the win
+	 */
+	static public final int WIN = 100000;
+
+	/**
+	 * Maximal depth of the iterative deepening
+	 */
+	static private final int MAX_DEPTH = 32;
+
+	/**
+	 * Count of the nodes between the deadline checks (power of 2)
+	 */
+	static private final int CHECK_INTERVAL = 256;
+
+	/**
+	 * Rating of the open line by the count of the own marks
+	 */
+	static private final int[] LINE_SCORES = { 0, 1, 8, 64, 0 };
+
+	/**
+	 * Table entry bounds
+	 */
+	static private final int EXACT = 0;
+	static private final int LOWER = 1;
+	static private final int UPPER = 2;
+
+	/**
+	 * Transposition table: both masks of the position and packed entry: move
+	 * (bits 0-5), bound (bits 6-7), depth (bits 8-13) and score (bits 14-31)
+	 */
+	private long[] tableX;
+	private long[] tableO;
+	private int[] tableEntries;
+	private int tableShift;
+
+	/**
+	 * Clock for the deadline checks
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Moves and their order scores of the each ply
+	 */
+	private byte[][] moves = new byte[QubicBoard.CELLS + 1][QubicBoard.CELLS];
+	private int[][] scores = new int[QubicBoard.CELLS + 1][QubicBoard.CELLS];
+
+	/**
+	 * Search state
+	 */
+	private long deadline;
+	private boolean aborted;
+	private int nodes;
+	private int depth;
+
+	/**
+	 * Constructor
+	 *
+	 * @param tableBits
+	 *            Transposition table contains 2^tableBits entries
+	 */
+	public QubicAi(int tableBits) {
+		int size = 1 << tableBits;
+		tableX = new long[size];
+		tableO = new long[size];
+		tableEntries = new int[size];
+		tableShift = 64 - tableBits;
+	}
+
+	/**
+	 * Selects move
+	 *
+	 * @param board
+	 *            Current position. Board is restored, when method returns
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime())
+	 * @return Cell of the move or -1, if game is completed
+	 */
+	public int chooseMove(QubicBoard board, long deadline) {
+		nodes = 0;
+		depth = 0;
+		aborted = false;
+		this.deadline = deadline;
+
+		if (board.getStatus() != Bitboard.STATUS_NOT_COMPLETED) {
+			return -1;
+		}
+
+		// Own four or the block of the opponent four (search sees the same,
+		// but slower)
+		int type = board.getSideToMove();
+		long wins = board.getThreats(type);
+		if (wins != 0) {
+			return QubicBoard.lowestBit(wins);
+		}
+		long blocks = board.getThreats(opposite(type));
+		if (blocks != 0) {
+			return QubicBoard.lowestBit(blocks);
+		}
+
+		long own = own(board);
+		long other = other(board);
+		int eval = evaluate(own, other);
+		int count = generate(board, 0, -1);
+		byte[] rootMoves = moves[0];
+		int best = rootMoves[0];
+		for (int d = 1; d <= MAX_DEPTH && count > 1; d++) {
+			int alpha = -WIN - 1;
+			int iterationBest = -1;
+			for (int i = 0; i < count; i++) {
+				int childEval = -(eval + gain(own, other, rootMoves[i]));
+				board.makeMove(rootMoves[i]);
+				int score = -search(board, d - 1, 1, -WIN - 1, -alpha, childEval);
+				board.undoMove();
+				if (aborted) {
+					break;
+				}
+				if (score > alpha) {
+					alpha = score;
+					iterationBest = i;
+				}
+			}
+			if (aborted) {
+				break;
+			}
+			best = rootMoves[iterationBest];
+			depth = d;
+			System.arraycopy(rootMoves, 0, rootMoves, 1, iterationBest);
+			rootMoves[0] = (byte) best;
+			if (alpha >= WIN - QubicBoard.CELLS || alpha <= -WIN + QubicBoard.CELLS) {
+				// Forced result is found
+				break;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Alpha-beta search
+	 *
+	 * @param eval
+	 *            Rating of the position for the side to move
+	 * @return score for the side to move
+	 */
+	private int search(QubicBoard board, int depth, int ply, int alpha, int beta, int eval) {
+		if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && clock.nanoTime() >= deadline) {
+			aborted = true;
+		}
+		if (aborted) {
+			return 0;
+		}
+
+		int status = board.getStatus();
+		if (status == Bitboard.STATUS_DRAW) {
+			return 0;
+		}
+		if (status != Bitboard.STATUS_NOT_COMPLETED) {
+			// Opponent has made four by the last move
+			return -WIN + ply;
+		}
+
+		int type = board.getSideToMove();
+		if (board.getThreats(type) != 0) {
+			return WIN - ply - 1;
+		}
+		long blocks = board.getThreats(opposite(type));
+		if (blocks != 0 && (blocks & (blocks - 1)) != 0) {
+			return -WIN + ply + 2;
+		}
+		if (depth <= 0 && blocks == 0) {
+			return eval;
+		}
+
+		// Transposition table
+		int slot = slot(board.getXMask(), board.getOMask());
+		int tableMove = -1;
+		boolean hit = tableX[slot] == board.getXMask() && tableO[slot] == board.getOMask();
+		if (hit) {
+			int entry = tableEntries[slot];
+			tableMove = entry & 0x3F;
+			if (((entry >> 8) & 0x3F) >= depth) {
+				int score = fromTable(entry >> 14, ply);
+				int bound = (entry >> 6) & 3;
+				if (bound == EXACT || (bound == LOWER && score >= beta)
+						|| (bound == UPPER && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+
+		int count;
+		int childDepth = depth - 1;
+		byte[] plyMoves = moves[ply];
+		if (blocks != 0) {
+			// Forced block does not decrease the depth
+			plyMoves[0] = (byte) QubicBoard.lowestBit(blocks);
+			count = 1;
+			childDepth = depth;
+		} else {
+			count = generate(board, ply, tableMove);
+		}
+
+		long own = own(board);
+		long other = other(board);
+		int originalAlpha = alpha;
+		int best = -WIN - 1;
+		int bestMove = plyMoves[0];
+		for (int i = 0; i < count; i++) {
+			int childEval = -(eval + gain(own, other, plyMoves[i]));
+			board.makeMove(plyMoves[i]);
+			int score = -search(board, childDepth, ply + 1, -beta, -alpha, childEval);
+			board.undoMove();
+			if (aborted) {
+				return 0;
+			}
+			if (score > best) {
+				best = score;
+				bestMove = plyMoves[i];
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+
+		int bound = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+		tableX[slot] = board.getXMask();
+		tableO[slot] = board.getOMask();
+		tableEntries[slot] = (toTable(best, ply) << 14) | (depth << 8)
+				| (bound << 6) | bestMove;
+		return best;
+	}
+
+	/**
+	 * Collects empty cells, ordered by the table move and the rating
+	 *
+	 * @return count of the cells
+	 */
+	private int generate(QubicBoard board, int ply, int tableMove) {
+		long own = own(board);
+		long other = other(board);
+		long empty = ~(own | other);
+		byte[] plyMoves = moves[ply];
+		int[] plyScores = scores[ply];
+		int count = 0;
+		while (empty != 0) {
+			int cell = QubicBoard.lowestBit(empty);
+			empty &= empty - 1;
+			int score = cell == tableMove ? Integer.MAX_VALUE : gain(own, other, cell);
+
+			// Insertion into the sorted list
+			int i = count++;
+			while (i > 0 && plyScores[i - 1] < score) {
+				plyMoves[i] = plyMoves[i - 1];
+				plyScores[i] = plyScores[i - 1];
+				i--;
+			}
+			plyMoves[i] = (byte) cell;
+			plyScores[i] = score;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns change of the position rating for the side to move, when it
+	 * moves to the empty cell: own open lines through the cell grow, and the
+	 * opponent open lines through the cell are closed
+	 */
+	static private int gain(long own, long other, int cell) {
+		int score = 0;
+		byte[] lines = QubicBoard.getCellLines(cell);
+		for (int i = 0; i < lines.length; i++) {
+			long line = QubicBoard.getLine(lines[i]);
+			long otherLine = other & line;
+			if (otherLine == 0) {
+				int n = QubicBoard.bitCount(own & line);
+				score += LINE_SCORES[n + 1] - LINE_SCORES[n];
+			} else if ((own & line) == 0) {
+				score += LINE_SCORES[QubicBoard.bitCount(otherLine)];
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Rates the position by the open lines
+	 *
+	 * @return score for the side to move
+	 */
+	static private int evaluate(long own, long other) {
+		int score = 0;
+		for (int l = 0; l < QubicBoard.LINES_COUNT; l++) {
+			long line = QubicBoard.getLine(l);
+			long ownLine = own & line;
+			long otherLine = other & line;
+			if (otherLine == 0) {
+				score += LINE_SCORES[QubicBoard.bitCount(ownLine)];
+			} else if (ownLine == 0) {
+				score -= LINE_SCORES[QubicBoard.bitCount(otherLine)];
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Win scores are stored relative to the node, so they are valid at any
+	 * ply
+	 */
+	static private int toTable(int score, int ply) {
+		if (score >= WIN - QubicBoard.CELLS * 2) {
+			return score + ply;
+		}
+		if (score <= -WIN + QubicBoard.CELLS * 2) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	static private int fromTable(int score, int ply) {
+		if (score >= WIN - QubicBoard.CELLS * 2) {
+			return score - ply;
+		}
+		if (score <= -WIN + QubicBoard.CELLS * 2) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	private int slot(long x, long o) {
+		long hash = x * 0x9E3779B97F4A7C15L ^ o * 0xC2B2AE3D27D4EB4FL;
+		return (int) ((hash ^ (hash >>> 29)) >>> tableShift);
+	}
+
+	static private int opposite(int type) {
+		return type == Evaluator.FIELD_X ? Evaluator.FIELD_O : Evaluator.FIELD_X;
+	}
+
+	static private long own(QubicBoard board) {
+		return board.getSideToMove() == Evaluator.FIELD_X ? board.getXMask() : board.getOMask();
+	}
+
+	static private long other(QubicBoard board) {
+		return board.getSideToMove() == Evaluator.FIELD_X ? board.getOMask() : board.getXMask();
+	}
+
+	/**
+	 * @return alpha-beta nodes of the last move
+	 */
+	public int getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return last completed depth of the last move
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return true, if the last move search was stopped by the deadline
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+}
@@ -0,0 +1,266 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Game state of the Qubic: 4x4x4 board, four in a row in any of the 76 lines
+ * (rows, columns and diagonals of the layers, verticals through the layers
+ * and the diagonals between the layers) wins.
+ *
+ * 64 cells fit exactly into the long, so the each side is a single long mask
+ * (bit = layer * 16 + row * 4 + column). Lines are precomputed long masks, so
+ * the win of the move is checked by the few mask tests of the lines through
+ * the cell, and the line state is a bit count of the masked position.
+ */
+public class QubicBoard {
+
+	/**
+	 * Count of the cells
+	 */
+	static public final int CELLS = 64;
+
+	/**
+	 * Count of the winning lines
+	 */
+	static public final int LINES_COUNT = 76;
+
+	/**
+	 * Mask of the all cells
+	 */
+	static public final long FULL = -1L;
+
+	/**
+	 * Winning lines masks
+	 */
+	static private final long[] LINES = new long[LINES_COUNT];
+
+	/**
+	 * Indexes of the lines through the each cell
+	 */
+	static private final byte[][] CELL_LINES = new byte[CELLS][];
+
+	static {
+		// Each line is a start cell and one of the 13 directions, where the
+		// first non-zero step is positive
+		int count = 0;
+		int[] cellCounts = new int[CELLS];
+		for (int dz = -1; dz <= 1; dz++) {
+			for (int dy = -1; dy <= 1; dy++) {
+				for (int dx = -1; dx <= 1; dx++) {
+					if (dz < 0 || (dz == 0 && (dy < 0 || (dy == 0 && dx <= 0)))) {
+						continue;
+					}
+					for (int cell = 0; cell < CELLS; cell++) {
+						int x = cell & 3;
+						int y = (cell >> 2) & 3;
+						int z = cell >> 4;
+						if (!inside(x + 3 * dx) || !inside(y + 3 * dy) || !inside(z + 3 * dz)) {
+							continue;
+						}
+						long line = 0;
+						for (int i = 0; i < 4; i++) {
+							int c = (z + i * dz) * 16 + (y + i * dy) * 4 + x + i * dx;
+							line |= 1L << c;
+							cellCounts[c]++;
+						}
+						LINES[count++] = line;
+					}
+				}
+			}
+		}
+
+		for (int cell = 0; cell < CELLS; cell++) {
+			CELL_LINES[cell] = new byte[cellCounts[cell]];
+			int n = 0;
+			for (int l = 0; l < LINES_COUNT; l++) {
+				if ((LINES[l] & (1L << cell)) != 0) {
+					CELL_LINES[cell][n++] = (byte) l;
+				}
+			}
+		}
+	}
+
+	static private boolean inside(int coordinate) {
+		return coordinate >= 0 && coordinate < 4;
+	}
+
+	/**
+	 * Occupancy masks
+	 */
+	private long xMask;
+	private long oMask;
+
+	/**
+	 * Threats: empty cells, where the side makes four. Kept incrementally:
+	 * new threats of the side to move may appear only in the lines through
+	 * its move, and the move blocks only the opponent threat in its cell
+	 */
+	private long xThreats;
+	private long oThreats;
+
+	/**
+	 * Moves and threats before the moves, for the undo
+	 */
+	private byte[] moves = new byte[CELLS];
+	private long[] xThreatsStack = new long[CELLS];
+	private long[] oThreatsStack = new long[CELLS];
+	private int moveCount;
+
+	/**
+	 * Current game status
+	 */
+	private int status;
+
+	/**
+	 * Constructor
+	 */
+	public QubicBoard() {
+		reset();
+	}
+
+	/**
+	 * Clears the board
+	 */
+	public void reset() {
+		xMask = 0;
+		oMask = 0;
+		xThreats = 0;
+		oThreats = 0;
+		moveCount = 0;
+		status = Bitboard.STATUS_NOT_COMPLETED;
+	}
+
+	/**
+	 * Makes move of the side to move. Cell must be empty
+	 *
+	 * @param cell
+	 *            Cell (0 to 63)
+	 */
+	public void makeMove(int cell) {
+		long bit = 1L << cell;
+		boolean x = (moveCount & 1) == 0;
+		long own = (x ? xMask : oMask) | bit;
+		long other = x ? oMask : xMask;
+		moves[moveCount] = (byte) cell;
+		xThreatsStack[moveCount] = xThreats;
+		oThreatsStack[moveCount] = oThreats;
+		moveCount++;
+
+		long threats = 0;
+		byte[] lines = CELL_LINES[cell];
+		for (int i = 0; i < lines.length; i++) {
+			long line = LINES[lines[i]];
+			long ownLine = own & line;
+			if (ownLine == line) {
+				status = x ? Bitboard.STATUS_X_WINS : Bitboard.STATUS_O_WINS;
+			} else if ((other & line) == 0 && bitCount(ownLine) == 3) {
+				threats |= line & ~own;
+			}
+		}
+		if (x) {
+			xMask = own;
+			xThreats = (xThreats & ~bit) | threats;
+			oThreats &= ~bit;
+		} else {
+			oMask = own;
+			oThreats = (oThreats & ~bit) | threats;
+			xThreats &= ~bit;
+		}
+		if (status == Bitboard.STATUS_NOT_COMPLETED && moveCount == CELLS) {
+			status = Bitboard.STATUS_DRAW;
+		}
+	}
+
+	/**
+	 * Takes back the last move
+	 */
+	public void undoMove() {
+		long mask = ~(1L << moves[--moveCount]);
+		xMask &= mask;
+		oMask &= mask;
+		xThreats = xThreatsStack[moveCount];
+		oThreats = oThreatsStack[moveCount];
+		status = Bitboard.STATUS_NOT_COMPLETED;
+	}
+
+	/**
+	 * Returns empty cells, where the side makes four in a row
+	 *
+	 * @param type
+	 *            Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @return mask of the cells
+	 */
+	public long getThreats(int type) {
+		return type == Evaluator.FIELD_X ? xThreats : oThreats;
+	}
+
+	/**
+	 * Count of the set bits (CLDC has no Long.bitCount)
+	 */
+	static public int bitCount(long mask) {
+		mask = mask - ((mask >>> 1) & 0x5555555555555555L);
+		mask = (mask & 0x3333333333333333L) + ((mask >>> 2) & 0x3333333333333333L);
+		mask = (mask + (mask >>> 4)) & 0x0F0F0F0F0F0F0F0FL;
+		return (int) ((mask * 0x0101010101010101L) >>> 56);
+	}
+
+	/**
+	 * Index of the lowest set bit. Mask must not be 0
+	 */
+	static public int lowestBit(long mask) {
+		return bitCount((mask & -mask) - 1);
+	}
+
+	/**
+	 * @return mask of the winning line
+	 */
+	static public long getLine(int line) {
+		return LINES[line];
+	}
+
+	/**
+	 * @return indexes of the lines through the cell. Array must not be changed
+	 */
+	static public byte[] getCellLines(int cell) {
+		return CELL_LINES[cell];
+	}
+
+	/**
+	 * @return Evaluator.FIELD_EMPTY, FIELD_X or FIELD_O
+	 */
+	public int getCell(int cell) {
+		long bit = 1L << cell;
+		if ((xMask & bit) != 0) {
+			return Evaluator.FIELD_X;
+		}
+		return (oMask & bit) != 0 ? Evaluator.FIELD_O : Evaluator.FIELD_EMPTY;
+	}
+
+	public boolean isEmpty(int cell) {
+		return ((xMask | oMask) & (1L << cell)) == 0;
+	}
+
+	public long getXMask() {
+		return xMask;
+	}
+
+	public long getOMask() {
+		return oMask;
+	}
+
+	/**
+	 * @return one of the Bitboard.STATUS_* values
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	/**
+	 * @return type of the side to move
+	 */
+	public int getSideToMove() {
+		return (moveCount & 1) == 0 ? Evaluator.FIELD_X : Evaluator.FIELD_O;
+	}
+}
@@ -0,0 +1,125 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Small, seedable and splittable random generator (SplitMix64). Same seed
+ * always gives the same sequence, so the game can be replayed exactly.
+ * Generating numbers does not allocate memory.
+ */
+public class SeededRandom {
+
+	/**
+	 * Increment of the generator state (golden ratio)
+	 */
+	static private final long GAMMA = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Generator state
+	 */
+	private long state;
+
+	/**
+	 * Seed, that was used to initialize the generator
+	 */
+	private long seed;
+
+	/**
+	 * Constructor
+	 *
+	 * @param seed
+	 *            Initial seed
+	 */
+	public SeededRandom(long seed) {
+		setSeed(seed);
+	}
+
+	/**
+	 * Reinitializes generator with the new seed
+	 *
+	 * @param seed
+	 *            New seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.state = seed;
+	}
+
+	/**
+	 * @return seed, that was used to initialize the generator
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return next pseudorandom long
+	 */
+	public long nextLong() {
+		state += GAMMA;
+		return mix(state);
+	}
+
+	/**
+	 * Returns uniformly distributed int from 0 (inclusive) to bound
+	 * (exclusive)
+	 *
+	 * @param bound
+	 *            Upper bound. Must be positive
+	 * @return next pseudorandom int
+	 */
+	public int nextInt(int bound) {
+		int r = (int) (nextLong() >>> 33);
+		int m = bound - 1;
+		if ((bound & m) == 0) {
+			return (int) ((bound * (long) r) >> 31);
+		}
+		// Rejecting values from the last incomplete interval
+		for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33)) {
+		}
+		return r;
+	}
+
+	/**
+	 * Creates new generator, that produces independent sequence. Sequence of
+	 * the new generator depends only on the state of this one, so splitting is
+	 * reproducible too
+	 *
+	 * @return new generator
+	 */
+	public SeededRandom split() {
+		return new SeededRandom(nextLong());
+	}
+
+	/**
+	 * Returns seed for the next independent sequence without creating new
+	 * generator
+	 *
+	 * @return seed, that can be passed to setSeed()
+	 */
+	public long nextSeed() {
+		return nextLong();
+	}
+
+	/**
+	 * Derives seed from the base seed and the position. Same base seed and
+	 * position always give the same seed, so the result does not depend on
+	 * the order of the computations
+	 *
+	 * @param seed
+	 *            Base seed (e.g. seed of the game)
+	 * @param position
+	 *            Position (see Position)
+	 * @return seed, that can be passed to setSeed()
+	 */
+	static public long seedOf(long seed, int position) {
+		return mix(seed + mix((position + 1L) * GAMMA));
+	}
+
+	/**
+	 * SplitMix64 finalizer
+	 */
+	static private long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,134 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Symmetries of the 3x3 board (4 rotations and 4 reflections).
+ *
+ * Position is canonicalized by applying all 8 transforms and selecting the
+ * smallest resulting key, where key is (X mask << 9 | O mask). Result of the
+ * canonicalization is packed into the single int: bits 0-17 are the canonical
+ * key and bits 18-20 are the index of the transform, that maps the original
+ * position to the canonical one.
+ */
+public final class Symmetry {
+
+	/**
+	 * Count of the board symmetries
+	 */
+	static public final int TRANSFORMS = 8;
+
+	/**
+	 * Transform, that does not change the board
+	 */
+	static public final int IDENTITY = 0;
+
+	/**
+	 * Mask of the key part in the canonicalization result
+	 */
+	static public final int KEY_MASK = (1 << 18) - 1;
+
+	/**
+	 * Target field (bit index) of the each field for the each transform.
+	 * Order: identity, rotations by 90, 180 and 270 degrees clockwise,
+	 * horizontal, vertical, main diagonal and anti diagonal reflections
+	 */
+	static public final int[][] PERMUTATIONS = Tables.PERMUTATIONS;
+
+	/**
+	 * Inverse transform for the each transform
+	 */
+	static public final int[] INVERSE = Tables.INVERSE;
+
+	/**
+	 * Transformed mask for the each transform and each 9-bit mask (generated
+	 * at build time, see Tables)
+	 */
+	static private final short[][] MAPS = new short[TRANSFORMS][];
+
+	static {
+		for (int t = 0; t < TRANSFORMS; t++) {
+			MAPS[t] = Tables.shorts(Tables.SYMMETRY_MAPS, t * (Bitboard.FULL + 1), Bitboard.FULL + 1);
+		}
+	}
+
+	private Symmetry() {
+	}
+
+	/**
+	 * Applies transform to the mask
+	 *
+	 * @param mask
+	 *            9-bit mask
+	 * @param transform
+	 *            Transform index
+	 * @return transformed mask
+	 */
+	static public int transform(int mask, int transform) {
+		return MAPS[transform][mask];
+	}
+
+	/**
+	 * Canonicalizes position
+	 *
+	 * @param x
+	 *            X occupancy mask
+	 * @param o
+	 *            O occupancy mask
+	 * @return canonical key and transform, packed into the single int
+	 */
+	static public int canonicalize(int x, int o) {
+		int best = (x << 9) | o;
+		int bestTransform = IDENTITY;
+		for (int t = 1; t < TRANSFORMS; t++) {
+			int key = (MAPS[t][x] << 9) | MAPS[t][o];
+			if (key < best) {
+				best = key;
+				bestTransform = t;
+			}
+		}
+		return best | (bestTransform << 18);
+	}
+
+	/**
+	 * @param canonical
+	 *            Canonicalization result
+	 * @return canonical key
+	 */
+	static public int key(int canonical) {
+		return canonical & KEY_MASK;
+	}
+
+	/**
+	 * @param canonical
+	 *            Canonicalization result
+	 * @return transform from the original position to the canonical one
+	 */
+	static public int transformOf(int canonical) {
+		return canonical >>> 18;
+	}
+
+	/**
+	 * Maps mask from the canonical position back to the original one
+	 *
+	 * @param mask
+	 *            Mask in the canonical position
+	 * @param canonical
+	 *            Canonicalization result of the original position
+	 * @return mask in the original position
+	 */
+	static public int toOriginal(int mask, int canonical) {
+		return MAPS[INVERSE[canonical >>> 18]][mask];
+	}
+
+	/**
+	 * Maps mask from the original position to the canonical one
+	 *
+	 * @param mask
+	 *            Mask in the original position
+	 * @param canonical
+	 *            Canonicalization result of the original position
+	 * @return mask in the canonical position
+	 */
+	static public int toCanonical(int mask, int canonical) {
+		return MAPS[canonical >>> 18][mask];
+	}
+}
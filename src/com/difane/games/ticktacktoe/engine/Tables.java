@@ -0,0 +1,948 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Constant lookup tables of the engine and the display.
+ *
+ * GENERATED by the headless TableGenerator (ant tables), do not edit. All
+ * the tables are verified against the reference solver during the
+ * generation.
+ *
+ * Big tables are the string constants with 16 bits per char. They are kept
+ * in the class constant pool, and are unpacked by the single copy loop of
+ * bytes(), shorts() or ints(), so no table is computed on the pen.
+ */
+public final class Tables {
+
+	/**
+	 * Winning lines: 3 rows, 3 columns and 2 diagonals
+	 */
+	static public final int[] WIN_MASKS = { 0x007, 0x038, 0x1C0, 0x049, 0x092, 0x124, 0x111, 0x054 };
+
+	/**
+	 * Fields of the each winning line (lines and fields are counted from 1)
+	 */
+	static public final int[][] LINE_FIELDS = {
+			{ 0, 0, 0, 0 },
+			{ 0, 1, 2, 3 },
+			{ 0, 4, 5, 6 },
+			{ 0, 7, 8, 9 },
+			{ 0, 1, 4, 7 },
+			{ 0, 2, 5, 8 },
+			{ 0, 3, 6, 9 },
+			{ 0, 1, 5, 9 },
+			{ 0, 3, 5, 7 } };
+
+	/**
+	 * Lines through the each field: row, column, main and anti diagonal (0 -
+	 * no line)
+	 */
+	static public final int[][] FIELD_LINES = {
+			{ 0, 0, 0, 0, 0 },
+			{ 0, 1, 4, 7, 0 },
+			{ 0, 1, 5, 0, 0 },
+			{ 0, 1, 6, 0, 8 },
+			{ 0, 2, 4, 0, 0 },
+			{ 0, 2, 5, 7, 8 },
+			{ 0, 2, 6, 0, 0 },
+			{ 0, 3, 4, 0, 8 },
+			{ 0, 3, 5, 0, 0 },
+			{ 0, 3, 6, 7, 0 } };
+
+	/**
+	 * Fields, that share a line with the each field (including the field
+	 * itself)
+	 */
+	static public final int[] AFFECTED = { 0x000, 0x15F, 0x097, 0x177, 0x079, 0x1FF, 0x13C, 0x1DD, 0x1D2, 0x1F5 };
+
+	/**
+	 * Target field (bit index) of the each field for the each symmetry
+	 */
+	static public final int[][] PERMUTATIONS = {
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8 },
+			{ 2, 5, 8, 1, 4, 7, 0, 3, 6 },
+			{ 8, 7, 6, 5, 4, 3, 2, 1, 0 },
+			{ 6, 3, 0, 7, 4, 1, 8, 5, 2 },
+			{ 2, 1, 0, 5, 4, 3, 8, 7, 6 },
+			{ 6, 7, 8, 3, 4, 5, 0, 1, 2 },
+			{ 0, 3, 6, 1, 4, 7, 2, 5, 8 },
+			{ 8, 5, 2, 7, 4, 1, 6, 3, 0 } };
+
+	/**
+	 * Inverse symmetry for the each symmetry
+	 */
+	static public final int[] INVERSE = { 0, 3, 2, 1, 4, 5, 6, 7 };
+
+	/**
+	 * Screen coordinates of the marks of the each field
+	 */
+	static public final int[][] FIELD_COORDS = {
+			{ 0, 0 },
+			{ 1, 2 },
+			{ 7, 2 },
+			{ 13, 2 },
+			{ 1, 8 },
+			{ 7, 8 },
+			{ 13, 8 },
+			{ 1, 14 },
+			{ 7, 14 },
+			{ 13, 14 } };
+
+	/**
+	 * Screen coordinates of the marks of the each Ultimate field (fields are
+	 * numbered by the sub-boards: (board - 1) * 9 + cell)
+	 */
+	static public final int[][] ULTIMATE_FIELD_COORDS = {
+			{ 0, 0 },
+			{ 0, 0 },
+			{ 2, 0 },
+			{ 4, 0 },
+			{ 0, 2 },
+			{ 2, 2 },
+			{ 4, 2 },
+			{ 0, 4 },
+			{ 2, 4 },
+			{ 4, 4 },
+			{ 6, 0 },
+			{ 8, 0 },
+			{ 10, 0 },
+			{ 6, 2 },
+			{ 8, 2 },
+			{ 10, 2 },
+			{ 6, 4 },
+			{ 8, 4 },
+			{ 10, 4 },
+			{ 12, 0 },
+			{ 14, 0 },
+			{ 16, 0 },
+			{ 12, 2 },
+			{ 14, 2 },
+			{ 16, 2 },
+			{ 12, 4 },
+			{ 14, 4 },
+			{ 16, 4 },
+			{ 0, 6 },
+			{ 2, 6 },
+			{ 4, 6 },
+			{ 0, 8 },
+			{ 2, 8 },
+			{ 4, 8 },
+			{ 0, 10 },
+			{ 2, 10 },
+			{ 4, 10 },
+			{ 6, 6 },
+			{ 8, 6 },
+			{ 10, 6 },
+			{ 6, 8 },
+			{ 8, 8 },
+			{ 10, 8 },
+			{ 6, 10 },
+			{ 8, 10 },
+			{ 10, 10 },
+			{ 12, 6 },
+			{ 14, 6 },
+			{ 16, 6 },
+			{ 12, 8 },
+			{ 14, 8 },
+			{ 16, 8 },
+			{ 12, 10 },
+			{ 14, 10 },
+			{ 16, 10 },
+			{ 0, 12 },
+			{ 2, 12 },
+			{ 4, 12 },
+			{ 0, 14 },
+			{ 2, 14 },
+			{ 4, 14 },
+			{ 0, 16 },
+			{ 2, 16 },
+			{ 4, 16 },
+			{ 6, 12 },
+			{ 8, 12 },
+			{ 10, 12 },
+			{ 6, 14 },
+			{ 8, 14 },
+			{ 10, 14 },
+			{ 6, 16 },
+			{ 8, 16 },
+			{ 10, 16 },
+			{ 12, 12 },
+			{ 14, 12 },
+			{ 16, 12 },
+			{ 12, 14 },
+			{ 14, 14 },
+			{ 16, 14 },
+			{ 12, 16 },
+			{ 14, 16 },
+			{ 16, 16 } };
+
+	/**
+	 * Binomial coefficients C(n, k) for n <= 9
+	 */
+	static public final int[][] BINOMIAL = {
+			{ 1, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			{ 1, 1, 0, 0, 0, 0, 0, 0, 0, 0 },
+			{ 1, 2, 1, 0, 0, 0, 0, 0, 0, 0 },
+			{ 1, 3, 3, 1, 0, 0, 0, 0, 0, 0 },
+			{ 1, 4, 6, 4, 1, 0, 0, 0, 0, 0 },
+			{ 1, 5, 10, 10, 5, 1, 0, 0, 0, 0 },
+			{ 1, 6, 15, 20, 15, 6, 1, 0, 0, 0 },
+			{ 1, 7, 21, 35, 35, 21, 7, 1, 0, 0 },
+			{ 1, 8, 28, 56, 70, 56, 28, 8, 1, 0 },
+			{ 1, 9, 36, 84, 126, 126, 84, 36, 9, 1 } };
+
+	/**
+	 * Moves table index offset of the each group. Indexed by [count of X]
+	 * [count of O]
+	 */
+	static public final int[][] MOVE_OFFSET = {
+			{ 0, 0, 0, 0, 0 },
+			{ 1, 10, 0, 0, 0 },
+			{ 0, 82, 334, 0, 0 },
+			{ 0, 0, 1090, 2350, 0 },
+			{ 0, 0, 0, 4030, 5290 },
+			{ 0, 0, 0, 0, 5920 } };
+
+	/**
+	 * 1 if the mask contains a winning line (bytes)
+	 */
+	static public final String WINS = "\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1"
+			+ "\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\1\1\1\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\1\0\1\0\1\0\1\0\0\0\0\1\1\1\1\0\1\0\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\1\0\1\0\1\0\1\0\0\0\0\1\1\1\1\1\1\1\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\1\1\0\0\1\1\0\0\1\1\0\0\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\1\1\0\0\1\1\1\1\1\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\1\0\1\0\1\0\1\0\0\1\1\1\1\1\1\0\1\1\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\1\0\1\0\1\0\1\0\0\1\1\1\1\1\1\1\1\1\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\1\0\1\0\1\0\1\0\1\0\1\0\1\0\1"
+			+ "\0\0\0\0\1\1\1\1\0\0\0\0\1\1\1\1\0\1\0\1\1\1\1\1\1\1\1\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\1\0\1\0\1\0\1\0\1\0\1\1\1\1\1\0\1\0\1\1\1\1\1"
+			+ "\0\0\0\0\1\1\1\1\0\1\0\1\1\1\1\1\0\1\0\1\1\1\1\1\1\1\1\1\1\1\1\1"
+			+ "\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\1\1\1\0\1\1\1\0\1\1\1\0\1\1\1"
+			+ "\0\0\0\0\1\1\1\1\0\0\0\0\1\1\1\1\0\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1"
+			+ "\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1"
+			+ "\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1\1";
+
+	/**
+	 * Winning lines, that have no common fields with the mask (bytes)
+	 */
+	static public final String OPEN_LINES = "\377\266\356\246^\26N\6\365\264\344\244T\24D\4-$,$\14\4\14\4%$$$"
+			+ "\4\4\4\4\335\224\314\204\\\24L\4\325\224\304\204T\24D\4\15\4\14\4"
+			+ "\14\4\14\4\5\4\4\4\4\4\4\4s2b\"R\22B\2q0` P\20@\0!   \0\0\0\0!  "
+			+ " \0\0\0\0Q\20@\0P\20@\0Q\20@\0P\20@\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0"
+			+ "\0\0\353\242\352\242J\2J\2\341\240\340\240@\0@\0) ( \10\0\10\0! "
+			+ "  \0\0\0\0\311\200\310\200H\0H\0\301\200\300\200@\0@\0\11\0\10\0"
+			+ "\10\0\10\0\1\0\0\0\0\0\0\0c\"b\"B\2B\2a ` @\0@\0!   \0\0\0\0!   "
+			+ "\0\0\0\0A\0@\0@\0@\0A\0@\0@\0@\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0"
+			+ "\233\222\212\202\32\22\12\2\221\220\200\200\20\20\0\0\11\0\10\0\10"
+			+ "\0\10\0\1\0\0\0\0\0\0\0\231\220\210\200\30\20\10\0\221\220\200\200"
+			+ "\20\20\0\0\11\0\10\0\10\0\10\0\1\0\0\0\0\0\0\0\23\22\2\2\22\22\2"
+			+ "\2\21\20\0\0\20\20\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\21\20\0\0"
+			+ "\20\20\0\0\21\20\0\0\20\20\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\213"
+			+ "\202\212\202\12\2\12\2\201\200\200\200\0\0\0\0\11\0\10\0\10\0\10"
+			+ "\0\1\0\0\0\0\0\0\0\211\200\210\200\10\0\10\0\201\200\200\200\0\0"
+			+ "\0\0\11\0\10\0\10\0\10\0\1\0\0\0\0\0\0\0\3\2\2\2\2\2\2\2\1\0\0\0"
+			+ "\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\0"
+			+ "\0\0\0\0\1\0\0\0\0\0\0\0\1\0\0\0\0\0\0\0";
+
+	/**
+	 * Fields, that complete a winning line, when added to the mask (shorts)
+	 */
+	static public final String COMPLETIONS = "\0\0\0\4\0\2\1\u01F8\0@\0D\0B\1\u01F0\0\u0100\200\u0184@\u0142\301"
+			+ "\u01E8 \u0160\240\u01E4`\u0162\341\u01E0\0\0\0\4\u0100\u0102\u0101"
+			+ "\u01D8\20P\20T\u0110\u0152\u0111\u01D0\10\u0108\210\u018C\u0148\u014A"
+			+ "\u01C9\u01C8\u01C7\u01C6\u01C5\u01C4\u01C3\u01C2\u01C1\u01C0\0\10"
+			+ "\0\14\20\32\21\u01B8\1\u01B6\1\u01B4\21\u01B2\21\u01B0\4\u010C\204"
+			+ "\u018C\u01AB\u01AA\u01A9\u01A8%\u01A6\245\u01A4\u01A3\u01A2\u01A1"
+			+ "\u01A0\0\10\0\14\u0110\u011A\u0111\u0198\21\u0196\21\u0194\u0111"
+			+ "\u0192\u0111\u0190\14\u010C\214\u018C\u018B\u018A\u0189\u0188\u0187"
+			+ "\u0186\u0185\u0184\u0183\u0182\u0181\u0180\0\0\20\24\0\2\21\u0178"
+			+ "\0@\20T\0B\21\u0170\2\u0102\u016D\u016CB\u0142\u0169\u0168\"\u0162"
+			+ "\u0165\u0164b\u0162\u0161\u0160\0\0\20\24\u0100\u0102\u0111\u0158"
+			+ "\20P\20T\u0110\u0152\u0111\u0150\12\u010A\u014D\u014C\u014A\u014A"
+			+ "\u0149\u0148\u0147\u0146\u0145\u0144\u0143\u0142\u0141\u0140\u0100"
+			+ "\u0108\u0110\u011C\u0110\u011A\u0111\u0138\u0101\u0136\u0111\u0134"
+			+ "\u0111\u0132\u0111\u0130\u0106\u010E\u012D\u012C\u012B\u012A\u0129"
+			+ "\u0128\u0127\u0126\u0125\u0124\u0123\u0122\u0121\u0120\u0100\u0108"
+			+ "\u0110\u011C\u0110\u011A\u0111\u0118\u0111\u0116\u0111\u0114\u0111"
+			+ "\u0112\u0111\u0110\u010E\u010E\u010D\u010C\u010B\u010A\u0109\u0108"
+			+ "\u0107\u0106\u0105\u0104\u0103\u0102\u0101\u0100\0\20\0\24 2!\370"
+			+ "\0P\0T r!\360\1\356\201\354a\352\341\350!\346\241\344a\342\341\340"
+			+ "\4\24\4\24\333\332\331\330\24T\24T\323\322\321\320\15\316\215\314"
+			+ "\313\312\311\310\307\306\305\304\303\302\301\300\200\230\200\234"
+			+ "\260\272\261\270\201\266\201\264\261\262\261\260\205\256\205\254"
+			+ "\253\252\251\250\245\246\245\244\243\242\241\240\204\234\204\234"
+			+ "\233\232\231\230\225\226\225\224\223\222\221\220\215\216\215\214"
+			+ "\213\212\211\210\207\206\205\204\203\202\201\200@PPT`rqx@PPT`rqp"
+			+ "Cnmlcjihcfedcba`DTTT[ZYXTTTTSRQPONMLKJIHGFEDCBA@?>=<;:9876543210"
+			+ "/.-,+*)('&%$#\"! \37\36\35\34\33\32\31\30\27\26\25\24\23\22\21\20"
+			+ "\17\16\15\14\13\12\11\10\7\6\5\4\3\2\1\0";
+
+	/**
+	 * Count of the bits in the mask (bytes)
+	 */
+	static public final String BIT_COUNT = "\0\1\1\2\1\2\2\3\1\2\2\3\2\3\3\4\1\2\2\3\2\3\3\4\2\3\3\4\3\4\4\5"
+			+ "\1\2\2\3\2\3\3\4\2\3\3\4\3\4\4\5\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6"
+			+ "\1\2\2\3\2\3\3\4\2\3\3\4\3\4\4\5\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6"
+			+ "\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7"
+			+ "\1\2\2\3\2\3\3\4\2\3\3\4\3\4\4\5\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6"
+			+ "\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7"
+			+ "\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7"
+			+ "\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7\4\5\5\6\5\6\6\7\5\6\6\7\6\7\7\10"
+			+ "\1\2\2\3\2\3\3\4\2\3\3\4\3\4\4\5\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6"
+			+ "\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7"
+			+ "\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7"
+			+ "\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7\4\5\5\6\5\6\6\7\5\6\6\7\6\7\7\10"
+			+ "\2\3\3\4\3\4\4\5\3\4\4\5\4\5\5\6\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7"
+			+ "\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7\4\5\5\6\5\6\6\7\5\6\6\7\6\7\7\10"
+			+ "\3\4\4\5\4\5\5\6\4\5\5\6\5\6\6\7\4\5\5\6\5\6\6\7\5\6\6\7\6\7\7\10"
+			+ "\4\5\5\6\5\6\6\7\5\6\6\7\6\7\7\10\5\6\6\7\6\7\7\10\6\7\7\10\7\10"
+			+ "\10\11";
+
+	/**
+	 * Rank of the mask among all masks with the same bits count (shorts)
+	 */
+	static public final String RANK = "\0\0\1\0\2\1\2\0\3\3\4\1\5\2\3\0\4\6\7\4\10\5\6\1\11\7\10\2\11\3"
+			+ "\4\0\5\12\13\12\14\13\14\5\15\15\16\6\17\7\10\1\16\20\21\11\22\12"
+			+ "\13\2\23\14\15\3\16\4\5\0\6\17\20\24\21\25\26\17\22\27\30\20\31\21"
+			+ "\22\6\23\32\33\23\34\24\25\7\35\26\27\10\30\11\12\1\24\36\37\31 "
+			+ "\32\33\13!\34\35\14\36\15\16\2\"\37 \17!\20\21\3\"\22\23\4\24\5\6"
+			+ "\0\7\25\26#\27$%#\30&'$(%&\25\31)*'+()\26,*+\27,\30\31\7\32-.-/."
+			+ "/\032001\0332\34\35\010134\0365\37 \0116!\"\12#\13\14\1\03323748"
+			+ "9$5:;%<&'\0156=>(?)*\16@+,\17-\20\21\0027AB.C/0\22D12\0233\24\25"
+			+ "\3E45\0266\27\30\0047\31\32\5\33\6\7\0\10\34\358\369:F\37;<G=HI8"
+			+ " >?J@KL9AMN:O;<\34!BCPDQR=EST>U?@\35FVWAXBC\36YDE\37F !\10\"GHZI"
+			+ "[\\GJ]^H_IJ\"K`aKbLM#cNO$P%&\11LdeQfRS'gTU(V)*\12hWX+Y,-\13Z./\014"
+			+ "0\15\16\1#MNiOjk[Plm\\n]^1Qop_q`a2rbc3d45\17Rsteufg6vhi7j89\20wk"
+			+ "l:m;<\21n=>\22?\23\24\2Sxyozpq@{rsAtBC\25|uvDwEF\26xGH\27I\30\31"
+			+ "\3}yzJ{KL\32|MN\33O\34\35\4}PQ\36R\37 \5S!\"\6#\7\10\0";
+
+	/**
+	 * Transformed mask for the each symmetry and mask, 512 shorts per
+	 * symmetry
+	 */
+	static public final String SYMMETRY_MAPS = "\0\1\2\3\4\5\6\7\10\11\12\13\14\15\16\17\20\21\22\23\24\25\26\27"
+			+ "\30\31\32\33\34\35\36\37 !\"#$%&'()*+,-./0123456789:;<=>?@ABCDEF"
+			+ "GHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~\177\200"
+			+ "\201\202\203\204\205\206\207\210\211\212\213\214\215\216\217\220"
+			+ "\221\222\223\224\225\226\227\230\231\232\233\234\235\236\237\240"
+			+ "\241\242\243\244\245\246\247\250\251\252\253\254\255\256\257\260"
+			+ "\261\262\263\264\265\266\267\270\271\272\273\274\275\276\277\300"
+			+ "\301\302\303\304\305\306\307\310\311\312\313\314\315\316\317\320"
+			+ "\321\322\323\324\325\326\327\330\331\332\333\334\335\336\337\340"
+			+ "\341\342\343\344\345\346\347\350\351\352\353\354\355\356\357\360"
+			+ "\361\362\363\364\365\366\367\370\371\372\373\374\375\376\377\u0100"
+			+ "\u0101\u0102\u0103\u0104\u0105\u0106\u0107\u0108\u0109\u010A\u010B"
+			+ "\u010C\u010D\u010E\u010F\u0110\u0111\u0112\u0113\u0114\u0115\u0116"
+			+ "\u0117\u0118\u0119\u011A\u011B\u011C\u011D\u011E\u011F\u0120\u0121"
+			+ "\u0122\u0123\u0124\u0125\u0126\u0127\u0128\u0129\u012A\u012B\u012C"
+			+ "\u012D\u012E\u012F\u0130\u0131\u0132\u0133\u0134\u0135\u0136\u0137"
+			+ "\u0138\u0139\u013A\u013B\u013C\u013D\u013E\u013F\u0140\u0141\u0142"
+			+ "\u0143\u0144\u0145\u0146\u0147\u0148\u0149\u014A\u014B\u014C\u014D"
+			+ "\u014E\u014F\u0150\u0151\u0152\u0153\u0154\u0155\u0156\u0157\u0158"
+			+ "\u0159\u015A\u015B\u015C\u015D\u015E\u015F\u0160\u0161\u0162\u0163"
+			+ "\u0164\u0165\u0166\u0167\u0168\u0169\u016A\u016B\u016C\u016D\u016E"
+			+ "\u016F\u0170\u0171\u0172\u0173\u0174\u0175\u0176\u0177\u0178\u0179"
+			+ "\u017A\u017B\u017C\u017D\u017E\u017F\u0180\u0181\u0182\u0183\u0184"
+			+ "\u0185\u0186\u0187\u0188\u0189\u018A\u018B\u018C\u018D\u018E\u018F"
+			+ "\u0190\u0191\u0192\u0193\u0194\u0195\u0196\u0197\u0198\u0199\u019A"
+			+ "\u019B\u019C\u019D\u019E\u019F\u01A0\u01A1\u01A2\u01A3\u01A4\u01A5"
+			+ "\u01A6\u01A7\u01A8\u01A9\u01AA\u01AB\u01AC\u01AD\u01AE\u01AF\u01B0"
+			+ "\u01B1\u01B2\u01B3\u01B4\u01B5\u01B6\u01B7\u01B8\u01B9\u01BA\u01BB"
+			+ "\u01BC\u01BD\u01BE\u01BF\u01C0\u01C1\u01C2\u01C3\u01C4\u01C5\u01C6"
+			+ "\u01C7\u01C8\u01C9\u01CA\u01CB\u01CC\u01CD\u01CE\u01CF\u01D0\u01D1"
+			+ "\u01D2\u01D3\u01D4\u01D5\u01D6\u01D7\u01D8\u01D9\u01DA\u01DB\u01DC"
+			+ "\u01DD\u01DE\u01DF\u01E0\u01E1\u01E2\u01E3\u01E4\u01E5\u01E6\u01E7"
+			+ "\u01E8\u01E9\u01EA\u01EB\u01EC\u01ED\u01EE\u01EF\u01F0\u01F1\u01F2"
+			+ "\u01F3\u01F4\u01F5\u01F6\u01F7\u01F8\u01F9\u01FA\u01FB\u01FC\u01FD"
+			+ "\u01FE\u01FF\0\4 $\u0100\u0104\u0120\u0124\2\6\"&\u0102\u0106\u0122"
+			+ "\u0126\20\02404\u0110\u0114\u0130\u0134\22\02626\u0112\u0116\u0132"
+			+ "\u0136\200\204\240\244\u0180\u0184\u01A0\u01A4\202\206\242\246\u0182"
+			+ "\u0186\u01A2\u01A6\220\224\260\264\u0190\u0194\u01B0\u01B4\222\226"
+			+ "\262\266\u0192\u0196\u01B2\u01B6\1\5!%\u0101\u0105\u0121\u0125\3"
+			+ "\7#'\u0103\u0107\u0123\u0127\21\02515\u0111\u0115\u0131\u0135\23"
+			+ "\02737\u0113\u0117\u0133\u0137\201\205\241\245\u0181\u0185\u01A1"
+			+ "\u01A5\203\207\243\247\u0183\u0187\u01A3\u01A7\221\225\261\265\u0191"
+			+ "\u0195\u01B1\u01B5\223\227\263\267\u0193\u0197\u01B3\u01B7\10\14"
+			+ "(,\u0108\u010C\u0128\u012C\12\16*.\u010A\u010E\u012A\u012E\30\34"
+			+ "8<\u0118\u011C\u0138\u013C\32\36:>\u011A\u011E\u013A\u013E\210\214"
+			+ "\250\254\u0188\u018C\u01A8\u01AC\212\216\252\256\u018A\u018E\u01AA"
+			+ "\u01AE\230\234\270\274\u0198\u019C\u01B8\u01BC\232\236\272\276\u019A"
+			+ "\u019E\u01BA\u01BE\11\15)-\u0109\u010D\u0129\u012D\13\17+/\u010B"
+			+ "\u010F\u012B\u012F\31\359=\u0119\u011D\u0139\u013D\33\37;?\u011B"
+			+ "\u011F\u013B\u013F\211\215\251\255\u0189\u018D\u01A9\u01AD\213\217"
+			+ "\253\257\u018B\u018F\u01AB\u01AF\231\235\271\275\u0199\u019D\u01B9"
+			+ "\u01BD\233\237\273\277\u019B\u019F\u01BB\u01BF@D`d\u0140\u0144\u0160"
+			+ "\u0164BFbf\u0142\u0146\u0162\u0166PTpt\u0150\u0154\u0170\u0174RV"
+			+ "rv\u0152\u0156\u0172\u0176\300\304\340\344\u01C0\u01C4\u01E0\u01E4"
+			+ "\302\306\342\346\u01C2\u01C6\u01E2\u01E6\320\324\360\364\u01D0\u01D4"
+			+ "\u01F0\u01F4\322\326\362\366\u01D2\u01D6\u01F2\u01F6AEae\u0141\u0145"
+			+ "\u0161\u0165CGcg\u0143\u0147\u0163\u0167QUqu\u0151\u0155\u0171\u0175"
+			+ "SWsw\u0153\u0157\u0173\u0177\301\305\341\345\u01C1\u01C5\u01E1\u01E5"
+			+ "\303\307\343\347\u01C3\u01C7\u01E3\u01E7\321\325\361\365\u01D1\u01D5"
+			+ "\u01F1\u01F5\323\327\363\367\u01D3\u01D7\u01F3\u01F7HLhl\u0148\u014C"
+			+ "\u0168\u016CJNjn\u014A\u014E\u016A\u016EX\\x|\u0158\u015C\u0178\u017C"
+			+ "Z^z~\u015A\u015E\u017A\u017E\310\314\350\354\u01C8\u01CC\u01E8\u01EC"
+			+ "\312\316\352\356\u01CA\u01CE\u01EA\u01EE\330\334\370\374\u01D8\u01DC"
+			+ "\u01F8\u01FC\332\336\372\376\u01DA\u01DE\u01FA\u01FEIMim\u0149\u014D"
+			+ "\u0169\u016DKOko\u014B\u014F\u016B\u016FY]y}\u0159\u015D\u0179\u017D"
+			+ "[_{\177\u015B\u015F\u017B\u017F\311\315\351\355\u01C9\u01CD\u01E9"
+			+ "\u01ED\313\317\353\357\u01CB\u01CF\u01EB\u01EF\331\335\371\375\u01D9"
+			+ "\u01DD\u01F9\u01FD\333\337\373\377\u01DB\u01DF\u01FB\u01FF\0\u0100"
+			+ "\200\u0180@\u0140\300\u01C0 \u0120\240\u01A0`\u0160\340\u01E0\20"
+			+ "\u0110\220\u0190P\u0150\320\u01D00\u0130\260\u01B0p\u0170\360\u01F0"
+			+ "\10\u0108\210\u0188H\u0148\310\u01C8(\u0128\250\u01A8h\u0168\350"
+			+ "\u01E8\30\u0118\230\u0198X\u0158\330\u01D88\u0138\270\u01B8x\u0178"
+			+ "\370\u01F8\4\u0104\204\u0184D\u0144\304\u01C4$\u0124\244\u01A4d\u0164"
+			+ "\344\u01E4\24\u0114\224\u0194T\u0154\324\u01D44\u0134\264\u01B4t"
+			+ "\u0174\364\u01F4\14\u010C\214\u018CL\u014C\314\u01CC,\u012C\254\u01AC"
+			+ "l\u016C\354\u01EC\34\u011C\234\u019C\\\u015C\334\u01DC<\u013C\274"
+			+ "\u01BC|\u017C\374\u01FC\2\u0102\202\u0182B\u0142\302\u01C2\"\u0122"
+			+ "\242\u01A2b\u0162\342\u01E2\22\u0112\222\u0192R\u0152\322\u01D22"
+			+ "\u0132\262\u01B2r\u0172\362\u01F2\12\u010A\212\u018AJ\u014A\312\u01CA"
+			+ "*\u012A\252\u01AAj\u016A\352\u01EA\32\u011A\232\u019AZ\u015A\332"
+			+ "\u01DA:\u013A\272\u01BAz\u017A\372\u01FA\6\u0106\206\u0186F\u0146"
+			+ "\306\u01C6&\u0126\246\u01A6f\u0166\346\u01E6\26\u0116\226\u0196V"
+			+ "\u0156\326\u01D66\u0136\266\u01B6v\u0176\366\u01F6\16\u010E\216\u018E"
+			+ "N\u014E\316\u01CE.\u012E\256\u01AEn\u016E\356\u01EE\36\u011E\236"
+			+ "\u019E^\u015E\336\u01DE>\u013E\276\u01BE~\u017E\376\u01FE\1\u0101"
+			+ "\201\u0181A\u0141\301\u01C1!\u0121\241\u01A1a\u0161\341\u01E1\21"
+			+ "\u0111\221\u0191Q\u0151\321\u01D11\u0131\261\u01B1q\u0171\361\u01F1"
+			+ "\11\u0109\211\u0189I\u0149\311\u01C9)\u0129\251\u01A9i\u0169\351"
+			+ "\u01E9\31\u0119\231\u0199Y\u0159\331\u01D99\u0139\271\u01B9y\u0179"
+			+ "\371\u01F9\5\u0105\205\u0185E\u0145\305\u01C5%\u0125\245\u01A5e\u0165"
+			+ "\345\u01E5\25\u0115\225\u0195U\u0155\325\u01D55\u0135\265\u01B5u"
+			+ "\u0175\365\u01F5\15\u010D\215\u018DM\u014D\315\u01CD-\u012D\255\u01AD"
+			+ "m\u016D\355\u01ED\35\u011D\235\u019D]\u015D\335\u01DD=\u013D\275"
+			+ "\u01BD}\u017D\375\u01FD\3\u0103\203\u0183C\u0143\303\u01C3#\u0123"
+			+ "\243\u01A3c\u0163\343\u01E3\23\u0113\223\u0193S\u0153\323\u01D33"
+			+ "\u0133\263\u01B3s\u0173\363\u01F3\13\u010B\213\u018BK\u014B\313\u01CB"
+			+ "+\u012B\253\u01ABk\u016B\353\u01EB\33\u011B\233\u019B[\u015B\333"
+			+ "\u01DB;\u013B\273\u01BB{\u017B\373\u01FB\7\u0107\207\u0187G\u0147"
+			+ "\307\u01C7'\u0127\247\u01A7g\u0167\347\u01E7\27\u0117\227\u0197W"
+			+ "\u0157\327\u01D77\u0137\267\u01B7w\u0177\367\u01F7\17\u010F\217\u018F"
+			+ "O\u014F\317\u01CF/\u012F\257\u01AFo\u016F\357\u01EF\37\u011F\237"
+			+ "\u019F_\u015F\337\u01DF?\u013F\277\u01BF\177\u017F\377\u01FF\0@\10"
+			+ "H\1A\11I\200\300\210\310\201\301\211\311\20P\30X\21Q\31Y\220\320"
+			+ "\230\330\221\321\231\331\2B\12J\3C\13K\202\302\212\312\203\303\213"
+			+ "\313\22R\32Z\23S\33[\222\322\232\332\223\323\233\333\u0100\u0140"
+			+ "\u0108\u0148\u0101\u0141\u0109\u0149\u0180\u01C0\u0188\u01C8\u0181"
+			+ "\u01C1\u0189\u01C9\u0110\u0150\u0118\u0158\u0111\u0151\u0119\u0159"
+			+ "\u0190\u01D0\u0198\u01D8\u0191\u01D1\u0199\u01D9\u0102\u0142\u010A"
+			+ "\u014A\u0103\u0143\u010B\u014B\u0182\u01C2\u018A\u01CA\u0183\u01C3"
+			+ "\u018B\u01CB\u0112\u0152\u011A\u015A\u0113\u0153\u011B\u015B\u0192"
+			+ "\u01D2\u019A\u01DA\u0193\u01D3\u019B\u01DB `(h!a)i\240\340\250\350"
+			+ "\241\341\251\3510p8x1q9y\260\360\270\370\261\361\271\371\"b*j#c+"
+			+ "k\242\342\252\352\243\343\253\3532r:z3s;{\262\362\272\372\263\363"
+			+ "\273\373\u0120\u0160\u0128\u0168\u0121\u0161\u0129\u0169\u01A0\u01E0"
+			+ "\u01A8\u01E8\u01A1\u01E1\u01A9\u01E9\u0130\u0170\u0138\u0178\u0131"
+			+ "\u0171\u0139\u0179\u01B0\u01F0\u01B8\u01F8\u01B1\u01F1\u01B9\u01F9"
+			+ "\u0122\u0162\u012A\u016A\u0123\u0163\u012B\u016B\u01A2\u01E2\u01AA"
+			+ "\u01EA\u01A3\u01E3\u01AB\u01EB\u0132\u0172\u013A\u017A\u0133\u0173"
+			+ "\u013B\u017B\u01B2\u01F2\u01BA\u01FA\u01B3\u01F3\u01BB\u01FB\4D\14"
+			+ "L\5E\15M\204\304\214\314\205\305\215\315\24T\34\\\25U\35]\224\324"
+			+ "\234\334\225\325\235\335\6F\16N\7G\17O\206\306\216\316\207\307\217"
+			+ "\317\26V\36^\27W\37_\226\326\236\336\227\327\237\337\u0104\u0144"
+			+ "\u010C\u014C\u0105\u0145\u010D\u014D\u0184\u01C4\u018C\u01CC\u0185"
+			+ "\u01C5\u018D\u01CD\u0114\u0154\u011C\u015C\u0115\u0155\u011D\u015D"
+			+ "\u0194\u01D4\u019C\u01DC\u0195\u01D5\u019D\u01DD\u0106\u0146\u010E"
+			+ "\u014E\u0107\u0147\u010F\u014F\u0186\u01C6\u018E\u01CE\u0187\u01C7"
+			+ "\u018F\u01CF\u0116\u0156\u011E\u015E\u0117\u0157\u011F\u015F\u0196"
+			+ "\u01D6\u019E\u01DE\u0197\u01D7\u019F\u01DF$d,l%e-m\244\344\254\354"
+			+ "\245\345\255\3554t<|5u=}\264\364\274\374\265\365\275\375&f.n'g/o"
+			+ "\246\346\256\356\247\347\257\3576v>~7w?\177\266\366\276\376\267\367"
+			+ "\277\377\u0124\u0164\u012C\u016C\u0125\u0165\u012D\u016D\u01A4\u01E4"
+			+ "\u01AC\u01EC\u01A5\u01E5\u01AD\u01ED\u0134\u0174\u013C\u017C\u0135"
+			+ "\u0175\u013D\u017D\u01B4\u01F4\u01BC\u01FC\u01B5\u01F5\u01BD\u01FD"
+			+ "\u0126\u0166\u012E\u016E\u0127\u0167\u012F\u016F\u01A6\u01E6\u01AE"
+			+ "\u01EE\u01A7\u01E7\u01AF\u01EF\u0136\u0176\u013E\u017E\u0137\u0177"
+			+ "\u013F\u017F\u01B6\u01F6\u01BE\u01FE\u01B7\u01F7\u01BF\u01FF\0\4"
+			+ "\2\6\1\5\3\7 $\"&!%#'\20\24\22\26\21\25\23\02704261537\10\14\12\16"
+			+ "\11\15\13\17(,*.)-+/\30\34\32\36\31\35\33\378<:>9=;?\u0100\u0104"
+			+ "\u0102\u0106\u0101\u0105\u0103\u0107\u0120\u0124\u0122\u0126\u0121"
+			+ "\u0125\u0123\u0127\u0110\u0114\u0112\u0116\u0111\u0115\u0113\u0117"
+			+ "\u0130\u0134\u0132\u0136\u0131\u0135\u0133\u0137\u0108\u010C\u010A"
+			+ "\u010E\u0109\u010D\u010B\u010F\u0128\u012C\u012A\u012E\u0129\u012D"
+			+ "\u012B\u012F\u0118\u011C\u011A\u011E\u0119\u011D\u011B\u011F\u0138"
+			+ "\u013C\u013A\u013E\u0139\u013D\u013B\u013F\200\204\202\206\201\205"
+			+ "\203\207\240\244\242\246\241\245\243\247\220\224\222\226\221\225"
+			+ "\223\227\260\264\262\266\261\265\263\267\210\214\212\216\211\215"
+			+ "\213\217\250\254\252\256\251\255\253\257\230\234\232\236\231\235"
+			+ "\233\237\270\274\272\276\271\275\273\277\u0180\u0184\u0182\u0186"
+			+ "\u0181\u0185\u0183\u0187\u01A0\u01A4\u01A2\u01A6\u01A1\u01A5\u01A3"
+			+ "\u01A7\u0190\u0194\u0192\u0196\u0191\u0195\u0193\u0197\u01B0\u01B4"
+			+ "\u01B2\u01B6\u01B1\u01B5\u01B3\u01B7\u0188\u018C\u018A\u018E\u0189"
+			+ "\u018D\u018B\u018F\u01A8\u01AC\u01AA\u01AE\u01A9\u01AD\u01AB\u01AF"
+			+ "\u0198\u019C\u019A\u019E\u0199\u019D\u019B\u019F\u01B8\u01BC\u01BA"
+			+ "\u01BE\u01B9\u01BD\u01BB\u01BF@DBFAECG`dbfaecgPTRVQUSWptrvquswHL"
+			+ "JNIMKOhljnimkoX\\Z^Y][_x|z~y}{\177\u0140\u0144\u0142\u0146\u0141"
+			+ "\u0145\u0143\u0147\u0160\u0164\u0162\u0166\u0161\u0165\u0163\u0167"
+			+ "\u0150\u0154\u0152\u0156\u0151\u0155\u0153\u0157\u0170\u0174\u0172"
+			+ "\u0176\u0171\u0175\u0173\u0177\u0148\u014C\u014A\u014E\u0149\u014D"
+			+ "\u014B\u014F\u0168\u016C\u016A\u016E\u0169\u016D\u016B\u016F\u0158"
+			+ "\u015C\u015A\u015E\u0159\u015D\u015B\u015F\u0178\u017C\u017A\u017E"
+			+ "\u0179\u017D\u017B\u017F\300\304\302\306\301\305\303\307\340\344"
+			+ "\342\346\341\345\343\347\320\324\322\326\321\325\323\327\360\364"
+			+ "\362\366\361\365\363\367\310\314\312\316\311\315\313\317\350\354"
+			+ "\352\356\351\355\353\357\330\334\332\336\331\335\333\337\370\374"
+			+ "\372\376\371\375\373\377\u01C0\u01C4\u01C2\u01C6\u01C1\u01C5\u01C3"
+			+ "\u01C7\u01E0\u01E4\u01E2\u01E6\u01E1\u01E5\u01E3\u01E7\u01D0\u01D4"
+			+ "\u01D2\u01D6\u01D1\u01D5\u01D3\u01D7\u01F0\u01F4\u01F2\u01F6\u01F1"
+			+ "\u01F5\u01F3\u01F7\u01C8\u01CC\u01CA\u01CE\u01C9\u01CD\u01CB\u01CF"
+			+ "\u01E8\u01EC\u01EA\u01EE\u01E9\u01ED\u01EB\u01EF\u01D8\u01DC\u01DA"
+			+ "\u01DE\u01D9\u01DD\u01DB\u01DF\u01F8\u01FC\u01FA\u01FE\u01F9\u01FD"
+			+ "\u01FB\u01FF\0@\200\300\u0100\u0140\u0180\u01C0\10H\210\310\u0108"
+			+ "\u0148\u0188\u01C8\20P\220\320\u0110\u0150\u0190\u01D0\30X\230\330"
+			+ "\u0118\u0158\u0198\u01D8 `\240\340\u0120\u0160\u01A0\u01E0(h\250"
+			+ "\350\u0128\u0168\u01A8\u01E80p\260\360\u0130\u0170\u01B0\u01F08x"
+			+ "\270\370\u0138\u0178\u01B8\u01F8\1A\201\301\u0101\u0141\u0181\u01C1"
+			+ "\11I\211\311\u0109\u0149\u0189\u01C9\21Q\221\321\u0111\u0151\u0191"
+			+ "\u01D1\31Y\231\331\u0119\u0159\u0199\u01D9!a\241\341\u0121\u0161"
+			+ "\u01A1\u01E1)i\251\351\u0129\u0169\u01A9\u01E91q\261\361\u0131\u0171"
+			+ "\u01B1\u01F19y\271\371\u0139\u0179\u01B9\u01F9\2B\202\302\u0102\u0142"
+			+ "\u0182\u01C2\12J\212\312\u010A\u014A\u018A\u01CA\22R\222\322\u0112"
+			+ "\u0152\u0192\u01D2\32Z\232\332\u011A\u015A\u019A\u01DA\"b\242\342"
+			+ "\u0122\u0162\u01A2\u01E2*j\252\352\u012A\u016A\u01AA\u01EA2r\262"
+			+ "\362\u0132\u0172\u01B2\u01F2:z\272\372\u013A\u017A\u01BA\u01FA\3"
+			+ "C\203\303\u0103\u0143\u0183\u01C3\13K\213\313\u010B\u014B\u018B\u01CB"
+			+ "\23S\223\323\u0113\u0153\u0193\u01D3\33[\233\333\u011B\u015B\u019B"
+			+ "\u01DB#c\243\343\u0123\u0163\u01A3\u01E3+k\253\353\u012B\u016B\u01AB"
+			+ "\u01EB3s\263\363\u0133\u0173\u01B3\u01F3;{\273\373\u013B\u017B\u01BB"
+			+ "\u01FB\4D\204\304\u0104\u0144\u0184\u01C4\14L\214\314\u010C\u014C"
+			+ "\u018C\u01CC\24T\224\324\u0114\u0154\u0194\u01D4\34\\\234\334\u011C"
+			+ "\u015C\u019C\u01DC$d\244\344\u0124\u0164\u01A4\u01E4,l\254\354\u012C"
+			+ "\u016C\u01AC\u01EC4t\264\364\u0134\u0174\u01B4\u01F4<|\274\374\u013C"
+			+ "\u017C\u01BC\u01FC\5E\205\305\u0105\u0145\u0185\u01C5\15M\215\315"
+			+ "\u010D\u014D\u018D\u01CD\25U\225\325\u0115\u0155\u0195\u01D5\35]"
+			+ "\235\335\u011D\u015D\u019D\u01DD%e\245\345\u0125\u0165\u01A5\u01E5"
+			+ "-m\255\355\u012D\u016D\u01AD\u01ED5u\265\365\u0135\u0175\u01B5\u01F5"
+			+ "=}\275\375\u013D\u017D\u01BD\u01FD\6F\206\306\u0106\u0146\u0186\u01C6"
+			+ "\16N\216\316\u010E\u014E\u018E\u01CE\26V\226\326\u0116\u0156\u0196"
+			+ "\u01D6\36^\236\336\u011E\u015E\u019E\u01DE&f\246\346\u0126\u0166"
+			+ "\u01A6\u01E6.n\256\356\u012E\u016E\u01AE\u01EE6v\266\366\u0136\u0176"
+			+ "\u01B6\u01F6>~\276\376\u013E\u017E\u01BE\u01FE\7G\207\307\u0107\u0147"
+			+ "\u0187\u01C7\17O\217\317\u010F\u014F\u018F\u01CF\27W\227\327\u0117"
+			+ "\u0157\u0197\u01D7\37_\237\337\u011F\u015F\u019F\u01DF'g\247\347"
+			+ "\u0127\u0167\u01A7\u01E7/o\257\357\u012F\u016F\u01AF\u01EF7w\267"
+			+ "\367\u0137\u0177\u01B7\u01F7?\177\277\377\u013F\u017F\u01BF\u01FF"
+			+ "\0\1\10\11@AHI\2\3\12\13BCJK\20\21\30\31PQXY\22\23\32\33RSZ[\200"
+			+ "\201\210\211\300\301\310\311\202\203\212\213\302\303\312\313\220"
+			+ "\221\230\231\320\321\330\331\222\223\232\233\322\323\332\333\4\5"
+			+ "\14\15DELM\6\7\16\17FGNO\24\25\34\35TU\\]\26\27\36\37VW^_\204\205"
+			+ "\214\215\304\305\314\315\206\207\216\217\306\307\316\317\224\225"
+			+ "\234\235\324\325\334\335\226\227\236\237\326\327\336\337 !()`ahi"
+			+ "\"#*+bcjk0189pqxy23:;rsz{\240\241\250\251\340\341\350\351\242\243"
+			+ "\252\253\342\343\352\353\260\261\270\271\360\361\370\371\262\263"
+			+ "\272\273\362\363\372\373$%,-delm&'./fgno45<=tu|}67>?vw~\177\244\245"
+			+ "\254\255\344\345\354\355\246\247\256\257\346\347\356\357\264\265"
+			+ "\274\275\364\365\374\375\266\267\276\277\366\367\376\377\u0100\u0101"
+			+ "\u0108\u0109\u0140\u0141\u0148\u0149\u0102\u0103\u010A\u010B\u0142"
+			+ "\u0143\u014A\u014B\u0110\u0111\u0118\u0119\u0150\u0151\u0158\u0159"
+			+ "\u0112\u0113\u011A\u011B\u0152\u0153\u015A\u015B\u0180\u0181\u0188"
+			+ "\u0189\u01C0\u01C1\u01C8\u01C9\u0182\u0183\u018A\u018B\u01C2\u01C3"
+			+ "\u01CA\u01CB\u0190\u0191\u0198\u0199\u01D0\u01D1\u01D8\u01D9\u0192"
+			+ "\u0193\u019A\u019B\u01D2\u01D3\u01DA\u01DB\u0104\u0105\u010C\u010D"
+			+ "\u0144\u0145\u014C\u014D\u0106\u0107\u010E\u010F\u0146\u0147\u014E"
+			+ "\u014F\u0114\u0115\u011C\u011D\u0154\u0155\u015C\u015D\u0116\u0117"
+			+ "\u011E\u011F\u0156\u0157\u015E\u015F\u0184\u0185\u018C\u018D\u01C4"
+			+ "\u01C5\u01CC\u01CD\u0186\u0187\u018E\u018F\u01C6\u01C7\u01CE\u01CF"
+			+ "\u0194\u0195\u019C\u019D\u01D4\u01D5\u01DC\u01DD\u0196\u0197\u019E"
+			+ "\u019F\u01D6\u01D7\u01DE\u01DF\u0120\u0121\u0128\u0129\u0160\u0161"
+			+ "\u0168\u0169\u0122\u0123\u012A\u012B\u0162\u0163\u016A\u016B\u0130"
+			+ "\u0131\u0138\u0139\u0170\u0171\u0178\u0179\u0132\u0133\u013A\u013B"
+			+ "\u0172\u0173\u017A\u017B\u01A0\u01A1\u01A8\u01A9\u01E0\u01E1\u01E8"
+			+ "\u01E9\u01A2\u01A3\u01AA\u01AB\u01E2\u01E3\u01EA\u01EB\u01B0\u01B1"
+			+ "\u01B8\u01B9\u01F0\u01F1\u01F8\u01F9\u01B2\u01B3\u01BA\u01BB\u01F2"
+			+ "\u01F3\u01FA\u01FB\u0124\u0125\u012C\u012D\u0164\u0165\u016C\u016D"
+			+ "\u0126\u0127\u012E\u012F\u0166\u0167\u016E\u016F\u0134\u0135\u013C"
+			+ "\u013D\u0174\u0175\u017C\u017D\u0136\u0137\u013E\u013F\u0176\u0177"
+			+ "\u017E\u017F\u01A4\u01A5\u01AC\u01AD\u01E4\u01E5\u01EC\u01ED\u01A6"
+			+ "\u01A7\u01AE\u01AF\u01E6\u01E7\u01EE\u01EF\u01B4\u01B5\u01BC\u01BD"
+			+ "\u01F4\u01F5\u01FC\u01FD\u01B6\u01B7\u01BE\u01BF\u01F6\u01F7\u01FE"
+			+ "\u01FF\0\u0100 \u0120\4\u0104$\u0124\200\u0180\240\u01A0\204\u0184"
+			+ "\244\u01A4\20\u01100\u0130\24\u01144\u0134\220\u0190\260\u01B0\224"
+			+ "\u0194\264\u01B4\2\u0102\"\u0122\6\u0106&\u0126\202\u0182\242\u01A2"
+			+ "\206\u0186\246\u01A6\22\u01122\u0132\26\u01166\u0136\222\u0192\262"
+			+ "\u01B2\226\u0196\266\u01B6@\u0140`\u0160D\u0144d\u0164\300\u01C0"
+			+ "\340\u01E0\304\u01C4\344\u01E4P\u0150p\u0170T\u0154t\u0174\320\u01D0"
+			+ "\360\u01F0\324\u01D4\364\u01F4B\u0142b\u0162F\u0146f\u0166\302\u01C2"
+			+ "\342\u01E2\306\u01C6\346\u01E6R\u0152r\u0172V\u0156v\u0176\322\u01D2"
+			+ "\362\u01F2\326\u01D6\366\u01F6\10\u0108(\u0128\14\u010C,\u012C\210"
+			+ "\u0188\250\u01A8\214\u018C\254\u01AC\30\u01188\u0138\34\u011C<\u013C"
+			+ "\230\u0198\270\u01B8\234\u019C\274\u01BC\12\u010A*\u012A\16\u010E"
+			+ ".\u012E\212\u018A\252\u01AA\216\u018E\256\u01AE\32\u011A:\u013A\36"
+			+ "\u011E>\u013E\232\u019A\272\u01BA\236\u019E\276\u01BEH\u0148h\u0168"
+			+ "L\u014Cl\u016C\310\u01C8\350\u01E8\314\u01CC\354\u01ECX\u0158x\u0178"
+			+ "\\\u015C|\u017C\330\u01D8\370\u01F8\334\u01DC\374\u01FCJ\u014Aj\u016A"
+			+ "N\u014En\u016E\312\u01CA\352\u01EA\316\u01CE\356\u01EEZ\u015Az\u017A"
+			+ "^\u015E~\u017E\332\u01DA\372\u01FA\336\u01DE\376\u01FE\1\u0101!\u0121"
+			+ "\5\u0105%\u0125\201\u0181\241\u01A1\205\u0185\245\u01A5\21\u0111"
+			+ "1\u0131\25\u01155\u0135\221\u0191\261\u01B1\225\u0195\265\u01B5\3"
+			+ "\u0103#\u0123\7\u0107'\u0127\203\u0183\243\u01A3\207\u0187\247\u01A7"
+			+ "\23\u01133\u0133\27\u01177\u0137\223\u0193\263\u01B3\227\u0197\267"
+			+ "\u01B7A\u0141a\u0161E\u0145e\u0165\301\u01C1\341\u01E1\305\u01C5"
+			+ "\345\u01E5Q\u0151q\u0171U\u0155u\u0175\321\u01D1\361\u01F1\325\u01D5"
+			+ "\365\u01F5C\u0143c\u0163G\u0147g\u0167\303\u01C3\343\u01E3\307\u01C7"
+			+ "\347\u01E7S\u0153s\u0173W\u0157w\u0177\323\u01D3\363\u01F3\327\u01D7"
+			+ "\367\u01F7\11\u0109)\u0129\15\u010D-\u012D\211\u0189\251\u01A9\215"
+			+ "\u018D\255\u01AD\31\u01199\u0139\35\u011D=\u013D\231\u0199\271\u01B9"
+			+ "\235\u019D\275\u01BD\13\u010B+\u012B\17\u010F/\u012F\213\u018B\253"
+			+ "\u01AB\217\u018F\257\u01AF\33\u011B;\u013B\37\u011F?\u013F\233\u019B"
+			+ "\273\u01BB\237\u019F\277\u01BFI\u0149i\u0169M\u014Dm\u016D\311\u01C9"
+			+ "\351\u01E9\315\u01CD\355\u01EDY\u0159y\u0179]\u015D}\u017D\331\u01D9"
+			+ "\371\u01F9\335\u01DD\375\u01FDK\u014Bk\u016BO\u014Fo\u016F\313\u01CB"
+			+ "\353\u01EB\317\u01CF\357\u01EF[\u015B{\u017B_\u015F\177\u017F\333"
+			+ "\u01DB\373\u01FB\337\u01DF\377\u01FF";
+
+	/**
+	 * Packed optimal moves table (ints, see MoveTable)
+	 */
+	static public final String MOVE_TABLE = "\uA550\u83FF\uA2A7\u1420\u5242\u0C71\u9116\u1083\u51F7\u416A\u2454"
+			+ "\uA0D1\u16E0\uD622\u3051\uB6C1\u2023\u7D80\uD11A\u6158\uA030\u4DF5"
+			+ "\uC5A2\u1D11\uE3C0\u1822\u5072\u8F5D\uDAFB\uA204\u1EE3\uBEBA\u7D6D"
+			+ "\u75F7\u3829\u0117\u0F1D\uEBA5\u168D\u10A0\u501A\u2361\uA22E\uBEC8"
+			+ "\u1020\u6C19\u2850\u06FB\u1DA2\u0DB6\uA911\u11AA\uBE2A\u4C18\uA425"
+			+ "\u9A0B\u4009\u4821\u8012\u0220\u9084\u0440$\u0400@\u0801\u8060\u0C48"
+			+ "\300\u1002\u4008\5\220\u1200\uC220\u440B\u0A45\uA00A\u440B\u4012"
+			+ "\u6841\u1844\u1982\u4158\u1004\u8084\u2004\u0180\u9108\u0300\u4028"
+			+ "\u0500\u4550\u0200\u8090\u1403\u0420\u0400\u0240\u080C\u5440\u0811"
+			+ "\201\u1034\u10C2\u1044\u3007\u0CC1\u8809\u6108\uC158\u2298\u2020"
+			+ "\u5A02 \u0402\u0140\u1803\u4208\u4C0A\u85C7\u8210\u8821\u0420\uA820"
+			+ "\u0420B\u0868\200\u1082\u0108\u2108\uA400\u4008\u16A1\u0720\u0440"
+			+ "\uA841\u2084\202\u4108\u2AA4\u0C06\u0208\u1403`\u8004\240\u1808\u0440"
+			+ "@\u0801\u4208\u1102\uE198\u2219\uA021\u8420\u6842\u0C01\u2C84\u9083"
+			+ "\u4208\u4104\u8410\uADB0\u0481\u0420\u0DA1\u0834\u1092\u1342\uD016"
+			+ "\u8101\u4649\u05A0\uD150\u1404\u0100\u2404\u4440\u4808\u0900\u5A04"
+			+ "\u6A00\uB446\u0300\u2008\u0600\u4028\u0842\u1250\u1552\u1002\u2100"
+			+ "\u2084\u420A\u4168\u8050\u822D\u1002\u040A\u1044\200\u6808\u0102"
+			+ "\u0D00\uA104\u8230\u482B\u1002\u9110\u2004\240\u2020\u0140\u2048"
+			+ "\u0701\200\u1102\u2004\200\u4028\u0100\u4088\u0840\u8110\u0202\u4204"
+			+ "\u8404\u0404\u4810\u0809\u0108\u9012\u0241\u2023\u4080\u4048\u0901"
+			+ "\u8090\u1010\u0120\u2404\u0128\u0A21\u0280\u5142\u0500\uA804\u0A08"
+			+ "\u4028\u1402\u8050\u2805\u1020\u500A\u0140\u5800\u4080\uC018\u2100"
+			+ "\u8020\u2200\uD020\u0C01\300\u1802\u0182\u1006\u0300\u600C\u0220"
+			+ "\u4018\u0440\u8811\u0821\u1022\u0C11\u0241\u2204\u4088\u4402\u0110"
+			+ "\u8811\u0220\u0422\200\uCA24\u0601\u1080\u3401\u2881\u2084\u05B8"
+			+ "\u3707\u8500\u8030\u4802\u0820\u1100\u4040\u9403\206\u4018\u80F4"
+			+ "\u7070\u8210\u0421\u8393\u8044\u1405\u018A\u1042\u80A0\u220C\u0280"
+			+ "\u5008\u0500\uA014\u0A01\u4028\u1402\u8050\u2805\240\u2208\u9140"
+			+ "\u5010\u1203\u2024\u0440\u4048\u0901\u8090\u1202\uD120\u2404\u1602"
+			+ "\uB686\u0480\u6010\u0901\u2024\u1101\u2048\u2204\u4088\u2088\u8110"
+			+ "\u8070\u0690\u1022\u0440\u2050\u0881\u4088\u1102\u4110\u1404\u1A10"
+			+ "\u4208\u0300\u882E\u6841\u0821\u1082\u1038\u2104\u4184\u4208\u4108"
+			+ "\u8410\u8102\uF4A8\u0418\u0224\u0500\u0482\u1442\u3104\u2025\u0101"
+			+ "\u5048\uB408\u8114\u0500\uB196\u3102\u0844\u1203Z\uC100\u1101\u6B10"
+			+ "\u1200\u0120\u2358\u0841\u0A01\u8040\u2B46\u0140\u2200\u0280\u500A"
+			+ "\u0500\uA014\u0A01\u4028\u1402\u8050\u2085\240\u2014\u8304\u8201"
+			+ "@\u4020\u8410\u0804\u0100\u0482\u1042\u2104\u2080\u4208(\u0C10\u8210"
+			+ "\u8821\u0400\u1022\u0440\u161D\u0448\uC088\u1102\u8110\u2100\u0228"
+			+ "\u2408\u0440\u8811\u0881\u0B0E\u0144\u2044\u8204\u408A\u8408\u8108"
+			+ "\u8811\u0220\u1022\u0A40\u2044\u0881\u4088\u1101\u9212\u0204\uCA58"
+			+ "\u0480\u8049\u0440\u3C41\u1042\u0301\u19CB\u8208\u4058\u2401\u8288"
+			+ "\u0821\u0160\u1402\u0841\u2082\u2050\u2088\u2104\u8210\u4208\u0420"
+			+ "\u8202\301\u0821\u0482\u1042\u0100\u4010\u1200\uC016\u0C01\u802C"
+			+ "\u1803\u0420\u1006\300\u600C\u0182\u4018\u0300\u8028\u0A02\u6020"
+			+ "\u2404\u8040\u4809\u0480\u9012\u0901\u204C\u8202\u4048\u2404\u8088"
+			+ "\u1405\u0120\u7412\u8240\uD405r\u414A\340\u8090\u2208\u0620\u8202"
+			+ "\251\u7811\250\u1061\u8110\u2885\u02A0\u2208\uE208\u8214\u4825\u0419"
+			+ "\u09F2\u0920\u1364\u0244\u4108\u0501\u2010\u4208\u0401@\u0441\u0821"
+			+ "\u1082\u1040\u2104$\u0608\u4108\u0410\u8200\u0A81\u102A\u0882\u8050"
+			+ "\u2084\u408A\uB394\u1082\u804C\uA600\u0493\uCC10\u0141\u2403\u0100"
+			+ "\u5012\u8110\u1804\u0220\u3168\uAC10\u8814\u6409\u0411\u08D6\u0831"
+			+ "\u2022\u0104\uC024\u0904\uA810\u0900\u5020\u1402\u0140\u2805\u0280"
+			+ "\u48B6\u5B00\uA014\u0A01\u4024\u1404\u8050\u0881@\u1401\u29D0\u2802"
+			+ "\u40A0\uC104\u3A02\u8208\u1200\u94E0\u821D\u8041\u0402\240\u1402"
+			+ "\u0140\u2805\u0280\u500A\u0500\uA014\u0A01\u4028\201\u02C1\"\u0182"
+			+ "\u4108\u2104\u4411\u0140\u0420\u8410\u0841\u0411\u1080\u9042\u2104"
+			+ "\u2084\u4208\u2028\u8440\u9010\u0480\u9B24\u1242\u4022\u1042\u0882"
+			+ "\uC048\u0304\u4F29\uF208`\u2405\u1042\u080B\u2084\u1082\uA110\u2104"
+			+ "\u8104\u4108\u0420\u8410\u0841a\u3082\u1042\uA024\u2082\u2C68\u0280"
+			+ "\u5AD1\u0140\u1022\u0C41\u0843\u0841\u2052\uE812\u0504\u6084\u1218"
+			+ "\u4014\u0401\u4050\u0803b\u3006\314\u600A\u0880\u4018\u0300\u8030"
+			+ "\u0612`\u0C01\200\u2809\u4180\u9010\u8101\u2022\u1202\u4044\u2404"
+			+ "\u8210\u0809\u0120\u9012\u0241\u2404\u8080\u4809\u0120\u9012\u0240"
+			+ "\u2024\u0480\u4048\u0901\u1080\u9202\u0505\u200C\u0220\u4114\u0440"
+			+ "\u8811\u0881\u1022\u1102\u2044\u2204\u4088\u8088\u81100\u4102 \u8204"
+			+ "\0\0\0\0\0\0\0\0\0\0\u0389\u4022\u1012\u0241\u0AA1\u6488\u0E48\u4140"
+			+ "\u8812\u0202\u7092\u0480\u0120\u2900\u5280\u5041\uC490\u2801\u0240"
+			+ "\u0D21\u0AD0\uA011\u1403\u4010\u2806\u8020\u6085@\u4800\u0300\uA007"
+			+ "\u8220\u690D\u41C4\uB250\u0318\u20A0\u0530\u0101\u0724\u20F0\u4409"
+			+ "\u1300\u3847\u22D0\u628D\u1400\uA516\u0650\uE248\u4408\u8120\u8107"
+			+ "\u04E4\u100C\u4C01\u8014\u92C3\uC91C\u23A2\uC110\u2400\u9280\u1C43"
+			+ "\u2500\u3446\u028C\u588B\u9080\u7250\u2204\u8080\u5005x\u5006\u84D2"
+			+ "\u4011\u0220\u100E\u4A01\u4090\u1012\u8090\u0F04\u0D10\u2204\u0161"
+			+ "\u2C4E\u11C5\u4012\u1201\u200E\u2203\u9088H\u2081\u4091\u0202\u1028"
+			+ "\u0204\u4020\u4409\u8060\u1102\u24C0\u0E14\u4A08\u18A3\u0500\u8045"
+			+ "\u0404\u80A4\u1102\u2048\u6041\uC1A0\uD003\u1300\uA005\u24A8`\u0C10"
+			+ "\uE844\u0901\u1088\u1200\u2101\u2084\u0201\u1528\322\u1A94\u0881"
+			+ "\u2022\u1102\u8041\u2024\u1082\u5404\u2084\u8210\u4280\u1024\u0401"
+			+ "\u4050\u03A12\u264A\u0504\u0A95\u4208\u5008\u0480\u8030\u0600\u7222"
+			+ "\u0628\uC630\u0A51\u4C60\u208A\300\u900B\u1904\u100E\u4440\uC4C0"
+			+ "\u8501\u0841\u1004\u9940\u2202\u0140\u0C91\u01C8\u8812\u9810\u7062"
+			+ "\u252A\230\uA801\u4329\u4401\u9232\21\u0240\0\0\0\0\0\0\0\0\u8000"
+			+ "\0\u0420\u4110\u8811\u0428\u84B1\u0220\u1024\u2023\u03C8\u082B\u8412"
+			+ "\u0208\u0220\u8198\u0113\u2821\uB217\u046A\u7426\u8550\u8280\u4100"
+			+ "\u4410\u8210\u1262\u8420\u3040\u8CA0\u44CC\u0116\0\16\0\0\0\0\0\0"
+			+ "\0\0\u0140\0\u0280\u201A\u0A34\u4034\u0402\u8050\u9006\u1041\u2080"
+			+ "\u0180\uA109\u0140\u8208\u04C8\u44E0\u1410\213\u1820\uA806\u624E"
+			+ "\u18C0\u0D21\uB0C3\u5003\u7126\u2544\u4840\u2B08\272\u0220\u1401"
+			+ "\uA450\u185Ac\u408C\uA502\u0805\u6204\u0240\u414B\0\1\0\0\0\0\0\0"
+			+ "\0\0\u300A\u0200\u0C2C\u0480\u9252\u4D40\u14C4\u1C91\u0121\245\u8800"
+			+ "\u804F\u0890\u0E41\u1104\u1C32\u2201\u2144\u4216\u4108\u4520\u0210"
+			+ "\u3401\uC819\u50A3\u0471\u2054\u0886\u4288\u6208\u6600\uEC01\u8019"
+			+ "\u1324\u1A60\u1202\u0444\uE081\u4208\u4108\u2410\u8028\u0803\240"
+			+ "\u1006\u4050\u889C\u1082\u8958\u2100\u02F0\u0449`\u1404\uC1A0\u4409"
+			+ "\u0821\uA439\u1A23\u9022\u3D02\u2081\u0440\u8200\u8821\u4021\u84D2"
+			+ "\u0840\u2101\u1C80\u4048\u081D\u6D0C\u401E\u0412\u8420\u0133\u0811"
+			+ "\u5840\u4808\u0480\u9012\u0220\u2020\u8410\u8414\u1811\u0220\u0466"
+			+ "\300\u6008\u7182\u0400\u7216\u4811\u0120\uCC12\u0500\u0240\u4820"
+			+ "\u4084\u0902\u2101\u2022\u4220\u5008\u8504\uA008\u0809\u0420\u3082"
+			+ "\u0821\u2084\u0480\u340A\\\u4829\u0128\uC8D9\u8230\u2841\u0426\u120A"
+			+ "\u7005\uC4C0\u1802\u1A80\u3002\u312A\u6005\u04D8\u4389\u5011\u0142"
+			+ "\0@\0\0\0\0\0\0\0\0\u4048\0\u8052\u9204\uA604\u1434\u5202\u802C\uB0C6"
+			+ "\u9003\u5011\u0104\u1014\u0180\u126A\u0101\u4044\u8D10\u0811f\uAC02"
+			+ "\u7809\u4062\u0C00\u20C1\u2203\u108B\u4106\uB218\u4B10\u0424\u9390"
+			+ "\u0842\u2041\u220C\u40A0\u4018\u2102\u8210\u4202\u0420\u0A10\u8044"
+			+ "\u0201`\u1401\u02C0\u2043\u6208\u3008\u0C01\u8029\u1805\u0120\u1016"
+			+ "\u8040\u1084\u1088\u4108\u0904\u8030\u4108\240\u2410\304\u0803\u0881"
+			+ "\u080A\u9D00\u485A\u0825\uA080\u0138\u01E8\uA258\uC018\u0472\u1012"
+			+ "\u2044\u10A0\u4208\u4082\u2710\u1104\u4009\u8934\u8E42\u0A01\u0882"
+			+ "\u1400\u2108\u2084\uE202\u4018\u0131\u2644\uA840\uC028\u1040\u8C91"
+			+ "\u1084\u1081\u4108\u0304\u8030\u0A02\u48C9\u2D00\u8011\u5A00\u0182"
+			+ "\u041E\u0900\u6104\u0601\u4048\u1925\u24D0\u021A\u4389\u80B8\u83D0"
+			+ "\u013C\u2080\uC028\u0901\u6004\u0200\uC028\u0300\u0830\u0600\u1680"
+			+ "\u3006\u8104\u200A\u4208\u4208\uA410\u8110\u0139\u0105\u8810\u3A21"
+			+ "\u0780\u3C0B\u4108\u4120\u1710\u2208\u2685\u50B2\u0107\u2820\u4007"
+			+ "\u416A\u1108\u1104\u2204\u4108\u08A9\u8030\u90E2\u8810\345\206\u2204"
+			+ "\u801E\u2401\uA435\u8090\u4208\u1CA0\u8210\u0805\u6804\u405C\u8A42"
+			+ "\u8234\u5684\u1208\u2304\u8A34\u4230\u5402\u8150\u0880\u1003\uD282"
+			+ "\uD090\u2204\u40B0\u4408\u4D10\u8460\u1410\0@\0\0\0\0\0\0\0\0\u0500"
+			+ "\0\u2A00\u70C4\u6040\uC519\u08D8\u022A\u4028\u0536\u3A10\u0A01\u200E"
+			+ "\u1880\u0818\u6325\u0300\u454C\u8C34\u86A4\u202B\u0961\u6803\240"
+			+ "\u0805\254\u4518\uA544\u8654\u4080\u04E8\u0431\u8406\uA410\u0244"
+			+ "\u0900\u9682\u0271\u2104\u2020\u7A01\u0568\u0440\u8800\u4880\u8122"
+			+ "\u3042\u0420\u5024\u0480\u2044\u0886\0\2\0\0\0\0\0\0\0\0\u0A02\0"
+			+ "\u0404\u8030\u512D\u1024\uD012\u0809\uA084\u100A\u4040\u2F00\u8810"
+			+ "\u0601\u0220\u08C5\210\uB11B\u4B09\uA13A\u7003\uC238Y\u0B41\uE420"
+			+ "\u1552\u8820\u2684\352\u0840\364\u0282\u2801\240\u840A\u0140\u0404"
+			+ "\u0280\u0CA3\u4811\u1145\uA851\u622C\u85C2\u8240\u0AA1\u8099\u1350"
+			+ "u\u0220\u1008\u19C1\u6014\u0482\uC805\u0100\u12AAQ\204\u3893\u0120"
+			+ "\u1821\u0280\u8806\u4A29\uA00C\u3447\u0A31\u2087\u1162\u7402\u0B50"
+			+ "\u5010\u0782\u44B4\u0180\u08E5%\u10EA\u0240\240\u8204\u3C40\u2409"
+			+ "\u400E\u41D0\uB908\u2202\u2208\u05A0\u8410\u4210\u8821\u0120\u01C6"
+			+ "\u2007\u2104\u4088\u4100\uB217\u8210\u2204\u0420\u2401\u38C4\361"
+			+ "\u200D\u21A8\u2090\u1204\u8204\u4088\u4220\u8028\u1805\u0120\u0901"
+			+ "\u2040\u1202\u4088\u4044\u8010\u8090\u4202\240\u2213\u32C4\u0803"
+			+ "\u4D09\uC18C\u1011\uC258\u0415\uC018\u1404\u01F0\u5881`\uA13A\u2005"
+			+ "\u023C\u4009\uC108\u0902\20\u1200\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\u1000\0\u0219\1\u4488\u1102\u0901\u0984\u1000\u4408"
+			+ "\u2404\u1611\u4889\u1020\u1100D\u2013\u9050\u4428\u8000\u8050\u0898"
+			+ "\u10A2\u0440\u0140\u2501\u4288\u5102\300\4\u0200\uB906\u0401\u6A0C"
+			+ "\u0803X\u1006\u0800\u200C\u0116\u4018\u021C\uB016\0\u402C\u2580\u8050"
+			+ "\u4A01\u80A0\u9412\u0121\4\uA242\u4849\u0404\u8081\u0A01\u5000\u1502"
+			+ "\u8150\uA805\u42A8\u440A\u0540\u5011\u0A20\u1020\u1402D\u2885\u8000"
+			+ "\u1300\u8110\u240C\u0494\u4418\u04C0\u8030\u1901\u3066\u3102\u40C8"
+			+ "\4\u4188\u500A\u4150\uA815\u8280\u4829\u0540\u2046\u0A01\u2084\2"
+			+ "\uC118\u0434\0\u4408\u0480\u9412\u0689\u0824\u1082\u1030\u2404\uA060"
+			+ "\u4A09\u4000\u8410\u8240\u1000E\uC0B8\u2841\u4088\u1181\u0108\u2104"
+			+ "\u0220\u4606\u0420\u8411\u08C1\u1814\u0900D\u2020\202\u4044\u80D4"
+			+ "\u8090\u108C\u0112\u02D0\u0240\u4131\u0480\u8902\u0140\4\u0281\u500A"
+			+ "\u0502\24\u0A05\u40A8\u1009\u402D\u2014\u0250\u4028\u0416\24\0\u4028"
+			+ "\u0D00\u8050\u1A01\uD0A0\u3406\u3100\u4000\u6200\uC011\u0401\u8021"
+			+ "\u4821\u1000\u1140\30\u2084\u4000\u4502\u0D04\u8211\u0220\u1404\u3410"
+			+ "D\u08A1\u8482\u0700\u0104\1\u4208\u2406\u0410\u20B0\u0820\u3040\u1040"
+			+ "\u42C1\0\u4582\u500A\u2140\uA014\u4280\u4428\u8000A\u0A01\u1082\u0304"
+			+ "\u2104\u041C\0\u0438\u0500\uA114\u0A01\u4228\u1422\u8450\u9624\u08A0"
+			+ "\u4088\u10B0\u8110\u2140\u2000\u0240\u4000\u0911\u4148\u1022\u0B02"
+			+ "\u2043\u0240\u4882\u0488\u9112\u0811\u0224\u1500$\u2800\241\u540A"
+			+ "\u8152\uA014\u2284\u1022\u0448\u41C0\u8811\u4089\u1120\0\4\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\u3208\u8000\uCC00\u0408\u0440\u4810\u2081\u9012"
+			+ "\u0101\u2042\u2206\u4040\u640C\u8090\u8820\u6820\u1040@\uA0C4\u0200"
+			+ "\u4108\u1504\u8310\u0A04\u0620\u5412\u0D40\uA825\u8882\u0682\u0104"
+			+ "\1\u4608\u4016\u0410\u8030\u1821@\u3042\301\u208C\u0182\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\u0B00\u600C\u1600\uCC20\u3005\u8A40\u4000\uB080"
+			+ "\u8001\u2900\u8030\u4200\u6820\u0C01\260\u0820$\u5042\u0304\u6080"
+			+ "\u0400\u4108\u0C11\u8210\u1823\u0420\u1402\u08C0\u2805\u04A1\u500A"
+			+ "\u0942\uA094\u2286\u8820\u2408\u0200\u0818\u0481\u1032\u0120\u2064"
+			+ "\uA240\u4849\u2321\u808C\u0808\uC020\u9202\u4248\u2420\220\u4044"
+			+ "\u4101\0\u0202\0\0\0\0\0\0\0\0\0\0\0\0\u2808\0\u1092\230\u6024\u2184"
+			+ "\u4248\u0301\u8090\u8610\u0900\u0405\u02C2\u184B\u8081\u1402\u2102"
+			+ "\u1C12\u2000\u3128\uA408\u4050\u8810\uA494\u1021\u4340\u2044\u0481"
+			+ "\uD006\u0120\u808C\u61C0\uC258\u0311\u0841\u0808\u0100\u0A46\u1104"
+			+ "\u100A\u4200\uC048\u0500\uA014\u0A21\u4428\2\u8051\u2084\u10A0\u8890"
+			+ "\u0104\u8210\u4100\0\u5C10\230\u2308\u1182\u1042\u0200\u0834\u4608"
+			+ "\u4108\u0C01\20\u1823\u0420\u8002\301\u100A\u0280\u4088\u1103\u6070"
+			+ "\u1202\u0220\u440C\u41C0\u4809\u0881\u9031\u2058\u2024\u4000\u1488"
+			+ "\u8404\20\u0809\u0520\u1010\u3441\u2024\u1400\u4048\u2904\u8208\u820A"
+			+ "\u4000\u0208\u8C40\u2651\u7080\u5009\u8100\u9342\uE201\u4028\u1402"
+			+ "\u8048\u8820\u5820\0\24\u6084\u0125\u4108\u0304\u8210\u0400\u0420"
+			+ "\u0C11\u08C0\u1823\u4088\u1102\u0904\u2204\u498A\4\u0440\u4084\u0881"
+			+ "\u1022\u48D2\u2000\u1022\u0406\uB008\u2058\u2490\u40A0\u0420\u8000"
+			+ "A\u0409\202\u0184\u2104\u0228\u0208\u0258\u0300\u8814\u1601\u0822"
+			+ "\u6C45\u8932\u4004\u1060\uC408\u2080\u4630\u4200\u4020\u1201\u8150"
+			+ "\u0A01\u02A0\u1402\u0540\uA805\u0932\u220A\u1000\u4090\u2804\u8B20"
+			+ "\2\u0140\0\0\0\0\0\0\0\0\0\0\0\0\u8110\0\u2220\u4428\u1201\10\u0804"
+			+ "\uC260\u5102\u2144\uA214\u4088\u4024\u5300\u4080\u0201\u080A\u0C02"
+			+ "\u0142\u0845\u2080\u4C16\u0508\u2114\u8800\u2048\u1422\u8410\u0881"
+			+ "\u4020\u1041\u2050\u1024\u10A0\u4088\u0800\u4989\u492A\u8712\u3240"
+			+ "\u0240\u2820\u4429\u1041\u0104\u1201\206\u4100\u8410\u20A0\u9001"
+			+ "\u0420\u1041\204l\u1082\u500A\u0140\24\u0280\u4028\u0500\u2941\u0A01"
+			+ "\u0100\u0944\u3206\u900A\u0100\uA014\u0942\u2880\u0821\u040A\u0810"
+			+ "\u8341\u2084\u1000\uA010\u0104\u8210\u4021\0\u3C10\300\u2288\u0881"
+			+ "\u5021\u0480\u4004\u2205\u4088\u1245\u8050\uA811\u02A0\u1402\u0140"
+			+ "\u2805\241\u500A\u0142\24\u2284\u8811\uA408\u1040\u8810\u1600\u1021"
+			+ "\u0144\u2040\u4280\u500A\u0510\uA214\1\u4028\u1042\u0841\u0128\u2900"
+			+ "\uC100\u0104\uA014\u4006\u4428\u0500\u8051\u0A21\u1000\u1402\u0104"
+			+ "\u2084\u4011\uA010\u5C10\u8210\u0A00\0\u1402\u80D0\u6805\u01A0\u034A"
+			+ "\u0340\20\u0419\u05A0\u0C01\200\u0802\u02A0\u8002\u0541\u2805\u1283"
+			+ "\u500A\u1404\uA054\u480C\u0A60\u901A\u0140\u2030\200\u500A\0\uA014"
+			+ "\u0280\u4028\u0500\u0D01\uCA01\u1582\u0804\u0200\u109A\u8100\uA014"
+			+ "\310\u8203\u4001\u0400\u9052\u0840\u1204\u1080\u4148\u2101\u8290"
+			+ "\u4202\u0820\uA404\14\u8821\u2284\u10C0\u0504\uA084\u8800\u4308\u1412"
+			+ "\u8210\u2865\u0C20\u1082\u0942\2\u081A\u4218\u4000\u8030\u0504\u0861"
+			+ "\u0420\300\u14B1\u2184\u3082\uA110\u200C\u4220\u4408\u8000\u1490"
+			+ "\u0409\u0420\u1100E\u2204\u508A\u0268\u2104\u9009\u0208\u0422\u02C4"
+			+ "\u4A00\u0409\u7040\u9041\uA890\u1322\u8200\uC014\u0C04\u8210\u2881"
+			+ "\u0820\u1081\u402C\u5494\u2084\u4205\u06A4\u4A40\u0210\u0810\u1410"
+			+ "\302\u0841\0\2\0\0\0\0\0\0\0\0\0\0\0\0\uC809\u0120\22\u0240\u2064"
+			+ "\u0481\u2026\u8903\u0149\u9005\u0282\u200C\u8200\uC018\u0C40\u8811"
+			+ "\u1001\u0822\u3005\u0442\u6304\u6080\uC418\u8118\u8430\u8220 \u0C21"
+			+ "\240\u2408\u2184\u1082\u0300\u5434\u8610\u4208\u0C01\u48D0\u1843"
+			+ "\u0820\u1042\302\u1204\u0419\u4108\u2904\u8080\u0202\u0420\uA410"
+			+ "\u0204\uA001\u1482\u1052\u8090\u2024\u6120\u4044\u2091\2\u8808 \u8946"
+			+ "\u0225\u2022\u4080\u4048\u2101\0\u0202\0\0\0\0\0\0\0\0\0\0\0\0\u2808"
+			+ "\0\u1050\u608C\u2024\u1082\u4140\u0101\u8090\u4208\u0502\u1800\u0241"
+			+ "\u0829\uC280\u8002\u1103\u2008\u1400\u4098\u440C\u8030\u5809\u0260"
+			+ "\uB032\300\u202C\u0981\u4809\u1124\u9212\u6240\u2224\u4490\u0841"
+			+ "\u8001\u0800\u1042\u3106\u0134\u0204\u4108\u0480\u9012\u0901\u2024"
+			+ "\u1202\u4048\u6022\u3800\u2294\u588C\u8028\u7110\u2C10\u4410\u504A"
+			+ "\u0941\u9092\u1242\u0120\u2404\uC218\u4300\0\u8410\u0821\u0421\0"
+			+ "\u05C1\u240C\u8090\u4819\u0120\u9032\u0640P\u1034\200\u0405\u0180"
+			+ "\u285A\u0800\u200C\u1240\uC809\u2481\u9012\u4903\u2164\u9005\u0140"
+			+ "\u200C\u0580\uC018\u0B01\u9080\u0202\u2124\u0480\u4248\u0901\u0490"
+			+ "\u1212\u0806\u5014\u1109\uC048\u2202\20\u0881\u1420\u1142\u2044\u2204"
+			+ "\u508A\u4100\u0110\u4090\u4208\u0401\u3000\u0741\u0821\u4088\u1140"
+			+ "\uA114\u2204\u0220\u4508\u0410\21Y\u0400\u1040\u1280l\u1082\u4608"
+			+ "\uC118\u8811\u0230\u1022\u0440B\1\u2084\u1080\u3282\u2104\u0104\u0134"
+			+ "\u0440\u8800\u0881\u1022\u1102\u2044\u4192\u0488\u2044\u080C\u42A8"
+			+ "\u5800\20\u2410\u20C4\u2880\u4188\u5102\u8710\u6214\u0601\u02C8\u1C01"
+			+ "\20\u3803\240\u8002\u01C0\u2204\u4088\u4408\u8111\u8811\u1222\u0640"
+			+ "\uD404\u09C0\u4000\200\u9010\0\u2020\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\0\0\0\u0A01\u4000\2\u8050\u2304\u8494\u3000\u0111"
+			+ "\uA014\240\u2024\u0240D\u0881H\u0A000\u2805\u0220\u4809\0\21\0\0"
+			+ "\0\0\0\0\u5108\u8000\u9211\u0282\u1022\u0484H\1\u80A0\u5440\uA120"
+			+ "\u2404\0\u4428\u0500\uA014\u1920(\u1106\u2848\u1801\u8000\u280A\u0140"
+			+ "\u8812\u0240\uC000\u0440\u8050\u0280\u8090\u0902\u0110\u2204\u2220"
+			+ "\0\u4440\uA034\u0881\u2064\0D\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\u0A01\u4000\1\241\u6084"
+			+ "\u0182\u5000\u2300\u2094\u0180\u0100\u0420\u0220\u4841\0\2\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\u1050\0\u20A0\u0811\u4800\u2024\u0202"
+			+ "\u4200\0\0\0\0\0\0\u1883\u8000\u2904\u0882\u4108\u1104\u2000\u6204"
+			+ "\u0100\u0821\u0290\u0842\u0404\uA082\210\u5008\u0410\u2034\u1821"
+			+ "@\2\201\0\0\0\0\0\0\u4010\u8500A\u0403\u1182\u1004\u2160\u2008\u4000"
+			+ "\u5028\u8481\20\u0807\u0420\u0410\u8430\u9022\u0860\u2080\u18A0\u410A"
+			+ "\u0102\u2218\u0A04\u0628\u0108@\u8820\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\u1000\u1500\u0118\u2025\u1218\u4040\u0240\u8090\u0404"
+			+ "\uC419\u0109\u2024\u1012\u0246\uA10A\u0140\u8200\u0100`\u8401\0#"
+			+ "\0\0\0\0\0\0\u1300\u6005\u2480\u9008\u4809\u1404\0@\0\0\0\0\u4000"
+			+ "\0\u8030\u0241\200\u9082\u0908\u1100\0\10\0\0\0\0\u0900\0\u180A\u0244"
+			+ "\u2400\u8418\u4048\u8011 \u8440\u2021\u0808\u1482\u0812\300\u2020"
+			+ "\u4081\u3006\uC202\u4909\u0404\u8090\u3420T\u4004\u5080\uC018\u3100"
+			+ "\u8211\u0200\u1400\u0404\u0844\u0480\u4080\u9041\u0141\u2085\u0400"
+			+ "\u4100\u2C10\u8211\u0221\u4020\u1041\u8050\u2084\u0100\u3008\u0284"
+			+ "\u204C\204\u8092\u2208\u0100\uA410\0\1\0\0\0\0\u4440\0\u8802 \u0902"
+			+ "\u2004\u200A\u0881\0\0\0\0\0\0\u8842\0\u2000\u1422\u0108\u2104\u8206"
+			+ "\u4140\u0408\u8210\u0410\u8400\u1040\u0C42\u2085\u2081\u4100\u0142"
+			+ "\u8210\u8400 \u4C10\0\0\0\0\0\0\u0280\u5000\u0430\uA014\u0829\u0840"
+			+ "\u1402\u0280\u080D\"\u4010\u0104\u8020\u4608\u4128\u0300\u0242\u0A00"
+			+ "\200\u9081\0\u2020\0\0\0\0\0\0\0\0\0\0\0\0\u8080\0\u0128\u0D02\u0242"
+			+ "\u1845\0\u1012\300\u0843\u490A\u2086\u3208\u4108\u0A00\u4410\u1041"
+			+ "\u8050\u4002\u1082\u1108\u0300\u6014\u0280\u8420\u8410\300\u1000"
+			+ "\u02A0\u8002\u2505\u200D\u0400\u4018\u2000\u8030\u4803\240\uD006"
+			+ "\u0140\u1012\u0400\0\0\0\0\0\0D\0\u4080\u9040\u2011\u0284\12\u4048"
+			+ "\u1210\u9012\u2820\20\u500A\u0840\u1102\uC002\u2204\u02A4\u4408\u0528"
+			+ "\20\u0821\0\0\0\0\0\0\0\0\0\0\0\0\u1100\0\u200C\u0800\u0414\u8110"
+			+ "\u4030\u0604\0\0\0\0\0\0\u40A0\0\u8040\uA801\u0201\u4888\u0402\u0851"
+			+ "\u2A09\u1024\u5200\u6040\u8214\u4010\u8211\u0100\u8420\u2000\u0820"
+			+ "\u4880\200\u8052\0\0\0\0\0\0\0\0\0\0\0\0\u4C00\0\22\u1208\u1080\u0410"
+			+ "\u0341\u0821\u0482\u1102\u0884\4\u400A\u4404\0\u8090\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\u0444\0\u0880\u2002\u1080\u6202\u0200\u8098\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\u0800\0@\u8821\u2041\u0840\u1104\304\u2208\u4A08"
+			+ "\u0410\22\u0821\u0880\u1082\u0541\4\u0882\u4204\u400C\u8110\u4108"
+			+ "\0\0\0\0\0\0\240\0\uC040\uA805\uA201\u4488\u0402\u8050\u0A00\u4848"
+			+ "\u2014\u1090\u4104\u2000\0\u0201\0\0\0\0\u8000\0\u0221\u1402\u0502"
+			+ "\u2281\u2A01\u4088\0\0\0\0\0\0\0\0\u8030\u0A02`\u1404\200\u5409\u8090"
+			+ "\u0241\u2104\u1404\u0800\u2108\u0280\u8050\u8500\u2114\u8845\u0221"
+			+ "\u1022\u0940\0\0\0\0\0\0\u4200\0\u1490\u300A\u0504\u6014\u0201\10"
+			+ "\u0C02\u8080\u1805\u0120\u2015\u0240\u2084\u6040\u4100\u0112\u8210"
+			+ "\u9000\u0820\u6410@\u8821\u2044\300\u1104\u1084\u2228\u4608\u4000"
+			+ "\20\u1811\u0860\u1102\u0441\u2202\u400A\10\u0904\u8090\u4108\u9002"
+			+ "\u8440\u0241\u0880\u1042\2\u8018\u2024\u8120\u2404\u9220\u4408\u0406"
+			+ "\u8450\0\0\0\0\0\0\0\0\0\0\0\0\u4000\0\u8310\u1204\u0400\u4080\u0A01"
+			+ "\u8110\u2808 \u5012\300\u5014\u0180\u0500\u0680\u8801\u1220\u0400"
+			+ "\uA410\u0200\u0809\u4088\u1102\u0106\u2204\u0206\u4110\0\u80A0\0"
+			+ "\0\0\0\0\0\uC428\u0800\u8250\u1220\u0120\u2411\u2200\1\u0C80\u310A"
+			+ "\u0100\u6054\u0200\uC010\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0P\u2800"
+			+ "\0\10\u80A0\u900C\0\0\u0440\0\0\0\0\u0110\0\0\0\0\12\1\u4000\0\0"
+			+ "\u1204\u80A0\u5000\0\21\u0140\0\0\0\u0880\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0000\0\u0182\0\u4000\u2804\u0202\4\0\0\0\0\0\0\0\0"
+			+ "\0\0\u8400\u0180\0\u0404\0\0\u8060\0\u0902\u1082\u4140\10\u0402\20"
+			+ "\u0820(\2\200\0\0\6\0\u8020\u0208\u0400\0\u8000\1\u0481\u0A02\300"
+			+ "\u1014\u0602\u4089\0\10\0\0\0\0\0\0\0\0\0\0\u0100\0\u1044\u0601\200"
+			+ "\u4841\u2000\3\0\u4018\0\0\u0881\u4000\u1009\u0422\0\0\u5000\0\u4090"
+			+ "\u8000\0\0\0\0\u2088\u0C00\200\u6014\u0208\u2400\u0500\u8080\u2410"
+			+ "\u8412\0@\u2008\0\u4108\u8000\0\u0102 \u8000P\0\u0100\u1040\u1090"
+			+ "\u2802\u0201\u2048\0\0\0\0\u2002\u0444\0@\0\0\10\u8000\0\0\u0441"
+			+ "\u0440\0\2\0\u2080\0\0\0\0\0(\u1400\0\u4004\u1000\u220A\u0100\20"
+			+ "\u1000\0\0\0\0\0\0\0\0\0\u4040\u4210\uA000\u0404\u8120\2\u0850\u2802"
+			+ "\u0100\u8000\u0104\0\u0100@\0\u0200\1@\u300A\0\0\0\0\u2410\21\0\uA020"
+			+ "\u100A\u0800\u2102\u4050\10\u0284\0\0\0\0\0\0\210\0\u0100\u5040\0"
+			+ "\0\u0480\0\u1409\u0812\u1101\u4040\u200A\u0284\u4104\u8000\20\u1000"
+			+ "\0\0\0\0\0\0\u2000\0\0\10\u2410\u4800\0 \0\0\0\0\0\0\u8109\0 \u0800"
+			+ "\0\0\0\0\0\0\u4110\0\0\u8110\u0820\0\0\0\u1044\u1084\0\0\0\0\u8411"
+			+ "\u0480\u4040\u1408\u0282\2\0\2\0\0\u4220\u9000\u0803\u0110\0\0\0"
+			+ "\0\uA028\u0800\u8212\u0200\u8080\0\u0421\u0900@\u3011\0\0\0\0\u0202"
+			+ "\0\u4000\0\u1005\u0140\u2080\0\0\0\u4110\u4210\0\0 \u8000\u1000\u1100"
+			+ "\u8000\u1024\u1208\10\u0440\10\u1404\u8421\0 \0\0\0\0\u8800\0\20"
+			+ "\u4000\0\u0802\u0180\u4810\u0104\u2204\0\u4040\0\21\0\0\0\0\0\0\0"
+			+ "\u0101\0\0 \u0800\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0"
+			+ "\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0\0";
+
+	private Tables() {
+	}
+
+	/**
+	 * Unpacks table of the bytes
+	 */
+	static public byte[] bytes(String data) {
+		byte[] result = new byte[data.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = (byte) data.charAt(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Unpacks part of the table of the shorts
+	 */
+	static public short[] shorts(String data, int offset, int length) {
+		short[] result = new short[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = (short) data.charAt(offset + i);
+		}
+		return result;
+	}
+
+	/**
+	 * Unpacks table of the ints (high char first)
+	 */
+	static public int[] ints(String data) {
+		int[] result = new int[data.length() / 2];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = (data.charAt(2 * i) << 16) | data.charAt(2 * i + 1);
+		}
+		return result;
+	}
+}
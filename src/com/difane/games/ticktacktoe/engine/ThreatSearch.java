@@ -0,0 +1,344 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Threat-space search of the Gomoku forced wins with the proof-number
+ * search.
+ *
+ * Attacker moves only with the threats: moves, that make five, four or open
+ * three. Defender answers only to the threats: blocks the five, when the
+ * attacker has four, or puts stone to one of the cells, where the attacker
+ * would make four or open four, or makes own four. So the tree is narrow and
+ * deep, and the proof-number search goes first into the lines with the least
+ * defender replies.
+ *
+ * Tree is kept in the arrays, that are allocated once, so the search does not
+ * allocate memory. Board is changed in place along the selected path and is
+ * restored after each iteration.
+ */
+public class ThreatSearch {
+
+	/**
+	 * Proof and disproof numbers of the solved nodes
+	 */
+	static public final int INFINITY = 1 << 28;
+
+	/**
+	 * Count of the iterations between the deadline checks (power of 2)
+	 */
+	static private final int CHECK_INTERVAL = 16;
+
+	/**
+	 * Maximal count of the nodes
+	 */
+	private int maxNodes;
+
+	/**
+	 * Tree nodes: move cell, parent, first child, children count, proof and
+	 * disproof numbers. Children are stored one after another. Node is not
+	 * expanded, if children count is -1
+	 */
+	private short[] cells;
+	private int[] parents;
+	private int[] firstChildren;
+	private short[] childCounts;
+	private int[] proofs;
+	private int[] disproofs;
+	private int nodeCount = 0;
+
+	/**
+	 * Moves of the node, that is expanded
+	 */
+	private short[] scratch = new short[GomokuBoard.CELLS];
+
+	/**
+	 * Clock for the deadline checks
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Iterations of the last search
+	 */
+	private int iterations = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxNodes
+	 *            Maximal count of the tree nodes
+	 */
+	public ThreatSearch(int maxNodes) {
+		this.maxNodes = maxNodes;
+		cells = new short[maxNodes];
+		parents = new int[maxNodes];
+		firstChildren = new int[maxNodes];
+		childCounts = new short[maxNodes];
+		proofs = new int[maxNodes];
+		disproofs = new int[maxNodes];
+	}
+
+	/**
+	 * Searches forced win of the side to move
+	 *
+	 * @param board
+	 *            Current position. Board is restored, when search returns
+	 * @param attacker
+	 *            Side to move: Evaluator.FIELD_X or Evaluator.FIELD_O
+	 * @param maxDepth
+	 *            Maximal count of the moves in the winning line
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime())
+	 * @return first move of the forced win or -1, if win was not found
+	 */
+	public int search(GomokuBoard board, int attacker, int maxDepth, long deadline) {
+		int defender = attacker == Evaluator.FIELD_X ? Evaluator.FIELD_O : Evaluator.FIELD_X;
+		nodeCount = 0;
+		iterations = 0;
+		int root = newNode(-1, -1);
+
+		while (proofs[root] != 0 && disproofs[root] != 0) {
+			if ((++iterations & (CHECK_INTERVAL - 1)) == 0 && clock.nanoTime() >= deadline) {
+				break;
+			}
+
+			// Most proving node
+			int node = root;
+			int depth = 0;
+			while (childCounts[node] >= 0) {
+				node = selectChild(node, (depth & 1) == 0);
+				board.makeMove(cells[node], (depth & 1) == 0 ? attacker : defender);
+				depth++;
+			}
+
+			boolean expanded = (depth & 1) == 0 ? expandAttacker(board, node, attacker,
+					defender, depth >= maxDepth) : expandDefender(board, node, attacker, defender);
+			if (childCounts[node] > 0) {
+				update(node, (depth & 1) == 0);
+			}
+
+			// Update of the numbers up to the root
+			while (node != root) {
+				depth--;
+				board.undoMove();
+				node = parents[node];
+				update(node, (depth & 1) == 0);
+			}
+			if (!expanded) {
+				// Out of nodes
+				break;
+			}
+		}
+
+		if (proofs[root] != 0) {
+			return -1;
+		}
+		for (int i = 0; i < childCounts[root]; i++) {
+			int child = firstChildren[root] + i;
+			if (proofs[child] == 0) {
+				return cells[child];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Expands node, where attacker moves
+	 *
+	 * @return false, if there is no room for the children
+	 */
+	private boolean expandAttacker(GomokuBoard board, int node, int attacker, int defender,
+			boolean depthLimit) {
+		int count = 0;
+		int block = -1;
+		int blocks = 0;
+		for (int cell = 0; cell < GomokuBoard.CELLS; cell++) {
+			if (!board.isCandidate(cell)) {
+				continue;
+			}
+			int shape = board.getShape(cell, attacker);
+			if (shape == GomokuPatterns.FIVE) {
+				setLeaf(node, 0, INFINITY);
+				return true;
+			}
+			if (board.getShape(cell, defender) == GomokuPatterns.FIVE) {
+				block = cell;
+				blocks++;
+			}
+			if (shape >= GomokuPatterns.OPEN_THREE) {
+				scratch[count++] = (short) cell;
+			}
+		}
+
+		if (depthLimit || blocks > 1) {
+			count = 0;
+		} else if (blocks == 1) {
+			// Defender has four: attacker must block it, and the block must
+			// be a threat too
+			count = board.getShape(block, attacker) >= GomokuPatterns.OPEN_THREE ? 1 : 0;
+			scratch[0] = (short) block;
+		}
+		return addChildren(node, count);
+	}
+
+	/**
+	 * Expands node, where defender moves
+	 *
+	 * @return false, if there is no room for the children
+	 */
+	private boolean expandDefender(GomokuBoard board, int node, int attacker, int defender) {
+		int count = 0;
+		int five = -1;
+		int fives = 0;
+		boolean threat = false;
+		for (int cell = 0; cell < GomokuBoard.CELLS; cell++) {
+			if (!board.isCandidate(cell)) {
+				continue;
+			}
+			int defenderShape = board.getShape(cell, defender);
+			if (defenderShape == GomokuPatterns.FIVE) {
+				setLeaf(node, INFINITY, 0);
+				return true;
+			}
+			int attackerShape = board.getShape(cell, attacker);
+			if (attackerShape == GomokuPatterns.FIVE) {
+				five = cell;
+				fives++;
+			}
+			if (attackerShape >= GomokuPatterns.OPEN_FOUR || isDoubleThreat(board, cell, attacker)) {
+				threat = true;
+			}
+			if (attackerShape >= GomokuPatterns.FOUR || defenderShape >= GomokuPatterns.FOUR) {
+				scratch[count++] = (short) cell;
+			}
+		}
+
+		if (fives > 1) {
+			setLeaf(node, 0, INFINITY);
+			return true;
+		}
+		if (fives == 1) {
+			count = 1;
+			scratch[0] = (short) five;
+		} else if (!threat) {
+			// Last attacker move was not a threat, defender is free
+			count = 0;
+		}
+		if (count == 0) {
+			setLeaf(node, INFINITY, 0);
+			return true;
+		}
+		return addChildren(node, count);
+	}
+
+	/**
+	 * Checks, that the stone in the cell makes two fours or four and open
+	 * three
+	 */
+	static private boolean isDoubleThreat(GomokuBoard board, int cell, int type) {
+		int fours = 0;
+		int threes = 0;
+		for (int d = 0; d < GomokuBoard.DIRECTIONS; d++) {
+			int shape = board.getShape(cell, d, type);
+			if (shape >= GomokuPatterns.FOUR) {
+				fours++;
+			} else if (shape == GomokuPatterns.OPEN_THREE) {
+				threes++;
+			}
+		}
+		return fours >= 2 || (fours == 1 && threes >= 1);
+	}
+
+	/**
+	 * Adds children with the moves from the scratch. Attacker fails, if it has
+	 * no moves
+	 *
+	 * @return false, if there is no room for the children
+	 */
+	private boolean addChildren(int node, int count) {
+		if (count == 0) {
+			setLeaf(node, INFINITY, 0);
+			return true;
+		}
+		if (nodeCount + count > maxNodes) {
+			return false;
+		}
+		firstChildren[node] = nodeCount;
+		childCounts[node] = (short) count;
+		for (int i = 0; i < count; i++) {
+			newNode(scratch[i], node);
+		}
+		return true;
+	}
+
+	private void setLeaf(int node, int proof, int disproof) {
+		proofs[node] = proof;
+		disproofs[node] = disproof;
+		childCounts[node] = 0;
+	}
+
+	private int newNode(int cell, int parent) {
+		int node = nodeCount++;
+		cells[node] = (short) cell;
+		parents[node] = parent;
+		firstChildren[node] = 0;
+		childCounts[node] = -1;
+		proofs[node] = 1;
+		disproofs[node] = 1;
+		return node;
+	}
+
+	/**
+	 * Selects child with the smallest proof number (attacker) or disproof
+	 * number (defender)
+	 */
+	private int selectChild(int node, boolean attacker) {
+		int[] numbers = attacker ? proofs : disproofs;
+		int first = firstChildren[node];
+		int best = first;
+		for (int child = first + 1; child < first + childCounts[node]; child++) {
+			if (numbers[child] < numbers[best]) {
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Recalculates numbers of the expanded node from the children
+	 */
+	private void update(int node, boolean attacker) {
+		int first = firstChildren[node];
+		int min = INFINITY;
+		int sum = 0;
+		int[] minNumbers = attacker ? proofs : disproofs;
+		int[] sumNumbers = attacker ? disproofs : proofs;
+		for (int child = first; child < first + childCounts[node]; child++) {
+			if (minNumbers[child] < min) {
+				min = minNumbers[child];
+			}
+			sum += sumNumbers[child];
+			if (sum > INFINITY) {
+				sum = INFINITY;
+			}
+		}
+		minNumbers[node] = min;
+		sumNumbers[node] = sum;
+	}
+
+	/**
+	 * @return iterations of the last search
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * @return count of the tree nodes of the last search
+	 */
+	public int getNodes() {
+		return nodeCount;
+	}
+
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+}
@@ -0,0 +1,118 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Bounded cache of the position results, keyed by the canonical position key
+ * (see Symmetry). Cache is direct mapped: each key has the single slot, and
+ * new entry replaces the old one. Cache does not allocate memory after
+ * construction.
+ */
+public class TranspositionCache {
+
+	/**
+	 * Value, that is returned, when key is not found
+	 */
+	static public final int MISS = -1;
+
+	/**
+	 * Stored keys. Empty slot contains -1
+	 */
+	private int[] keys;
+
+	/**
+	 * Stored values
+	 */
+	private int[] values;
+
+	/**
+	 * Shift to calculate slot from the hash
+	 */
+	private int slotShift;
+
+	/**
+	 * Statistics
+	 */
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param bits
+	 *            Cache contains 2^bits slots (1 to 18)
+	 */
+	public TranspositionCache(int bits) {
+		int size = 1 << bits;
+		this.keys = new int[size];
+		this.values = new int[size];
+		this.slotShift = 32 - bits;
+		clear();
+	}
+
+	/**
+	 * Returns cached value
+	 *
+	 * @param key
+	 *            Canonical key (non-negative)
+	 * @return value or MISS, if key is not in the cache
+	 */
+	public int get(int key) {
+		int slot = slot(key);
+		if (keys[slot] == key) {
+			hits++;
+			return values[slot];
+		}
+		misses++;
+		return MISS;
+	}
+
+	/**
+	 * Stores value
+	 *
+	 * @param key
+	 *            Canonical key (non-negative)
+	 * @param value
+	 *            Value to store
+	 */
+	public void put(int key, int value) {
+		int slot = slot(key);
+		keys[slot] = key;
+		values[slot] = value;
+	}
+
+	/**
+	 * Removes all entries. Statistics is not reset
+	 */
+	public void clear() {
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = -1;
+		}
+	}
+
+	/**
+	 * Slot of the key (Fibonacci hashing)
+	 */
+	private int slot(int key) {
+		return (key * 0x9E3779B9) >>> slotShift;
+	}
+
+	/**
+	 * @return count of the found keys
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return count of the keys, that was not found
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return count of the slots
+	 */
+	public int getCapacity() {
+		return keys.length;
+	}
+}
@@ -0,0 +1,339 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Game state of the Ultimate tic-tac-toe: 3x3 meta-board of the 3x3
+ * sub-boards. Move to the cell sends the opponent to the sub-board with the
+ * same index; if that sub-board is already won or full, opponent may move to
+ * any open sub-board. Sub-board is won by three in a row, game is won by
+ * three won sub-boards in a row.
+ *
+ * Each sub-board is a pair of the 9-bit occupancy masks (same as the
+ * Bitboard), and the meta-board is a pair of the masks of the won
+ * sub-boards. Wins are checked by the Bitboard 512-entry table, and the
+ * legal moves of the sub-board are its empty mask, so the move generation is
+ * a few mask operations.
+ *
+ * Moves are numbered from 0: move = board * 9 + cell, where board and cell
+ * are bit indexes (field - 1).
+ */
+public class UltimateBoard {
+
+	/**
+	 * Count of the cells
+	 */
+	static public final int CELLS = Bitboard.FIELDS * Bitboard.FIELDS;
+
+	/**
+	 * Target board value, when any open sub-board may be used
+	 */
+	static public final int ANY_BOARD = -1;
+
+	/**
+	 * Occupancy masks of the sub-boards
+	 */
+	private int[] xMasks = new int[Bitboard.FIELDS];
+	private int[] oMasks = new int[Bitboard.FIELDS];
+
+	/**
+	 * Meta-board: sub-boards won by X and by O, and sub-boards, where no move
+	 * is possible (won or full)
+	 */
+	private int metaX;
+	private int metaO;
+	private int closed;
+
+	/**
+	 * Sub-board of the next move or ANY_BOARD
+	 */
+	private int target;
+
+	/**
+	 * Moves and target sub-boards before the moves, for the undo
+	 */
+	private byte[] moves = new byte[CELLS];
+	private byte[] targets = new byte[CELLS];
+	private int moveCount;
+
+	/**
+	 * Current game status
+	 */
+	private int status;
+
+	/**
+	 * Constructor
+	 */
+	public UltimateBoard() {
+		reset();
+	}
+
+	/**
+	 * Clears the board
+	 */
+	public void reset() {
+		for (int b = 0; b < Bitboard.FIELDS; b++) {
+			xMasks[b] = 0;
+			oMasks[b] = 0;
+		}
+		metaX = 0;
+		metaO = 0;
+		closed = 0;
+		target = ANY_BOARD;
+		moveCount = 0;
+		status = Bitboard.STATUS_NOT_COMPLETED;
+	}
+
+	/**
+	 * Copies state of the other board
+	 */
+	public void copyFrom(UltimateBoard other) {
+		System.arraycopy(other.xMasks, 0, xMasks, 0, Bitboard.FIELDS);
+		System.arraycopy(other.oMasks, 0, oMasks, 0, Bitboard.FIELDS);
+		System.arraycopy(other.moves, 0, moves, 0, other.moveCount);
+		System.arraycopy(other.targets, 0, targets, 0, other.moveCount);
+		metaX = other.metaX;
+		metaO = other.metaO;
+		closed = other.closed;
+		target = other.target;
+		moveCount = other.moveCount;
+		status = other.status;
+	}
+
+	/**
+	 * Makes move of the side to move. Move must be legal
+	 *
+	 * @param move
+	 *            Move (0 to CELLS - 1)
+	 */
+	public void makeMove(int move) {
+		int board = move / Bitboard.FIELDS;
+		int bit = 1 << (move - board * Bitboard.FIELDS);
+		int boardBit = 1 << board;
+		boolean x = (moveCount & 1) == 0;
+
+		moves[moveCount] = (byte) move;
+		targets[moveCount] = (byte) target;
+		moveCount++;
+
+		int own;
+		if (x) {
+			own = xMasks[board] |= bit;
+		} else {
+			own = oMasks[board] |= bit;
+		}
+		if (Bitboard.isWin(own)) {
+			closed |= boardBit;
+			if (x) {
+				metaX |= boardBit;
+			} else {
+				metaO |= boardBit;
+			}
+			if (Bitboard.isWin(x ? metaX : metaO)) {
+				status = x ? Bitboard.STATUS_X_WINS : Bitboard.STATUS_O_WINS;
+			}
+		} else if ((xMasks[board] | oMasks[board]) == Bitboard.FULL) {
+			closed |= boardBit;
+		}
+		if (status == Bitboard.STATUS_NOT_COMPLETED && closed == Bitboard.FULL) {
+			status = Bitboard.STATUS_DRAW;
+		}
+
+		int next = move - board * Bitboard.FIELDS;
+		target = (closed & (1 << next)) != 0 ? ANY_BOARD : next;
+	}
+
+	/**
+	 * Takes back the last move
+	 */
+	public void undoMove() {
+		moveCount--;
+		int move = moves[moveCount];
+		int board = move / Bitboard.FIELDS;
+		int mask = ~(1 << (move - board * Bitboard.FIELDS));
+		int boardMask = ~(1 << board);
+
+		// Move was made to the open sub-board, so the sub-board is open again
+		xMasks[board] &= mask;
+		oMasks[board] &= mask;
+		metaX &= boardMask;
+		metaO &= boardMask;
+		closed &= boardMask;
+		target = targets[moveCount];
+		status = Bitboard.STATUS_NOT_COMPLETED;
+	}
+
+	/**
+	 * Returns sub-boards, where the side to move may move
+	 *
+	 * @return mask of the sub-boards
+	 */
+	public int getMoveBoards() {
+		if (status != Bitboard.STATUS_NOT_COMPLETED) {
+			return 0;
+		}
+		return target == ANY_BOARD ? ~closed & Bitboard.FULL : 1 << target;
+	}
+
+	/**
+	 * Returns legal moves of the side to move in the sub-board
+	 *
+	 * @param board
+	 *            Sub-board (0 to 8)
+	 * @return mask of the cells
+	 */
+	public int getMoveCells(int board) {
+		if ((getMoveBoards() & (1 << board)) == 0) {
+			return 0;
+		}
+		return ~(xMasks[board] | oMasks[board]) & Bitboard.FULL;
+	}
+
+	/**
+	 * Writes all legal moves of the side to move
+	 *
+	 * @param result
+	 *            Array of at least CELLS elements
+	 * @return count of the moves
+	 */
+	public int generateMoves(int[] result) {
+		int count = 0;
+		int boards = getMoveBoards();
+		for (int b = 0; b < Bitboard.FIELDS; b++) {
+			if ((boards & (1 << b)) != 0) {
+				int cells = ~(xMasks[b] | oMasks[b]) & Bitboard.FULL;
+				for (int c = 0; c < Bitboard.FIELDS; c++) {
+					if ((cells & (1 << c)) != 0) {
+						result[count++] = b * Bitboard.FIELDS + c;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Makes random legal move of the side to move
+	 *
+	 * @param random
+	 *            Random generator
+	 * @return false, if there are no legal moves
+	 */
+	public boolean makeRandomMove(SeededRandom random) {
+		int boards = getMoveBoards();
+		int total = 0;
+		for (int b = 0; b < Bitboard.FIELDS; b++) {
+			if ((boards & (1 << b)) != 0) {
+				total += Bitboard.bitCount(~(xMasks[b] | oMasks[b]) & Bitboard.FULL);
+			}
+		}
+		if (total == 0) {
+			return false;
+		}
+		int n = random.nextInt(total);
+		for (int b = 0; b < Bitboard.FIELDS; b++) {
+			if ((boards & (1 << b)) == 0) {
+				continue;
+			}
+			int cells = ~(xMasks[b] | oMasks[b]) & Bitboard.FULL;
+			int count = Bitboard.bitCount(cells);
+			if (n >= count) {
+				n -= count;
+				continue;
+			}
+			for (int c = 0; c < Bitboard.FIELDS; c++) {
+				if ((cells & (1 << c)) != 0 && n-- == 0) {
+					makeMove(b * Bitboard.FIELDS + c);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks, that the move is legal for the side to move
+	 */
+	public boolean isLegal(int move) {
+		if (move < 0 || move >= CELLS) {
+			return false;
+		}
+		int board = move / Bitboard.FIELDS;
+		return (getMoveCells(board) & (1 << (move - board * Bitboard.FIELDS))) != 0;
+	}
+
+	/**
+	 * @return Evaluator.FIELD_EMPTY, FIELD_X or FIELD_O
+	 */
+	public int getCell(int move) {
+		int board = move / Bitboard.FIELDS;
+		int bit = 1 << (move - board * Bitboard.FIELDS);
+		if ((xMasks[board] & bit) != 0) {
+			return Evaluator.FIELD_X;
+		}
+		return (oMasks[board] & bit) != 0 ? Evaluator.FIELD_O : Evaluator.FIELD_EMPTY;
+	}
+
+	/**
+	 * Returns status of the sub-board
+	 *
+	 * @param board
+	 *            Sub-board (0 to 8)
+	 * @return one of the Bitboard.STATUS_* values
+	 */
+	public int getBoardStatus(int board) {
+		int bit = 1 << board;
+		if ((metaX & bit) != 0) {
+			return Bitboard.STATUS_X_WINS;
+		}
+		if ((metaO & bit) != 0) {
+			return Bitboard.STATUS_O_WINS;
+		}
+		return (closed & bit) != 0 ? Bitboard.STATUS_DRAW : Bitboard.STATUS_NOT_COMPLETED;
+	}
+
+	public int getXMask(int board) {
+		return xMasks[board];
+	}
+
+	public int getOMask(int board) {
+		return oMasks[board];
+	}
+
+	/**
+	 * @return sub-boards won by X
+	 */
+	public int getMetaX() {
+		return metaX;
+	}
+
+	/**
+	 * @return sub-boards won by O
+	 */
+	public int getMetaO() {
+		return metaO;
+	}
+
+	/**
+	 * @return sub-board of the next move or ANY_BOARD
+	 */
+	public int getTarget() {
+		return target;
+	}
+
+	/**
+	 * @return one of the Bitboard.STATUS_* values
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	/**
+	 * @return type of the side to move
+	 */
+	public int getSideToMove() {
+		return (moveCount & 1) == 0 ? Evaluator.FIELD_X : Evaluator.FIELD_O;
+	}
+}
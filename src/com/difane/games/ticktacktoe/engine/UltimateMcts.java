@@ -0,0 +1,261 @@
+package com.difane.games.ticktacktoe.engine;
+
+/**
+ * Monte Carlo Tree Search for the Ultimate tic-tac-toe.
+ *
+ * Same scheme, as the Mcts of the 3x3 board, in the single thread: tree is
+ * stored in the preallocated arrays, each iteration selects a leaf by UCT,
+ * plays a random game from it and adds the result to all nodes on the path.
+ * Node is expanded with all its legal moves on the second visit, children
+ * are stored one after another. Moves are made on the given board along the
+ * path and taken back after the each iteration, so the search does not
+ * allocate memory and does not copy the board.
+ *
+ * When the pool is full, search continues with the playouts from the leaves
+ * of the existing tree.
+ */
+public class UltimateMcts {
+
+	/**
+	 * Default count of the nodes in the pool
+	 */
+	static public final int DEFAULT_CAPACITY = 65536;
+
+	/**
+	 * Playout result scores for the side, that moved to the node: win counts
+	 * 2, draw counts 1, loss counts 0
+	 */
+	static private final int SCORE_WIN = 2;
+	static private final int SCORE_DRAW = 1;
+
+	/**
+	 * UCT exploration constant (for the scores in [0, 1])
+	 */
+	static private final double EXPLORATION = 1.4;
+
+	/**
+	 * Count of the iterations between the deadline checks (power of 2)
+	 */
+	static private final int CHECK_INTERVAL = 16;
+
+	/**
+	 * Node pool. Node is described by the same index in the each array:
+	 * move, that leads to the node, first child, children count (-1, if node
+	 * is not expanded), visits count and sum of the scores
+	 */
+	private byte[] moves;
+	private int[] firstChildren;
+	private byte[] childCounts;
+	private int[] visits;
+	private int[] scores;
+
+	/**
+	 * Count of the used nodes. Node 0 is the root
+	 */
+	private int size;
+
+	/**
+	 * Nodes of the current path
+	 */
+	private int[] path = new int[UltimateBoard.CELLS + 1];
+
+	/**
+	 * Legal moves of the expanded node
+	 */
+	private int[] scratch = new int[UltimateBoard.CELLS];
+
+	private SeededRandom random = new SeededRandom(0);
+
+	/**
+	 * Clock for the deadline checks
+	 */
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Statistics of the last search
+	 */
+	private int playouts;
+	private int maxDepth;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            Count of the nodes in the pool
+	 */
+	public UltimateMcts(int capacity) {
+		moves = new byte[capacity];
+		firstChildren = new int[capacity];
+		childCounts = new byte[capacity];
+		visits = new int[capacity];
+		scores = new int[capacity];
+	}
+
+	/**
+	 * Finds the best move for the side to move
+	 *
+	 * @param board
+	 *            Current position. Board is restored, when method returns
+	 * @param playoutLimit
+	 *            Maximal count of the playouts
+	 * @param deadline
+	 *            Deadline (see Clock.nanoTime()), Long.MAX_VALUE for no time
+	 *            limit
+	 * @return most visited move (board * 9 + cell), -1 if there are no moves
+	 */
+	public int bestMove(UltimateBoard board, int playoutLimit, long deadline) {
+		playouts = 0;
+		maxDepth = 0;
+		size = 0;
+		newNode(-1);
+		expand(board, 0);
+		if (childCounts[0] <= 0) {
+			return -1;
+		}
+		if (childCounts[0] == 1) {
+			return moves[firstChildren[0]];
+		}
+
+		int baseCount = board.getMoveCount();
+		while (playouts < playoutLimit) {
+			if ((playouts & (CHECK_INTERVAL - 1)) == 0 && clock.nanoTime() >= deadline) {
+				break;
+			}
+
+			// Selection
+			int node = 0;
+			int depth = 0;
+			path[0] = 0;
+			while (childCounts[node] > 0) {
+				node = select(node);
+				board.makeMove(moves[node]);
+				path[++depth] = node;
+			}
+
+			// Expansion on the second visit
+			if (visits[node] > 0 && board.getStatus() == Bitboard.STATUS_NOT_COMPLETED
+					&& expand(board, node)) {
+				node = firstChildren[node] + random.nextInt(childCounts[node]);
+				board.makeMove(moves[node]);
+				path[++depth] = node;
+			}
+			if (depth > maxDepth) {
+				maxDepth = depth;
+			}
+
+			// Playout
+			while (board.makeRandomMove(random)) {
+			}
+			int status = board.getStatus();
+			while (board.getMoveCount() > baseCount) {
+				board.undoMove();
+			}
+			playouts++;
+
+			// Propagation. Side, that moved to the node at the depth d, is
+			// the side to move at the root for the odd d
+			int rootSide = board.getSideToMove();
+			int winner = status == Bitboard.STATUS_X_WINS ? Evaluator.FIELD_X
+					: status == Bitboard.STATUS_O_WINS ? Evaluator.FIELD_O : Evaluator.FIELD_EMPTY;
+			for (int d = 0; d <= depth; d++) {
+				int n = path[d];
+				visits[n]++;
+				if (winner == Evaluator.FIELD_EMPTY) {
+					scores[n] += SCORE_DRAW;
+				} else if ((winner == rootSide) == ((d & 1) == 1)) {
+					scores[n] += SCORE_WIN;
+				}
+			}
+		}
+
+		int first = firstChildren[0];
+		int best = first;
+		for (int c = first + 1; c < first + childCounts[0]; c++) {
+			if (visits[c] > visits[best]) {
+				best = c;
+			}
+		}
+		return moves[best];
+	}
+
+	/**
+	 * Adds all legal moves of the position as the node children
+	 *
+	 * @return false, if there is no room for the children
+	 */
+	private boolean expand(UltimateBoard board, int node) {
+		int count = board.generateMoves(scratch);
+		if (size + count > moves.length) {
+			return false;
+		}
+		firstChildren[node] = size;
+		childCounts[node] = (byte) count;
+		for (int i = 0; i < count; i++) {
+			newNode(scratch[i]);
+		}
+		return count > 0;
+	}
+
+	private int newNode(int move) {
+		int node = size++;
+		moves[node] = (byte) move;
+		firstChildren[node] = 0;
+		childCounts[node] = -1;
+		visits[node] = 0;
+		scores[node] = 0;
+		return node;
+	}
+
+	/**
+	 * Selects child of the node by UCT. Children without visits go first
+	 */
+	private int select(int node) {
+		int first = firstChildren[node];
+		int last = first + childCounts[node];
+		double logVisits = Mcts.log(visits[node]);
+		double bestValue = -1;
+		int best = first;
+		for (int c = first; c < last; c++) {
+			double n = visits[c];
+			if (n == 0) {
+				return c;
+			}
+			double value = scores[c] / (SCORE_WIN * n) + EXPLORATION
+					* Math.sqrt(logVisits / n);
+			if (value > bestValue) {
+				bestValue = value;
+				best = c;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return count of the playouts of the last search
+	 */
+	public int getPlayouts() {
+		return playouts;
+	}
+
+	/**
+	 * @return count of the tree nodes of the last search
+	 */
+	public int getNodes() {
+		return size;
+	}
+
+	/**
+	 * @return maximal depth of the tree path of the last search
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public void setSeed(long seed) {
+		random.setSeed(seed);
+	}
+
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+}
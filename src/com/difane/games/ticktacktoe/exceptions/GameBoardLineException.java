@@ -14,6 +14,10 @@ public class GameBoardLineException extends Exception {
 	static public final int REASON_MUST_CROSS_BOTH_VERTICAL_LINES = 7;
 	static public final int REASON_MUST_CONTAIN_TWO_POINTS = 8;
 	static public final int REASON_INVALID_DRAWING_ORDER = 9;
+	static public final int REASON_LINE_IS_NOT_STRAIGHT = 10;
+	static public final int REASON_MUST_CROSS_ALL_LINES = 11;
+	static public final int REASON_LINES_MUST_BE_EVEN = 12;
+	static public final int REASON_GRIDS_MUST_NOT_OVERLAP = 13;
 	
 	private int reason = REASON_UNKNOWN;
 
@@ -3,6 +3,26 @@ import com.livescribe.geom.Point;
 import com.livescribe.util.MathFunctions;
 
 public class Line {
+	/**
+	 * Squared tangents of the angles 0 to MAX_PRECISION degrees in the 16.16
+	 * fixed point: round(tan(angle)^2 * 65536)
+	 */
+	private static final int[] TAN_SQUARED = { 0, 20, 80, 180, 320, 502, 724,
+			988, 1294, 1644, 2038, 2476, 2961, 3493, 4074, 4705, 5389, 6126,
+			6919, 7770, 8682, 9657, 10698, 11808, 12991, 14250, 15590, 17014,
+			18528, 20136, 21845, 23661, 25589, 27639, 29816, 32132, 34594,
+			37214, 40004, 42975, 46143, 49523, 53132, 56989, 61116, 65536 };
+
+	/**
+	 * Maximal angle precision of the fixed point checks in GRAD
+	 */
+	public static final int MAX_PRECISION = 45;
+
+	/**
+	 * Packed intersection value, when lines are parallel
+	 */
+	public static final long NO_INTERSECTION = Long.MIN_VALUE;
+
 	/**
 	 * Checks line verticality. The angle of the line can differs from vertical
 	 * to the anglePrecision value
@@ -179,4 +199,175 @@ public class Line {
 
 		return new Point((int) xi, (int) yi);
 	}
+
+	/**
+	 * Returns angle precision threshold for the fixed point checks
+	 * 
+	 * @param anglePrecision
+	 *            Angle precision in GRAD (0 to MAX_PRECISION)
+	 * @return squared tangent of the angle in the 16.16 fixed point
+	 */
+	public static int tanSquared(int anglePrecision) {
+		return TAN_SQUARED[anglePrecision];
+	}
+
+	/**
+	 * Checks line verticality without the floating point: the angle from the
+	 * vertical is less than the precision, if dx^2 < tan^2 * dy^2. Coordinates
+	 * must be less than 2^20 by the absolute value
+	 * 
+	 * @param x1
+	 *            X-coord of the first line point
+	 * @param y1
+	 *            Y-coord of the first line point
+	 * @param x2
+	 *            X-coord of the second line point
+	 * @param y2
+	 *            Y-coord of the second line point
+	 * @param tanSquared
+	 *            Angle precision threshold (see tanSquared())
+	 * @return true, if line looks like vertical, false otherwise
+	 */
+	public static boolean isVerticalFixed(int x1, int y1, int x2, int y2,
+			int tanSquared) {
+		long dx = x2 - x1;
+		long dy = y2 - y1;
+		if (dx == 0) {
+			// Line is ideally vertical
+			return true;
+		}
+		if (dy == 0) {
+			// Line is ideally horizontal
+			return false;
+		}
+		return (dx * dx << 16) < tanSquared * (dy * dy);
+	}
+
+	/**
+	 * Checks line horizontality without the floating point (see
+	 * isVerticalFixed())
+	 * 
+	 * @param x1
+	 *            X-coord of the first line point
+	 * @param y1
+	 *            Y-coord of the first line point
+	 * @param x2
+	 *            X-coord of the second line point
+	 * @param y2
+	 *            Y-coord of the second line point
+	 * @param tanSquared
+	 *            Angle precision threshold (see tanSquared())
+	 * @return true, if line looks like horizontal, false otherwise
+	 */
+	public static boolean isHorizontalFixed(int x1, int y1, int x2, int y2,
+			int tanSquared) {
+		long dx = x2 - x1;
+		long dy = y2 - y1;
+		if (dx == 0) {
+			// Line is ideally vertical
+			return false;
+		}
+		if (dy == 0) {
+			// Line is ideally horizontal
+			return true;
+		}
+		return (dy * dy << 16) < tanSquared * (dx * dx);
+	}
+
+	/**
+	 * Calculates squared line length. Compare it with the squared limit
+	 * instead of the length
+	 * 
+	 * @param x1
+	 *            X-coord of the first line point
+	 * @param y1
+	 *            Y-coord of the first line point
+	 * @param x2
+	 *            X-coord of the second line point
+	 * @param y2
+	 *            Y-coord of the second line point
+	 * @return squared line length
+	 */
+	public static long lengthSquared(int x1, int y1, int x2, int y2) {
+		long dx = x2 - x1;
+		long dy = y2 - y1;
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * Computes the intersection between two lines without the floating point
+	 * and without the allocation. Coordinates must be less than 2^20 by the
+	 * absolute value
+	 * 
+	 * @param x1
+	 *            Point 1 of Line 1
+	 * @param y1
+	 *            Point 1 of Line 1
+	 * @param x2
+	 *            Point 2 of Line 1
+	 * @param y2
+	 *            Point 2 of Line 1
+	 * @param x3
+	 *            Point 1 of Line 2
+	 * @param y3
+	 *            Point 1 of Line 2
+	 * @param x4
+	 *            Point 2 of Line 2
+	 * @param y4
+	 *            Point 2 of Line 2
+	 * @return Point where the lines intersect, packed by the pack(), or
+	 *         NO_INTERSECTION if lines are parallel
+	 */
+	public static long intersectionPacked(int x1, int y1, int x2, int y2,
+			int x3, int y3, int x4, int y4) {
+		long dx12 = x1 - x2;
+		long dy12 = y1 - y2;
+		long dx34 = x3 - x4;
+		long dy34 = y3 - y4;
+
+		long d = dx12 * dy34 - dy12 * dx34;
+		if (d == 0) {
+			return NO_INTERSECTION;
+		}
+
+		// Cross products of the lines points
+		long c12 = (long) x1 * y2 - (long) y1 * x2;
+		long c34 = (long) x3 * y4 - (long) y3 * x4;
+
+		long xi = (dx34 * c12 - dx12 * c34) / d;
+		long yi = (dy34 * c12 - dy12 * c34) / d;
+		return pack(clamp(xi), clamp(yi));
+	}
+
+	/**
+	 * Limits coordinate of the almost parallel lines intersection to the
+	 * symmetric int range, so the packed point is never NO_INTERSECTION
+	 */
+	private static int clamp(long value) {
+		if (value > Integer.MAX_VALUE) {
+			return Integer.MAX_VALUE;
+		}
+		return value < -Integer.MAX_VALUE ? -Integer.MAX_VALUE : (int) value;
+	}
+
+	/**
+	 * Packs point into the long
+	 */
+	public static long pack(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @return X-coord of the packed point
+	 */
+	public static int unpackX(long point) {
+		return (int) (point >> 32);
+	}
+
+	/**
+	 * @return Y-coord of the packed point
+	 */
+	public static int unpackY(long point) {
+		return (int) point;
+	}
 }
@@ -0,0 +1,216 @@
+package com.difane.geom;
+
+import com.livescribe.geom.PolyLine;
+import com.livescribe.util.MathFunctions;
+
+/**
+ * Streaming total least squares line fitter. Stroke points are added one by
+ * one, and only the running sums are kept, so the fitter state does not
+ * depend on the stroke length and the stroke is not buffered.
+ *
+ * Fitted line goes through the mean point along the main axis of the points
+ * scatter. Fitted segment is the projection of the first and the last stroke
+ * points to this line, so the wobbly start or the hook at the end moves the
+ * segment ends along the line only.
+ */
+public class LineFitter {
+
+	/**
+	 * Count of the added points
+	 */
+	private int count;
+
+	/**
+	 * First point. Sums are relative to it, so they fit into the long for
+	 * any page coordinates
+	 */
+	private int originX;
+	private int originY;
+
+	/**
+	 * Last point
+	 */
+	private int lastX;
+	private int lastY;
+
+	/**
+	 * Running sums of the relative coordinates
+	 */
+	private long sumX;
+	private long sumY;
+	private long sumXX;
+	private long sumYY;
+	private long sumXY;
+
+	/**
+	 * Fit results (relative to the first point). Computed once after the
+	 * last added point
+	 */
+	private boolean fitted;
+	private double centerX;
+	private double centerY;
+	private double directionX;
+	private double directionY;
+	private double error;
+
+	/**
+	 * Constructor
+	 */
+	public LineFitter() {
+		reset();
+	}
+
+	/**
+	 * Clears the fitter for the new stroke
+	 */
+	public void reset() {
+		count = 0;
+		originX = 0;
+		originY = 0;
+		lastX = 0;
+		lastY = 0;
+		sumX = 0;
+		sumY = 0;
+		sumXX = 0;
+		sumYY = 0;
+		sumXY = 0;
+		fitted = false;
+	}
+
+	/**
+	 * Adds the next stroke point
+	 *
+	 * @param x
+	 *            X-coord of the point
+	 * @param y
+	 *            Y-coord of the point
+	 */
+	public void add(int x, int y) {
+		if (count == 0) {
+			originX = x;
+			originY = y;
+		}
+		long dx = x - originX;
+		long dy = y - originY;
+		sumX += dx;
+		sumY += dy;
+		sumXX += dx * dx;
+		sumYY += dy * dy;
+		sumXY += dx * dy;
+		lastX = x;
+		lastY = y;
+		count++;
+		fitted = false;
+	}
+
+	/**
+	 * @return count of the added points
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns fitted segment. Requires at least one added point
+	 *
+	 * @return Polyline with 2 points: projections of the first and the last
+	 *         stroke points to the fitted line
+	 */
+	public PolyLine getSegment() {
+		fit();
+		PolyLine segment = new PolyLine(2);
+		double first = -(centerX * directionX + centerY * directionY);
+		double last = (lastX - originX - centerX) * directionX
+				+ (lastY - originY - centerY) * directionY;
+		segment.setXY(0, originX + round(centerX + directionX * first),
+				originY + round(centerY + directionY * first));
+		segment.setXY(1, originX + round(centerX + directionX * last),
+				originY + round(centerY + directionY * last));
+		return segment;
+	}
+
+	/**
+	 * Returns angle of the fitted line
+	 *
+	 * @return angle between the fitted line and the X axis in radians (-PI/2
+	 *         to PI/2)
+	 */
+	public double getAngle() {
+		fit();
+		if (directionX == 0) {
+			return Math.PI / 2;
+		}
+		return MathFunctions.atan(directionY / directionX);
+	}
+
+	/**
+	 * Returns residual error of the fit
+	 *
+	 * @return root mean square distance from the points to the fitted line
+	 */
+	public double getError() {
+		fit();
+		return error;
+	}
+
+	/**
+	 * Computes the main axis of the points covariance
+	 */
+	private void fit() {
+		if (fitted) {
+			return;
+		}
+		double n = count;
+		centerX = sumX / n;
+		centerY = sumY / n;
+		double xx = sumXX / n - centerX * centerX;
+		double yy = sumYY / n - centerY * centerY;
+		double xy = sumXY / n - centerX * centerY;
+
+		double half = (xx - yy) / 2;
+		double root = Math.sqrt(half * half + xy * xy);
+		double major = (xx + yy) / 2 + root;
+		double minor = (xx + yy) / 2 - root;
+
+		// Eigenvector of the major eigenvalue. Larger of the two equivalent
+		// forms is taken, so it is not lost in the rounding
+		double x;
+		double y;
+		if (xx >= yy) {
+			x = major - yy;
+			y = xy;
+		} else {
+			x = xy;
+			y = major - xx;
+		}
+		double length = Math.sqrt(x * x + y * y);
+		if (length == 0) {
+			// All points are the same, or there is no main axis: direction is
+			// from the first point to the last
+			x = lastX - originX;
+			y = lastY - originY;
+			length = Math.sqrt(x * x + y * y);
+			if (length == 0) {
+				x = 0;
+				y = 1;
+				length = 1;
+			}
+		}
+		directionX = x / length;
+		directionY = y / length;
+
+		// Direction follows the stroke, so the segment ends keep the drawing
+		// order
+		if (directionX * (lastX - originX) + directionY * (lastY - originY) < 0) {
+			directionX = -directionX;
+			directionY = -directionY;
+		}
+
+		error = minor > 0 ? Math.sqrt(minor) : 0;
+		fitted = true;
+	}
+
+	private static int round(double value) {
+		return (int) Math.floor(value + 0.5);
+	}
+}
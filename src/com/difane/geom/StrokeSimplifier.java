@@ -0,0 +1,175 @@
+package com.difane.geom;
+
+import com.livescribe.geom.PolyLine;
+
+/**
+ * Ramer-Douglas-Peucker stroke simplification. Keeps the essential vertices
+ * of the stroke: the rest of the vertices are not farther, than the
+ * tolerance, from the simplified polyline.
+ *
+ * Recursion is replaced by the stack of the segment ends, and the kept
+ * vertices are written in the stroke order, so the simplification uses only
+ * the buffers of the caller and does not allocate memory.
+ */
+public class StrokeSimplifier {
+
+	/**
+	 * Simplifies the stroke
+	 *
+	 * @param stroke
+	 *            Stroke to simplify
+	 * @param tolerance
+	 *            Maximal distance from the dropped vertex to the simplified
+	 *            polyline
+	 * @param stack
+	 *            Index stack, not shorter than the count of the stroke
+	 *            vertices
+	 * @param indices
+	 *            Receives indexes of the kept vertices in the stroke order.
+	 *            Not shorter than the count of the stroke vertices
+	 * @return count of the kept vertices. First and last vertices are always
+	 *         kept
+	 */
+	public static int simplify(PolyLine stroke, int tolerance, int[] stack,
+			int[] indices) {
+		int n = stroke.getNumberOfVertices();
+		if (n <= 2) {
+			for (int i = 0; i < n; i++) {
+				indices[i] = i;
+			}
+			return n;
+		}
+
+		double toleranceSquared = (double) tolerance * tolerance;
+		int count = 0;
+		indices[count++] = 0;
+
+		// Segment is from the last kept vertex to the top of the stack
+		int start = 0;
+		int top = 0;
+		stack[top++] = n - 1;
+		while (top > 0) {
+			int end = stack[top - 1];
+			int x1 = stroke.getX(start);
+			int y1 = stroke.getY(start);
+			long dx = stroke.getX(end) - x1;
+			long dy = stroke.getY(end) - y1;
+			boolean point = dx == 0 && dy == 0;
+
+			// Farthest vertex of the segment. Distance to the line is the
+			// cross product, divided by the same segment length, so the cross
+			// products are compared without the division
+			long farthest = 0;
+			int split = -1;
+			for (int i = start + 1; i < end; i++) {
+				long px = stroke.getX(i) - x1;
+				long py = stroke.getY(i) - y1;
+				long distance = point ? px * px + py * py : dx * py - dy * px;
+				if (distance < 0) {
+					distance = -distance;
+				}
+				if (distance > farthest) {
+					farthest = distance;
+					split = i;
+				}
+			}
+			double limit = point ? toleranceSquared : toleranceSquared
+					* (double) (dx * dx + dy * dy);
+			double measure = point ? (double) farthest : (double) farthest
+					* farthest;
+
+			if (split != -1 && measure > limit) {
+				stack[top++] = split;
+			} else {
+				indices[count++] = end;
+				start = end;
+				top--;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the start of the straight run of the simplified stroke. Run
+	 * contains the longest simplified segment and the neighbour segments,
+	 * which go in the same direction, so the hooks at the stroke ends are
+	 * not included
+	 *
+	 * @param stroke
+	 *            Stroke
+	 * @param indices
+	 *            Kept vertices (see simplify())
+	 * @param count
+	 *            Count of the kept vertices (at least 2)
+	 * @param tanSquared
+	 *            Maximal angle between the run segments (see
+	 *            Line.tanSquared())
+	 * @return position in the indices of the run first vertex
+	 */
+	public static int runStart(PolyLine stroke, int[] indices, int count,
+			int tanSquared) {
+		int longest = longestSegment(stroke, indices, count);
+		int start = longest;
+		while (start > 0
+				&& sameDirection(stroke, indices, longest, start - 1,
+						tanSquared)) {
+			start--;
+		}
+		return start;
+	}
+
+	/**
+	 * Finds the end of the straight run of the simplified stroke (see
+	 * runStart())
+	 *
+	 * @return position in the indices of the run last vertex
+	 */
+	public static int runEnd(PolyLine stroke, int[] indices, int count,
+			int tanSquared) {
+		int longest = longestSegment(stroke, indices, count);
+		int end = longest + 1;
+		while (end < count - 1
+				&& sameDirection(stroke, indices, longest, end, tanSquared)) {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * @return position in the indices of the first vertex of the longest
+	 *         simplified segment
+	 */
+	private static int longestSegment(PolyLine stroke, int[] indices,
+			int count) {
+		int longest = 0;
+		long longestLength = -1;
+		for (int k = 0; k < count - 1; k++) {
+			long length = Line.lengthSquared(stroke.getX(indices[k]), stroke
+					.getY(indices[k]), stroke.getX(indices[k + 1]), stroke
+					.getY(indices[k + 1]));
+			if (length > longestLength) {
+				longestLength = length;
+				longest = k;
+			}
+		}
+		return longest;
+	}
+
+	/**
+	 * Checks, that the simplified segments go in the same direction within
+	 * the angle
+	 */
+	private static boolean sameDirection(PolyLine stroke, int[] indices,
+			int a, int b, int tanSquared) {
+		long ax = stroke.getX(indices[a + 1]) - stroke.getX(indices[a]);
+		long ay = stroke.getY(indices[a + 1]) - stroke.getY(indices[a]);
+		long bx = stroke.getX(indices[b + 1]) - stroke.getX(indices[b]);
+		long by = stroke.getY(indices[b + 1]) - stroke.getY(indices[b]);
+		double dot = (double) (ax * bx + ay * by);
+		if (dot <= 0) {
+			return false;
+		}
+		double cross = (double) (ax * by - ay * bx);
+		return cross * cross * 65536 <= dot * dot * tanSquared;
+	}
+}